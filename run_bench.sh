@@ -1,6 +1,7 @@
 #!/bin/bash
 
-# Run JMH benchmark
+# Run JMH contention matrix, arguments are passed to ContentionMatrixRunner as key=value,
+# e.g. ./run_bench.sh threads=1,16 poolSize=1024 fetchStrategy=FETCH_FAIL_AS_NEW
+# JMH JSON per thread count and a combined CSV are written to target/bench/<timestamp>
 java -cp "target/classes:target/test-classes:$(mvn dependency:build-classpath -Dmdep.outputFile=/tmp/cp.txt -q && cat /tmp/cp.txt)" \
-     org.openjdk.jmh.Main ObjectsMemoryPoolBenchmark
-
+     cn.itcraft.frogspawn.ContentionMatrixRunner "$@"
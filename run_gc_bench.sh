@@ -0,0 +1,8 @@
+#!/bin/bash
+
+# Run GC-pressure comparison (pooled vs allocated) under several collectors and heap sizes,
+# arguments are passed to GcPressureRunner as key=value,
+# e.g. ./run_gc_bench.sh java=/path/to/jdk17/bin/java heaps=1g,4g threads=8
+# A combined CSV is written to target/bench/gc-<timestamp>
+java -cp "target/classes:target/test-classes:$(mvn dependency:build-classpath -Dmdep.outputFile=/tmp/cp.txt -q && cat /tmp/cp.txt)" \
+     cn.itcraft.frogspawn.GcPressureRunner "$@"
@@ -0,0 +1,8 @@
+#!/bin/bash
+
+# Run soak test against the pool at a fixed rate with coordinated-omission-safe latency,
+# arguments are passed to SoakHarness as key=value,
+# e.g. ./run_soak.sh duration=14400 rate=50000 threads=8 churn=60
+# Per-window CSV is written to target/bench/soak-<timestamp>
+java -cp "target/classes:target/test-classes:$(mvn dependency:build-classpath -Dmdep.outputFile=/tmp/cp.txt -q && cat /tmp/cp.txt)" \
+     cn.itcraft.frogspawn.SoakHarness "$@"
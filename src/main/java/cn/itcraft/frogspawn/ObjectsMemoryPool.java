@@ -16,6 +16,8 @@
  */
 package cn.itcraft.frogspawn;
 
+import cn.itcraft.frogspawn.stats.PoolStats;
+
 /**
  * 可重置对象的内存池接口，用于管理可重用对象
  * Memory pool interface for resettable objects, manages reusable objects
@@ -54,4 +56,101 @@ public interface ObjectsMemoryPool<T extends Resettable> {
      *                                  If invalid argument (specific exception type depends on implementation)
      */
     void release(T used);
+
+    /**
+     * 批量归还数组区间内的对象，不修改数组。默认实现逐个调用 {@link #release}，实现类可覆盖以分摊每次归还的开销
+     * <p>
+     * Return the objects in the array range in one batch, the array is left untouched. Default implementation
+     * calls {@link #release} one by one, implementations may override it to amortize per-release overhead
+     * <p>
+     * 参数类型为 {@code Resettable[]}，调用方可传入混合类型的数组，区间内元素须由本池管理
+     * <p>
+     * The parameter is typed {@code Resettable[]} so callers may pass arrays holding other types as well,
+     * elements within the range must be managed by this pool
+     *
+     * @param used 需要归还的对象，区间内元素均非null / Objects to return, all non-null within the range
+     * @param from 起始下标（含） / Start index, inclusive
+     * @param to   结束下标（不含） / End index, exclusive
+     */
+    @SuppressWarnings("unchecked")
+    default void releaseAll(Resettable[] used, int from, int to) {
+        for (int i = from; i < to; i++) {
+            release((T) used[i]);
+        }
+    }
+
+    /**
+     * 获取内存池运行统计，返回的视图随池状态变化，读取开销低。默认实现返回计数均为 0 的空统计
+     * <p>
+     * Get runtime statistics of the memory pool, the returned view follows pool state and is cheap to read.
+     * Default implementation returns empty statistics with all counts at 0
+     *
+     * @return 运行统计 / Runtime statistics
+     */
+    default PoolStats stats() {
+        return PoolStats.empty();
+    }
+
+    /**
+     * 将当前线程缓存中的对象全部归还内存池。线程即将退出或被线程池回收时调用，
+     * 避免对象滞留在线程缓存中。默认实现不做任何处理
+     * <p>
+     * Returns all objects held in current thread's cache back to the memory pool.
+     * Call it when the thread is about to exit or be reclaimed by its executor, so objects
+     * are not stranded in the thread cache. Default implementation does nothing
+     */
+    default void flushThreadCache() {
+    }
+
+    /**
+     * 主池容量，即池中预分配对象的数量。默认实现返回 -1 表示不支持
+     * <p>
+     * Capacity of the main pool, that is the number of pre-allocated objects.
+     * Default implementation returns -1 for unsupported
+     *
+     * @return 容量 / Capacity
+     */
+    default int capacity() {
+        return -1;
+    }
+
+    /**
+     * 主池中可被任意线程取得的对象数，近似一致，读取开销为 O(条带数)，不影响取用与归还。
+     * available() + inUse() + inThreadCaches() 约等于 capacity()。默认实现返回 -1 表示不支持
+     * <p>
+     * Number of objects in the main pool that any thread can fetch, approximately consistent,
+     * reading costs O(stripes) without disturbing fetch and release.
+     * available() + inUse() + inThreadCaches() roughly equals capacity().
+     * Default implementation returns -1 for unsupported
+     *
+     * @return 可用对象数 / Available object count
+     */
+    default int available() {
+        return -1;
+    }
+
+    /**
+     * 已取出尚未归还的池内对象数，不含池耗尽时新建的对象。默认实现返回 -1 表示不支持
+     * <p>
+     * Number of pooled objects fetched and not yet released, excluding objects created on exhaustion.
+     * Default implementation returns -1 for unsupported
+     *
+     * @return 使用中对象数 / In-use object count
+     */
+    default int inUse() {
+        return -1;
+    }
+
+    /**
+     * 已归还但停留在线程缓存（含跨线程归还途中）的池内对象数，这些对象只对所属线程可用。
+     * 默认实现返回 -1 表示不支持
+     * <p>
+     * Number of pooled objects released but parked in thread caches (including remote frees in flight),
+     * only available to their owning threads. Default implementation returns -1 for unsupported
+     *
+     * @return 线程缓存中的对象数 / Object count in thread caches
+     */
+    default int inThreadCaches() {
+        return -1;
+    }
 }
@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.constants.Constants;
+import cn.itcraft.frogspawn.failrestore.FailRestorer;
+import cn.itcraft.frogspawn.impl.ObjectsMemoryPoolImpl;
+import cn.itcraft.frogspawn.impl.PoolConfig;
+import cn.itcraft.frogspawn.snapshot.PoolSnapshot;
+import cn.itcraft.frogspawn.snapshot.SnapshotCodec;
+import cn.itcraft.frogspawn.snapshot.SnapshotCreator;
+import cn.itcraft.frogspawn.stats.SizingHints;
+import cn.itcraft.frogspawn.stats.SizingRecommendation;
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import cn.itcraft.frogspawn.strategy.RetirementPolicy;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 内存池构建器，为单个池指定线程缓存深度、探测次数、容量上限与策略
+ * Memory pool builder, sets thread cache depth, probe budget, capacity limit and strategy for a single pool
+ * <p>
+ * 未指定的参数使用系统属性（见 Constants）作为默认值，不同的池可以使用不同的调优参数
+ * Unspecified parameters default to system properties (see Constants), different pools may use different tunings
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class ObjectsMemoryPoolBuilder<T extends Resettable> {
+
+    private final ObjectCreator<T> creator;
+    private int size = -1;
+    private int maxCapacity = Constants.MAX_CAPACITY;
+    private int cacheCapacity = Constants.CACHE_CAPACITY;
+    private int cacheStripes = Constants.CACHE_STRIPES;
+    private int fetchTimes = Constants.FETCH_TIMES;
+    private int fetchTimesMin = Constants.FETCH_TIMES_MIN;
+    private int fetchTimesMax = Constants.FETCH_TIMES_MAX;
+    private int overflowCapacity = Constants.OVERFLOW_CAPACITY;
+    private FetchStrategy fetchStrategy = FetchStrategy.FETCH_FAIL_AS_NEW;
+    private FailRestorer failRestorer = FetchFailStrategy.CALL_CREATOR;
+    private CacheStrategy cacheStrategy = CacheStrategy.AUTO;
+    private RetirementPolicy retirement = RetirementPolicy.NONE;
+    private File hintFile;
+    private String hintName;
+    private File snapshotFile;
+    private SnapshotCodec<T> snapshotCodec;
+
+    ObjectsMemoryPoolBuilder(ObjectCreator<T> creator) {
+        if (creator == null) {
+            throw new IllegalArgumentException("Object creator can not be null");
+        }
+        this.creator = creator;
+    }
+
+    /**
+     * 设置池大小，必填
+     * Set pool size, required
+     *
+     * @param size 池大小，向上取整为2的幂次方 / Pool size, rounded up to power of two
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> size(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * 设置池容量上限
+     * Set maximum pool capacity
+     *
+     * @param maxCapacity 容量上限，向下取整为2的幂次方 / Maximum capacity, rounded down to power of two
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> maxCapacity(int maxCapacity) {
+        if (maxCapacity <= 0) {
+            throw new IllegalArgumentException("Max capacity must be positive");
+        }
+        this.maxCapacity = Integer.highestOneBit(maxCapacity);
+        return this;
+    }
+
+    /**
+     * 设置线程缓存深度，0 表示不使用线程缓存
+     * Set thread cache depth, 0 disables thread cache
+     *
+     * @param cacheCapacity 缓存深度，向上取整为2的幂次方，最大 64 / Cache depth, rounded up to power of two, at most 64
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> cacheCapacity(int cacheCapacity) {
+        if (cacheCapacity < 0 || cacheCapacity > Constants.MAX_CACHE_CAPACITY) {
+            throw new IllegalArgumentException("Cache capacity must be in [0, " + Constants.MAX_CACHE_CAPACITY + "]");
+        }
+        this.cacheCapacity = cacheCapacity == 0 ? 0 : ArrayUtil.findNextPositivePowerOfTwo(cacheCapacity);
+        return this;
+    }
+
+    /**
+     * 设置条带缓存的条带数
+     * Set stripe count of striped cache
+     *
+     * @param cacheStripes 条带数，向上取整为2的幂次方 / Stripe count, rounded up to power of two
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> cacheStripes(int cacheStripes) {
+        if (cacheStripes <= 0) {
+            throw new IllegalArgumentException("Cache stripes must be positive");
+        }
+        this.cacheStripes = ArrayUtil.findNextPositivePowerOfTwo(cacheStripes);
+        return this;
+    }
+
+    /**
+     * 设置固定的主池探测次数
+     * Set fixed probe budget of the main pool
+     *
+     * @param fetchTimes 探测次数 / Probe budget
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> fetchTimes(int fetchTimes) {
+        return fetchTimes(fetchTimes, fetchTimes, fetchTimes);
+    }
+
+    /**
+     * 设置自适应的主池探测次数
+     * Set adaptive probe budget of the main pool
+     *
+     * @param initial 初始探测次数 / Initial budget
+     * @param min     探测次数下限 / Lower bound
+     * @param max     探测次数上限 / Upper bound
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> fetchTimes(int initial, int min, int max) {
+        if (min <= 0 || max < min) {
+            throw new IllegalArgumentException("Fetch times should satisfy 0 < min <= max");
+        }
+        this.fetchTimes = initial;
+        this.fetchTimesMin = min;
+        this.fetchTimesMax = max;
+        return this;
+    }
+
+    /**
+     * 设置溢出层容量，溢出层收留池耗尽时新建的对象，0 表示不启用
+     * Set overflow tier capacity, the tier adopts objects created on exhaustion, 0 disables it
+     *
+     * @param overflowCapacity 溢出层容量，向上取整为2的幂次方 / Overflow capacity, rounded up to power of two
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> overflowCapacity(int overflowCapacity) {
+        if (overflowCapacity < 0) {
+            throw new IllegalArgumentException("Overflow capacity must not be negative");
+        }
+        this.overflowCapacity = overflowCapacity;
+        return this;
+    }
+
+    /**
+     * 设置池策略
+     * Set pool strategy
+     *
+     * @param poolStrategy 池策略 / Pool strategy
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> poolStrategy(PoolStrategy poolStrategy) {
+        if (poolStrategy == null) {
+            throw new IllegalArgumentException("Pool strategy can not be null");
+        }
+        this.fetchStrategy = poolStrategy.getFetchStrategy();
+        this.failRestorer = poolStrategy.getFailRestorer();
+        this.cacheStrategy = poolStrategy.getCacheStrategy();
+        return this;
+    }
+
+    /**
+     * 设置获取失败时的恢复处理器，例如限制新建速率的 ThrottledFailRestorer
+     * Set restorer used when fetch fails, e.g. ThrottledFailRestorer limiting creation rate
+     *
+     * @param failRestorer 失败恢复处理器 / Failure restorer
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> failRestorer(FailRestorer failRestorer) {
+        if (failRestorer == null) {
+            throw new IllegalArgumentException("FailRestorer should not be null");
+        }
+        this.failRestorer = failRestorer;
+        return this;
+    }
+
+    /**
+     * 设置缓存策略
+     * Set cache strategy
+     *
+     * @param cacheStrategy 缓存策略 / Cache strategy
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> cacheStrategy(CacheStrategy cacheStrategy) {
+        if (cacheStrategy == null) {
+            throw new IllegalArgumentException("CacheStrategy should not be null");
+        }
+        this.cacheStrategy = cacheStrategy;
+        return this;
+    }
+
+    /**
+     * 设置退役策略，按使用次数、存活时间或保留大小淘汰对象，由后台线程收缩或替换
+     * Set retirement policy, objects are retired by use count, age or retained size,
+     * then shrunk or replaced by the background thread
+     *
+     * @param retirement 退役策略 / Retirement policy
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> retirement(RetirementPolicy retirement) {
+        if (retirement == null) {
+            throw new IllegalArgumentException("RetirementPolicy should not be null");
+        }
+        this.retirement = retirement;
+        return this;
+    }
+
+    /**
+     * 启动时应用上次运行由 SizingAdvisor 保存的建议，覆盖 size 与 cacheCapacity；
+     * 文件或条目不存在时（如首次运行）使用已设置的值
+     * Apply the recommendation saved by SizingAdvisor in the previous run on start, overriding size and
+     * cacheCapacity; the configured values are used when file or entry is absent (e.g. the first run)
+     *
+     * @param file 提示文件 / Hint file
+     * @param name 池名称 / Pool name
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> sizingHint(File file, String name) {
+        if (file == null || name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Hint file and name can not be empty");
+        }
+        this.hintFile = file;
+        this.hintName = name;
+        return this;
+    }
+
+    /**
+     * 从快照还原池中的对象，代替逐个调用创建器；快照缺失、损坏、版本不一致或记录不足时使用创建器，
+     * 并在构建后以当前对象重写快照
+     * Restore pool objects from the snapshot instead of calling the creator for each slot; the creator is used
+     * when the snapshot is absent, corrupted, of another version or short of records,
+     * and the snapshot is rewritten from the current objects after build
+     *
+     * @param file  快照文件 / Snapshot file
+     * @param codec 编解码器 / Codec
+     * @return 构建器 / Builder
+     */
+    public ObjectsMemoryPoolBuilder<T> snapshot(File file, SnapshotCodec<T> codec) {
+        if (file == null || codec == null) {
+            throw new IllegalArgumentException("Snapshot file and codec can not be null");
+        }
+        this.snapshotFile = file;
+        this.snapshotCodec = codec;
+        return this;
+    }
+
+    /**
+     * 创建内存池
+     * Build memory pool
+     *
+     * @return 内存池实例 / Memory pool instance
+     */
+    public ObjectsMemoryPool<T> build() {
+        if (size <= 0) {
+            throw new IllegalStateException("Pool size is required");
+        }
+        if (hintFile != null) {
+            applyHint();
+        }
+        PoolConfig config = new PoolConfig(maxCapacity, cacheCapacity, cacheStripes,
+                                           fetchTimes, fetchTimesMin, fetchTimesMax, overflowCapacity, retirement);
+        PoolStrategy poolStrategy = new PoolStrategy(fetchStrategy, failRestorer, cacheStrategy);
+        if (snapshotFile != null) {
+            return buildFromSnapshot(poolStrategy, config);
+        }
+        return new ObjectsMemoryPoolImpl<>(creator, size, poolStrategy, config);
+    }
+
+    private ObjectsMemoryPool<T> buildFromSnapshot(PoolStrategy poolStrategy, PoolConfig config) {
+        SnapshotCreator<T> restoring = PoolSnapshot.restoring(snapshotFile, snapshotCodec, creator);
+        int capacity = config.capacityFor(size);
+        List<T> prepared = new ArrayList<>(capacity);
+        // 快照只用于构建时放入主池的对象，池之后只持有原创建器，不再引用快照映射与此列表
+        // The snapshot only serves objects put into the main pool while building, afterwards the pool keeps
+        // the original creator alone and no longer refers the snapshot mapping or this list
+        ObjectsMemoryPool<T> pool = new ObjectsMemoryPoolImpl<>(creator, () -> {
+            T t = restoring.create();
+            prepared.add(t);
+            return t;
+        }, size, poolStrategy, config);
+        if (restoring.restored() < capacity) {
+            try {
+                PoolSnapshot.save(snapshotFile, snapshotCodec, prepared);
+            } catch (IOException e) {
+                throw new IllegalStateException("Can not write pool snapshot to " + snapshotFile, e);
+            }
+        }
+        return pool;
+    }
+
+    private void applyHint() {
+        SizingRecommendation hint;
+        try {
+            hint = SizingHints.load(hintFile, hintName);
+        } catch (IOException e) {
+            throw new IllegalStateException("Can not read sizing hint of [" + hintName + "] from " + hintFile, e);
+        }
+        if (hint != null) {
+            size(hint.getSize());
+            cacheCapacity(Math.min(hint.getCacheCapacity(), Constants.MAX_CACHE_CAPACITY));
+        }
+    }
+}
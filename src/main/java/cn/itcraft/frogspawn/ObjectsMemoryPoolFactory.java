@@ -17,6 +17,7 @@
 package cn.itcraft.frogspawn;
 
 import cn.itcraft.frogspawn.impl.ObjectsMemoryPoolImpl;
+import cn.itcraft.frogspawn.impl.SpscObjectsMemoryPoolImpl;
 import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
 import cn.itcraft.frogspawn.strategy.FetchStrategy;
 import cn.itcraft.frogspawn.strategy.PoolStrategy;
@@ -68,4 +69,35 @@ public final class ObjectsMemoryPoolFactory {
         }
         return new ObjectsMemoryPoolImpl<>(creator, size, poolStrategy);
     }
+
+    /**
+     * 创建内存池构建器，可为单个池指定调优参数
+     * Create memory pool builder, allowing tuning parameters per pool
+     *
+     * @param creator 对象创建器 / Object creator
+     * @param <T>     必须实现 Resettable 接口的类型 / Type must implement Resettable interface
+     * @return 内存池构建器 / Memory pool builder
+     */
+    public static <T extends Resettable> ObjectsMemoryPoolBuilder<T> builder(ObjectCreator<T> creator) {
+        return new ObjectsMemoryPoolBuilder<>(creator);
+    }
+
+    /**
+     * 创建单生产者单消费者交接内存池，适用于固定的一对生产/消费线程
+     * Create single-producer single-consumer handoff memory pool, for a fixed producer/consumer thread pair
+     *
+     * @param creator      对象创建器 / Object creator
+     * @param size         内存池大小 / Pool size
+     * @param poolStrategy 池策略，缓存策略不生效 / Pool strategy, cache strategy is ignored
+     * @param <T>          必须实现 Resettable 接口的类型 / Type must implement Resettable interface
+     * @return 交接内存池实例，使用前需绑定线程 / Handoff memory pool instance, threads must be bound before use
+     */
+    public static <T extends Resettable> SpscObjectsMemoryPool<T> newSpscPool(ObjectCreator<T> creator,
+                                                                              int size,
+                                                                              PoolStrategy poolStrategy) {
+        if (poolStrategy == null) {
+            throw new IllegalArgumentException("Pool strategy can not be null");
+        }
+        return new SpscObjectsMemoryPoolImpl<>(creator, size, poolStrategy);
+    }
 }
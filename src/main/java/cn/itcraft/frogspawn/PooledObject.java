@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.impl.PoolSlot;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 池化对象基类，对象自身保存槽位 ID 与使用状态，主池数组直接持有对象而无需包装
+ * Base class of pooled objects, the object keeps its slot id and usage state itself,
+ * so the main pool array holds objects directly without wrappers
+ * <p>
+ * 普通 {@link Resettable} 在主池中的每次探测需要依次访问数组槽位、包装对象、带填充的状态对象和池化对象本身；
+ * 继承本类后探测只访问数组槽位和对象本身，状态通过字段更新器原地 CAS。
+ * 状态与业务字段共享缓存行，相邻对象之间不再有填充隔离
+ * <p>
+ * Each probe of a plain {@link Resettable} in the main pool visits the array slot, the wrapper, the padded
+ * state object and the pooled object in turn; extending this class leaves the array slot and the object itself,
+ * with state CASed in place via a field updater.
+ * State shares cache lines with business fields, adjacent objects are no longer isolated by padding
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public abstract class PooledObject extends PoolSlot<PooledObject> implements Resettable {
+
+    private static final AtomicIntegerFieldUpdater<PooledObject> USED =
+            AtomicIntegerFieldUpdater.newUpdater(PooledObject.class, "used");
+
+    /**
+     * 使用状态，0 未使用，1 使用中
+     * Usage state, 0 unused, 1 in use
+     */
+    private volatile int used;
+
+    private int markedId = -1;
+
+    @Override
+    protected final PooledObject getObj() {
+        return this;
+    }
+
+    @Override
+    protected final boolean markUsed() {
+        return USED.compareAndSet(this, 0, 1);
+    }
+
+    @Override
+    protected final boolean markUnused() {
+        return USED.compareAndSet(this, 1, 0);
+    }
+
+    @Override
+    public final int getMarkedId() {
+        return markedId;
+    }
+
+    @Override
+    public final void markId(int id) {
+        this.markedId = id;
+    }
+}
@@ -46,6 +46,36 @@ public interface Resettable {
         return false;
     }
 
+    /**
+     * 报告对象当前保留的内存大小（如可增长缓冲区的容量），供退役策略判断，单位由实现自行约定
+     * 默认实现返回 0（不参与按大小退役）
+     *
+     * @return 保留大小
+     * Retained size
+     * <p>
+     * Report memory currently retained by the object (e.g. capacity of growable buffers) for the retirement
+     * policy, unit defined by the implementation
+     * Default implementation returns 0 (never retired by size)
+     */
+    default long retainedSize() {
+        return 0L;
+    }
+
+    /**
+     * 保留大小超过退役阈值时在后台线程调用，原地释放多余内存；对象此时已重置且不被任何线程持有
+     * 默认实现返回 false，由池调用创建器替换该对象
+     *
+     * @return 如果已原地收缩返回 true，否则 false
+     * Returns true if shrunk in place, false otherwise
+     * <p>
+     * Called on the background thread when retained size exceeds the retirement threshold, releases excess
+     * memory in place; the object is already reset and held by no thread at that time
+     * Default implementation returns false, the pool then replaces the object through the creator
+     */
+    default boolean shrink() {
+        return false;
+    }
+
     /**
      * 获取通过 markId 方法注入的分配标识符
      *
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+/**
+ * 单生产者单消费者交接内存池：生产线程取对象、填充后交给消费线程，消费线程处理后归还
+ * Single-producer single-consumer handoff memory pool: the producer thread fetches and fills objects
+ * then hands them over to the consumer thread, which releases them after processing
+ * <p>
+ * 内部使用一对 SPSC 环形队列（空闲对象、已交接对象），全程无 CAS。
+ * 使用前必须分别在两个线程中调用 bindProducer()/bindConsumer() 绑定所属线程
+ * <p>
+ * Uses a pair of SPSC rings internally (free objects, handed over objects), no CAS at all.
+ * Owner threads must be bound by calling bindProducer()/bindConsumer() from them before use
+ *
+ * @param <T> 必须实现 Resettable 接口的类型参数 / Type parameter that must implement Resettable interface
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public interface SpscObjectsMemoryPool<T extends Resettable> extends ObjectsMemoryPool<T> {
+
+    /**
+     * 将当前线程绑定为生产线程，只有生产线程可以调用 fetch()/publish()
+     * Bind current thread as producer, only the producer may call fetch()/publish()
+     */
+    void bindProducer();
+
+    /**
+     * 将当前线程绑定为消费线程，只有消费线程可以调用 poll()/release()
+     * Bind current thread as consumer, only the consumer may call poll()/release()
+     */
+    void bindConsumer();
+
+    /**
+     * 由生产线程将已填充的对象交给消费线程
+     * Hand over a filled object to the consumer, called by producer
+     *
+     * @param filled 已填充的对象 / Filled object
+     * @return 交接队列已满时返回 false / false when handoff ring is full
+     */
+    boolean publish(T filled);
+
+    /**
+     * 由消费线程取得生产线程交接的对象
+     * Take an object handed over by the producer, called by consumer
+     *
+     * @return 对象，没有时返回 null / Object, null when none
+     */
+    T poll();
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记可池化的类，编译期由 PooledProcessor 生成实现 Resettable 的子类 {类名}Pooled
+ * Marks a poolable class, PooledProcessor generates a subclass {ClassName}Pooled implementing Resettable at compile time
+ * <p>
+ * 生成的子类包含分配标识字段、只清理 {@link Clear} 标注字段的直线式 reset()，以及对应的 ObjectCreator，
+ * 不使用反射。被标注的类不能是 final，需要可访问的无参构造器
+ * <p>
+ * The generated subclass contains the allocation id field, a straight-line reset() clearing only fields
+ * annotated with {@link Clear}, and the matching ObjectCreator, without reflection.
+ * The annotated class must not be final and needs an accessible no-arg constructor
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Pooled {
+}
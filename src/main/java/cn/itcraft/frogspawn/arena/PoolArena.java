@@ -0,0 +1,371 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.arena;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.constants.Constants;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+
+import java.util.Arrays;
+
+/**
+ * 线程独占的对象池作用域，作用域内取得的对象在作用域结束时统一归还
+ * Thread-confined pool arena, objects fetched within a scope are released together when the scope ends
+ * <p>
+ * 取得的对象与其所属池记录在可复用的作用域日志中；关闭作用域时按池分组批量归还。
+ * 作用域可以嵌套，内层关闭只归还内层取得的对象。日志与各层作用域对象均被复用，稳定后不再分配内存
+ * <p>
+ * Fetched objects and their pools are recorded in a reusable scope log; closing a scope releases them in
+ * batches grouped by pool. Scopes can be nested, closing an inner scope releases only objects fetched in it.
+ * The log and scope objects of each level are reused, no allocation in steady state
+ * <pre>
+ * PoolArena arena = PoolArena.current();
+ * try (PoolArena.Scope scope = arena.open()) {
+ *     Order order = arena.fetch(orderPool);
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class PoolArena {
+
+    private static final ThreadLocal<PoolArena> CURRENT = ThreadLocal.withInitial(PoolArena::new);
+
+    private final Thread owner;
+
+    /**
+     * 作用域日志：对象与其所属池
+     * Scope log: objects and their pools
+     */
+    private Object[] objects;
+    private ObjectsMemoryPool<?>[] pools;
+    private int size;
+
+    /**
+     * 各层作用域在日志中的起始位置，以及复用的作用域对象
+     * Start position in the log of each scope level, and reused scope objects
+     */
+    private int[] marks = new int[8];
+    private Scope[] scopes = new Scope[8];
+    private int depth;
+
+    /**
+     * 分组归还的临时空间，随日志容量增长并被复用：按池聚集后的对象、各条目的分组、各分组的池、末尾位置与散列位置，
+     * 以及以恒等比较的池到分组的开放寻址表
+     * Scratch space of grouped release, grown with the log and reused: objects gathered by pool, group of each entry,
+     * pool, end position and table position of each group, and an open addressing identity table from pool to group
+     */
+    private Resettable[] grouped;
+    private int[] groupOf;
+    private ObjectsMemoryPool<?>[] groupPools;
+    private int[] groupEnds;
+    private int[] groupSlots;
+    private ObjectsMemoryPool<?>[] tableKeys;
+    private int[] tableGroups;
+
+    public PoolArena() {
+        this(Constants.ARENA_CAPACITY);
+    }
+
+    /**
+     * 构造方法，由当前线程独占
+     * Constructor, confined to current thread
+     *
+     * @param capacity 日志初始容量 / Initial log capacity
+     */
+    public PoolArena(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.owner = Thread.currentThread();
+        this.objects = new Object[capacity];
+        this.pools = new ObjectsMemoryPool<?>[capacity];
+    }
+
+    /**
+     * 获取当前线程的作用域管理器
+     * Get the arena of current thread
+     *
+     * @return 当前线程的 PoolArena / PoolArena of current thread
+     */
+    public static PoolArena current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 打开一层作用域
+     * Open a scope level
+     *
+     * @return 作用域，关闭时归还本层取得的对象 / Scope, releases objects fetched in this level on close
+     */
+    public Scope open() {
+        checkOwner();
+        if (depth == marks.length) {
+            marks = Arrays.copyOf(marks, depth << 1);
+            scopes = Arrays.copyOf(scopes, depth << 1);
+        }
+        Scope scope = scopes[depth];
+        if (scope == null) {
+            scope = new Scope(this, depth);
+            scopes[depth] = scope;
+        }
+        marks[depth++] = size;
+        return scope;
+    }
+
+    /**
+     * 从池中取对象并记录到当前作用域
+     * Fetch object from the pool and record it in current scope
+     *
+     * @param pool 对象池 / Object pool
+     * @param <T>  对象类型 / Object type
+     * @return 池中对象，池返回 null 时为 null / Pooled object, null when the pool returns null
+     * @throws IllegalStateException 没有打开的作用域或由其他线程调用 / No open scope or called from another thread
+     */
+    public <T extends Resettable> T fetch(ObjectsMemoryPool<T> pool) {
+        checkOwner();
+        if (depth == 0) {
+            throw new IllegalStateException("No open scope");
+        }
+        T obj = pool.fetch();
+        if (obj != null) {
+            record(pool, obj);
+        }
+        return obj;
+    }
+
+    /**
+     * 将其他途径从池中取得的对象记录到当前作用域
+     * Record an object fetched from the pool by other means in current scope
+     *
+     * @param pool 对象所属的池 / Pool the object belongs to
+     * @param obj  对象 / Object
+     * @param <T>  对象类型 / Object type
+     * @return 对象本身 / The object itself
+     * @throws IllegalStateException 没有打开的作用域或由其他线程调用 / No open scope or called from another thread
+     */
+    public <T extends Resettable> T track(ObjectsMemoryPool<T> pool, T obj) {
+        checkOwner();
+        if (depth == 0) {
+            throw new IllegalStateException("No open scope");
+        }
+        if (obj != null) {
+            record(pool, obj);
+        }
+        return obj;
+    }
+
+    /**
+     * 当前作用域嵌套深度
+     * Current scope depth
+     *
+     * @return 深度，0 表示没有打开的作用域 / Depth, 0 means no open scope
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * 所有打开的作用域中记录的对象数
+     * Objects recorded in all open scopes
+     *
+     * @return 对象数 / Object count
+     */
+    public int size() {
+        return size;
+    }
+
+    private void record(ObjectsMemoryPool<?> pool, Object obj) {
+        if (size == objects.length) {
+            objects = Arrays.copyOf(objects, size << 1);
+            pools = Arrays.copyOf(pools, size << 1);
+        }
+        objects[size] = obj;
+        pools[size++] = pool;
+    }
+
+    /**
+     * 关闭一层作用域。内层作用域未关闭时（如异常绕过了 try-with-resources），一并归还内层的对象并回退深度，
+     * 再报告误用，避免对象泄漏、作用域深度在线程生命周期内停留在错误的层级
+     * <p>
+     * Close a scope level. When inner scopes were left open (e.g. an exception bypassed try-with-resources),
+     * their objects are released and the depth is unwound too before the misuse is reported, so nothing leaks
+     * and the arena is not stuck at a wrong depth for the thread's lifetime
+     */
+    private void close(int level) {
+        checkOwner();
+        if (level >= depth) {
+            throw new IllegalStateException("Scope of depth " + level + " closed while depth is " + depth);
+        }
+        int open = depth;
+        int mark = marks[level];
+        depth = level;
+        try {
+            releaseGrouped(mark, size);
+        } finally {
+            Arrays.fill(objects, mark, size, null);
+            Arrays.fill(pools, mark, size, null);
+            size = mark;
+        }
+        if (level != open - 1) {
+            throw new IllegalStateException("Scope of depth " + level + " closed while depth is " + open
+                                                    + ", inner scopes were closed with it");
+        }
+    }
+
+    /**
+     * 按池分组归还日志区间内的对象：一次遍历以恒等散列表为每个池分配分组并计数，再按计数排序聚集，
+     * 每个池只调用一次 {@link ObjectsMemoryPool#releaseAll}，开销与对象数成线性关系
+     * <p>
+     * Release objects in the log range grouped by pool: one pass assigns each pool a group through an identity
+     * hash table and counts it, a counting sort gathers the objects, then each pool gets a single
+     * {@link ObjectsMemoryPool#releaseAll} call, linear in the object count
+     * <p>
+     * 某个池归还失败不影响其余分组，全部分组处理完后抛出第一个异常，其余异常作为 suppressed 附加
+     * <p>
+     * A failing pool does not stop the other groups, the first exception is thrown once every group is done,
+     * later ones are attached as suppressed
+     */
+    private void releaseGrouped(int from, int to) {
+        int count = to - from;
+        if (count == 0) {
+            return;
+        }
+        ensureScratch(count);
+        int groups = 0;
+        Throwable failure = null;
+        try {
+            int mask = tableKeys.length - 1;
+            ObjectsMemoryPool<?> pool;
+            ObjectsMemoryPool<?> key;
+            int slot;
+            int group;
+            for (int i = from; i < to; i++) {
+                pool = pools[i];
+                slot = System.identityHashCode(pool) & mask;
+                while ((key = tableKeys[slot]) != pool && key != null) {
+                    slot = (slot + 1) & mask;
+                }
+                if (key == null) {
+                    tableKeys[slot] = pool;
+                    tableGroups[slot] = group = groups++;
+                    groupPools[group] = pool;
+                    groupSlots[group] = slot;
+                    groupEnds[group] = 0;
+                } else {
+                    group = tableGroups[slot];
+                }
+                groupOf[i - from] = group;
+                groupEnds[group]++;
+            }
+            // 计数转为各分组的起始位置，聚集时推进到末尾位置
+            // Counts become start positions of groups, advanced to end positions while gathering
+            int offset = 0;
+            int size;
+            for (group = 0; group < groups; group++) {
+                size = groupEnds[group];
+                groupEnds[group] = offset;
+                offset += size;
+            }
+            for (int i = from; i < to; i++) {
+                grouped[groupEnds[groupOf[i - from]]++] = (Resettable) objects[i];
+            }
+            int start = 0;
+            for (group = 0; group < groups; group++) {
+                try {
+                    groupPools[group].releaseAll(grouped, start, groupEnds[group]);
+                } catch (RuntimeException | Error e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+                start = groupEnds[group];
+            }
+        } finally {
+            for (int group = 0; group < groups; group++) {
+                tableKeys[groupSlots[group]] = null;
+                groupPools[group] = null;
+            }
+            Arrays.fill(grouped, 0, count, null);
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure != null) {
+            throw (Error) failure;
+        }
+    }
+
+    /**
+     * 保证分组临时空间足够，散列表负载不超过一半
+     * Ensure scratch space of grouping is large enough, the hash table stays at most half full
+     */
+    private void ensureScratch(int count) {
+        if (grouped != null && grouped.length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, objects.length);
+        grouped = new Resettable[capacity];
+        groupOf = new int[capacity];
+        groupPools = new ObjectsMemoryPool<?>[capacity];
+        groupEnds = new int[capacity];
+        groupSlots = new int[capacity];
+        int tableSize = ArrayUtil.findNextPositivePowerOfTwo(capacity << 1);
+        tableKeys = new ObjectsMemoryPool<?>[tableSize];
+        tableGroups = new int[tableSize];
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("PoolArena is confined to thread " + owner.getName());
+        }
+    }
+
+    /**
+     * 一层作用域，每个深度一个实例并被复用
+     * A scope level, one instance per depth and reused
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final PoolArena arena;
+        private final int level;
+
+        private Scope(PoolArena arena, int level) {
+            this.arena = arena;
+            this.level = level;
+        }
+
+        /**
+         * 归还本层取得的对象，必须按打开的相反顺序关闭；仍有未关闭的内层时一并归还后抛出异常
+         * Release objects fetched in this level, must be closed in reverse order of opening;
+         * inner levels still open are released with it, then an exception is thrown
+         *
+         * @throws IllegalStateException 本层已关闭或仍有未关闭的内层 / This level is already closed
+         *                               or inner levels were still open
+         */
+        @Override
+        public void close() {
+            arena.close(level);
+        }
+    }
+}
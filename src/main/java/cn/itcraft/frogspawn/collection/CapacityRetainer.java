@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.collection;
+
+import cn.itcraft.frogspawn.constants.Constants;
+
+/**
+ * 可重置集合的容量保留策略：重置时保留容量直至高水位，连续多次使用不足时减半
+ * Capacity retention policy of resettable collections: keep capacity up to the high-water mark on reset,
+ * halve it after repeated under-use
+ * <p>
+ * 两次重置之间未被使用的集合不计入使用不足的轮次，同一次归还中重复的重置（如对象图归还器先重置、池再重置）
+ * 不会使容量加快缩减
+ * <p>
+ * A collection left untouched between two resets does not count as an under-used round, so repeated resets
+ * within one release (e.g. the graph releaser resets, then the pool resets again) do not speed up shrinking
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class CapacityRetainer {
+
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+    static final int DEFAULT_HIGH_WATER_MARK = 1024;
+
+    /**
+     * 上次重置后未被使用过的峰值标记
+     * Peak marker of a collection untouched since the last reset
+     */
+    static final int UNTOUCHED = -1;
+
+    private final int initialCapacity;
+    private final int highWaterMark;
+
+    /**
+     * 连续使用不足的重置次数
+     * Consecutive resets with under-use
+     */
+    private int underUsed;
+
+    CapacityRetainer(int initialCapacity, int highWaterMark) {
+        if (initialCapacity < 1 || highWaterMark < initialCapacity) {
+            throw new IllegalArgumentException("Initial capacity must be in [1, highWaterMark]");
+        }
+        this.initialCapacity = initialCapacity;
+        this.highWaterMark = highWaterMark;
+    }
+
+    int getInitialCapacity() {
+        return initialCapacity;
+    }
+
+    /**
+     * 计算重置后保留的容量
+     * Compute the capacity to keep after reset
+     *
+     * @param capacity 当前容量 / Current capacity
+     * @param used     本轮使用的峰值，未被使用过时为负数 / Peak usage of this round, negative when untouched
+     * @return 保留的容量 / Capacity to keep
+     */
+    int retain(int capacity, int used) {
+        if (capacity > highWaterMark) {
+            underUsed = 0;
+            return highWaterMark;
+        }
+        if (used < 0) {
+            return capacity;
+        }
+        if (capacity > initialCapacity && used <= (capacity >>> 2)) {
+            if (++underUsed >= Constants.COLLECTION_SHRINK_RESETS) {
+                underUsed = 0;
+                return Math.max(initialCapacity, capacity >>> 1);
+            }
+        } else {
+            underUsed = 0;
+        }
+        return capacity;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.collection;
+
+import cn.itcraft.frogspawn.Resettable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * 可重置的数组列表，适合作为池化对象的字段
+ * Resettable array list, suitable as a field of pooled objects
+ * <p>
+ * clear() 只置空已使用的槽位，耗时与元素数成正比；reset() 在此基础上按 {@link CapacityRetainer} 保留容量：
+ * 超过高水位的数组被替换，连续多次使用不足 1/4 时容量减半。非线程安全
+ * <p>
+ * clear() nulls used slots only, cost is proportional to element count; reset() additionally keeps capacity
+ * by {@link CapacityRetainer}: arrays beyond the high-water mark are replaced, and capacity is halved after
+ * repeated under-use of 1/4. Not thread-safe
+ *
+ * @param <E> 元素类型 / Element type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ResettableArrayList<E> extends AbstractList<E> implements RandomAccess, Resettable {
+
+    private final CapacityRetainer retainer;
+
+    private Object[] elements;
+    private int size;
+
+    /**
+     * 本轮使用的峰值
+     * Peak size of this round
+     */
+    private int peak = CapacityRetainer.UNTOUCHED;
+
+    private int markedId = -1;
+
+    public ResettableArrayList() {
+        this(CapacityRetainer.DEFAULT_INITIAL_CAPACITY, CapacityRetainer.DEFAULT_HIGH_WATER_MARK);
+    }
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param initialCapacity 初始容量，也是收缩下限 / Initial capacity, also the lower bound of shrinking
+     * @param highWaterMark   重置后保留的最大容量 / Max capacity kept after reset
+     */
+    public ResettableArrayList(int initialCapacity, int highWaterMark) {
+        this.retainer = new CapacityRetainer(initialCapacity, highWaterMark);
+        this.elements = new Object[initialCapacity];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) elements[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        E old = (E) elements[index];
+        elements[index] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+        elements[size++] = element;
+        if (size > peak) {
+            peak = size;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        if (++size > peak) {
+            peak = size;
+        }
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        E old = (E) elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        elements[--size] = null;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 清空列表并保留容量，只置空已使用的槽位
+     * Clear the list and keep capacity, only used slots are nulled
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public void reset() {
+        clear();
+        int capacity = retainer.retain(elements.length, peak);
+        if (capacity != elements.length) {
+            elements = new Object[capacity];
+        }
+        peak = CapacityRetainer.UNTOUCHED;
+    }
+
+    /**
+     * 当前容量
+     * Current capacity
+     *
+     * @return 容量 / Capacity
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    public int getMarkedId() {
+        return markedId;
+    }
+
+    @Override
+    public void markId(int id) {
+        this.markedId = id;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
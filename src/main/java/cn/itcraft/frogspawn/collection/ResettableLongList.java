@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.collection;
+
+import cn.itcraft.frogspawn.Resettable;
+
+import java.util.Arrays;
+
+/**
+ * 可重置的 long 列表，不装箱，适合作为池化对象的字段
+ * Resettable long list without boxing, suitable as a field of pooled objects
+ * <p>
+ * 重置只需归零长度，容量按 {@link CapacityRetainer} 保留。非线程安全
+ * Reset only zeroes the size, capacity is kept by {@link CapacityRetainer}. Not thread-safe
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ResettableLongList implements Resettable {
+
+    private final CapacityRetainer retainer;
+
+    private long[] elements;
+    private int size;
+    private int peak = CapacityRetainer.UNTOUCHED;
+
+    private int markedId = -1;
+
+    public ResettableLongList() {
+        this(CapacityRetainer.DEFAULT_INITIAL_CAPACITY, CapacityRetainer.DEFAULT_HIGH_WATER_MARK);
+    }
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param initialCapacity 初始容量，也是收缩下限 / Initial capacity, also the lower bound of shrinking
+     * @param highWaterMark   重置后保留的最大容量 / Max capacity kept after reset
+     */
+    public ResettableLongList(int initialCapacity, int highWaterMark) {
+        this.retainer = new CapacityRetainer(initialCapacity, highWaterMark);
+        this.elements = new long[initialCapacity];
+    }
+
+    public void add(long value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+        elements[size++] = value;
+        if (size > peak) {
+            peak = size;
+        }
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public long set(int index, long value) {
+        checkIndex(index);
+        long old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    /**
+     * 移除并返回最后一个元素
+     * Remove and return the last element
+     *
+     * @return 最后一个元素 / Last element
+     */
+    public long removeLast() {
+        checkIndex(size - 1);
+        return elements[--size];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public void reset() {
+        size = 0;
+        int capacity = retainer.retain(elements.length, peak);
+        if (capacity != elements.length) {
+            elements = new long[capacity];
+        }
+        peak = CapacityRetainer.UNTOUCHED;
+    }
+
+    /**
+     * 复制已有元素
+     * Copy existing elements
+     *
+     * @return 元素副本 / Copy of elements
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * 当前容量
+     * Current capacity
+     *
+     * @return 容量 / Capacity
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    public int getMarkedId() {
+        return markedId;
+    }
+
+    @Override
+    public void markId(int id) {
+        this.markedId = id;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.collection;
+
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+
+import java.util.Arrays;
+
+/**
+ * 以 long 为键的可重置开放寻址散列表，线性探测、删除时后移，不装箱也不创建节点对象
+ * Resettable open-addressing hash map keyed by long, linear probing with backward-shift deletion,
+ * no boxing and no node objects
+ * <p>
+ * 写入过的槽位记录在日志中，重置时只清理这些槽位，耗时与本轮写入数成正比；
+ * 同一轮中写入次数超过容量时退化为清理整个表。容量按 {@link CapacityRetainer} 保留。值不能为 null，非线程安全
+ * <p>
+ * Written slots are logged so reset clears only those slots, cost is proportional to writes of the round;
+ * falls back to clearing the whole table when writes of a round exceed capacity.
+ * Capacity is kept by {@link CapacityRetainer}. Values must not be null. Not thread-safe
+ *
+ * @param <V> 值类型 / Value type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ResettableLongMap<V> implements Resettable {
+
+    private final CapacityRetainer retainer;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int peak = CapacityRetainer.UNTOUCHED;
+
+    /**
+     * 本轮写入过的槽位日志
+     * Log of slots written in this round
+     */
+    private int[] written;
+    private int writtenCount;
+
+    private int markedId = -1;
+
+    public ResettableLongMap() {
+        this(CapacityRetainer.DEFAULT_INITIAL_CAPACITY, CapacityRetainer.DEFAULT_HIGH_WATER_MARK);
+    }
+
+    /**
+     * 构造方法，容量为散列表槽位数，向上取整为2的幂次方，负载因子 0.5
+     * Constructor, capacity is the slot count of the table, rounded up to power of two, load factor 0.5
+     *
+     * @param initialCapacity 初始容量，也是收缩下限 / Initial capacity, also the lower bound of shrinking
+     * @param highWaterMark   重置后保留的最大容量 / Max capacity kept after reset
+     */
+    public ResettableLongMap(int initialCapacity, int highWaterMark) {
+        int initial = ArrayUtil.findNextPositivePowerOfTwo(Math.max(2, initialCapacity));
+        this.retainer = new CapacityRetainer(initial,
+                                             ArrayUtil.findNextPositivePowerOfTwo(Math.max(initial, highWaterMark)));
+        allocate(initial);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int i = slot(key);
+        Object value;
+        while ((value = values[i]) != null) {
+            if (keys[i] == key) {
+                return (V) value;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * 写入键值对
+     * Put key and value
+     *
+     * @param key   键 / Key
+     * @param value 值，不能为 null / Value, must not be null
+     * @return 原有的值，没有时为 null / Previous value, null when absent
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value can not be null");
+        }
+        int i = slot(key);
+        Object old;
+        while ((old = values[i]) != null) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return (V) old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        log(i);
+        if (++size > peak) {
+            peak = size;
+        }
+        if ((size << 1) > values.length) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * 删除键，后续同簇元素前移以保持探测链连续
+     * Remove key, following entries of the cluster shift back to keep probe chains continuous
+     *
+     * @param key 键 / Key
+     * @return 被删除的值，没有时为 null / Removed value, null when absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int i = slot(key);
+        Object old;
+        while ((old = values[i]) != null) {
+            if (keys[i] == key) {
+                shiftBack(i);
+                size--;
+                return (V) old;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 遍历所有键值对，不创建迭代器
+     * Visit all entries without creating iterator
+     *
+     * @param consumer 访问者 / Visitor
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                consumer.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    /**
+     * 清空并保留容量，只清理本轮写入过的槽位
+     * Clear and keep capacity, only slots written in this round are cleared
+     */
+    public void clear() {
+        if (writtenCount > written.length) {
+            Arrays.fill(values, null);
+        } else {
+            for (int i = 0; i < writtenCount; i++) {
+                values[written[i]] = null;
+            }
+        }
+        writtenCount = 0;
+        size = 0;
+    }
+
+    @Override
+    public void reset() {
+        clear();
+        // 负载因子 0.5，满载时使用量按两倍计
+        // Load factor 0.5, usage counts double so a full table is fully used
+        int capacity = retainer.retain(values.length, peak << 1);
+        if (capacity != values.length) {
+            allocate(capacity);
+        }
+        peak = CapacityRetainer.UNTOUCHED;
+    }
+
+    /**
+     * 当前容量（槽位数）
+     * Current capacity (slot count)
+     *
+     * @return 容量 / Capacity
+     */
+    public int capacity() {
+        return values.length;
+    }
+
+    @Override
+    public int getMarkedId() {
+        return markedId;
+    }
+
+    @Override
+    public void markId(int id) {
+        this.markedId = id;
+    }
+
+    private int slot(long key) {
+        int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void log(int slot) {
+        // 日志已满后只计数，重置时退化为整表清理
+        // Only count once the log is full, reset falls back to clearing the whole table
+        if (writtenCount < written.length) {
+            written[writtenCount++] = slot;
+        } else if (writtenCount == written.length) {
+            writtenCount++;
+        }
+    }
+
+    private void shiftBack(int hole) {
+        int i = hole;
+        int j = hole;
+        int home;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == null) {
+                break;
+            }
+            home = slot(keys[j]);
+            // home 位于 (i, j] 循环区间内时元素无需移动
+            // Entry stays when its home lies in the cyclic range (i, j]
+            if (i <= j ? (i < home && home <= j) : (i < home || home <= j)) {
+                continue;
+            }
+            // 槽位 i 此前已被占用过，已在日志中
+            // Slot i was occupied before, it is already logged
+            keys[i] = keys[j];
+            values[i] = values[j];
+            i = j;
+        }
+        values[i] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int i;
+        for (int k = 0; k < oldValues.length; k++) {
+            if (oldValues[k] != null) {
+                i = slot(oldKeys[k]);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+                log(i);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        written = new int[capacity];
+        writtenCount = 0;
+        mask = capacity - 1;
+    }
+
+    /**
+     * 键值对访问者
+     * Entry visitor
+     *
+     * @param <V> 值类型 / Value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        void accept(long key, V value);
+    }
+}
@@ -34,15 +34,32 @@ public final class Constants {
      */
     public static final int FETCH_TIMES
             = Integer.parseInt(System.getProperty("frogspawn.fetch.times", DEFAULT_FETCH_TIMES));
+    /**
+     * 自适应探测次数下限，默认 2 与 FETCH_TIMES 中的较小值，接近空的池可降到该值
+     * Lower bound of adaptive probe budget, default the smaller of 2 and FETCH_TIMES,
+     * a nearly empty pool adapts down to it
+     */
+    public static final int FETCH_TIMES_MIN = Math.max(1, Integer.parseInt(
+            System.getProperty("frogspawn.fetch.times.min", String.valueOf(Math.min(2, FETCH_TIMES)))));
+    /**
+     * 自适应探测次数上限，默认 64 与 FETCH_TIMES 中的较大值
+     * Upper bound of adaptive probe budget, default the larger of 64 and FETCH_TIMES
+     * <p>
+     * 上下限相等时探测次数固定
+     * Probe budget is fixed when both bounds are equal
+     */
+    public static final int FETCH_TIMES_MAX = Math.max(FETCH_TIMES_MIN, Integer.parseInt(
+            System.getProperty("frogspawn.fetch.times.max", String.valueOf(Math.max(64, FETCH_TIMES)))));
     /**
      * 最大容量，默认 65536*16
      */
     private static final String DEFAULT_MAX_CAPACITY = "1048576";
     /**
-     * 实际运行中最大容量
+     * 实际运行中最大容量，向下取整为2的幂次方
+     * Maximum capacity in use, rounded down to power of two
      */
-    public static final int MAX_CAPACITY
-            = Integer.parseInt(System.getProperty("frogspawn.max.capacity", DEFAULT_MAX_CAPACITY));
+    public static final int MAX_CAPACITY = Integer.highestOneBit(
+            Math.max(1, Integer.parseInt(System.getProperty("frogspawn.max.capacity", DEFAULT_MAX_CAPACITY))));
     /**
      * 默认缓存大小，默认 8，最大 64
      * Default cache capacity, default 8, maximum 64
@@ -59,7 +76,7 @@ public final class Constants {
      * 用于确保缓存容量不超过安全阈值
      * Used to ensure cache capacity does not exceed safe threshold
      */
-    private static final int MAX_CACHE_CAPACITY = 64;
+    public static final int MAX_CACHE_CAPACITY = 64;
 
     /**
      * 实际使用的缓存容量值
@@ -79,6 +96,83 @@ public final class Constants {
                     Integer.parseInt(System.getProperty("frogspawn.cache.capacity", DEFAULT_CACHE_CAPACITY))),
             MAX_CACHE_CAPACITY);
 
+    /**
+     * 条带缓存的条带数，默认为 CPU 核数，向上取整为2的幂次方
+     * Stripe count of the striped cache, defaults to CPU count, rounded up to power of two
+     * <p>
+     * 通过系统属性 "frogspawn.cache.stripes" 配置
+     * Configured via system property "frogspawn.cache.stripes"
+     */
+    public static final int CACHE_STRIPES = ArrayUtil.findNextPositivePowerOfTwo(
+            Integer.parseInt(System.getProperty("frogspawn.cache.stripes",
+                                                String.valueOf(Runtime.getRuntime().availableProcessors()))));
+
+    /**
+     * 清扫已结束线程缓存的最小间隔（毫秒），默认 1000
+     * Minimum interval (ms) between sweeps of dead threads' caches, default 1000
+     * <p>
+     * 通过系统属性 "frogspawn.sweep.interval" 配置
+     * Configured via system property "frogspawn.sweep.interval"
+     */
+    public static final long SWEEP_INTERVAL_MILLIS
+            = Long.parseLong(System.getProperty("frogspawn.sweep.interval", "1000"));
+
+    /**
+     * 溢出层容量，默认 0 即不启用
+     * Overflow tier capacity, default 0 means disabled
+     * <p>
+     * 启用后，池耗尽时新建的对象归还时被溢出层收留，在再次耗尽时先于创建器提供
+     * When enabled, objects created on exhaustion are adopted by the overflow tier once returned,
+     * and served before the creator on the next exhaustion
+     */
+    public static final int OVERFLOW_CAPACITY
+            = Integer.parseInt(System.getProperty("frogspawn.overflow.capacity", "0"));
+
+    /**
+     * 溢出层空闲收缩周期（毫秒），默认 1000
+     * Idle period (ms) before the overflow tier shrinks, default 1000
+     */
+    public static final long OVERFLOW_IDLE_MILLIS
+            = Long.parseLong(System.getProperty("frogspawn.overflow.idle", "1000"));
+
+    /**
+     * 可重置集合连续多少次重置使用率不足 1/4 后容量减半，默认 16
+     * Resettable collections halve capacity after this many consecutive resets under 1/4 usage, default 16
+     */
+    public static final int COLLECTION_SHRINK_RESETS
+            = Math.max(1, Integer.parseInt(System.getProperty("frogspawn.collection.shrink.resets", "16")));
+
+    /**
+     * 作用域日志的初始容量，默认 64，不足时翻倍并保留
+     * Initial capacity of arena scope log, default 64, doubled and kept when insufficient
+     */
+    public static final int ARENA_CAPACITY
+            = Math.max(1, Integer.parseInt(System.getProperty("frogspawn.arena.capacity", "64")));
+
+    /**
+     * 引用计数对象的调试模式默认值，默认关闭
+     * Default of debug mode for reference-counted objects, disabled by default
+     * <p>
+     * 开启后记录最后一次归还的调用栈，用于定位重复归还与归还后使用
+     * When enabled, the stack of the final release is recorded to locate over-release and use-after-release
+     */
+    public static final boolean REFCOUNT_DEBUG = Boolean.getBoolean("frogspawn.refcount.debug");
+
+    /**
+     * 共享内存池的参与者租约（毫秒），默认 10000；心跳超过租约未更新的参与者视为已崩溃
+     * Participant lease (ms) of shared memory pools, default 10000;
+     * participants whose heartbeat is older than the lease are treated as crashed
+     */
+    public static final long SHM_LEASE_MILLIS
+            = Math.max(100L, Long.parseLong(System.getProperty("frogspawn.shm.lease", "10000")));
+
+    /**
+     * 共享内存池的最大参与者数，默认 64
+     * Maximum participants of shared memory pools, default 64
+     */
+    public static final int SHM_PARTICIPANTS
+            = Math.max(1, Integer.parseInt(System.getProperty("frogspawn.shm.participants", "64")));
+
     /**
      * 私有构造器防止类实例化
      * Private constructor to prevent class instantiation
@@ -17,6 +17,7 @@
 package cn.itcraft.frogspawn.data;
 
 import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.impl.PoolSlot;
 import cn.itcraft.frogspawn.misc.PaddedAtomicBoolean;
 
 /**
@@ -27,7 +28,7 @@ import cn.itcraft.frogspawn.misc.PaddedAtomicBoolean;
  *            Generic parameter, must implement Resettable interface
  * @author Helly Guo
  */
-public class WrappedResettable<X extends Resettable> {
+public class WrappedResettable<X extends Resettable> extends PoolSlot<X> {
     /**
      * 被包装的原始可重置对象
      * The wrapped resettable object instance
@@ -57,6 +58,7 @@ public class WrappedResettable<X extends Resettable> {
         this.used = new PaddedAtomicBoolean(false);
     }
 
+    @Override
     public X getObj() {
         return obj;
     }
@@ -64,4 +66,14 @@ public class WrappedResettable<X extends Resettable> {
     public PaddedAtomicBoolean getUsed() {
         return used;
     }
+
+    @Override
+    protected boolean markUsed() {
+        return used.compareAndSet(false, true);
+    }
+
+    @Override
+    protected boolean markUnused() {
+        return used.compareAndSet(true, false);
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.failrestore;
+
+import cn.itcraft.frogspawn.ObjectCreator;
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.misc.PaddedAtomicLong;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 限制池耗尽时新建速率的失败恢复处理器（令牌桶）
+ * Failure restorer limiting creation rate on pool exhaustion (token bucket)
+ * <p>
+ * 桶内令牌足够时交由主处理器（默认直接创建）；令牌不足时，若在最长等待时间内可获得令牌则等待，
+ * 否则交由次级处理器，例如返回 null、抛出异常，或自定义处理器转向共享的后备池。
+ * 令牌桶以理论到达时间（GCRA）实现，只需一次 CAS
+ * <p>
+ * Delegates to the primary restorer (create directly by default) while tokens are available; when short of tokens,
+ * waits if a token is available within the maximum wait, otherwise delegates to the secondary restorer,
+ * e.g. return null, throw, or a custom restorer cascading to a shared fallback pool.
+ * The bucket is implemented with theoretical arrival time (GCRA), needing a single CAS
+ * <p>
+ * 注意：同一实例内的令牌由所有使用它的池共享，需要按池限流时每个池使用单独的实例
+ * Note: tokens are shared by all pools using the same instance, use one instance per pool to limit per pool
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ThrottledFailRestorer implements FailRestorer {
+
+    private final FailRestorer primary;
+    private final FailRestorer secondary;
+
+    /**
+     * 每个令牌的间隔（纳秒）
+     * Interval of each token (ns)
+     */
+    private final long intervalNanos;
+
+    /**
+     * 桶容量对应的时间跨度（纳秒）
+     * Time span of the bucket capacity (ns)
+     */
+    private final long burstNanos;
+
+    private final long maxWaitNanos;
+
+    /**
+     * 理论到达时间
+     * Theoretical arrival time
+     */
+    private final PaddedAtomicLong tat;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 构造方法，令牌不足时立即交由次级处理器
+     * Constructor, delegates to secondary restorer immediately when short of tokens
+     *
+     * @param permitsPerSecond 每秒允许新建的对象数 / Creations allowed per second
+     * @param burst            桶容量，允许的突发新建数 / Bucket capacity, creations allowed in a burst
+     * @param secondary        次级处理器 / Secondary restorer
+     */
+    public ThrottledFailRestorer(long permitsPerSecond, int burst, FailRestorer secondary) {
+        this(FetchFailStrategy.CALL_CREATOR, permitsPerSecond, burst, 0L, TimeUnit.NANOSECONDS, secondary);
+    }
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param primary          令牌足够时的处理器 / Restorer used when a token is available
+     * @param permitsPerSecond 每秒允许的次数 / Permits per second
+     * @param burst            桶容量，允许的突发次数 / Bucket capacity, permits allowed in a burst
+     * @param maxWait          令牌不足时的最长等待时间 / Maximum wait when short of tokens
+     * @param unit             等待时间单位 / Unit of wait time
+     * @param secondary        超出限制时的次级处理器 / Secondary restorer used over limit
+     */
+    public ThrottledFailRestorer(FailRestorer primary, long permitsPerSecond, int burst,
+                                 long maxWait, TimeUnit unit, FailRestorer secondary) {
+        if (primary == null || secondary == null) {
+            throw new IllegalArgumentException("Primary or secondary restorer should not be null");
+        }
+        if (permitsPerSecond <= 0 || burst <= 0 || maxWait < 0) {
+            throw new IllegalArgumentException("Permits and burst should be positive, wait should not be negative");
+        }
+        this.primary = primary;
+        this.secondary = secondary;
+        this.intervalNanos = Math.max(1L, TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * burst;
+        this.maxWaitNanos = unit.toNanos(maxWait);
+        // 初始时桶是满的 / Bucket starts full
+        this.tat = new PaddedAtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    @Override
+    public <T extends Resettable> T failover(ObjectCreator<T> creator) {
+        long wait = acquire();
+        if (wait < 0) {
+            rejected.increment();
+            return secondary.failover(creator);
+        }
+        if (wait > 0) {
+            parkUntil(System.nanoTime() + wait);
+        }
+        admitted.increment();
+        return primary.failover(creator);
+    }
+
+    /**
+     * 预订一个令牌
+     * Reserve a token
+     *
+     * @return 需要等待的纳秒数，超过最长等待时间时返回 -1 / Nanos to wait, -1 when exceeding maximum wait
+     */
+    private long acquire() {
+        long now;
+        long prev;
+        long next;
+        long wait;
+        do {
+            now = System.nanoTime();
+            prev = tat.get();
+            // 桶未满时从当前时间开始累计 / Accumulate from now when bucket is not full
+            next = (prev - now > 0 ? prev : now) + intervalNanos;
+            wait = next - now - burstNanos;
+            if (wait > maxWaitNanos) {
+                return -1L;
+            }
+        } while (!tat.compareAndSet(prev, next));
+        return Math.max(0L, wait);
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * 获得令牌、交由主处理器的次数
+     * Number of failovers admitted to the primary restorer
+     *
+     * @return 次数 / Count
+     */
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    /**
+     * 超出限制、交由次级处理器的次数
+     * Number of failovers rejected to the secondary restorer
+     *
+     * @return 次数 / Count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.graph;
+
+import cn.itcraft.frogspawn.Resettable;
+
+/**
+ * 池化子对象访问器，声明某类型持有哪些池化子对象
+ * Pooled children accessor, declares which pooled children a type holds
+ * <p>
+ * 实现中对每个子对象调用 {@link GraphReleaser#releaseChild}，对子对象列表或数组调用
+ * {@link GraphReleaser#releaseAll}，并置空已归还的引用；实现应无状态，避免创建迭代器或 lambda
+ * <p>
+ * Implementations call {@link GraphReleaser#releaseChild} for each child and {@link GraphReleaser#releaseAll}
+ * for lists or arrays of children, and null the released references; they should be stateless
+ * and avoid creating iterators or lambdas
+ *
+ * @param <T> 父对象类型 / Parent type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+@FunctionalInterface
+public interface ChildAccessor<T> {
+
+    /**
+     * 归还父对象持有的全部池化子对象
+     * Release all pooled children held by the parent
+     *
+     * @param parent   父对象 / Parent object
+     * @param releaser 对象图归还器 / Graph releaser
+     */
+    void releaseChildren(T parent, GraphReleaser releaser);
+}
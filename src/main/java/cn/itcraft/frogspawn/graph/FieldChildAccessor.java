@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.graph;
+
+import cn.itcraft.frogspawn.util.UnsafeUtil;
+import sun.misc.Unsafe;
+
+import java.util.Collection;
+
+/**
+ * 基于字段偏移量的子对象访问器，注册时由反射扫描得到，归还时不再使用反射
+ * Children accessor based on field offsets, built by reflection on registration, no reflection on release
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class FieldChildAccessor<T> implements ChildAccessor<T> {
+
+    static final byte SINGLE = 0;
+    static final byte COLLECTION = 1;
+    static final byte ARRAY = 2;
+
+    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
+
+    private final long[] offsets;
+    private final byte[] kinds;
+
+    /**
+     * 按字段声明类型预先解析的节点，运行时类型不同时重新查找
+     * Nodes resolved by declared field type in advance, looked up again when runtime type differs
+     */
+    private final GraphNode<?>[] hints;
+
+    FieldChildAccessor(long[] offsets, byte[] kinds, GraphNode<?>[] hints) {
+        this.offsets = offsets;
+        this.kinds = kinds;
+        this.hints = hints;
+    }
+
+    @Override
+    public void releaseChildren(T parent, GraphReleaser releaser) {
+        Object child;
+        for (int i = 0; i < offsets.length; i++) {
+            child = UNSAFE.getObject(parent, offsets[i]);
+            if (child == null) {
+                continue;
+            }
+            switch (kinds[i]) {
+                case SINGLE:
+                    UNSAFE.putObject(parent, offsets[i], null);
+                    releaser.release(child, hints[i]);
+                    break;
+                case COLLECTION:
+                    releaser.releaseAll((Collection<?>) child);
+                    break;
+                default:
+                    Object[] array = (Object[]) child;
+                    releaser.releaseAll(array, 0, array.length);
+                    break;
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return offsets.length == 0;
+    }
+}
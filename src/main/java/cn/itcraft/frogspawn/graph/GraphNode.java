@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.graph;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.Resettable;
+
+/**
+ * 已注册类型的归还节点：对象池与子对象访问器
+ * Release node of a registered type: object pool and children accessor
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class GraphNode<T extends Resettable> {
+
+    final Class<T> type;
+    private final ObjectsMemoryPool<T> pool;
+    private final ChildAccessor<? super T> accessor;
+
+    GraphNode(Class<T> type, ObjectsMemoryPool<T> pool, ChildAccessor<? super T> accessor) {
+        this.type = type;
+        this.pool = pool;
+        this.accessor = accessor;
+    }
+
+    /**
+     * 先归还子对象，再重置并归还自身
+     * Release children first, then reset and release itself
+     *
+     * @param obj      对象，运行时类型必须为 type / Object, runtime type must be type
+     * @param releaser 对象图归还器 / Graph releaser
+     */
+    void release(Object obj, GraphReleaser releaser) {
+        releasePrepared(prepare(obj, releaser));
+    }
+
+    /**
+     * 归还子对象并重置自身，自身留待批量归还
+     * Release children and reset itself, leaving itself for batch release
+     *
+     * @param obj      对象，运行时类型必须为 type / Object, runtime type must be type
+     * @param releaser 对象图归还器 / Graph releaser
+     * @return 已重置的对象 / Reset object
+     */
+    @SuppressWarnings("unchecked")
+    T prepare(Object obj, GraphReleaser releaser) {
+        T used = (T) obj;
+        if (accessor != null) {
+            accessor.releaseChildren(used, releaser);
+        }
+        // 缓存中的对象归还时不会重置，此处重置保证父对象不再引用已归还的子对象
+        // Objects kept in cache are not reset on release, reset here so the parent no longer refers released children
+        used.reset();
+        return used;
+    }
+
+    /**
+     * 将已 {@link #prepare} 的对象归还池中
+     * Return a prepared object to the pool
+     *
+     * @param used 已重置的对象 / Reset object
+     */
+    @SuppressWarnings("unchecked")
+    void releasePrepared(Resettable used) {
+        pool.release((T) used);
+    }
+
+    /**
+     * 将已 {@link #prepare} 的同类型对象批量归还池中
+     * Return prepared objects of this type to the pool in one batch
+     *
+     * @param batch 批次，区间内元素运行时类型均为 type / Batch, runtime type of elements within the range is type
+     * @param from  起始下标（含） / Start index, inclusive
+     * @param to    结束下标（不含） / End index, exclusive
+     */
+    @SuppressWarnings("unchecked")
+    void releaseBatch(Resettable[] batch, int from, int to) {
+        if (to - from == 1) {
+            pool.release((T) batch[from]);
+        } else {
+            pool.releaseAll(batch, from, to);
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.graph;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.util.UnsafeUtil;
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 对象图归还器，一次调用将根对象及其全部池化子对象归还各自的池
+ * Object graph releaser, returns the root and all its pooled children to their own pools in one call
+ * <p>
+ * 每个类型连同对象池注册一次。未指定访问器时，注册时扫描字段：声明类型恰为已注册类型（或自身类型）的字段、
+ * 元素为此类类型的集合字段与数组字段被视为子对象，因此子类型需先于父类型注册。声明为 {@code Resettable}
+ * 等宽泛类型的字段不会被扫描，需要时请使用 {@link ChildAccessor} 显式声明
+ * <p>
+ * Each type is registered once together with its pool. Without an explicit accessor, fields are scanned
+ * on registration: fields whose declared type is exactly a registered type (or the type itself), and collection
+ * or array fields of such elements are treated as children, so child types must be registered before parents.
+ * Fields declared as a broad type such as {@code Resettable} are not scanned, declare them with an explicit
+ * {@link ChildAccessor} where needed
+ * <p>
+ * 对象图须为树：同一子对象被多个父对象引用时会被重复归还。线程安全，注册完成后归还过程不加锁、不使用反射
+ * <p>
+ * The graph must be a tree: a child referenced by several parents is released more than once.
+ * Thread-safe, releasing takes no lock and uses no reflection once registered
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class GraphReleaser {
+
+    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
+
+    /**
+     * 每线程批次缓冲的容量，嵌套的集合共用同一缓冲，按栈的方式各占一段
+     * Capacity of per-thread batch buffer, nested collections share it, each taking a segment like a stack
+     */
+    private static final int BATCH_CAPACITY = 256;
+
+    private final ConcurrentMap<Class<?>, GraphNode<?>> nodes = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Batch> batches = ThreadLocal.withInitial(Batch::new);
+
+    /**
+     * 注册类型及其对象池，子对象字段由扫描得到
+     * Register type and its pool, children fields are found by scanning
+     *
+     * @param clazz 对象运行时类型 / Runtime type of objects
+     * @param pool  对象池 / Object pool
+     * @param <T>   对象类型 / Object type
+     */
+    public <T extends Resettable> void register(Class<T> clazz, ObjectsMemoryPool<T> pool) {
+        if (clazz == null) {
+            throw new IllegalArgumentException("Class can not be null");
+        }
+        FieldChildAccessor<T> accessor = scan(clazz);
+        register(clazz, pool, accessor.isEmpty() ? null : accessor);
+    }
+
+    /**
+     * 注册类型、对象池及其子对象访问器
+     * Register type, its pool and its children accessor
+     *
+     * @param clazz    对象运行时类型 / Runtime type of objects
+     * @param pool     对象池 / Object pool
+     * @param accessor 子对象访问器，null 表示没有池化子对象 / Children accessor, null means no pooled children
+     * @param <T>      对象类型 / Object type
+     */
+    public <T extends Resettable> void register(Class<T> clazz, ObjectsMemoryPool<T> pool,
+                                                ChildAccessor<? super T> accessor) {
+        if (clazz == null || pool == null) {
+            throw new IllegalArgumentException("Class or pool can not be null");
+        }
+        if (nodes.putIfAbsent(clazz, new GraphNode<>(clazz, pool, accessor)) != null) {
+            throw new IllegalStateException("Class[" + clazz.getName() + "] is already registered");
+        }
+    }
+
+    /**
+     * 类型是否已注册
+     * Whether the type is registered
+     *
+     * @param clazz 类型 / Type
+     * @return 是否已注册 / Whether registered
+     */
+    public boolean isRegistered(Class<?> clazz) {
+        return nodes.containsKey(clazz);
+    }
+
+    /**
+     * 归还根对象及其全部池化子对象
+     * Release the root and all its pooled children
+     *
+     * @param root 根对象 / Root object
+     * @throws IllegalArgumentException 对象图中有未注册的类型 / Graph contains unregistered type
+     */
+    public void release(Resettable root) {
+        if (root != null) {
+            release(root, null);
+        }
+    }
+
+    /**
+     * 归还单个子对象及其子树，供 {@link ChildAccessor} 调用
+     * Release a single child and its subtree, called by {@link ChildAccessor}
+     *
+     * @param child 子对象 / Child object
+     */
+    public void releaseChild(Resettable child) {
+        if (child != null) {
+            release(child, null);
+        }
+    }
+
+    /**
+     * 归还列表中的全部子对象后清空列表，保留其容量。
+     * 连续的同类型兄弟节点只查找一次注册信息并经 {@link ObjectsMemoryPool#releaseAll} 批量归还，
+     * 随机访问列表按下标遍历，不创建迭代器；其他集合（如 {@code LinkedList}、{@code Set}）只能经迭代器遍历，
+     * 每次调用分配一个迭代器，需要零分配时请使用随机访问列表或数组
+     * <p>
+     * Release all children in the collection and then clear it, keeping its capacity.
+     * Consecutive siblings of the same type look up registration once and are returned in batches
+     * through {@link ObjectsMemoryPool#releaseAll}, random access lists are traversed by index without creating iterator;
+     * other collections (e.g. {@code LinkedList}, {@code Set}) can only be walked by an iterator, allocating one per
+     * call, use random access lists or arrays where zero allocation is needed
+     *
+     * @param children 子对象集合 / Children collection
+     */
+    public void releaseAll(Collection<?> children) {
+        if (children == null || children.isEmpty()) {
+            return;
+        }
+        Batch batch = batches.get();
+        int base = batch.top;
+        try {
+            GraphNode<?> node = null;
+            if (children instanceof List && children instanceof RandomAccess) {
+                List<?> list = (List<?>) children;
+                Object obj;
+                for (int i = 0, size = list.size(); i < size; i++) {
+                    if ((obj = list.get(i)) != null) {
+                        node = add(batch, base, obj, node);
+                    }
+                }
+            } else {
+                for (Object obj : children) {
+                    if (obj != null) {
+                        node = add(batch, base, obj, node);
+                    }
+                }
+            }
+            flush(batch, base, node);
+        } finally {
+            batch.reset(base);
+        }
+        children.clear();
+    }
+
+    /**
+     * 归还数组区间内的全部子对象并置空对应槽位
+     * Release all children in the array range and null the slots
+     *
+     * @param children 子对象数组 / Children array
+     * @param from     起始下标（含） / Start index, inclusive
+     * @param to       结束下标（不含） / End index, exclusive
+     */
+    public void releaseAll(Object[] children, int from, int to) {
+        if (children == null) {
+            return;
+        }
+        Batch batch = batches.get();
+        int base = batch.top;
+        try {
+            GraphNode<?> node = null;
+            Object obj;
+            for (int i = from; i < to; i++) {
+                if ((obj = children[i]) != null) {
+                    children[i] = null;
+                    node = add(batch, base, obj, node);
+                }
+            }
+            flush(batch, base, node);
+        } finally {
+            batch.reset(base);
+        }
+    }
+
+    /**
+     * 归还对象及其子树，运行时类型与提示节点一致时跳过查找
+     * Release object and its subtree, skip lookup when runtime type matches the hint node
+     *
+     * @param obj  对象 / Object
+     * @param hint 提示节点，可为 null / Hint node, nullable
+     * @return 实际使用的节点，供下一个兄弟节点作为提示 / Node actually used, hint for next sibling
+     */
+    GraphNode<?> release(Object obj, GraphNode<?> hint) {
+        GraphNode<?> node = lookup(obj, hint);
+        node.release(obj, this);
+        return node;
+    }
+
+    /**
+     * 归还对象的子树并将其加入批次，类型变化或批次已满时先归还此前的批次
+     * Release subtree of the object and add it to the batch,
+     * return the pending batch first when type changes or the batch is full
+     *
+     * @param batch 批次缓冲 / Batch buffer
+     * @param base  本次调用在缓冲中的起点 / Start of this call's segment in the buffer
+     * @param obj   对象 / Object
+     * @param hint  批次中对象的节点，可为 null / Node of objects in the batch, nullable
+     * @return 对象的节点 / Node of the object
+     */
+    private GraphNode<?> add(Batch batch, int base, Object obj, GraphNode<?> hint) {
+        GraphNode<?> node = lookup(obj, hint);
+        if (node != hint) {
+            flush(batch, base, hint);
+        }
+        // 子树的归还会使用缓冲中更高的一段，返回时已复原
+        // Releasing the subtree uses a higher segment of the buffer, restored on return
+        Resettable used = node.prepare(obj, this);
+        if (batch.top == BATCH_CAPACITY) {
+            flush(batch, base, node);
+            if (batch.top == BATCH_CAPACITY) {
+                // 嵌套过深，缓冲中已无本次调用的位置
+                // Nested too deep, no room left in the buffer for this call
+                node.releasePrepared(used);
+                return node;
+            }
+        }
+        batch.items[batch.top++] = used;
+        return node;
+    }
+
+    private static void flush(Batch batch, int base, GraphNode<?> node) {
+        if (batch.top > base) {
+            node.releaseBatch(batch.items, base, batch.top);
+            batch.reset(base);
+        }
+    }
+
+    private GraphNode<?> lookup(Object obj, GraphNode<?> hint) {
+        if (hint != null && hint.type == obj.getClass()) {
+            return hint;
+        }
+        GraphNode<?> node = nodes.get(obj.getClass());
+        if (node == null) {
+            throw new IllegalArgumentException("Class[" + obj.getClass().getName() + "] is not registered");
+        }
+        return node;
+    }
+
+    private <T> FieldChildAccessor<T> scan(Class<T> clazz) {
+        List<Long> offsets = new ArrayList<>();
+        List<Byte> kinds = new ArrayList<>();
+        List<GraphNode<?>> hints = new ArrayList<>();
+        Class<?> type;
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                    continue;
+                }
+                type = field.getType();
+                byte kind;
+                if (isChildType(type, clazz)) {
+                    kind = FieldChildAccessor.SINGLE;
+                } else if (type.isArray() && isChildType(type.getComponentType(), clazz)) {
+                    kind = FieldChildAccessor.ARRAY;
+                    type = type.getComponentType();
+                } else if (Collection.class.isAssignableFrom(type)
+                        && isChildType(type = elementType(field), clazz)) {
+                    kind = FieldChildAccessor.COLLECTION;
+                } else {
+                    continue;
+                }
+                offsets.add(UNSAFE.objectFieldOffset(field));
+                kinds.add(kind);
+                hints.add(nodes.get(type));
+            }
+        }
+        long[] offsetArray = new long[offsets.size()];
+        byte[] kindArray = new byte[kinds.size()];
+        for (int i = 0; i < offsetArray.length; i++) {
+            offsetArray[i] = offsets.get(i);
+            kindArray[i] = kinds.get(i);
+        }
+        return new FieldChildAccessor<>(offsetArray, kindArray, hints.toArray(new GraphNode<?>[0]));
+    }
+
+    /**
+     * 字段声明类型是否恰为已注册类型或正在注册的类型；宽泛的声明类型可能持有未注册的对象，
+     * 归还时查找失败会中断整个对象图的归还
+     * <p>
+     * Whether the declared type is exactly a registered type or the type being registered; a broad declared type
+     * may hold unregistered objects, whose failed lookup on release would abandon the rest of the graph
+     */
+    private boolean isChildType(Class<?> type, Class<?> self) {
+        return type == self || nodes.containsKey(type);
+    }
+
+    /**
+     * 每线程的批次缓冲
+     * Per-thread batch buffer
+     */
+    private static final class Batch {
+        private final Resettable[] items = new Resettable[BATCH_CAPACITY];
+        private int top;
+
+        /**
+         * 丢弃 base 之上的对象引用
+         * Drop object references above base
+         */
+        void reset(int base) {
+            if (top > base) {
+                Arrays.fill(items, base, top, null);
+                top = base;
+            }
+        }
+    }
+
+    private static Class<?> elementType(Field field) {
+        Type type = field.getGenericType();
+        if (type instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+            if (args.length == 1 && args[0] instanceof Class) {
+                return (Class<?>) args[0];
+            }
+        }
+        return Object.class;
+    }
+}
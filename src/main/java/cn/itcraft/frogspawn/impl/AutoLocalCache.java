@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.util.ThreadUtil;
+
+/**
+ * 自动探测线程类型的一级缓存：虚拟线程走条带缓存，平台线程走线程本地缓存
+ * First level cache detecting thread type: virtual threads use striped cache,
+ * platform threads use thread-local cache
+ * <p>
+ * 每次操作只比较一次当前线程的类，虚拟线程的实现类由 {@link ThreadUtil} 启动时解析，不经方法句柄
+ * Each operation compares the current thread's class once, implementation classes of virtual threads are
+ * resolved by {@link ThreadUtil} at startup, no method handle involved
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class AutoLocalCache<T extends Resettable> implements LocalCache<T> {
+
+    private final ThreadLocalCache<T> threadLocalCache;
+    private final StripedLocalCache<T> stripedCache;
+
+    @SuppressWarnings("rawtypes")
+    AutoLocalCache(PoolSlot[] array, Releaser<T> releaser, int capacity, int stripes) {
+        this.threadLocalCache = new ThreadLocalCache<>(array, releaser, capacity);
+        this.stripedCache = new StripedLocalCache<>(stripes, capacity);
+    }
+
+    @Override
+    public T fetch() {
+        if (ThreadUtil.isVirtual(Thread.currentThread())) {
+            return stripedCache.fetch();
+        }
+        return threadLocalCache.fetch();
+    }
+
+    @Override
+    public boolean release(T obj) {
+        if (ThreadUtil.isVirtual(Thread.currentThread())) {
+            return stripedCache.release(obj);
+        }
+        return threadLocalCache.release(obj);
+    }
+
+    @Override
+    public void releaseAll(Resettable[] objs, int from, int to, Releaser<T> releaser) {
+        if (ThreadUtil.isVirtual(Thread.currentThread())) {
+            stripedCache.releaseAll(objs, from, to, releaser);
+        } else {
+            threadLocalCache.releaseAll(objs, from, to, releaser);
+        }
+    }
+
+    @Override
+    public void claim(T obj) {
+        if (ThreadUtil.isVirtual(Thread.currentThread())) {
+            // 虚拟线程不登记所属者，清除可能残留的平台线程缓存
+            // Virtual threads register no owner, clear any platform thread cache left over
+            threadLocalCache.unclaim(obj.getMarkedId());
+        } else {
+            threadLocalCache.claim(obj);
+        }
+    }
+
+    @Override
+    public void unclaim(int id) {
+        threadLocalCache.unclaim(id);
+    }
+
+    @Override
+    public void flush() {
+        if (!ThreadUtil.isVirtual(Thread.currentThread())) {
+            threadLocalCache.flush();
+        }
+    }
+
+    @Override
+    public int sweep() {
+        return threadLocalCache.sweep();
+    }
+
+    @Override
+    public int size() {
+        return threadLocalCache.size() + stripedCache.size();
+    }
+}
@@ -1,15 +1,10 @@
 package cn.itcraft.frogspawn.impl;
 
-import cn.itcraft.frogspawn.ObjectCreator;
 import cn.itcraft.frogspawn.Resettable;
-import cn.itcraft.frogspawn.data.WrappedResettable;
-import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
 import cn.itcraft.frogspawn.util.ArrayUtil;
 
 import java.util.concurrent.atomic.AtomicLong;
 
-import static cn.itcraft.frogspawn.constants.Constants.FETCH_TIMES;
-
 /**
  * 资源获取与故障转移工具类
  * Resource acquisition and failover utility class
@@ -28,76 +23,64 @@ final class FetchHelper {
     }
 
     /**
-     * 尝试获取可用资源或执行故障转移策略
-     * Attempt to acquire available resource or execute failover strategy
-     *
-     * @param array             封装对象数组 / Wrapped objects array
-     * @param indexMask         数组索引掩码 / Array index mask
-     * @param walker            原子计数器用于遍历数组 / Atomic counter for array traversal
-     * @param fetchFailStrategy 获取失败时的处理策略 / Handling strategy when fetch fails
-     * @param creator           对象创建器（用于故障转移时创建新对象） / Object creator (for creating new objects during failover)
-     * @return 可重置对象实例 / Resettable object instance
-     * SuppressWarnings 抑制原始类型和未检查转换警告
-     * SuppressWarnings Suppress raw types and unchecked conversion warnings
-     */
-    @SuppressWarnings({"unchecked", "rawtypes"})
-    public static <T extends Resettable> T fetchDataOrFailover(WrappedResettable[] array, int indexMask,
-                                                               AtomicLong walker,
-                                                               FetchFailStrategy fetchFailStrategy,
-                                                               ObjectCreator<T> creator) {
-        WrappedResettable<T> wrapped;
-        for (int i = 0; i < FETCH_TIMES; i++) {
-            wrapped = ArrayUtil.elementAt(array, indexMask, walker.getAndIncrement());
-            if (matchedUnused(wrapped)) {
-                return fetchFromWrapped(wrapped);
-            }
-        }
-        return fetchFailStrategy.failover(creator);
-    }
-
-    /**
-     * 循环获取可用资源（阻塞式）
-     * Loop to acquire available resource (blocking)
+     * 尝试获取可用资源，最多探测 budget 指定的次数，并记录探测结果；命中按遍历指针采样记录，失败每次记录
+     * Attempt to acquire available resource, probing at most as many slots as the budget allows, and record
+     * the result; hits are recorded sampled by the walker, misses every time
+     * <p>
+     * 槽位以 volatile 读取：后台重建以 CAS 发布新槽位，普通读取可能看到新槽位的引用却看不到其字段的初始化
+     * <p>
+     * Slots are read with volatile semantics: background regeneration publishes new slots by CAS, a plain read
+     * could see the new slot reference without the initialization of its fields
      *
-     * @param array     封装对象数组 / Wrapped objects array
+     * @param array     槽位数组 / Slot array
      * @param indexMask 数组索引掩码 / Array index mask
      * @param walker    原子计数器用于遍历数组 / Atomic counter for array traversal
-     * @return 可重置对象实例 / Resettable object instance
+     * @param budget    自适应探测次数 / Adaptive probe budget
+     * @return 可重置对象实例，全部探测失败时返回 null / Resettable object instance, null when all probes failed
      * SuppressWarnings 抑制原始类型和未检查转换警告
      * SuppressWarnings Suppress raw types and unchecked conversion warnings
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
-    public static <T extends Resettable> T loopFetchData(WrappedResettable[] array, int indexMask, AtomicLong walker) {
-        WrappedResettable<T> wrapped;
-        while (true) {
-            wrapped = ArrayUtil.elementAt(array, indexMask, walker.getAndIncrement());
-            if (matchedUnused(wrapped)) {
-                return fetchFromWrapped(wrapped);
+    public static <T extends Resettable> T fetchData(PoolSlot[] array, int indexMask, AtomicLong walker,
+                                                     ProbeBudget budget) {
+        int times = budget.current();
+        long ticket = walker.getAndIncrement();
+        PoolSlot<T> slot = ArrayUtil.elementAtVolatile(array, indexMask, ticket);
+        for (int i = 1; ; i++) {
+            if (matchedUnused(slot)) {
+                budget.hit(ticket, i);
+                return fetchFromSlot(slot);
+            }
+            if (i >= times) {
+                break;
             }
+            slot = ArrayUtil.elementAtVolatile(array, indexMask, walker.getAndIncrement());
         }
+        budget.miss(times);
+        return null;
     }
 
     /**
      * 检查并标记资源为已使用（线程安全）
      * Check and mark resource as used (thread-safe)
      *
-     * @param wrapped 封装的资源对象 / Wrapped resource object
+     * @param slot 资源所在槽位 / Slot of the resource
      * @return 是否成功标记 / Whether marking was successful
      */
-    private static <T extends Resettable> boolean matchedUnused(WrappedResettable<T> wrapped) {
+    private static <T extends Resettable> boolean matchedUnused(PoolSlot<T> slot) {
         // 使用CAS操作保证原子性
         // Use CAS operation to ensure atomicity
-        return wrapped.getUsed().compareAndSet(false, true);
+        return slot.markUsed();
     }
 
     /**
-     * 从封装对象中获取实际资源
-     * Get actual resource from wrapped object
+     * 从槽位中获取实际资源
+     * Get actual resource from slot
      *
-     * @param wrapped 封装的资源对象 / Wrapped resource object
+     * @param slot 资源所在槽位 / Slot of the resource
      * @return 实际资源实例 / Actual resource instance
      */
-    private static <T extends Resettable> T fetchFromWrapped(WrappedResettable<T> wrapped) {
-        return wrapped.getObj();
+    private static <T extends Resettable> T fetchFromSlot(PoolSlot<T> slot) {
+        return slot.getObj();
     }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 后台维护线程，由所有池共用，执行与取用、归还无关的周期任务，例如收缩完全空闲的池的溢出层
+ * Background housekeeping thread shared by all pools, runs periodic tasks independent of fetch and release,
+ * e.g. shrinking the overflow tier of a fully idle pool
+ * <p>
+ * 首次使用时才启动，守护线程，不阻止 JVM 退出；任务弱引用其目标，目标被回收后自动取消
+ * Started on first use, a daemon thread which does not keep the JVM alive;
+ * tasks reference their targets weakly and are cancelled once the target is collected
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class Housekeeper {
+
+    private Housekeeper() {
+    }
+
+    /**
+     * 按固定间隔对目标执行任务
+     * Run task on the target at fixed delay
+     *
+     * @param target       目标，弱引用持有 / Target, held weakly
+     * @param periodMillis 间隔（毫秒） / Period (ms)
+     * @param task         任务 / Task
+     * @param <X>          目标类型 / Target type
+     */
+    static <X> void schedule(X target, long periodMillis, Consumer<X> task) {
+        WeakReference<X> ref = new WeakReference<>(target);
+        long period = Math.max(1L, periodMillis);
+        ScheduledFuture<?>[] future = new ScheduledFuture<?>[1];
+        synchronized (future) {
+            future[0] = Holder.EXECUTOR.scheduleWithFixedDelay(() -> {
+                X x = ref.get();
+                if (x != null) {
+                    task.accept(x);
+                    return;
+                }
+                synchronized (future) {
+                    future[0].cancel(false);
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static final class Holder {
+        private static final ScheduledExecutorService EXECUTOR = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "frogspawn-housekeeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.util.ThreadUtil;
+
+/**
+ * 主池之前的一级缓存接口
+ * First level cache interface in front of the main pool
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+interface LocalCache<T extends Resettable> {
+
+    /**
+     * 根据缓存策略创建一级缓存
+     * Create first level cache by cache strategy
+     *
+     * @param cacheStrategy 缓存策略 / Cache strategy
+     * @param config        池配置，提供缓存容量与条带数 / Pool config, provides cache capacity and stripes
+     * @param array         主池数组 / Main pool array
+     * @param releaser      将缓存中的对象归还主池的释放器 / Releaser returning cached objects to the main pool
+     * @param <T>           对象类型 / Object type
+     * @return 一级缓存 / First level cache
+     */
+    @SuppressWarnings("rawtypes")
+    static <T extends Resettable> LocalCache<T> create(CacheStrategy cacheStrategy, PoolConfig config,
+                                                       PoolSlot[] array, Releaser<T> releaser) {
+        int capacity = config.getCacheCapacity();
+        if (capacity == 0) {
+            // 不使用一级缓存时选用空实现，调用点保持单态
+            // Use the no-op implementation when first level cache is disabled, keeping call sites monomorphic
+            return new NoLocalCache<>();
+        }
+        switch (cacheStrategy) {
+            case STRIPED:
+                return new StripedLocalCache<>(config.getCacheStripes(), capacity);
+            case AUTO:
+                // 不支持虚拟线程的 JVM 上无需每次探测
+                // No need to probe on every call when JVM has no virtual thread
+                return ThreadUtil.isVirtualThreadSupported()
+                        ? new AutoLocalCache<>(array, releaser, capacity, config.getCacheStripes())
+                        : new ThreadLocalCache<>(array, releaser, capacity);
+            case THREAD_LOCAL:
+            default:
+                return new ThreadLocalCache<>(array, releaser, capacity);
+        }
+    }
+
+    /**
+     * 从缓存获取对象
+     * Fetch object from cache
+     *
+     * @return 对象或null（缓存为空时） / Object or null (when cache is empty)
+     */
+    T fetch();
+
+    /**
+     * 将对象放回缓存
+     * Release object back to cache
+     *
+     * @param obj 对象 / Object
+     * @return true-需要继续释放流程 false-不需要继续
+     * true-need to continue release process false-no need
+     */
+    boolean release(T obj);
+
+    /**
+     * 批量将对象放回缓存，缓存未收下的对象交给 releaser 继续释放流程。默认实现逐个调用 {@link #release}
+     * Release a batch of objects back to cache, objects not taken by the cache are handed to releaser for the
+     * rest of release process. Default implementation calls {@link #release} one by one
+     *
+     * @param objs     对象数组，区间内元素均非null / Object array, all non-null within the range
+     * @param from     起始下标（含） / Start index, inclusive
+     * @param to       结束下标（不含） / End index, exclusive
+     * @param releaser 继续释放流程的释放器 / Releaser for the rest of release process
+     */
+    @SuppressWarnings("unchecked")
+    default void releaseAll(Resettable[] objs, int from, int to, Releaser<T> releaser) {
+        T obj;
+        for (int i = from; i < to; i++) {
+            if (release(obj = (T) objs[i])) {
+                releaser.release(obj);
+            }
+        }
+    }
+
+    /**
+     * 登记当前线程为从主池取得的对象的所属者
+     * Register current thread as owner of the object fetched from the main pool
+     *
+     * @param obj 从主池取得的对象 / Object fetched from the main pool
+     */
+    void claim(T obj);
+
+    /**
+     * 清除槽位的所属者，槽位回到主池前调用，避免之后的跨线程归还送往过期的线程缓存
+     * Clear the owner of the slot, called before the slot returns to the main pool so later cross-thread
+     * releases are not sent to a stale thread cache
+     *
+     * @param id 槽位 ID / Slot id
+     */
+    void unclaim(int id);
+
+    /**
+     * 将当前线程独占的缓存对象全部归还主池
+     * Return all objects owned by current thread's cache back to the main pool
+     */
+    void flush();
+
+    /**
+     * 回收已结束线程缓存中的对象
+     * Reclaim objects stranded in caches of dead threads
+     *
+     * @return 回收的对象数 / Reclaimed object count
+     */
+    int sweep();
+
+    /**
+     * 缓存中的对象数（非原子快照），跨线程归还途中的对象不计入
+     * Object count in caches (non-atomic snapshot), objects in flight of cross-thread release are excluded
+     *
+     * @return 对象数 / Object count
+     */
+    int size();
+}
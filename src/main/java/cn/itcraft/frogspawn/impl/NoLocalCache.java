@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.Resettable;
+
+/**
+ * 空一级缓存，所有对象直接在主池中存取，适合容量很大、按批次使用的池
+ * No-op first level cache, all objects go directly through the main pool, suitable for large batch pools
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class NoLocalCache<T extends Resettable> implements LocalCache<T> {
+
+    @Override
+    public T fetch() {
+        return null;
+    }
+
+    @Override
+    public boolean release(T obj) {
+        return true;
+    }
+
+    @Override
+    public void claim(T obj) {
+        // 无缓存可送回
+        // No cache to send back to
+    }
+
+    @Override
+    public void unclaim(int id) {
+        // 无所属者记录
+        // No owner recorded
+    }
+
+    @Override
+    public void flush() {
+        // 无缓存对象
+        // Nothing cached
+    }
+
+    @Override
+    public int sweep() {
+        return 0;
+    }
+
+    @Override
+    public int size() {
+        return 0;
+    }
+}
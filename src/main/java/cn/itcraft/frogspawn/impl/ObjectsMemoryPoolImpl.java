@@ -18,16 +18,22 @@ package cn.itcraft.frogspawn.impl;
 
 import cn.itcraft.frogspawn.ObjectCreator;
 import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.PooledObject;
 import cn.itcraft.frogspawn.Resettable;
 import cn.itcraft.frogspawn.constants.Constants;
 import cn.itcraft.frogspawn.data.WrappedResettable;
+import cn.itcraft.frogspawn.failrestore.FailRestorer;
+import cn.itcraft.frogspawn.misc.OverflowStore;
 import cn.itcraft.frogspawn.misc.PaddedAtomicLong;
-import cn.itcraft.frogspawn.misc.SimpleStackCache;
-import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.misc.StripedCounter;
+import cn.itcraft.frogspawn.stats.PoolStats;
 import cn.itcraft.frogspawn.strategy.FetchStrategy;
 import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import cn.itcraft.frogspawn.strategy.RetirementPolicy;
 import cn.itcraft.frogspawn.util.ArrayUtil;
 
+import java.util.Arrays;
+
 /**
  * 基于线程本地缓存和环形数组的抽象对象池实现
  * Abstract object pool implementation based on thread-local cache and circular array
@@ -38,13 +44,6 @@ import cn.itcraft.frogspawn.util.ArrayUtil;
  */
 public class ObjectsMemoryPoolImpl<T extends Resettable> implements ObjectsMemoryPool<T> {
 
-    /**
-     * 线程本地存储的栈式缓存，用于快速对象存取
-     * Thread-local stack cache for fast object access
-     */
-    private static final ThreadLocal<SimpleStackCache<Resettable>> LOCAL_QUEUE =
-            ThreadLocal.withInitial(SimpleStackCache::new);
-
     /**
      * 原子指针，用于环形数组的遍历访问
      * Atomic pointer for circular array traversal
@@ -52,11 +51,11 @@ public class ObjectsMemoryPoolImpl<T extends Resettable> implements ObjectsMemor
     private final PaddedAtomicLong walker = new PaddedAtomicLong(0);
 
     /**
-     * 核心存储数组，包装可重置对象
-     * Core storage array wrapping resettable objects
+     * 核心存储数组，池化对象直接存放，其他可重置对象包装后存放
+     * Core storage array, pooled objects are stored directly, other resettable objects are wrapped
      */
     @SuppressWarnings("rawtypes")
-    private final WrappedResettable[] array;
+    private final PoolSlot[] array;
 
     /**
      * 下标掩码，用于快速计算环形数组索引
@@ -76,10 +75,79 @@ public class ObjectsMemoryPoolImpl<T extends Resettable> implements ObjectsMemor
      * <p>
      * Strategy for handling data fetch failures
      */
-    private final FetchFailStrategy fetchFailStrategy;
+    private final FailRestorer failRestorer;
 
     private final Fetcher<T> fetcher;
 
+    /**
+     * 自适应探测次数
+     * Adaptive probe budget
+     */
+    private final ProbeBudget probeBudget;
+
+    /**
+     * 溢出层，收留池耗尽时新建的对象，未启用时为 null
+     * Overflow tier adopting objects created on exhaustion, null when disabled
+     */
+    private final OverflowStore<T> overflow;
+
+    /**
+     * 运行统计
+     * Runtime statistics
+     */
+    private final ObjectsMemoryPoolStats stats;
+
+    /**
+     * 一级缓存，由缓存策略决定为线程本地缓存或条带缓存
+     * First level cache, thread-local or striped depending on cache strategy
+     */
+    private final LocalCache<T> localCache;
+
+    /**
+     * 归还主池的释放器，只创建一次，批量释放时复用
+     * Releaser returning objects to the main pool, created once and reused by batch releases
+     */
+    private final Releaser<T> mainReleaser;
+
+    /**
+     * 主池中被标记为使用的槽位数，含停留在线程缓存中的对象；只在访问主池时累加，缓存命中路径不受影响
+     * Slots marked used in the main pool, including objects parked in thread caches;
+     * only added when the main pool is accessed, cache hit paths are unaffected
+     */
+    private final StripedCounter claimed;
+
+    /**
+     * 退役策略，未启用时为 null
+     * Retirement policy, null when disabled
+     */
+    private final RetirementPolicy retirement;
+
+    /**
+     * 各槽位对象的使用次数，按槽位 ID 下标，未限制使用次数时为 null；只由持有对象的线程或重建线程写入
+     * Use count of each slot's object indexed by slot id, null when uses are unlimited;
+     * only written by the thread holding the object or by the regeneration thread
+     */
+    private final int[] uses;
+
+    /**
+     * 各槽位对象的创建时间（纳秒），未限制存活时间时为 null
+     * Creation time (ns) of each slot's object, null when age is unlimited
+     */
+    private final long[] births;
+
+    /**
+     * 后台重建的目标，后台线程只弱引用它，由池强引用，池不可达时一并回收
+     * Target of background regeneration, weakly referenced by the background thread and strongly by the pool,
+     * collected together once the pool is unreachable
+     */
+    private final Regenerator.Target regeneration = new Regeneration();
+
+    /**
+     * 待重建的槽位队列，首次淘汰时创建
+     * Queue of slots awaiting regeneration, created on the first retirement
+     */
+    private volatile Regenerator.Queue regenerating;
+
     /**
      * 构造方法，初始化对象池
      * Constructor, initializes the object pool
@@ -89,10 +157,37 @@ public class ObjectsMemoryPoolImpl<T extends Resettable> implements ObjectsMemor
      * @param poolStrategy 池策略 / Pool strategy
      */
     public ObjectsMemoryPoolImpl(ObjectCreator<T> creator, int size, PoolStrategy poolStrategy) {
+        this(creator, size, poolStrategy, PoolConfig.defaults());
+    }
+
+    /**
+     * 构造方法，使用单独的调优参数初始化对象池
+     * Constructor, initializes the object pool with its own tuning parameters
+     *
+     * @param creator      对象创建器 / Object creator
+     * @param size         初始容量 / Initial capacity
+     * @param poolStrategy 池策略 / Pool strategy
+     * @param config       池配置 / Pool config
+     */
+    public ObjectsMemoryPoolImpl(ObjectCreator<T> creator, int size, PoolStrategy poolStrategy, PoolConfig config) {
+        this(creator, creator, size, poolStrategy, config);
+    }
+
+    /**
+     * 构造方法，主池中的初始对象由单独的创建器提供，池不持有该创建器
+     * Constructor, initial objects of the main pool come from a separate creator which the pool does not keep
+     *
+     * @param creator        对象创建器，用于失败处理与重建 / Object creator, used by failover and regeneration
+     * @param initialCreator 初始对象创建器，仅在构造期间调用 / Initial object creator, only called while constructing
+     * @param size           初始容量 / Initial capacity
+     * @param poolStrategy   池策略 / Pool strategy
+     * @param config         池配置 / Pool config
+     */
+    public ObjectsMemoryPoolImpl(ObjectCreator<T> creator, ObjectCreator<T> initialCreator, int size,
+                                 PoolStrategy poolStrategy, PoolConfig config) {
         // 计算最接近的2的幂次方容量
         // Calculate nearest power of two capacity
-        int calculatedCapacity = ArrayUtil.findNextPositivePowerOfTwo(size);
-        int capacity = Math.min(calculatedCapacity, Constants.MAX_CAPACITY);
+        int capacity = config.capacityFor(size);
 
         // 使用掩码优化索引计算（替代取模运算）
         // Use mask for optimized index calculation (replaces modulo operation)
@@ -100,45 +195,72 @@ public class ObjectsMemoryPoolImpl<T extends Resettable> implements ObjectsMemor
 
         // 创建带缓存行填充的数组（避免伪共享）
         // Create array with cache line padding (prevents false sharing)
-        array = ArrayUtil.createArray(WrappedResettable.class, capacity);
+        array = ArrayUtil.createArray(PoolSlot.class, capacity);
 
-        WrappedResettable<T> wrapped;
+        T obj;
         int paddedCapacity = ArrayUtil.BUFFER_PAD + capacity;
         // 初始化数组元素，跳过缓存填充区域
         // Initialize array elements, skip buffer padding area
         for (int i = ArrayUtil.BUFFER_PAD; i < paddedCapacity; i++) {
-            wrapped = new WrappedResettable<>(creator.create());
+            obj = initialCreator.create();
             // 标记对象在数组中的位置 / Mark object's position in array
-            wrapped.getObj().markId(i);
-            array[i] = wrapped;
+            obj.markId(i);
+            // 池化对象自身即槽位，无需包装 / Pooled objects are slots themselves, no wrapper needed
+            array[i] = obj instanceof PooledObject ? (PooledObject) obj : new WrappedResettable<>(obj);
         }
         this.creator = creator;
+        // 只有失败时新建对象的策略才会产生需要收留的对象
+        // Only strategies creating objects on failure produce objects to adopt
+        this.overflow = config.getOverflowCapacity() > 0
+                && !FetchStrategy.MUST_FETCH_IN_POOL.equals(poolStrategy.getFetchStrategy())
+                ? new OverflowStore<>(config.getOverflowCapacity(), Constants.OVERFLOW_IDLE_MILLIS) : null;
+        if (overflow != null) {
+            // 溢出层按空闲周期在后台收缩，池完全空闲时同样生效
+            // Overflow tier shrinks in the background every idle period, also when the pool is fully idle
+            Housekeeper.schedule(overflow, Constants.OVERFLOW_IDLE_MILLIS, OverflowStore::trimIfIdle);
+        }
+        this.probeBudget = new ProbeBudget(config.getFetchTimes(), config.getFetchTimesMin(),
+                                           config.getFetchTimesMax(), config.getCacheStripes());
+        this.stats = new ObjectsMemoryPoolStats(probeBudget, overflow);
+        this.mainReleaser = this::wrapRelease;
+        this.localCache = LocalCache.create(poolStrategy.getCacheStrategy(), config, array, mainReleaser);
+        this.claimed = new StripedCounter(config.getCacheStripes());
+        RetirementPolicy policy = config.getRetirement();
+        this.retirement = policy != null && policy.isEnabled() ? policy : null;
+        this.uses = retirement != null && retirement.getMaxUses() > 0 ? new int[array.length] : null;
+        this.births = retirement != null && retirement.getMaxAgeNanos() > 0 ? new long[array.length] : null;
+        if (births != null) {
+            Arrays.fill(births, System.nanoTime());
+        }
         if (FetchStrategy.MUST_FETCH_IN_POOL.equals(poolStrategy.getFetchStrategy())) {
             this.fetcher = this::fetchDataWithLoop;
-            this.fetchFailStrategy = null;
+            this.failRestorer = null;
         } else {
             this.fetcher = this::fetchDataWithTimes;
-            this.fetchFailStrategy = poolStrategy.getFetchFailStrategy();
+            this.failRestorer = poolStrategy.getFailRestorer();
         }
     }
 
     /**
      * 从池中获取可用对象（核心方法）
      * Fetch an available object from the pool (core method)
-     * 获取对象（优先从线程本地缓存获取）
-     * Fetch object (preferentially from thread-local cache)
+     * 获取对象（优先从一级缓存获取）
+     * Fetch object (preferentially from first level cache)
      *
      * @return 可复用的对象实例
      * Reusable object instance
      */
     @Override
-    @SuppressWarnings("unchecked")
     public T fetch() {
-        T t = (T) LOCAL_QUEUE.get().fetch();
-        if (t == null || t.isInvalid()) {
+        T t = localCache.fetch();
+        if (t == null) {
             // 缓存未命中时从主池获取 / Fetch from the main pool when cache missed
             return fetcher.fetch();
         }
+        if (t.isInvalid()) {
+            retire(t);
+            return fetcher.fetch();
+        }
         return t;
     }
 
@@ -147,44 +269,301 @@ public class ObjectsMemoryPoolImpl<T extends Resettable> implements ObjectsMemor
      * concrete implementation for fetching from main pool
      */
     private T fetchDataWithTimes() {
-        return FetchHelper.fetchDataOrFailover(
+        T t = fetchData();
+        if (t == null && localCache.sweep() > 0) {
+            // 回收了已结束线程缓存中的对象后重试一次
+            // Retry once after reclaiming objects from dead threads' caches
+            t = fetchData();
+        }
+        if (t != null) {
+            return t;
+        }
+        if (overflow != null && (t = overflow.poll()) != null) {
+            stats.overflowHit();
+            return t;
+        }
+        stats.failover();
+        // 失败处理策略 | Failure handling strategy
+        return failRestorer.failover(creator);
+    }
+
+    /**
+     * 从主池获取对象的具体实现
+     * concrete implementation for fetching from main pool
+     */
+    private T fetchDataWithLoop() {
+        T t;
+        while ((t = fetchData()) == null) {
+            // 池已耗尽时尝试回收已结束线程缓存中的对象
+            // Try to reclaim objects from dead threads' caches when pool exhausted
+            localCache.sweep();
+        }
+        return t;
+    }
+
+    private T fetchData() {
+        T t;
+        while ((t = FetchHelper.fetchData(
                 // 对象存储数组 | Object storage array
                 array,
                 // 索引掩码用于快速取模 | Index mask for fast modulo operation
                 indexMask,
                 // 数组遍历辅助工具 | Array traversal helper
                 walker,
-                // 失败处理策略 | Failure handling strategy
-                fetchFailStrategy,
-                // 对象创建器 | Object creator
-                creator);
+                // 自适应探测次数 | Adaptive probe budget
+                probeBudget)) != null) {
+            claimed.increment();
+            if (!t.isInvalid()) {
+                // 记录取用线程，跨线程归还时送回其缓存
+                // Record fetching thread, cross-thread releases send the object back to its cache
+                localCache.claim(t);
+                return t;
+            }
+            retire(t);
+        }
+        return null;
     }
 
     /**
-     * 从主池获取对象的具体实现
-     * concrete implementation for fetching from main pool
+     * 淘汰失效对象：池内对象的槽位保持占用，交由后台重建新对象后再释放；池外对象直接丢弃
+     * Retire an invalid object: the slot of a pooled object stays claimed until a new object is recreated
+     * in the background and published into it; objects outside the pool are dropped
+     *
+     * @param invalid 失效对象 / Invalid object
      */
-    private T fetchDataWithLoop() {
-        return FetchHelper.loopFetchData(array, indexMask, walker);
+    private void retire(T invalid) {
+        stats.invalidated();
+        int id = invalid.getMarkedId();
+        if (id >= 0) {
+            regenerating().offer(id - ArrayUtil.BUFFER_PAD);
+        }
+    }
+
+    private Regenerator.Queue regenerating() {
+        Regenerator.Queue queue = regenerating;
+        if (queue == null) {
+            synchronized (regeneration) {
+                if ((queue = regenerating) == null) {
+                    regenerating = queue = new Regenerator.Queue(regeneration, indexMask + 1);
+                }
+            }
+        }
+        return queue;
+    }
+
+    /**
+     * 在后台线程中重建对象，以 CAS 替换数组中的旧槽位，新槽位为未使用状态，随后即可被取用
+     * Recreate the object on the background thread and CAS it over the old slot in the array,
+     * the new slot is unused and can be fetched right after
+     *
+     * @param id 槽位 ID / Slot id
+     * @return 是否完成，创建器返回 null 时为 false / Whether done, false when the creator returned null
+     */
+    @SuppressWarnings("unchecked")
+    private boolean regenerate(int id) {
+        T fresh = creator.create();
+        if (fresh == null) {
+            return false;
+        }
+        fresh.markId(id);
+        if (uses != null) {
+            uses[id] = 0;
+        }
+        if (births != null) {
+            births[id] = System.nanoTime();
+        }
+        localCache.unclaim(id);
+        PoolSlot<T> retired = array[id];
+        PoolSlot<?> slot = fresh instanceof PooledObject ? (PooledObject) fresh : new WrappedResettable<>(fresh);
+        if (ArrayUtil.compareAndSwapElementAt(array, indexMask, id - ArrayUtil.BUFFER_PAD, retired, slot)) {
+            claimed.decrement();
+            stats.regenerated();
+        }
+        return true;
+    }
+
+    /**
+     * 多次重建失败后放弃：重置旧对象并释放槽位，使用次数与存活时间重新计算；
+     * 失效对象会在下次被取到时再次淘汰
+     * <p>
+     * Give up after repeated regeneration failures: reset the old object and release the slot, restarting its
+     * use count and age; an invalid object is retired again the next time it is fetched
+     *
+     * @param id 槽位 ID / Slot id
+     */
+    @SuppressWarnings("unchecked")
+    private void giveUp(int id) {
+        stats.regenerationFailed();
+        if (uses != null) {
+            uses[id] = 0;
+        }
+        if (births != null) {
+            births[id] = System.nanoTime();
+        }
+        PoolSlot<T> slot = array[id];
+        try {
+            slot.getObj().reset();
+        } catch (RuntimeException e) {
+            // 重置失败仍释放槽位，对象在下次取用前会再次重置
+            // Release the slot even if reset failed, the object is reset again before its next use
+        }
+        localCache.unclaim(id);
+        if (slot.markUnused()) {
+            claimed.decrement();
+        }
     }
 
     /**
      * 释放并回收对象到池中（核心方法）
      * Release and recycle object back to pool (core method)
-     * 释放对象到线程本地缓存
-     * Release object back to thread-local cache
+     * 释放对象到一级缓存
+     * Release object back to first level cache
      *
      * @param used 已使用的对象实例
      *             Used object instance
      */
     @Override
     public void release(T used) {
-        if (LOCAL_QUEUE.get().release(used)) {
+        if (retirement != null && retireOnRelease(used)) {
+            return;
+        }
+        if (localCache.release(used)) {
             // 成功释放后执行后续处理 / Perform post-release processing
             wrapRelease(used);
         }
     }
 
+    /**
+     * 批量释放对象，一级缓存只查找一次并一次遍历放入，缓存已满后其余对象直接归还主池；
+     * 配置了退役策略时每个对象都需检查，逐个释放
+     * <p>
+     * Release a batch of objects, the first level cache is looked up once and filled in one pass, objects left
+     * once it is full go straight back to the main pool; with a retirement policy every object is checked,
+     * released one by one
+     *
+     * @param used 需要归还的对象 / Objects to return
+     * @param from 起始下标（含） / Start index, inclusive
+     * @param to   结束下标（不含） / End index, exclusive
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void releaseAll(Resettable[] used, int from, int to) {
+        if (retirement != null) {
+            for (int i = from; i < to; i++) {
+                release((T) used[i]);
+            }
+            return;
+        }
+        localCache.releaseAll(used, from, to, mainReleaser);
+    }
+
+    /**
+     * 按退役策略检查归还的对象，需退役时槽位保持占用并交由后台处理；池外对象只按大小检查，过大时直接丢弃
+     * Check the released object against the retirement policy, the slot stays claimed and is handed to the
+     * background when retired; objects outside the pool are only checked by size and dropped when oversized
+     *
+     * @param used 归还的对象 / Released object
+     * @return 是否已退役 / Whether retired
+     */
+    private boolean retireOnRelease(T used) {
+        int id = used.getMarkedId();
+        if (id >= 0
+                && ((uses != null && ++uses[id] >= retirement.getMaxUses())
+                || (births != null && System.nanoTime() - births[id] >= retirement.getMaxAgeNanos()))) {
+            stats.retired();
+            regenerating().offer(id - ArrayUtil.BUFFER_PAD);
+            return true;
+        }
+        // 估算保留大小开销较高，放在使用次数与存活时间检查之后
+        // Estimating retained size costs more, so it comes after the use and age checks
+        long maxRetainedSize = retirement.getMaxRetainedSize();
+        if (maxRetainedSize <= 0 || used.retainedSize() <= maxRetainedSize) {
+            return false;
+        }
+        if (id >= 0) {
+            stats.retired();
+            regenerating().offerShrink(id - ArrayUtil.BUFFER_PAD);
+        }
+        return true;
+    }
+
+    /**
+     * 在后台线程中重置并原地收缩过大的对象，成功后放回原槽位，否则由后台线程改为重建
+     * Reset and shrink the oversized object in place on the background thread, put it back into its slot
+     * when done, otherwise the background thread regenerates instead
+     *
+     * @param id 槽位 ID / Slot id
+     * @return 是否已收缩 / Whether shrunk
+     */
+    @SuppressWarnings("unchecked")
+    private boolean shrink(int id) {
+        PoolSlot<T> slot = array[id];
+        boolean shrunk;
+        try {
+            T retired = slot.getObj();
+            retired.reset();
+            shrunk = retired.shrink();
+        } catch (RuntimeException e) {
+            shrunk = false;
+        }
+        if (shrunk) {
+            stats.shrunk();
+            localCache.unclaim(id);
+            if (slot.markUnused()) {
+                claimed.decrement();
+            }
+        }
+        return shrunk;
+    }
+
+    @Override
+    public PoolStats stats() {
+        return stats;
+    }
+
+    @Override
+    public int capacity() {
+        return indexMask + 1;
+    }
+
+    @Override
+    public int available() {
+        return clamp(capacity() - claimed.sum());
+    }
+
+    /**
+     * 由已占用槽位数减去线程缓存中的对象数得出，跨线程归还途中的对象计为使用中
+     * Derived from claimed slots minus objects in thread caches,
+     * objects in flight of cross-thread release count as in use
+     */
+    @Override
+    public int inUse() {
+        return clamp(claimed.sum() - localCache.size());
+    }
+
+    @Override
+    public int inThreadCaches() {
+        return clamp(localCache.size());
+    }
+
+    /**
+     * 各条带分别读取，快照可能短暂越界
+     * Stripes are read one by one, the snapshot may be briefly out of range
+     */
+    private int clamp(long value) {
+        return (int) Math.max(0L, Math.min(value, indexMask + 1));
+    }
+
+    /**
+     * 将当前线程缓存中的对象全部归还主池，适用于线程池的线程退出钩子
+     * Return all objects in current thread's cache back to the main pool,
+     * suitable for exit hooks of thread pool workers
+     */
+    @Override
+    public void flushThreadCache() {
+        localCache.flush();
+    }
+
     /**
      * 对象释放后的处理逻辑
      * Post-release processing logic
@@ -196,10 +575,39 @@ public class ObjectsMemoryPoolImpl<T extends Resettable> implements ObjectsMemor
         used.reset();
         int id = used.getMarkedId();
         if (id >= 0) {
-            // 原子标记对象为未使用状态
-            // Atomically mark object as unused
-            array[id].getUsed().compareAndSet(true, false);
+            // 先清除所属者再原子标记对象为未使用状态，标记后槽位可能立即被其他线程取用并登记
+            // Clear the owner, then atomically mark object as unused, the slot may be fetched and claimed
+            // by another thread right after marking
+            localCache.unclaim(id);
+            if (array[id].markUnused()) {
+                claimed.decrement();
+            }
+        } else if (overflow != null) {
+            // 收留池耗尽时新建的对象，已满时丢弃
+            // Adopt object created on exhaustion, drop when full
+            overflow.offer(used);
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * 后台重建目标，以槽位下标回调池
+     * Background regeneration target, calls back into the pool by slot index
+     */
+    private final class Regeneration implements Regenerator.Target {
+
+        @Override
+        public boolean shrink(int index) {
+            return ObjectsMemoryPoolImpl.this.shrink(index + ArrayUtil.BUFFER_PAD);
+        }
+
+        @Override
+        public boolean regenerate(int index) {
+            return ObjectsMemoryPoolImpl.this.regenerate(index + ArrayUtil.BUFFER_PAD);
+        }
+
+        @Override
+        public void giveUp(int index) {
+            ObjectsMemoryPoolImpl.this.giveUp(index + ArrayUtil.BUFFER_PAD);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.misc.OverflowStore;
+import cn.itcraft.frogspawn.stats.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 默认内存池的统计实现
+ * Statistics implementation of the default memory pool
+ * <p>
+ * 主池命中按 {@value ProbeBudget#SAMPLE} 次采样一次并按权重计入，主池访问、命中与探测次数为估计值；失败次数精确
+ * <p>
+ * Main pool hits are sampled once per {@value ProbeBudget#SAMPLE} and weighted, so main pool fetch, hit and
+ * probe counts are estimates; misses and failovers are exact
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class ObjectsMemoryPoolStats implements PoolStats {
+
+    private final ProbeBudget probeBudget;
+    private final OverflowStore<?> overflow;
+    private final LongAdder failovers = new LongAdder();
+    private final LongAdder overflowHits = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder regenerations = new LongAdder();
+    private final LongAdder regenerationFailures = new LongAdder();
+    private final LongAdder retirements = new LongAdder();
+    private final LongAdder shrinks = new LongAdder();
+
+    ObjectsMemoryPoolStats(ProbeBudget probeBudget, OverflowStore<?> overflow) {
+        this.probeBudget = probeBudget;
+        this.overflow = overflow;
+    }
+
+    /**
+     * 记录一次失败处理
+     * Record one failover
+     */
+    void failover() {
+        failovers.increment();
+    }
+
+    /**
+     * 记录一次由溢出层提供的对象
+     * Record one fetch served by the overflow tier
+     */
+    void overflowHit() {
+        overflowHits.increment();
+    }
+
+    /**
+     * 记录一次失效淘汰
+     * Record one invalidation
+     */
+    void invalidated() {
+        invalidations.increment();
+    }
+
+    /**
+     * 记录一次后台重建
+     * Record one background regeneration
+     */
+    void regenerated() {
+        regenerations.increment();
+    }
+
+    /**
+     * 记录一次放弃重建
+     * Record one regeneration given up
+     */
+    void regenerationFailed() {
+        regenerationFailures.increment();
+    }
+
+    /**
+     * 记录一次退役
+     * Record one retirement
+     */
+    void retired() {
+        retirements.increment();
+    }
+
+    /**
+     * 记录一次原地收缩
+     * Record one in-place shrink
+     */
+    void shrunk() {
+        shrinks.increment();
+    }
+
+    @Override
+    public long getMainPoolFetchCount() {
+        return probeBudget.getFetchCount();
+    }
+
+    @Override
+    public long getMainPoolHitCount() {
+        return probeBudget.getHitCount();
+    }
+
+    @Override
+    public long getProbeCount() {
+        return probeBudget.getProbeCount();
+    }
+
+    @Override
+    public long getFailoverCount() {
+        return failovers.sum();
+    }
+
+    @Override
+    public long getOverflowHitCount() {
+        return overflowHits.sum();
+    }
+
+    @Override
+    public int getOverflowSize() {
+        return overflow == null ? 0 : overflow.size();
+    }
+
+    @Override
+    public int getProbeBudget() {
+        return probeBudget.current();
+    }
+
+    @Override
+    public double getProbeHitRate() {
+        return probeBudget.getProbeHitRate();
+    }
+
+    @Override
+    public double getOccupancyEstimate() {
+        return probeBudget.getOccupancy();
+    }
+
+    @Override
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    @Override
+    public long getRegenerationCount() {
+        return regenerations.sum();
+    }
+
+    @Override
+    public long getRegenerationFailureCount() {
+        return regenerationFailures.sum();
+    }
+
+    @Override
+    public long getRetirementCount() {
+        return retirements.sum();
+    }
+
+    @Override
+    public long getShrinkCount() {
+        return shrinks.sum();
+    }
+}
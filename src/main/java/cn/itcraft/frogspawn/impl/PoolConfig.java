@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.constants.Constants;
+import cn.itcraft.frogspawn.strategy.RetirementPolicy;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+
+/**
+ * 单个内存池的调优参数，创建后不可变
+ * Tuning parameters of a single memory pool, immutable once created
+ * <p>
+ * 未显式指定的参数取自 Constants 中的系统属性默认值
+ * Parameters not specified explicitly default to the system properties in Constants
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class PoolConfig {
+
+    private static final PoolConfig DEFAULT = new PoolConfig(Constants.MAX_CAPACITY, Constants.CACHE_CAPACITY,
+                                                              Constants.CACHE_STRIPES, Constants.FETCH_TIMES,
+                                                              Constants.FETCH_TIMES_MIN, Constants.FETCH_TIMES_MAX,
+                                                              Constants.OVERFLOW_CAPACITY);
+
+    private final int maxCapacity;
+    private final int cacheCapacity;
+    private final int cacheStripes;
+    private final int fetchTimes;
+    private final int fetchTimesMin;
+    private final int fetchTimesMax;
+    private final int overflowCapacity;
+    private final RetirementPolicy retirement;
+
+    /**
+     * 构造方法，参数需已校验
+     * Constructor, parameters must be validated already
+     *
+     * @param maxCapacity      主池最大容量 / Maximum main pool capacity
+     * @param cacheCapacity    一级缓存容量，0 表示不使用一级缓存，否则为2的幂次方
+     *                         First level cache capacity, 0 disables the cache, otherwise power of two
+     * @param cacheStripes     条带缓存的条带数，2的幂次方 / Stripe count of striped cache, power of two
+     * @param fetchTimes       初始探测次数 / Initial probe budget
+     * @param fetchTimesMin    探测次数下限 / Lower bound of probe budget
+     * @param fetchTimesMax    探测次数上限 / Upper bound of probe budget
+     * @param overflowCapacity 溢出层容量，0 表示不启用 / Overflow tier capacity, 0 disables it
+     */
+    public PoolConfig(int maxCapacity, int cacheCapacity, int cacheStripes,
+                      int fetchTimes, int fetchTimesMin, int fetchTimesMax, int overflowCapacity) {
+        this(maxCapacity, cacheCapacity, cacheStripes, fetchTimes, fetchTimesMin, fetchTimesMax, overflowCapacity,
+             RetirementPolicy.NONE);
+    }
+
+    /**
+     * 构造方法，附带退役策略，参数需已校验
+     * Constructor with retirement policy, parameters must be validated already
+     *
+     * @param maxCapacity      主池最大容量 / Maximum main pool capacity
+     * @param cacheCapacity    一级缓存容量 / First level cache capacity
+     * @param cacheStripes     条带缓存的条带数 / Stripe count of striped cache
+     * @param fetchTimes       初始探测次数 / Initial probe budget
+     * @param fetchTimesMin    探测次数下限 / Lower bound of probe budget
+     * @param fetchTimesMax    探测次数上限 / Upper bound of probe budget
+     * @param overflowCapacity 溢出层容量，0 表示不启用 / Overflow tier capacity, 0 disables it
+     * @param retirement       退役策略 / Retirement policy
+     */
+    public PoolConfig(int maxCapacity, int cacheCapacity, int cacheStripes, int fetchTimes, int fetchTimesMin,
+                      int fetchTimesMax, int overflowCapacity, RetirementPolicy retirement) {
+        this.maxCapacity = maxCapacity;
+        this.cacheCapacity = cacheCapacity;
+        this.cacheStripes = cacheStripes;
+        this.fetchTimes = fetchTimes;
+        this.fetchTimesMin = fetchTimesMin;
+        this.fetchTimesMax = fetchTimesMax;
+        this.overflowCapacity = overflowCapacity;
+        this.retirement = retirement;
+    }
+
+    /**
+     * 由系统属性决定的默认配置
+     * Default config decided by system properties
+     *
+     * @return 默认配置 / Default config
+     */
+    public static PoolConfig defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * 计算池容量：池大小向上、容量上限向下取整为2的幂次方后取较小值，保证下标掩码覆盖全部槽位
+     * Compute pool capacity: the smaller of size rounded up and max capacity rounded down to power of two,
+     * so the index mask covers every slot
+     *
+     * @param size 池大小 / Pool size
+     * @return 容量 / Capacity
+     */
+    public int capacityFor(int size) {
+        return Math.min(ArrayUtil.findNextPositivePowerOfTwo(size), Integer.highestOneBit(maxCapacity));
+    }
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public int getCacheCapacity() {
+        return cacheCapacity;
+    }
+
+    public int getCacheStripes() {
+        return cacheStripes;
+    }
+
+    public int getFetchTimes() {
+        return fetchTimes;
+    }
+
+    public int getFetchTimesMin() {
+        return fetchTimesMin;
+    }
+
+    public int getFetchTimesMax() {
+        return fetchTimesMax;
+    }
+
+    public int getOverflowCapacity() {
+        return overflowCapacity;
+    }
+
+    public RetirementPolicy getRetirement() {
+        return retirement;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.Resettable;
+
+/**
+ * 主池数组中的槽位，记录对象的使用状态
+ * Slot in the main pool array, tracks usage state of the object
+ * <p>
+ * 普通对象由 {@link cn.itcraft.frogspawn.data.WrappedResettable} 包装后放入数组；
+ * 继承 {@link cn.itcraft.frogspawn.PooledObject} 的对象本身就是槽位，探测时省去两次间接访问
+ * <p>
+ * Plain objects are put into the array wrapped by {@link cn.itcraft.frogspawn.data.WrappedResettable};
+ * objects extending {@link cn.itcraft.frogspawn.PooledObject} are slots themselves, saving two indirections per probe
+ * <p>
+ * 槽位操作仅供本包内的池实现使用，不属于 {@link cn.itcraft.frogspawn.PooledObject} 子类的公开 API；
+ * 取用线程缓存与跨线程归还链表由 {@code ThreadLocalCache} 按槽位 ID 记录在池内部，不占用槽位字段
+ * <p>
+ * Slot operations are for pool implementations in this package only,
+ * they are not part of the public API of {@link cn.itcraft.frogspawn.PooledObject} subclasses;
+ * the fetching thread cache and the cross-thread release list are kept inside the pool by {@code ThreadLocalCache},
+ * indexed by slot id, not in slot fields
+ *
+ * @param <X> 对象类型 / Object type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public abstract class PoolSlot<X extends Resettable> {
+
+    /**
+     * 槽位中的对象
+     * Object in this slot
+     *
+     * @return 对象 / Object
+     */
+    protected abstract X getObj();
+
+    /**
+     * 原子地将槽位由未使用标记为使用
+     * Atomically mark the slot from unused to used
+     *
+     * @return 是否标记成功 / Whether marking succeeded
+     */
+    protected abstract boolean markUsed();
+
+    /**
+     * 原子地将槽位由使用标记为未使用
+     * Atomically mark the slot from used to unused
+     *
+     * @return 是否标记成功，重复归还时为 false / Whether marking succeeded, false on duplicate release
+     */
+    protected abstract boolean markUnused();
+}
@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.util.ArrayUtil;
+import cn.itcraft.frogspawn.util.ThreadUtil;
+import cn.itcraft.frogspawn.util.UnsafeUtil;
+import sun.misc.Unsafe;
+
+/**
+ * 每个池独立的自适应探测次数
+ * Adaptive probe budget owned by each pool
+ * <p>
+ * 每个窗口根据探测结果估算占用率 p，取满足 p^n &lt;= 1% 的最小 n 作为下一窗口的探测次数，
+ * 并限制在 [min, max] 之间：空闲的池降到下限，接近满的池探测更多次；
+ * 窗口内出现探测失败但仍有命中时至少加倍，避免有空闲槽位时探测不足；
+ * 完全耗尽（窗口内无一命中）的池每个窗口减半，逐步退向下限
+ * <p>
+ * Each window estimates occupancy p from probe results, and uses the smallest n with p^n &lt;= 1%
+ * as the budget of next window, bounded by [min, max]: a nearly empty pool drops to the lower bound,
+ * a nearly full pool probes more; a window with misses but still some hits at least doubles the budget,
+ * avoiding under-probing while slots are free; a fully exhausted pool (no hit in the window) halves the budget
+ * each window, backing off gradually towards the lower bound
+ * <p>
+ * 命中只按遍历指针每 {@value #SAMPLE} 次采样一次，采样结果按权重计入，未采样的命中只多一次位运算；
+ * 失败本就走慢路径，每次都计入。计数按线程条带划分，各条带独占缓存行并以原子累加更新，各自按窗口调整
+ * <p>
+ * Hits are sampled once per {@value #SAMPLE} by the walker and recorded with that weight, a hit not sampled
+ * costs one bit test; misses are on the slow path anyway and are all recorded. Counters are striped by thread,
+ * each stripe owns its cache lines and is updated with atomic adds, windows are closed per stripe
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class ProbeBudget {
+
+    /**
+     * 命中的采样间隔，必须为2的幂次方
+     * Sampling interval of hits, must be power of two
+     */
+    static final int SAMPLE = 16;
+
+    private static final long SAMPLE_MASK = SAMPLE - 1;
+
+    /**
+     * 每个条带每个窗口的主池访问次数（按权重计）
+     * Main pool fetches per window of each stripe (weighted)
+     */
+    static final int WINDOW = 1024;
+
+    /**
+     * 目标失败概率的对数
+     * Logarithm of target failure probability
+     */
+    private static final double LOG_TARGET_MISS = Math.log(0.01D);
+
+    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
+    private static final long BASE = Unsafe.ARRAY_LONG_BASE_OFFSET;
+    private static final int SHIFT = 3;
+
+    /**
+     * 每个条带占 128 字节，避免伪共享
+     * Each stripe takes 128 bytes to avoid false sharing
+     */
+    private static final int STRIDE = 16;
+
+    /**
+     * 条带内各计数的下标：累计访问、探测、命中、失败次数，以及当前窗口起点的对应值
+     * Indexes inside a stripe: accumulated fetches, probes, hits, misses, and their values at the start of
+     * current window
+     */
+    private static final int FETCHES = 0;
+    private static final int PROBES = 1;
+    private static final int HITS = 2;
+    private static final int MISSES = 3;
+    private static final int WINDOW_FETCHES = 4;
+    private static final int WINDOW_PROBES = 5;
+    private static final int WINDOW_HITS = 6;
+    private static final int WINDOW_MISSES = 7;
+
+    private final int min;
+    private final int max;
+
+    private final long[] cells;
+    private final int stripeMask;
+
+    private volatile int budget;
+    private volatile double occupancy;
+
+    /**
+     * 构造方法，单条带
+     * Constructor, single stripe
+     *
+     * @param initial 初始探测次数 / Initial budget
+     * @param min     探测次数下限 / Lower bound
+     * @param max     探测次数上限 / Upper bound
+     */
+    ProbeBudget(int initial, int min, int max) {
+        this(initial, min, max, 1);
+    }
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param initial 初始探测次数 / Initial budget
+     * @param min     探测次数下限 / Lower bound
+     * @param max     探测次数上限 / Upper bound
+     * @param stripes 计数条带数，向上取整为2的幂次方 / Counter stripes, rounded up to power of two
+     */
+    ProbeBudget(int initial, int min, int max, int stripes) {
+        this.min = min;
+        this.max = max;
+        int count = ArrayUtil.findNextPositivePowerOfTwo(Math.max(1, stripes));
+        this.stripeMask = count - 1;
+        // 首尾各留一个条带作填充 / One stripe of padding at both ends
+        this.cells = new long[(count + 2) * STRIDE];
+        this.budget = clamp(initial);
+    }
+
+    /**
+     * 当前探测次数
+     * Current budget
+     *
+     * @return 探测次数 / Budget
+     */
+    int current() {
+        return budget;
+    }
+
+    /**
+     * 记录一次命中，只有首次探测的遍历指针落在采样点上时才计入
+     * Record a hit, only counted when the walker of the first probe falls on a sampling point
+     *
+     * @param ticket 首次探测时的遍历指针 / Walker value of the first probe
+     * @param probed 探测次数 / Probes used
+     */
+    void hit(long ticket, int probed) {
+        if ((ticket & SAMPLE_MASK) == 0) {
+            record(SAMPLE, probed, true);
+        }
+    }
+
+    /**
+     * 记录一次失败，每次都计入
+     * Record a miss, always counted
+     *
+     * @param probed 探测次数 / Probes used
+     */
+    void miss(int probed) {
+        record(1L, probed, false);
+    }
+
+    /**
+     * 以权重 1 记录一次主池访问的结果
+     * Record result of one main pool fetch with weight 1
+     *
+     * @param probed 探测次数 / Probes used
+     * @param hit    是否取得对象 / Whether an object was fetched
+     */
+    void record(int probed, boolean hit) {
+        record(1L, probed, hit);
+    }
+
+    private void record(long weight, int probed, boolean hit) {
+        int stripe = ThreadUtil.threadHash() & stripeMask;
+        long fetches = UNSAFE.getAndAddLong(cells, offset(stripe, FETCHES), weight) + weight;
+        UNSAFE.getAndAddLong(cells, offset(stripe, PROBES), weight * probed);
+        UNSAFE.getAndAddLong(cells, offset(stripe, hit ? HITS : MISSES), weight);
+        long windowStart = UNSAFE.getLongVolatile(cells, offset(stripe, WINDOW_FETCHES));
+        // 只有一个线程能关闭条带的窗口 / Only one thread closes the window of a stripe
+        if (fetches - windowStart >= WINDOW
+                && UNSAFE.compareAndSwapLong(cells, offset(stripe, WINDOW_FETCHES), windowStart, fetches)) {
+            closeWindow(stripe);
+        }
+    }
+
+    private void closeWindow(int stripe) {
+        long probes = UNSAFE.getLongVolatile(cells, offset(stripe, PROBES));
+        long hits = UNSAFE.getLongVolatile(cells, offset(stripe, HITS));
+        long misses = UNSAFE.getLongVolatile(cells, offset(stripe, MISSES));
+        long probed = probes - UNSAFE.getLongVolatile(cells, offset(stripe, WINDOW_PROBES));
+        long fetched = hits - UNSAFE.getLongVolatile(cells, offset(stripe, WINDOW_HITS));
+        long missed = misses - UNSAFE.getLongVolatile(cells, offset(stripe, WINDOW_MISSES));
+        UNSAFE.putOrderedLong(cells, offset(stripe, WINDOW_PROBES), probes);
+        UNSAFE.putOrderedLong(cells, offset(stripe, WINDOW_HITS), hits);
+        UNSAFE.putOrderedLong(cells, offset(stripe, WINDOW_MISSES), misses);
+        adapt(fetched, probed, missed);
+    }
+
+    private void adapt(long fetched, long probed, long missed) {
+        if (probed <= 0) {
+            return;
+        }
+        // 每次成功恰好消耗一次成功探测，其余均为失败探测
+        // Each success consumes exactly one successful probe, the rest are failed probes
+        double p = Math.max(0D, Math.min(1D, 1D - (double) fetched / probed));
+        occupancy = p;
+        if (fetched == 0) {
+            // 完全耗尽时逐步退让，避免有空闲槽位时仍频繁失败
+            // Back off gradually when exhausted, avoids frequent failures once slots are freed again
+            budget = clamp(budget >>> 1);
+        } else if (missed > 0) {
+            // 仍有命中却出现失败说明探测不足，至少加倍
+            // Misses while still hitting mean under-probing, at least double the budget
+            budget = clamp(Math.max(estimate(p), budget << 1));
+        } else {
+            budget = clamp(estimate(p));
+        }
+    }
+
+    /**
+     * 满足 p^n &lt;= 1% 的最小 n，完全空闲时为下限
+     * Smallest n with p^n &lt;= 1%, the lower bound when idle
+     */
+    private int estimate(double p) {
+        if (p <= 0D) {
+            return min;
+        }
+        if (p >= 1D) {
+            return max;
+        }
+        return (int) Math.min(max, Math.ceil(LOG_TARGET_MISS / Math.log(p)));
+    }
+
+    private int clamp(int value) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    long getFetchCount() {
+        return sum(FETCHES);
+    }
+
+    long getHitCount() {
+        return sum(HITS);
+    }
+
+    long getProbeCount() {
+        return sum(PROBES);
+    }
+
+    double getProbeHitRate() {
+        long probed = sum(PROBES);
+        return probed == 0 ? 0D : (double) sum(HITS) / probed;
+    }
+
+    double getOccupancy() {
+        return occupancy;
+    }
+
+    private long sum(int index) {
+        long sum = 0L;
+        for (int i = 0; i <= stripeMask; i++) {
+            sum += UNSAFE.getLongVolatile(cells, offset(i, index));
+        }
+        return sum;
+    }
+
+    private static long offset(int stripe, int index) {
+        return BASE + ((long) (stripe + 1) * STRIDE + index << SHIFT);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 后台重建线程，由所有池共用，为被淘汰对象的槽位调用创建器或原地收缩过大的对象，取用与归还路径不承担这些开销
+ * Background regeneration thread shared by all pools, calls creators for slots of retired objects or shrinks
+ * oversized objects in place, so fetch and release paths never pay for either
+ * <p>
+ * 每个池预分配一个槽位队列，淘汰时只写入槽位下标并唤醒后台线程，不分配内存、不加锁；后台线程弱引用各池，
+ * 池被回收后丢弃其队列。每个槽位最多尝试 {@value #MAX_ATTEMPTS} 次，仍失败时交还池处理
+ * <p>
+ * Each pool preallocates a slot queue, retiring only writes the slot index and wakes the background thread,
+ * with no allocation and no lock; the background thread references pools weakly and drops the queue of
+ * a collected pool. Each slot is tried at most {@value #MAX_ATTEMPTS} times, then handed back to the pool
+ * <p>
+ * 首次淘汰时才启动，守护线程，不阻止 JVM 退出
+ * Started on the first retirement, a daemon thread which does not keep the JVM alive
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class Regenerator {
+
+    /**
+     * 每个槽位的最多尝试次数
+     * Maximum attempts per slot
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * 尝试失败后重试的间隔（毫秒）
+     * Interval (ms) before retrying a failed attempt
+     */
+    private static final long RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(1000L);
+
+    /**
+     * 空闲时的唤醒间隔，用于丢弃已回收池的队列
+     * Wake-up interval when idle, used to drop queues of collected pools
+     */
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(10L);
+
+    private Regenerator() {
+    }
+
+    private static void work() {
+        Thread current = Thread.currentThread();
+        while (!current.isInterrupted()) {
+            boolean retry = false;
+            Iterator<Queue> iterator = Worker.QUEUES.iterator();
+            Queue queue;
+            Target target;
+            while (iterator.hasNext()) {
+                queue = iterator.next();
+                target = queue.owner.get();
+                if (target == null) {
+                    iterator.remove();
+                } else {
+                    retry |= queue.drain(target);
+                }
+            }
+            LockSupport.parkNanos(Regenerator.class, retry ? RETRY_NANOS : IDLE_NANOS);
+        }
+    }
+
+    /**
+     * 池的槽位队列：多生产者写入、后台线程单消费者读取的有界环形数组。
+     * 被淘汰的槽位在处理完成前保持占用，不会重复入队，因此待处理数不超过槽位数，容量与池相同即不会溢出
+     * <p>
+     * Slot queue of a pool: a bounded ring written by many producers and read by the background thread alone.
+     * A retired slot stays claimed until processed and is never queued twice, so pending entries never exceed
+     * the slot count and a capacity equal to the pool never overflows
+     */
+    static final class Queue {
+
+        private final WeakReference<Target> owner;
+
+        /**
+         * 槽位下标加一，负值表示原地收缩，0 表示空位
+         * Slot index plus one, negated for in-place shrink, 0 means an empty cell
+         */
+        private final AtomicIntegerArray entries;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+
+        /**
+         * 读取位置，只由后台线程访问
+         * Read position, accessed by the background thread only
+         */
+        private long head;
+
+        /**
+         * 各槽位已尝试的次数，只由后台线程访问
+         * Attempts made for each slot, accessed by the background thread only
+         */
+        private final byte[] attempts;
+
+        private volatile boolean registered;
+
+        /**
+         * 构造方法
+         * Constructor
+         *
+         * @param owner    所属池，弱引用持有 / Owner pool, held weakly
+         * @param capacity 槽位数，必须为2的幂次方 / Slot count, must be power of two
+         */
+        Queue(Target owner, int capacity) {
+            this.owner = new WeakReference<>(owner);
+            this.entries = new AtomicIntegerArray(capacity);
+            this.mask = capacity - 1;
+            this.attempts = new byte[capacity];
+        }
+
+        /**
+         * 将槽位交给后台线程重建
+         * Hand the slot to the background thread for regeneration
+         *
+         * @param index 槽位下标 / Slot index
+         */
+        void offer(int index) {
+            enqueue(index + 1);
+        }
+
+        /**
+         * 将槽位交给后台线程原地收缩，失败时改为重建
+         * Hand the slot to the background thread for in-place shrink, regenerated instead on failure
+         *
+         * @param index 槽位下标 / Slot index
+         */
+        void offerShrink(int index) {
+            enqueue(-(index + 1));
+        }
+
+        private void enqueue(int entry) {
+            put(entry);
+            if (!registered) {
+                register();
+            }
+            LockSupport.unpark(Worker.THREAD);
+        }
+
+        private void put(int entry) {
+            entries.lazySet((int) (tail.getAndIncrement() & mask), entry);
+        }
+
+        private synchronized void register() {
+            if (!registered) {
+                Worker.QUEUES.add(this);
+                registered = true;
+            }
+        }
+
+        /**
+         * 处理已入队的槽位，失败的槽位重新入队等待下一轮
+         * Process queued slots, failed slots are queued again for the next round
+         *
+         * @return 是否有需要稍后重试的槽位 / Whether some slots need a retry later
+         */
+        private boolean drain(Target target) {
+            long end = tail.get();
+            boolean retry = false;
+            int cell;
+            int entry;
+            int index;
+            boolean done;
+            while (head < end) {
+                cell = (int) head & mask;
+                if ((entry = entries.get(cell)) == 0) {
+                    // 生产者已取得位置但尚未写入，写入后会再次唤醒
+                    // Producer took the position but has not written yet, it wakes us again after writing
+                    break;
+                }
+                entries.set(cell, 0);
+                head++;
+                index = Math.abs(entry) - 1;
+                try {
+                    done = (entry < 0 && target.shrink(index)) || target.regenerate(index);
+                } catch (RuntimeException e) {
+                    done = false;
+                }
+                if (done) {
+                    attempts[index] = 0;
+                } else if (++attempts[index] >= MAX_ATTEMPTS) {
+                    attempts[index] = 0;
+                    target.giveUp(index);
+                } else {
+                    // 重试时只重建 / Only regenerate on retry
+                    put(index + 1);
+                    retry = true;
+                }
+            }
+            return retry;
+        }
+    }
+
+    /**
+     * 重建目标，即池本身
+     * Regeneration target, i.e. the pool itself
+     */
+    interface Target {
+        /**
+         * 重置并原地收缩槽位中的对象，成功后释放槽位
+         * Reset and shrink the object in the slot in place, releasing the slot when done
+         *
+         * @param index 槽位下标 / Slot index
+         * @return 是否已收缩 / Whether shrunk
+         */
+        boolean shrink(int index);
+
+        /**
+         * 重建对象并发布到槽位
+         * Recreate object and publish it into the slot
+         *
+         * @param index 槽位下标 / Slot index
+         * @return 是否完成，false 表示稍后重试 / Whether done, false to be retried later
+         */
+        boolean regenerate(int index);
+
+        /**
+         * 多次尝试均失败后放弃，由池释放槽位
+         * Give up after repeated failures, the pool releases the slot
+         *
+         * @param index 槽位下标 / Slot index
+         */
+        void giveUp(int index);
+    }
+
+    private static final class Worker {
+        private static final ConcurrentLinkedQueue<Queue> QUEUES = new ConcurrentLinkedQueue<>();
+        private static final Thread THREAD = start();
+
+        private static Thread start() {
+            Thread thread = new Thread(Regenerator::work, "frogspawn-regenerator");
+            thread.setDaemon(true);
+            thread.start();
+            return thread;
+        }
+    }
+}
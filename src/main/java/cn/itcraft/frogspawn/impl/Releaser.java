@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+/**
+ * 释放器接口，将对象归还主池
+ * Releaser interface, returns object back to the main pool
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+interface Releaser<T> {
+    /**
+     * 归还对象
+     * Release object
+     *
+     * @param obj 对象实例 / Object instance
+     */
+    void release(T obj);
+}
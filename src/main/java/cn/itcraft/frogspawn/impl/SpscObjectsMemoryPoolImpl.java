@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.ObjectCreator;
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.SpscObjectsMemoryPool;
+import cn.itcraft.frogspawn.constants.Constants;
+import cn.itcraft.frogspawn.failrestore.FailRestorer;
+import cn.itcraft.frogspawn.misc.SpscRing;
+import cn.itcraft.frogspawn.stats.PoolStats;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于一对 SPSC 环形队列的交接内存池实现
+ * Handoff memory pool implementation based on a pair of SPSC rings
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class SpscObjectsMemoryPoolImpl<T extends Resettable> implements SpscObjectsMemoryPool<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpscObjectsMemoryPoolImpl> FETCHES =
+            AtomicLongFieldUpdater.newUpdater(SpscObjectsMemoryPoolImpl.class, "fetches");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicLongFieldUpdater<SpscObjectsMemoryPoolImpl> HITS =
+            AtomicLongFieldUpdater.newUpdater(SpscObjectsMemoryPoolImpl.class, "hits");
+
+    /**
+     * 空闲对象队列：消费线程归还，生产线程取用
+     * Free objects ring: released by consumer, fetched by producer
+     */
+    private final SpscRing<T> freeRing;
+
+    /**
+     * 交接队列：生产线程发布，消费线程取出
+     * Handoff ring: published by producer, polled by consumer
+     */
+    private final SpscRing<T> handoffRing;
+
+    private final ObjectCreator<T> creator;
+
+    /**
+     * 数据获取失败时的处理策略，MUST_FETCH_IN_POOL 时为 null
+     * Strategy for handling data fetch failures, null for MUST_FETCH_IN_POOL
+     */
+    private final FailRestorer failRestorer;
+
+    /**
+     * 取对象次数与命中次数，只由生产线程以有序写入更新，不引入原子指令
+     * Fetch and hit counts, only updated by the producer with ordered stores, no atomic instruction involved
+     */
+    private volatile long fetches;
+    private volatile long hits;
+
+    /**
+     * 失败处理次数，只在失败路径上累加
+     * Failover count, only added on the failure path
+     */
+    private final LongAdder failovers = new LongAdder();
+
+    private final PoolStats stats = new SpscPoolStats();
+
+    private volatile Thread producer;
+    private volatile Thread consumer;
+
+    /**
+     * 构造方法，初始化对象池
+     * Constructor, initializes the object pool
+     *
+     * @param creator      对象创建器 / Object creator
+     * @param size         初始容量 / Initial capacity
+     * @param poolStrategy 池策略 / Pool strategy
+     */
+    public SpscObjectsMemoryPoolImpl(ObjectCreator<T> creator, int size, PoolStrategy poolStrategy) {
+        int capacity = Math.min(ArrayUtil.findNextPositivePowerOfTwo(size), Constants.MAX_CAPACITY);
+        this.freeRing = new SpscRing<>(capacity);
+        this.handoffRing = new SpscRing<>(capacity);
+        T obj;
+        for (int i = 0; i < capacity; i++) {
+            obj = creator.create();
+            // 标记为池内对象 / Mark as pooled object
+            obj.markId(i);
+            freeRing.offer(obj);
+        }
+        this.creator = creator;
+        this.failRestorer = FetchStrategy.MUST_FETCH_IN_POOL.equals(poolStrategy.getFetchStrategy())
+                ? null : poolStrategy.getFailRestorer();
+    }
+
+    @Override
+    public void bindProducer() {
+        this.producer = Thread.currentThread();
+    }
+
+    @Override
+    public void bindConsumer() {
+        this.consumer = Thread.currentThread();
+    }
+
+    @Override
+    public T fetch() {
+        checkOwner(producer, "fetch");
+        T t = freeRing.poll();
+        FETCHES.lazySet(this, fetches + 1L);
+        if (t != null) {
+            HITS.lazySet(this, hits + 1L);
+            return t;
+        }
+        if (failRestorer != null) {
+            failovers.increment();
+            return failRestorer.failover(creator);
+        }
+        while ((t = freeRing.poll()) == null) {
+            Thread.yield();
+        }
+        return t;
+    }
+
+    @Override
+    public boolean publish(T filled) {
+        checkOwner(producer, "publish");
+        return handoffRing.offer(filled);
+    }
+
+    @Override
+    public T poll() {
+        checkOwner(consumer, "poll");
+        return handoffRing.poll();
+    }
+
+    @Override
+    public void release(T used) {
+        checkOwner(consumer, "release");
+        used.reset();
+        if (used.getMarkedId() >= 0) {
+            // 池内对象总数不超过容量，不会失败
+            // Pooled objects never exceed the capacity, never fails
+            freeRing.offer(used);
+        }
+    }
+
+    @Override
+    public PoolStats stats() {
+        return stats;
+    }
+
+    @Override
+    public int capacity() {
+        return freeRing.capacity();
+    }
+
+    /**
+     * 空闲队列中的对象数，不需要额外计数
+     * Objects in the free ring, no extra counter needed
+     */
+    @Override
+    public int available() {
+        // 两端位置分别读取，可能短暂越界 / Both ends are read separately, may be briefly out of range
+        return Math.max(0, Math.min(freeRing.capacity(), freeRing.size()));
+    }
+
+    /**
+     * 生产线程持有、交接途中与消费线程持有的对象都视为使用中
+     * Objects held by the producer, in handoff and held by the consumer all count as in use
+     */
+    @Override
+    public int inUse() {
+        return freeRing.capacity() - available();
+    }
+
+    @Override
+    public int inThreadCaches() {
+        return 0;
+    }
+
+    /**
+     * 环形队列出队即取得，探测次数固定为 1
+     * Polling the ring either succeeds or fails, probe budget is fixed at 1
+     */
+    private final class SpscPoolStats implements PoolStats {
+
+        @Override
+        public long getMainPoolFetchCount() {
+            return fetches;
+        }
+
+        @Override
+        public long getMainPoolHitCount() {
+            return hits;
+        }
+
+        @Override
+        public long getFailoverCount() {
+            return failovers.sum();
+        }
+
+        @Override
+        public long getOverflowHitCount() {
+            return 0L;
+        }
+
+        @Override
+        public int getOverflowSize() {
+            return 0;
+        }
+
+        @Override
+        public int getProbeBudget() {
+            return 1;
+        }
+
+        @Override
+        public double getProbeHitRate() {
+            long fetched = fetches;
+            return fetched == 0 ? 0D : (double) hits / fetched;
+        }
+
+        @Override
+        public long getProbeCount() {
+            return fetches;
+        }
+
+        /**
+         * 由空闲队列长度直接得出
+         * Derived from the free ring length directly
+         */
+        @Override
+        public double getOccupancyEstimate() {
+            return (double) inUse() / capacity();
+        }
+    }
+
+    private static void checkOwner(Thread owner, String operation) {
+        if (owner != Thread.currentThread()) {
+            throw new IllegalStateException(operation + " must be called from bound thread[" + owner + "]");
+        }
+    }
+}
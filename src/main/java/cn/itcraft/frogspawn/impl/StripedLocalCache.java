@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.misc.StripedCache;
+
+/**
+ * 基于 CPU 条带共享缓存的一级缓存，每个池独享一组条带
+ * First level cache based on CPU striped shared cache, each pool owns its stripes
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class StripedLocalCache<T extends Resettable> implements LocalCache<T> {
+
+    private final StripedCache<T> cache;
+
+    StripedLocalCache(int stripes, int slots) {
+        this.cache = new StripedCache<>(stripes, slots);
+    }
+
+    @Override
+    public T fetch() {
+        return cache.fetch();
+    }
+
+    @Override
+    public boolean release(T obj) {
+        return cache.release(obj);
+    }
+
+    @Override
+    public void claim(T obj) {
+        // 条带缓存不区分所属线程
+        // Striped cache does not track owner threads
+    }
+
+    @Override
+    public void unclaim(int id) {
+        // 条带缓存不区分所属线程
+        // Striped cache does not track owner threads
+    }
+
+    @Override
+    public void flush() {
+        // 条带缓存不属于任何线程，无需处理
+        // Striped cache is not owned by any thread, nothing to do
+    }
+
+    @Override
+    public int sweep() {
+        return 0;
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.misc.SimpleStackCache;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 单个线程的缓存：线程独占的栈式缓存，以及其他线程归还对象用的无锁多生产者单消费者链表
+ * Cache of a single thread: a thread-owned stack cache, plus a lock-free multi-producer
+ * single-consumer list for objects released by other threads
+ * <p>
+ * 链表以槽位 ID 串联，后继记录在同一池所有线程缓存共用的数组中，跨线程归还不产生任何分配。
+ * 所属线程在本地缓存为空时一次性取走整个链表
+ * <p>
+ * The list is linked by slot ids, successors are kept in an array shared by all thread caches of one pool,
+ * cross-thread releases allocate nothing. The owner thread takes the whole list at once when its local cache
+ * is empty
+ * <p>
+ * 线程缓存作为线程本地变量的值被线程强引用，因此不持有池及其释放器，释放器由调用方逐次传入，
+ * 否则线程存活期间用过的池都无法被回收
+ * <p>
+ * Thread caches are strongly held by their threads as thread-local values, so they hold neither the pool
+ * nor its releaser, which callers pass in per call; otherwise every pool a thread used could never be
+ * collected while the thread lives
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class ThreadCache<T extends Resettable> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<ThreadCache> REMOTE_HEAD =
+            AtomicIntegerFieldUpdater.newUpdater(ThreadCache.class, "remoteHead");
+
+    /**
+     * 空链表
+     * Empty list
+     */
+    private static final int NONE = -1;
+
+    private final SimpleStackCache<T> stack;
+
+    /**
+     * 主池数组，按槽位 ID 取得对象
+     * Main pool array, objects are looked up by slot id
+     */
+    @SuppressWarnings("rawtypes")
+    private final PoolSlot[] array;
+
+    /**
+     * 跨线程归还链表中各槽位的后继，同一池的线程缓存共用；槽位同一时刻至多在一个链表中
+     * Successor of each slot in the cross-thread release lists, shared by thread caches of one pool;
+     * a slot is in at most one list at a time
+     */
+    private final int[] remoteNext;
+
+    /**
+     * 其他线程归还的对象链表头的槽位 ID
+     * Slot id of the head of the list of objects released by other threads
+     */
+    private volatile int remoteHead = NONE;
+
+    /**
+     * 所属线程已结束并被清扫
+     * Owner thread died and was swept
+     */
+    private volatile boolean retired;
+
+    @SuppressWarnings("rawtypes")
+    ThreadCache(PoolSlot[] array, int[] remoteNext, int capacity) {
+        this.stack = new SimpleStackCache<>(capacity);
+        this.array = array;
+        this.remoteNext = remoteNext;
+    }
+
+    /**
+     * 由所属线程获取对象，本地缓存为空时批量取回跨线程归还的对象
+     * Fetch object by owner thread, drain objects released by other threads in batch when local cache is empty
+     *
+     * @param releaser 归还主池的释放器 / Releaser returning objects to the main pool
+     * @return 对象或null / Object or null
+     */
+    T fetch(Releaser<T> releaser) {
+        T t = stack.fetch();
+        if (t == null && remoteHead != NONE) {
+            drainRemote(true, releaser);
+            t = stack.fetch();
+        }
+        return t;
+    }
+
+    /**
+     * 由所属线程放回对象
+     * Release object by owner thread
+     *
+     * @param obj 对象 / Object
+     * @return true-需要继续释放流程 false-不需要继续
+     * true-need to continue release process false-no need
+     */
+    boolean release(T obj) {
+        return stack.release(obj);
+    }
+
+    /**
+     * 本地缓存中的对象数，由其他线程读取时为近似值
+     * Object count in local cache, approximate when read by other threads
+     *
+     * @return 对象数 / Object count
+     */
+    int size() {
+        return stack.size();
+    }
+
+    /**
+     * 由其他线程将对象送回本缓存
+     * Send object back to this cache by other threads
+     *
+     * @param id       对象的槽位 ID / Slot id of the object
+     * @param releaser 归还主池的释放器 / Releaser returning objects to the main pool
+     * @return 是否已送回；所属线程已被清扫时返回 false / Whether sent back, false when owner thread was swept
+     */
+    boolean releaseRemote(int id, Releaser<T> releaser) {
+        if (retired) {
+            return false;
+        }
+        int head;
+        do {
+            head = remoteHead;
+            remoteNext[id] = head;
+        } while (!REMOTE_HEAD.compareAndSet(this, head, id));
+        if (retired) {
+            // 与清扫并发，自行归还主池，避免对象滞留
+            // Racing with sweep, return to main pool by ourselves to avoid stranding
+            drainRemote(false, releaser);
+        }
+        return true;
+    }
+
+    /**
+     * 将本缓存中的全部对象归还主池
+     * Return all objects in this cache back to the main pool
+     *
+     * @param releaser 归还主池的释放器 / Releaser returning objects to the main pool
+     * @return 归还的对象数 / Returned object count
+     */
+    int drain(Releaser<T> releaser) {
+        int count = 0;
+        T obj;
+        while ((obj = stack.fetch()) != null) {
+            releaser.release(obj);
+            count++;
+        }
+        return count + drainRemote(false, releaser);
+    }
+
+    /**
+     * 将跨线程归还但所属线程尚未取走的对象归还主池，所属线程存活时也可调用
+     * Return objects released by other threads but not yet taken by the owner back to the main pool,
+     * callable while the owner thread is alive
+     *
+     * @param releaser 归还主池的释放器 / Releaser returning objects to the main pool
+     * @return 归还的对象数 / Returned object count
+     */
+    int reclaimRemote(Releaser<T> releaser) {
+        return remoteHead == NONE ? 0 : drainRemote(false, releaser);
+    }
+
+    /**
+     * 标记所属线程已结束，并归还全部对象
+     * Mark owner thread as dead, and return all objects
+     *
+     * @param releaser 归还主池的释放器 / Releaser returning objects to the main pool
+     * @return 归还的对象数 / Returned object count
+     */
+    int retire(Releaser<T> releaser) {
+        retired = true;
+        return drain(releaser);
+    }
+
+    /**
+     * 取走跨线程归还的对象
+     * Take objects released by other threads
+     *
+     * @param toStack  是否优先放入本地缓存 / Whether to put into local cache first
+     * @param releaser 归还主池的释放器 / Releaser returning objects to the main pool
+     * @return 归还主池的对象数 / Object count returned to main pool
+     */
+    @SuppressWarnings("unchecked")
+    private int drainRemote(boolean toStack, Releaser<T> releaser) {
+        int node = REMOTE_HEAD.getAndSet(this, NONE);
+        T obj;
+        int count = 0;
+        while (node != NONE) {
+            obj = (T) array[node].getObj();
+            // 后继须在对象交出前读取，交出后槽位可能再次进入其他链表
+            // Read the successor before handing the object over, the slot may join another list afterwards
+            node = remoteNext[node];
+            if (!toStack || stack.release(obj)) {
+                releaser.release(obj);
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.Resettable;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static cn.itcraft.frogspawn.constants.Constants.SWEEP_INTERVAL_MILLIS;
+
+/**
+ * 基于线程本地栈式缓存的一级缓存，每个池独享一组线程缓存
+ * First level cache based on thread-local stack cache, each pool owns its thread caches
+ * <p>
+ * 每个线程的缓存通过弱引用登记，线程结束后由 sweep 将滞留的对象归还主池
+ * Each thread's cache is registered through a weak reference, objects stranded after
+ * the thread died are returned to the main pool by sweep
+ * <p>
+ * 除池耗尽时外，缓存未命中或已满时也按间隔清扫，池从不耗尽时已结束线程的对象同样会被回收
+ * Besides on exhaustion, sweeps also run at interval on cache misses and overflows,
+ * so objects of dead threads are reclaimed even when the pool never exhausts
+ * <p>
+ * 从主池取得的对象记录取用线程的缓存，由其他线程归还时送回该缓存（remote free），
+ * 一个线程取、另一个线程还的流水线在稳定状态下不再访问主池
+ * <p>
+ * Objects fetched from the main pool record the fetching thread's cache, releases from other threads
+ * send them back to that cache (remote free). Pipelines where one thread fetches and another thread
+ * releases no longer touch the main pool in steady state
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class ThreadLocalCache<T extends Resettable> implements LocalCache<T> {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(SWEEP_INTERVAL_MILLIS);
+
+    /**
+     * 线程本地存储的栈式缓存，用于快速对象存取
+     * Thread-local stack cache for fast object access
+     */
+    private final ThreadLocal<ThreadCache<T>> localQueue = ThreadLocal.withInitial(this::register);
+
+    /**
+     * 已登记的线程缓存
+     * Registered thread caches
+     */
+    private final ConcurrentLinkedQueue<CacheRef<T>> caches = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 线程对象被回收后，对应的登记项进入此队列
+     * Registrations enter this queue after their thread objects are collected
+     */
+    private final ReferenceQueue<Thread> collected = new ReferenceQueue<>();
+
+    /**
+     * 清扫标志，保证同一时刻只有一个线程清扫
+     * Sweeping flag, ensures only one thread sweeps at a time
+     */
+    private final AtomicBoolean sweeping = new AtomicBoolean(false);
+
+    /**
+     * 主池数组，用于定位对象的封装
+     * Main pool array, thread caches look up objects in it by slot id
+     */
+    @SuppressWarnings("rawtypes")
+    private final PoolSlot[] array;
+
+    /**
+     * 各槽位对象的取用线程缓存，由主池取得时登记
+     * Fetching thread cache of each slot's object, registered when fetched from the main pool
+     */
+    @SuppressWarnings("rawtypes")
+    private final ThreadCache[] owners;
+
+    /**
+     * 跨线程归还链表的后继，本池所有线程缓存共用
+     * Successors of the cross-thread release lists, shared by all thread caches of this pool
+     */
+    private final int[] remoteNext;
+
+    /**
+     * 归还主池的释放器，只由池一侧持有，逐次传给线程缓存
+     * Releaser returning objects to the main pool, held only on the pool side and passed to thread caches per call
+     */
+    private final Releaser<T> releaser;
+
+    /**
+     * 每个线程缓存的容量
+     * Capacity of each thread cache
+     */
+    private final int capacity;
+
+    private volatile long lastFullSweep;
+
+    /**
+     * 上次定期清扫的时间，与耗尽时的清扫分别计时
+     * Time of the last periodic sweep, timed apart from sweeps on exhaustion
+     */
+    private volatile long lastPeriodicSweep;
+
+    @SuppressWarnings("rawtypes")
+    ThreadLocalCache(PoolSlot[] array, Releaser<T> releaser, int capacity) {
+        this.array = array;
+        this.owners = new ThreadCache[array.length];
+        this.remoteNext = new int[array.length];
+        this.releaser = releaser;
+        this.capacity = capacity;
+        this.lastPeriodicSweep = System.nanoTime();
+        this.lastFullSweep = lastPeriodicSweep - SWEEP_INTERVAL_NANOS;
+    }
+
+    @Override
+    public T fetch() {
+        T t = localQueue.get().fetch(releaser);
+        if (t == null) {
+            sweepIfDue();
+        }
+        return t;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean release(T obj) {
+        ThreadCache<T> cache = localQueue.get();
+        if (sentRemote(cache, obj)) {
+            return false;
+        }
+        if (cache.release(obj)) {
+            sweepIfDue();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 线程缓存只查找一次，缓存已满后其余对象直接交给 releaser，不再尝试入栈
+     * Thread cache is looked up once, once it is full the remaining objects go to releaser without trying the stack
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void releaseAll(Resettable[] objs, int from, int to, Releaser<T> releaser) {
+        ThreadCache<T> cache = localQueue.get();
+        boolean full = false;
+        T obj;
+        for (int i = from; i < to; i++) {
+            obj = (T) objs[i];
+            if (sentRemote(cache, obj)) {
+                continue;
+            }
+            if (full || (full = cache.release(obj))) {
+                releaser.release(obj);
+            }
+        }
+        if (full) {
+            sweepIfDue();
+        }
+    }
+
+    /**
+     * 对象由其他线程缓存取得时送回该缓存
+     * Send the object back to the thread cache that fetched it, if it is another one
+     *
+     * @return 是否已送回 / Whether sent back
+     */
+    @SuppressWarnings("unchecked")
+    private boolean sentRemote(ThreadCache<T> cache, T obj) {
+        int id = obj.getMarkedId();
+        if (id < 0) {
+            return false;
+        }
+        ThreadCache<T> owner = owners[id];
+        return owner != null && owner != cache && owner.releaseRemote(id, releaser);
+    }
+
+    @Override
+    public void claim(T obj) {
+        owners[obj.getMarkedId()] = localQueue.get();
+    }
+
+    @Override
+    public void unclaim(int id) {
+        owners[id] = null;
+    }
+
+    @Override
+    public void flush() {
+        localQueue.get().drain(releaser);
+    }
+
+    @Override
+    public int sweep() {
+        return sweep(true);
+    }
+
+    /**
+     * 读取时遍历已登记的线程缓存并汇总各自的大小，开销与线程数成正比，取用与归还路径不做任何计数
+     * Walks registered thread caches and sums their sizes on read, costs in proportion to thread count,
+     * fetch and release paths do no counting at all
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (CacheRef<T> ref : caches) {
+            size += ref.cache.size();
+        }
+        return size;
+    }
+
+    /**
+     * 距上次定期清扫超过间隔时清扫，只在缓存未命中或已满的路径上调用
+     * Sweep when the interval since the last periodic sweep elapsed, only called on cache miss and overflow paths
+     */
+    private void sweepIfDue() {
+        long now = System.nanoTime();
+        if (now - lastPeriodicSweep >= SWEEP_INTERVAL_NANOS) {
+            lastPeriodicSweep = now;
+            sweep(true);
+        }
+    }
+
+    /**
+     * 清扫已结束线程的缓存
+     * Sweep caches of dead threads
+     *
+     * @param full 是否允许按间隔全量扫描 / Whether full scan at interval is allowed
+     * @return 回收的对象数 / Reclaimed object count
+     */
+    private int sweep(boolean full) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int reclaimed = 0;
+            CacheRef<T> ref;
+            // 线程对象已被回收的登记项，开销极低
+            // Registrations whose thread objects were collected, very cheap
+            while ((ref = pollCollected()) != null) {
+                if (caches.remove(ref)) {
+                    reclaimed += ref.cache.retire(releaser);
+                }
+            }
+            long now = System.nanoTime();
+            if (full && now - lastFullSweep >= SWEEP_INTERVAL_NANOS) {
+                // 线程已结束但线程对象仍被引用的登记项，以及存活线程的跨线程归还链表，按间隔全量扫描
+                // Threads died but still referenced, and remote lists of live threads, scanned fully at interval
+                lastFullSweep = now;
+                reclaimed += sweepDeadThreads();
+            }
+            return reclaimed;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * 为当前线程创建并登记缓存
+     * Create and register cache for current thread
+     *
+     * @return 线程缓存 / Thread cache
+     */
+    private ThreadCache<T> register() {
+        ThreadCache<T> cache = new ThreadCache<>(array, remoteNext, capacity);
+        caches.add(new CacheRef<>(Thread.currentThread(), cache, collected));
+        // 新线程出现时，往往意味着有旧线程退出，只处理已被回收的线程
+        // A new thread often means an old one exited, only handle collected threads
+        sweep(false);
+        return cache;
+    }
+
+    private int sweepDeadThreads() {
+        int reclaimed = 0;
+        Iterator<CacheRef<T>> iterator = caches.iterator();
+        CacheRef<T> ref;
+        Thread thread;
+        while (iterator.hasNext()) {
+            ref = iterator.next();
+            thread = ref.get();
+            if (thread == null || !thread.isAlive()) {
+                iterator.remove();
+                reclaimed += ref.cache.retire(releaser);
+            } else {
+                // 所属线程存活但不再取对象时，送回其缓存的对象会一直滞留
+                // Objects sent back to a live owner which stopped fetching would be stranded
+                reclaimed += ref.cache.reclaimRemote(releaser);
+            }
+        }
+        return reclaimed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheRef<T> pollCollected() {
+        return (CacheRef<T>) collected.poll();
+    }
+
+    /**
+     * 线程缓存登记项，弱引用线程，强引用缓存
+     * Thread cache registration, weakly references the thread and strongly references the cache
+     */
+    private static final class CacheRef<T extends Resettable> extends WeakReference<Thread> {
+        private final ThreadCache<T> cache;
+
+        CacheRef(Thread thread, ThreadCache<T> cache, ReferenceQueue<Thread> queue) {
+            super(thread, queue);
+            this.cache = cache;
+        }
+    }
+}
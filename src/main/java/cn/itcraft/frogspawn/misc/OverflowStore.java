@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.misc;
+
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 有界无锁的溢出存储，收留主池耗尽时由创建器新建、随后被归还的对象
+ * Bounded lock-free overflow store, adopting objects created on main pool exhaustion once they are returned
+ * <p>
+ * 存取均通过对槽位 CAS 完成；存、取各有一个游标依次推进，使取操作尽量落在已存放的槽位上。
+ * 连续一个空闲周期内没有取用需求时，每次整理释放一半对象，逐步收缩
+ * <p>
+ * Both offer and poll CAS on slots; separate put/take cursors advance in turn so polls tend to hit filled slots.
+ * When no demand is seen for an idle period, each trim drops half of the objects, shrinking gradually
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class OverflowStore<T extends Resettable> {
+
+    /**
+     * 单次存取最多探测的槽位数
+     * Maximum slots probed by a single offer or poll
+     */
+    private static final int MAX_PROBES = 16;
+
+    private final int capacity;
+    private final int indexMask;
+    private final int probes;
+    private final long idleNanos;
+    private final Object[] slots;
+    private final PaddedAtomicLong putCursor = new PaddedAtomicLong(0L);
+    private final PaddedAtomicLong takeCursor = new PaddedAtomicLong(0L);
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    /**
+     * 上次整理以来是否有取用需求，允许竞争丢失更新
+     * Whether there was demand since last trim, tolerates lost updates
+     */
+    private volatile boolean demanded;
+    private volatile long lastTrim;
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param capacity   容量，向上取整为2的幂次方 / Capacity, rounded up to power of two
+     * @param idleMillis 空闲周期（毫秒） / Idle period (ms)
+     */
+    public OverflowStore(int capacity, long idleMillis) {
+        this.capacity = ArrayUtil.findNextPositivePowerOfTwo(capacity);
+        this.indexMask = this.capacity - 1;
+        this.probes = Math.min(this.capacity, MAX_PROBES);
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMillis);
+        this.slots = ArrayUtil.createArray(Object.class, this.capacity);
+        this.lastTrim = System.nanoTime();
+    }
+
+    /**
+     * 收留对象
+     * Adopt object
+     *
+     * @param obj 已重置的对象 / Object already reset
+     * @return 是否收留；存储已满时返回 false / Whether adopted, false when store is full
+     */
+    public boolean offer(T obj) {
+        if (size.get() >= capacity) {
+            return false;
+        }
+        long seq;
+        for (int i = 0; i < probes; i++) {
+            seq = putCursor.getAndIncrement();
+            if (ArrayUtil.elementAtVolatile(slots, indexMask, seq) == null
+                    && ArrayUtil.compareAndSwapElementAt(slots, indexMask, seq, null, obj)) {
+                size.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 取出一个对象，并记录取用需求
+     * Poll an object, and record demand
+     *
+     * @return 对象或null / Object or null
+     */
+    public T poll() {
+        if (!demanded) {
+            demanded = true;
+        }
+        return take();
+    }
+
+    /**
+     * 若已空闲一个周期，释放一半对象
+     * Drop half of the objects if idle for a whole period
+     *
+     * @return 释放的对象数 / Dropped object count
+     */
+    public int trimIfIdle() {
+        if (size.get() == 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        if (now - lastTrim < idleNanos) {
+            return 0;
+        }
+        lastTrim = now;
+        if (demanded) {
+            demanded = false;
+            return 0;
+        }
+        int count = (size.get() + 1) >>> 1;
+        int dropped = 0;
+        for (int i = 0; i < count && take() != null; i++) {
+            dropped++;
+        }
+        return dropped;
+    }
+
+    /**
+     * 当前存储的对象数
+     * Current stored object count
+     *
+     * @return 对象数 / Object count
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * 容量
+     * Capacity
+     *
+     * @return 容量 / Capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T take() {
+        if (size.get() == 0) {
+            return null;
+        }
+        long seq;
+        Object obj;
+        for (int i = 0; i < probes; i++) {
+            seq = takeCursor.getAndIncrement();
+            obj = ArrayUtil.elementAtVolatile(slots, indexMask, seq);
+            if (obj != null && ArrayUtil.compareAndSwapElementAt(slots, indexMask, seq, obj, null)) {
+                size.decrementAndGet();
+                return (T) obj;
+            }
+        }
+        return null;
+    }
+}
@@ -41,13 +41,23 @@ import static cn.itcraft.frogspawn.constants.Constants.CACHE_CAPACITY;
  */
 public class SimpleStackCache<T extends Resettable> {
 
-    private static final int CAPACITY = CACHE_CAPACITY;
-
+    private final int capacity;
     private final Object[] cache;
     private int size = 0;
 
     public SimpleStackCache() {
-        this.cache = ArrayUtil.createArray(Object.class, CAPACITY);
+        this(CACHE_CAPACITY);
+    }
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param capacity 缓存容量 / Cache capacity
+     */
+    public SimpleStackCache(int capacity) {
+        this.capacity = capacity;
+        this.cache = ArrayUtil.createArray(Object.class, capacity);
     }
 
     /**
@@ -77,7 +87,7 @@ public class SimpleStackCache<T extends Resettable> {
      * true-need to continue release process false-no need
      */
     public boolean release(T obj) {
-        if (obj == null || size >= CAPACITY) {
+        if (obj == null || size >= capacity) {
             return true;
         }
         cache[size] = obj;
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.misc;
+
+import cn.itcraft.frogspawn.util.ArrayUtil;
+import sun.misc.Contended;
+
+/**
+ * 单生产者单消费者有界环形队列，只使用有序写入（lazySet），不使用 CAS
+ * Bounded single-producer single-consumer ring, uses ordered stores (lazySet) only, no CAS
+ * <p>
+ * 生产者缓存最近读到的消费位置，消费者缓存最近读到的生产位置，
+ * 只有在缓存值显示队列满/空时才读取对方的 volatile 计数器
+ * <p>
+ * The producer caches the last consumer position it read and the consumer caches the last producer
+ * position it read, the other side's volatile counter is only read when the cached value shows full/empty
+ * <p>
+ * 两个缓存位置分属生产者与消费者，各自独占缓存行，不与对方的缓存位置及只读字段共享，
+ * 消费者在队列为空时反复写入缓存位置也不会使生产者所在核心的缓存行失效
+ * <p>
+ * The two cached positions belong to the producer and the consumer respectively and each occupies its own
+ * cache line, shared neither with the other side's cached position nor with the read-only fields, so the
+ * consumer rewriting its cached position while the ring is empty does not invalidate the producer's line
+ * <p>
+ * 与 {@link PaddedAtomicLong} 相同，需要配合JVM参数-XX:-RestrictContended使用
+ * Same as {@link PaddedAtomicLong}, requires JVM parameter -XX:-RestrictContended
+ *
+ * @param <E> 元素类型 / Element type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class SpscRing<E> {
+
+    private final Object[] buffer;
+    private final int capacity;
+    private final int mask;
+
+    /**
+     * 消费位置，只由消费者写入
+     * Consumer position, written by consumer only
+     */
+    private final PaddedAtomicLong head = new PaddedAtomicLong(0);
+
+    /**
+     * 生产位置，只由生产者写入
+     * Producer position, written by producer only
+     */
+    private final PaddedAtomicLong tail = new PaddedAtomicLong(0);
+
+    /**
+     * 生产者缓存的消费位置，只由生产者读写
+     * Consumer position cached by producer, read and written by producer only
+     */
+    @Contended("producer")
+    private long cachedHead;
+
+    /**
+     * 消费者缓存的生产位置，只由消费者读写
+     * Producer position cached by consumer, read and written by consumer only
+     */
+    @Contended("consumer")
+    private long cachedTail;
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param capacity 容量，向上取整为2的幂次方 / Capacity, rounded up to power of two
+     */
+    public SpscRing(int capacity) {
+        this.capacity = ArrayUtil.findNextPositivePowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.buffer = ArrayUtil.createArray(Object.class, this.capacity);
+    }
+
+    /**
+     * 由生产者放入元素
+     * Offer element by producer
+     *
+     * @param e 元素 / Element
+     * @return 队列已满时返回 false / false when ring is full
+     */
+    public boolean offer(E e) {
+        long t = tail.get();
+        if (t - cachedHead >= capacity) {
+            cachedHead = head.get();
+            if (t - cachedHead >= capacity) {
+                return false;
+            }
+        }
+        ArrayUtil.fillElementAt(buffer, mask, t, e);
+        // 有序写入发布元素 / Ordered store publishes the element
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * 由消费者取出元素
+     * Poll element by consumer
+     *
+     * @return 元素，队列为空时返回 null / Element, null when ring is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.get();
+        if (h >= cachedTail) {
+            cachedTail = tail.get();
+            if (h >= cachedTail) {
+                return null;
+            }
+        }
+        E e = (E) ArrayUtil.elementAt(buffer, mask, h);
+        ArrayUtil.fillElementAt(buffer, mask, h, null);
+        // 有序写入释放槽位 / Ordered store frees the slot
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    /**
+     * 当前元素数（近似值）
+     * Current element count (approximate)
+     *
+     * @return 元素数 / Element count
+     */
+    public int size() {
+        return (int) (tail.get() - head.get());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
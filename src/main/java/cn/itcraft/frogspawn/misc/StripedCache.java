@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.misc;
+
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+import cn.itcraft.frogspawn.util.ThreadUtil;
+
+/**
+ * 按 CPU 条带划分的共享缓存，各条带内的槽位通过 CAS 存取
+ * Shared cache striped by CPU, slots inside each stripe are accessed with CAS
+ * <p>
+ * 与 SimpleStackCache 不同，缓存大小只与条带数相关而与线程数无关，
+ * 适合大量短生命周期的虚拟线程：线程结束后，缓存中的对象仍可被其他线程取得
+ * <p>
+ * Unlike SimpleStackCache, the cache size depends on stripe count only, not on thread count.
+ * Suitable for massive short-lived virtual threads: objects remain fetchable by other threads
+ * after the releasing thread finished
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class StripedCache<T extends Resettable> {
+
+    /**
+     * 条带掩码
+     * Stripe mask
+     */
+    private final int stripeMask;
+
+    /**
+     * 每个条带的槽位数
+     * Slots in each stripe
+     */
+    private final int slots;
+
+    /**
+     * 条带跨度，保证每个条带至少独占一个填充区，避免伪共享
+     * Stripe stride, ensures each stripe occupies at least one padding area to avoid false sharing
+     */
+    private final int stride;
+
+    /**
+     * 槽位数组下标掩码
+     * Slot array index mask
+     */
+    private final int indexMask;
+
+    private final Object[] cache;
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param stripes 条带数，必须为2的幂次方 / Stripe count, must be power of two
+     * @param slots   每个条带的槽位数，必须为2的幂次方 / Slots in each stripe, must be power of two
+     */
+    public StripedCache(int stripes, int slots) {
+        this.stripeMask = stripes - 1;
+        this.slots = slots;
+        this.stride = Math.max(slots, ArrayUtil.BUFFER_PAD);
+        int capacity = stripes * stride;
+        this.indexMask = capacity - 1;
+        this.cache = ArrayUtil.createArray(Object.class, capacity);
+    }
+
+    /**
+     * 从当前线程对应的条带中获取一个可用对象
+     * Fetch an available object from the stripe of current thread
+     *
+     * @return 可用对象或null（条带为空时）
+     * Available object or null (when stripe is empty)
+     */
+    @SuppressWarnings("unchecked")
+    public T fetch() {
+        int probe = ThreadUtil.probe();
+        long base = stripeBase(probe);
+        Object obj;
+        for (int i = 0; i < slots; i++) {
+            obj = ArrayUtil.elementAtVolatile(cache, indexMask, base + i);
+            if (obj != null) {
+                if (ArrayUtil.compareAndSwapElementAt(cache, indexMask, base + i, obj, null)) {
+                    return (T) obj;
+                }
+                probe = ThreadUtil.advanceProbe(probe);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 将对象释放回当前线程对应的条带
+     * Release object back to the stripe of current thread
+     *
+     * @param obj 需要释放的对象 object to release
+     * @return true-需要继续释放流程 false-不需要继续
+     * true-need to continue release process false-no need
+     */
+    public boolean release(T obj) {
+        if (obj == null) {
+            return true;
+        }
+        int probe = ThreadUtil.probe();
+        long base = stripeBase(probe);
+        for (int i = 0; i < slots; i++) {
+            if (ArrayUtil.elementAtVolatile(cache, indexMask, base + i) == null) {
+                if (ArrayUtil.compareAndSwapElementAt(cache, indexMask, base + i, null, obj)) {
+                    return false;
+                }
+                probe = ThreadUtil.advanceProbe(probe);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 统计当前缓存的对象数（非原子快照）
+     * Count cached objects (non-atomic snapshot)
+     *
+     * @return 缓存对象数 cached object count
+     */
+    public int size() {
+        int count = 0;
+        for (int i = 0; i <= indexMask; i++) {
+            if (ArrayUtil.elementAtVolatile(cache, indexMask, i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 根据线程探针定位条带起始位置，CAS 失败时探针重新散列，下次操作换到其他条带
+     * Locate stripe base by the thread probe, the probe is rehashed on CAS failure so the next operation
+     * moves to another stripe
+     *
+     * @param probe 线程探针 / Thread probe
+     * @return 条带起始序号 / Stripe base sequence
+     */
+    private long stripeBase(int probe) {
+        return (long) (probe & stripeMask) * stride;
+    }
+}
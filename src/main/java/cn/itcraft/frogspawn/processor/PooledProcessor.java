@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.processor;
+
+import cn.itcraft.frogspawn.annotation.Clear;
+import cn.itcraft.frogspawn.annotation.Pooled;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link Pooled} 注解处理器，为被标注的类生成实现 Resettable 的子类
+ * Annotation processor of {@link Pooled}, generates a subclass implementing Resettable for the annotated class
+ * <p>
+ * 生成代码按字段逐条清理，不使用反射，便于 JIT 内联
+ * Generated code clears fields one by one without reflection, easy for JIT to inline
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+@SupportedAnnotationTypes("cn.itcraft.frogspawn.annotation.Pooled")
+public class PooledProcessor extends AbstractProcessor {
+
+    /**
+     * 生成类名后缀
+     * Suffix of generated class name
+     */
+    public static final String SUFFIX = "Pooled";
+
+    private static final String RESETTABLE = "cn.itcraft.frogspawn.Resettable";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Pooled.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Pooled can only be applied to class");
+                continue;
+            }
+            TypeElement type = (TypeElement) element;
+            if (validate(type)) {
+                generate(type);
+            }
+        }
+        return true;
+    }
+
+    private boolean validate(TypeElement type) {
+        boolean valid = true;
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.PRIVATE)) {
+            error(type, "@Pooled class must not be final or private");
+            valid = false;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+            error(type, "@Pooled nested class must be static");
+            valid = false;
+        } else if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) {
+            error(type, "@Pooled class must be top level or static nested");
+            valid = false;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            error(type, "@Pooled class must not be generic");
+            valid = false;
+        }
+        if (!hasNoArgConstructor(type)) {
+            error(type, "@Pooled class needs a non-private no-arg constructor");
+            valid = false;
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getAnnotation(Clear.class) == null) {
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.STATIC)) {
+                error(field, "@Clear field must not be private or static");
+                valid = false;
+            } else if (field.getModifiers().contains(Modifier.FINAL)
+                    && !resetInPlace(field.asType()) && !clearInPlace(field.asType())) {
+                error(field, "@Clear final field must be a Resettable, collection, map or array");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private static boolean hasNoArgConstructor(TypeElement type) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return constructors.isEmpty();
+    }
+
+    private void generate(TypeElement type) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String superName = type.getQualifiedName().toString();
+        String simpleName = generatedSimpleName(type);
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String visibility = type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "";
+
+        List<String> resets = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getAnnotation(Clear.class) != null) {
+                resets.add(resetStatement(field));
+            }
+        }
+
+        StringBuilder src = new StringBuilder(1024);
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("/**\n")
+           .append(" * 由 PooledProcessor 根据 ").append(superName).append(" 生成，请勿修改\n")
+           .append(" * Generated by PooledProcessor from ").append(superName).append(", do not edit\n")
+           .append(" */\n")
+           .append(visibility).append("class ").append(simpleName)
+           .append(" extends ").append(superName)
+           .append(" implements ").append(RESETTABLE).append(" {\n\n")
+           .append("    private transient int markedId = -1;\n\n")
+           .append("    @Override\n")
+           .append("    public void reset() {\n");
+        for (String reset : resets) {
+            src.append(reset);
+        }
+        src.append("    }\n\n")
+           .append("    @Override\n")
+           .append("    public int getMarkedId() {\n")
+           .append("        return markedId;\n")
+           .append("    }\n\n")
+           .append("    @Override\n")
+           .append("    public void markId(int id) {\n")
+           .append("        this.markedId = id;\n")
+           .append("    }\n\n")
+           .append("    public static cn.itcraft.frogspawn.ObjectCreator<").append(simpleName).append("> creator() {\n")
+           .append("        return Creator.INSTANCE;\n")
+           .append("    }\n\n")
+           .append("    private static final class Creator implements cn.itcraft.frogspawn.ObjectCreator<")
+           .append(simpleName).append("> {\n")
+           .append("        private static final Creator INSTANCE = new Creator();\n\n")
+           .append("        @Override\n")
+           .append("        public ").append(simpleName).append(" create() {\n")
+           .append("            return new ").append(simpleName).append("();\n")
+           .append("        }\n")
+           .append("    }\n")
+           .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(src.toString());
+        } catch (IOException e) {
+            error(type, "failed to generate " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private static String generatedSimpleName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append(SUFFIX).toString();
+    }
+
+    private String resetStatement(VariableElement field) {
+        String name = "this." + field.getSimpleName();
+        TypeMirror fieldType = field.asType();
+        if (fieldType.getKind().isPrimitive()) {
+            return "        " + name + " = " + defaultValue(fieldType.getKind()) + ";\n";
+        }
+        if (fieldType.getKind() == TypeKind.ARRAY) {
+            TypeMirror component = ((ArrayType) fieldType).getComponentType();
+            String value = component.getKind().isPrimitive() ? defaultValue(component.getKind()) : "null";
+            return "        if (" + name + " != null) {\n"
+                    + "            java.util.Arrays.fill(" + name + ", " + value + ");\n"
+                    + "        }\n";
+        }
+        if (field.getModifiers().contains(Modifier.FINAL) && resetInPlace(fieldType)) {
+            // final 的 Resettable 字段（如可重置集合）原地重置，保留其容量
+            // Final Resettable fields (e.g. resettable collections) are reset in place, keeping capacity
+            return "        " + name + ".reset();\n";
+        }
+        if (clearInPlace(fieldType)) {
+            return "        if (" + name + " != null) {\n"
+                    + "            " + name + ".clear();\n"
+                    + "        }\n";
+        }
+        return "        " + name + " = null;\n";
+    }
+
+    private boolean resetInPlace(TypeMirror fieldType) {
+        if (fieldType.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Types types = processingEnv.getTypeUtils();
+        return types.isAssignable(types.erasure(fieldType), erasure(RESETTABLE));
+    }
+
+    private boolean clearInPlace(TypeMirror fieldType) {
+        if (fieldType.getKind() == TypeKind.ARRAY) {
+            return true;
+        }
+        if (fieldType.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror erased = types.erasure(fieldType);
+        return types.isAssignable(erased, erasure("java.util.Collection"))
+                || types.isAssignable(erased, erasure("java.util.Map"));
+    }
+
+    private TypeMirror erasure(String className) {
+        return processingEnv.getTypeUtils().erasure(
+                processingEnv.getElementUtils().getTypeElement(className).asType());
+    }
+
+    private static String defaultValue(TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return "false";
+            case LONG:
+                return "0L";
+            case FLOAT:
+                return "0F";
+            case DOUBLE:
+                return "0D";
+            case CHAR:
+                return "(char) 0";
+            case BYTE:
+                return "(byte) 0";
+            case SHORT:
+                return "(short) 0";
+            case INT:
+            default:
+                return "0";
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.protostuff;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.graph.GraphReleaser;
+import io.protostuff.Input;
+import io.protostuff.Output;
+import io.protostuff.Schema;
+
+import java.io.IOException;
+
+/**
+ * 基于对象池的 protostuff Schema，反序列化时从池中获取根对象及嵌套子对象，并可一次归还整个对象图
+ * Pool-aware protostuff Schema, fetches root and nested children from pools during deserialization,
+ * and returns the whole object graph in one call
+ * <p>
+ * 通过 {@link PooledSchemas#register} 创建；序列化逻辑委托给 RuntimeSchema
+ * Created via {@link PooledSchemas#register}; serialization is delegated to RuntimeSchema
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class PooledSchema<T extends Resettable> implements Schema<T> {
+
+    private final Schema<T> delegate;
+    private final ObjectsMemoryPool<T> pool;
+    private final GraphReleaser releaser;
+
+    PooledSchema(Schema<T> delegate, ObjectsMemoryPool<T> pool, GraphReleaser releaser) {
+        this.delegate = delegate;
+        this.pool = pool;
+        this.releaser = releaser;
+    }
+
+    /**
+     * 从池中获取新消息对象，protostuff 反序列化嵌套字段时同样经过此方法
+     * Fetch new message from the pool, protostuff also calls this for nested fields during deserialization
+     *
+     * @return 池中对象 / Pooled object
+     */
+    @Override
+    public T newMessage() {
+        return pool.fetch();
+    }
+
+    /**
+     * 归还整个对象图：先递归归还池化子对象并置空引用，清空集合但保留其容量，再重置并归还根对象
+     * Release the whole object graph: release pooled children recursively and null the references,
+     * clear collections while keeping their capacity, then reset and release the root
+     *
+     * @param message 根对象 / Root object
+     */
+    public void release(T message) {
+        releaser.release(message);
+    }
+
+    public ObjectsMemoryPool<T> getPool() {
+        return pool;
+    }
+
+    @Override
+    public String getFieldName(int number) {
+        return delegate.getFieldName(number);
+    }
+
+    @Override
+    public int getFieldNumber(String name) {
+        return delegate.getFieldNumber(name);
+    }
+
+    @Override
+    public boolean isInitialized(T message) {
+        return delegate.isInitialized(message);
+    }
+
+    @Override
+    public String messageName() {
+        return delegate.messageName();
+    }
+
+    @Override
+    public String messageFullName() {
+        return delegate.messageFullName();
+    }
+
+    @Override
+    public Class<? super T> typeClass() {
+        return delegate.typeClass();
+    }
+
+    @Override
+    public void mergeFrom(Input input, T message) throws IOException {
+        delegate.mergeFrom(input, message);
+    }
+
+    @Override
+    public void writeTo(Output output, T message) throws IOException {
+        delegate.writeTo(output, message);
+    }
+}
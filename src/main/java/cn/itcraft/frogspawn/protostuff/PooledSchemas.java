@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.protostuff;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.graph.GraphReleaser;
+import io.protostuff.runtime.DefaultIdStrategy;
+import io.protostuff.runtime.IdStrategy;
+import io.protostuff.runtime.RuntimeEnv;
+import io.protostuff.runtime.RuntimeSchema;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 池化 Schema 注册表，需要在应用 classpath 中加入 protostuff-runtime（可选依赖）
+ * Registry of pooled schemas, requires protostuff-runtime on application classpath (optional dependency)
+ * <p>
+ * 每个注册表持有自己的 IdStrategy 与对象图归还器，同一类型可在不同注册表中绑定不同的池，
+ * 注册表不再被引用时其中的池随之可回收。{@link #shared()} 绑定 protostuff 默认 IdStrategy，仅为方便使用
+ * <p>
+ * Each registry owns its IdStrategy and graph releaser, so one type can be bound to different pools in
+ * different registries, and the pools become collectable once the registry is no longer referenced.
+ * {@link #shared()} binds protostuff's default IdStrategy and is only a convenience
+ * <p>
+ * 子对象类型需先于包含它的类型注册：注册时 protostuff 会记住嵌套字段使用的 Schema，
+ * 本类也据此确定哪些字段需要在归还时递归处理
+ * <p>
+ * Child types must be registered before the types containing them: protostuff binds nested fields to
+ * the schema registered at that time, and this class decides which fields to release recursively the same way
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class PooledSchemas {
+
+    private final DefaultIdStrategy strategy;
+
+    /**
+     * 按注册顺序扫描子对象字段的对象图归还器
+     * Graph releaser scanning children fields in registration order
+     */
+    private final GraphReleaser releaser = new GraphReleaser();
+
+    private final ConcurrentMap<Class<?>, PooledSchema<?>> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * 使用独立的 IdStrategy 创建注册表
+     * Create registry with its own IdStrategy
+     */
+    public PooledSchemas() {
+        this(new DefaultIdStrategy());
+    }
+
+    /**
+     * 使用指定的 IdStrategy 创建注册表
+     * Create registry with given IdStrategy
+     *
+     * @param strategy IdStrategy / IdStrategy
+     */
+    public PooledSchemas(DefaultIdStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy can not be null");
+        }
+        this.strategy = strategy;
+    }
+
+    /**
+     * 绑定 protostuff 默认 IdStrategy 的全局注册表，注册的池在 JVM 生命周期内一直被引用
+     * Global registry bound to protostuff's default IdStrategy, registered pools stay referenced for the JVM's lifetime
+     *
+     * @return 全局注册表 / Global registry
+     * @throws IllegalStateException 默认 IdStrategy 不是 DefaultIdStrategy 时 / When the default IdStrategy is
+     *                               not a DefaultIdStrategy
+     */
+    public static PooledSchemas shared() {
+        if (!(RuntimeEnv.ID_STRATEGY instanceof DefaultIdStrategy)) {
+            throw new IllegalStateException("Default IdStrategy of protostuff is not a DefaultIdStrategy");
+        }
+        return Holder.SHARED;
+    }
+
+    /**
+     * 注册类型及其对象池，并在本注册表的 IdStrategy 中注册对应的池化 Schema
+     * Register type and its pool, and register the pooled schema in this registry's IdStrategy
+     *
+     * @param clazz 类型 / Type
+     * @param pool  对象池 / Object pool
+     * @param <T>   对象类型 / Object type
+     * @return 池化 Schema / Pooled schema
+     */
+    public <T extends Resettable> PooledSchema<T> register(Class<T> clazz, ObjectsMemoryPool<T> pool) {
+        if (clazz == null || pool == null) {
+            throw new IllegalArgumentException("Class or pool can not be null");
+        }
+        if (schemas.containsKey(clazz)) {
+            throw new IllegalStateException("Class[" + clazz.getName() + "] is already registered");
+        }
+        PooledSchema<T> pooledSchema =
+                new PooledSchema<>(RuntimeSchema.createFrom(clazz, strategy), pool, releaser);
+        if (!strategy.registerPojo(clazz, pooledSchema)) {
+            throw new IllegalStateException("Class[" + clazz.getName() + "] already has a protostuff schema");
+        }
+        releaser.register(clazz, pool);
+        schemas.put(clazz, pooledSchema);
+        return pooledSchema;
+    }
+
+    /**
+     * 获取已注册的池化 Schema
+     * Get registered pooled schema
+     *
+     * @param clazz 类型 / Type
+     * @param <T>   对象类型 / Object type
+     * @return 池化 Schema，未注册时为 null / Pooled schema, null when not registered
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Resettable> PooledSchema<T> getSchema(Class<T> clazz) {
+        return (PooledSchema<T>) schemas.get(clazz);
+    }
+
+    /**
+     * 按根对象的类型归还整个对象图
+     * Release the whole object graph by type of the root
+     *
+     * @param root 根对象 / Root object
+     */
+    public void release(Resettable root) {
+        releaser.release(root);
+    }
+
+    /**
+     * 本注册表的 IdStrategy，使用多态字段等需要 IdStrategy 的 protostuff 接口时传入
+     * IdStrategy of this registry, pass it to protostuff APIs which take an IdStrategy
+     *
+     * @return IdStrategy / IdStrategy
+     */
+    public IdStrategy getStrategy() {
+        return strategy;
+    }
+
+    private static final class Holder {
+        private static final PooledSchemas SHARED = new PooledSchemas((DefaultIdStrategy) RuntimeEnv.ID_STRATEGY);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.refcount;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.constants.Constants;
+import cn.itcraft.frogspawn.stats.PoolStats;
+
+/**
+ * 引用计数模式的对象池，包装普通对象池：取出的对象计数为 1，计数归零时才回到被包装的池
+ * Object pool in reference-counted mode, wraps a plain pool: fetched objects start with count 1 and
+ * go back to the wrapped pool only when the count reaches zero
+ *
+ * @param <T> 对象类型 / Object type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class RefCountedPool<T extends RefCountedResettable> implements ObjectsMemoryPool<T> {
+
+    private final ObjectsMemoryPool<T> pool;
+    private final boolean debug;
+
+    public RefCountedPool(ObjectsMemoryPool<T> pool) {
+        this(pool, Constants.REFCOUNT_DEBUG);
+    }
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param pool  被包装的池 / Wrapped pool
+     * @param debug 是否开启调试模式，记录最后一次归还的调用栈 / Whether to record the stack of the final release
+     */
+    public RefCountedPool(ObjectsMemoryPool<T> pool, boolean debug) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool can not be null");
+        }
+        this.pool = pool;
+        this.debug = debug;
+    }
+
+    @Override
+    public T fetch() {
+        T obj = pool.fetch();
+        if (obj != null) {
+            obj.attach(pool, debug);
+        }
+        return obj;
+    }
+
+    /**
+     * 等同于 used.release()，减少一个持有者
+     * Same as used.release(), removes a holder
+     *
+     * @param used 对象 / Object
+     */
+    @Override
+    public void release(T used) {
+        used.release();
+    }
+
+    @Override
+    public PoolStats stats() {
+        return pool.stats();
+    }
+
+    @Override
+    public void flushThreadCache() {
+        pool.flushThreadCache();
+    }
+
+    @Override
+    public int capacity() {
+        return pool.capacity();
+    }
+
+    @Override
+    public int available() {
+        return pool.available();
+    }
+
+    @Override
+    public int inUse() {
+        return pool.inUse();
+    }
+
+    @Override
+    public int inThreadCaches() {
+        return pool.inThreadCaches();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.refcount;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.Resettable;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * 带引用计数的可重置对象基类，适用于一个对象同时交给多个消费线程的场景
+ * Base class of reference-counted resettable objects, for one object handed to several consumer threads
+ * <p>
+ * 从 {@link RefCountedPool} 取得时计数为 1，每多一个持有者调用一次 {@link #retain()}，
+ * 每个持有者用完调用一次 {@link #release()}，计数归零时对象回到所属池
+ * <p>
+ * Count is 1 when fetched from {@link RefCountedPool}, call {@link #retain()} once per additional holder
+ * and {@link #release()} once per holder when done, the object goes back to its pool when count reaches zero
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public abstract class RefCountedResettable implements Resettable {
+
+    private static final AtomicIntegerFieldUpdater<RefCountedResettable> REF_CNT =
+            AtomicIntegerFieldUpdater.newUpdater(RefCountedResettable.class, "refCnt");
+
+    private volatile int refCnt;
+
+    private int markedId = -1;
+
+    /**
+     * 所属池，取出时设置
+     * Owning pool, set on fetch
+     */
+    private ObjectsMemoryPool<RefCountedResettable> pool;
+
+    /**
+     * 调试模式下最后一次归还的调用栈，非调试模式恒为 null
+     * Stack of the final release in debug mode, always null otherwise
+     */
+    private Throwable releasedAt;
+
+    private boolean debug;
+
+    /**
+     * 增加一个持有者
+     * Add a holder
+     *
+     * @throws IllegalStateException 对象已归还 / Object is already released
+     */
+    public final void retain() {
+        int cnt;
+        do {
+            cnt = refCnt;
+            if (cnt <= 0) {
+                throw new IllegalStateException("Retain after release", releasedAt);
+            }
+        } while (!REF_CNT.compareAndSet(this, cnt, cnt + 1));
+    }
+
+    /**
+     * 减少一个持有者，最后一个持有者归还时对象回到所属池
+     * Remove a holder, the object goes back to its pool when the last holder releases
+     *
+     * @return 是否已回到池中 / Whether it went back to the pool
+     * @throws IllegalStateException 重复归还 / Over-release
+     */
+    public final boolean release() {
+        int prev = REF_CNT.getAndDecrement(this);
+        if (prev > 1) {
+            return false;
+        }
+        if (prev < 1) {
+            throw new IllegalStateException("Over-release, count was " + prev, releasedAt);
+        }
+        if (debug) {
+            releasedAt = new Throwable("Released here, thread " + Thread.currentThread().getName());
+        }
+        pool.release(this);
+        return true;
+    }
+
+    /**
+     * 当前引用计数
+     * Current reference count
+     *
+     * @return 引用计数 / Reference count
+     */
+    public final int refCnt() {
+        return refCnt;
+    }
+
+    /**
+     * 调试模式下检查对象是否仍被持有，可在访问方法中调用以发现归还后使用；非调试模式不做检查
+     * Check the object is still held in debug mode, call it in accessors to detect use-after-release;
+     * no check otherwise
+     *
+     * @throws IllegalStateException 对象已归还 / Object is already released
+     */
+    protected final void ensureAccessible() {
+        if (debug && refCnt <= 0) {
+            throw new IllegalStateException("Use after release", releasedAt);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final void attach(ObjectsMemoryPool<? extends RefCountedResettable> owner, boolean debugMode) {
+        this.pool = (ObjectsMemoryPool<RefCountedResettable>) owner;
+        this.debug = debugMode;
+        this.releasedAt = null;
+        REF_CNT.lazySet(this, 1);
+    }
+
+    @Override
+    public int getMarkedId() {
+        return markedId;
+    }
+
+    @Override
+    public void markId(int id) {
+        this.markedId = id;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.ring;
+
+/**
+ * 事件环的消费处理器
+ * Consumer handler of the event ring
+ *
+ * @param <E> 事件类型 / Event type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    /**
+     * 处理一个事件，返回后事件即被重置，不能在此之后继续持有
+     * Handle an event, it is reset right after return and must not be kept afterwards
+     *
+     * @param event      事件 / Event
+     * @param sequence   序号 / Sequence
+     * @param endOfBatch 是否为本批最后一个 / Whether it is the last of the batch
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.ring;
+
+import cn.itcraft.frogspawn.ObjectCreator;
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.misc.PaddedAtomicLong;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+import cn.itcraft.frogspawn.util.UnsafeUtil;
+import sun.misc.Unsafe;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 预分配事件的环形序列器，生产者申请序号后原地填充事件，消费者按序处理并重置，事件对象不在线程间转移
+ * Ring sequencer of pre-allocated events, producers claim sequences and fill events in place,
+ * the consumer handles and resets them in order, event objects are never transferred between threads
+ * <p>
+ * 事件在构造时由 ObjectCreator 全部创建，存放在与主池相同的带填充数组中。
+ * 支持单生产者与多生产者两种模式，均可批量申请；消费者只能有一个
+ * <p>
+ * Events are all created by ObjectCreator on construction and stored in the same padded array layout as
+ * the main pool. Supports single-producer and multi-producer modes, both with batch claiming;
+ * there must be exactly one consumer
+ * <pre>
+ * long seq = ring.next();
+ * try {
+ *     ring.get(seq).setValue(v);
+ * } finally {
+ *     ring.publish(seq);
+ * }
+ * ...
+ * ring.poll(handler);
+ * </pre>
+ *
+ * @param <E> 事件类型 / Event type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class EventRing<E extends Resettable> {
+
+    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
+    private static final long INT_ARRAY_BASE = UNSAFE.arrayBaseOffset(int[].class);
+    private static final long INT_ARRAY_SCALE = UNSAFE.arrayIndexScale(int[].class);
+
+    /**
+     * 生产者模式
+     * Producer mode
+     */
+    public enum ProducerType {
+        /**
+         * 单生产者，申请与发布只使用有序写入
+         * Single producer, claiming and publishing use ordered stores only
+         */
+        SINGLE,
+        /**
+         * 多生产者，申请使用原子加，发布逐槽位标记
+         * Multiple producers, claiming uses atomic add, publishing marks each slot
+         */
+        MULTI
+    }
+
+    private final Object[] events;
+    private final int capacity;
+    private final int mask;
+    private final int indexShift;
+    private final boolean multiProducer;
+
+    /**
+     * 下一个待申请的序号；单生产者模式下只由生产者写入
+     * Next sequence to claim; written by the producer only in single-producer mode
+     */
+    private final PaddedAtomicLong claimed = new PaddedAtomicLong(0);
+
+    /**
+     * 单生产者模式下已发布的最大序号
+     * Highest published sequence in single-producer mode
+     */
+    private final PaddedAtomicLong published = new PaddedAtomicLong(-1);
+
+    /**
+     * 多生产者模式下各槽位已发布的轮次
+     * Published round of each slot in multi-producer mode
+     */
+    private final int[] available;
+
+    /**
+     * 已处理的最大序号，只由消费者写入
+     * Highest consumed sequence, written by the consumer only
+     */
+    private final PaddedAtomicLong consumed = new PaddedAtomicLong(-1);
+
+    /**
+     * 单生产者缓存的消费位置
+     * Consumer position cached by the single producer
+     */
+    private long cachedConsumed = -1;
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param creator  事件创建器 / Event creator
+     * @param capacity 容量，向上取整为2的幂次方 / Capacity, rounded up to power of two
+     * @param type     生产者模式 / Producer mode
+     */
+    public EventRing(ObjectCreator<E> creator, int capacity, ProducerType type) {
+        if (creator == null || type == null) {
+            throw new IllegalArgumentException("Creator or producer type can not be null");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = ArrayUtil.findNextPositivePowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(this.capacity);
+        this.multiProducer = type == ProducerType.MULTI;
+        this.events = ArrayUtil.createArray(Object.class, this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            ArrayUtil.fillElementAt(events, mask, i, creator.create());
+        }
+        if (multiProducer) {
+            this.available = new int[this.capacity];
+            for (int i = 0; i < this.capacity; i++) {
+                available[i] = -1;
+            }
+        } else {
+            this.available = null;
+        }
+    }
+
+    /**
+     * 申请一个序号，环满时自旋等待消费者
+     * Claim one sequence, spins waiting for the consumer when the ring is full
+     *
+     * @return 序号 / Sequence
+     */
+    public long next() {
+        return next(1);
+    }
+
+    /**
+     * 批量申请 n 个连续序号，环满时自旋等待消费者
+     * Claim n consecutive sequences, spins waiting for the consumer when the ring is full
+     *
+     * @param n 数量，不超过容量 / Count, no more than capacity
+     * @return 第一个序号 / First sequence
+     */
+    public long next(int n) {
+        checkBatch(n);
+        long first;
+        if (multiProducer) {
+            first = claimed.getAndAdd(n);
+        } else {
+            first = claimed.get();
+            claimed.lazySet(first + n);
+        }
+        long wrapPoint = first + n - 1 - capacity;
+        if (wrapPoint > cachedConsumed(wrapPoint)) {
+            long current;
+            while (wrapPoint > (current = consumed.get())) {
+                LockSupport.parkNanos(1L);
+            }
+            if (!multiProducer) {
+                cachedConsumed = current;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * 尝试批量申请 n 个连续序号，环中空间不足时立即返回
+     * Try to claim n consecutive sequences, returns immediately when the ring has no room
+     *
+     * @param n 数量，不超过容量 / Count, no more than capacity
+     * @return 第一个序号，空间不足时为 -1 / First sequence, -1 when there is no room
+     */
+    public long tryNext(int n) {
+        checkBatch(n);
+        long first;
+        if (multiProducer) {
+            do {
+                first = claimed.get();
+                if (first + n - 1 - capacity > consumed.get()) {
+                    return -1L;
+                }
+            } while (!claimed.compareAndSet(first, first + n));
+        } else {
+            first = claimed.get();
+            long wrapPoint = first + n - 1 - capacity;
+            if (wrapPoint > cachedConsumed(wrapPoint)) {
+                return -1L;
+            }
+            claimed.lazySet(first + n);
+        }
+        return first;
+    }
+
+    /**
+     * 获取序号对应的事件，用于生产者填充
+     * Get the event of the sequence, for the producer to fill
+     *
+     * @param sequence 已申请的序号 / Claimed sequence
+     * @return 事件 / Event
+     */
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) ArrayUtil.elementAt(events, mask, sequence);
+    }
+
+    /**
+     * 发布一个序号；单生产者模式下须按申请顺序发布
+     * Publish one sequence; must be published in claiming order in single-producer mode
+     *
+     * @param sequence 序号 / Sequence
+     */
+    public void publish(long sequence) {
+        if (multiProducer) {
+            setAvailable(sequence);
+        } else {
+            published.lazySet(sequence);
+        }
+    }
+
+    /**
+     * 发布区间内的序号
+     * Publish sequences in the range
+     *
+     * @param first 第一个序号 / First sequence
+     * @param last  最后一个序号 / Last sequence
+     */
+    public void publish(long first, long last) {
+        if (multiProducer) {
+            for (long seq = first; seq <= last; seq++) {
+                setAvailable(seq);
+            }
+        } else {
+            published.lazySet(last);
+        }
+    }
+
+    /**
+     * 由唯一的消费者处理所有已发布的事件，处理后逐个重置
+     * Handle all published events by the single consumer, resetting each after handling
+     *
+     * @param handler 处理器 / Handler
+     * @return 处理的事件数 / Handled event count
+     */
+    public int poll(EventHandler<? super E> handler) {
+        return poll(handler, capacity);
+    }
+
+    /**
+     * 由唯一的消费者处理至多 maxBatch 个已发布的事件；处理器抛出异常时，此前的事件视为已处理，该事件下次重新交付
+     * Handle at most maxBatch published events by the single consumer; when the handler throws, earlier events
+     * count as handled and the failed event is delivered again next time
+     *
+     * @param handler  处理器 / Handler
+     * @param maxBatch 本次最多处理的事件数 / Max events to handle in this call
+     * @return 处理的事件数 / Handled event count
+     */
+    public int poll(EventHandler<? super E> handler, int maxBatch) {
+        long done = consumed.get();
+        long first = done + 1;
+        long last = highestPublished(first, first + maxBatch - 1);
+        if (last < first) {
+            return 0;
+        }
+        try {
+            E event;
+            for (long seq = first; seq <= last; seq++) {
+                event = get(seq);
+                handler.onEvent(event, seq, seq == last);
+                event.reset();
+                done = seq;
+            }
+        } finally {
+            // 有序写入释放槽位 / Ordered store frees the slots
+            consumed.lazySet(done);
+        }
+        return (int) (last - first + 1);
+    }
+
+    /**
+     * 已发布但未处理的事件数（近似值）
+     * Published but unhandled event count (approximate)
+     *
+     * @return 事件数 / Event count
+     */
+    public int size() {
+        long last = multiProducer ? claimed.get() - 1 : published.get();
+        return (int) Math.max(0L, last - consumed.get());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private long cachedConsumed(long wrapPoint) {
+        if (multiProducer) {
+            return consumed.get();
+        }
+        // 单生产者缓存消费位置，只在缓存值显示环满时读取 volatile 计数器
+        // Single producer caches consumer position, reads the volatile counter only when cache shows full
+        if (wrapPoint > cachedConsumed) {
+            cachedConsumed = consumed.get();
+        }
+        return cachedConsumed;
+    }
+
+    private long highestPublished(long first, long limit) {
+        if (!multiProducer) {
+            return Math.min(published.get(), limit);
+        }
+        long last = Math.min(claimed.get() - 1, limit);
+        for (long seq = first; seq <= last; seq++) {
+            if (!isAvailable(seq)) {
+                return seq - 1;
+            }
+        }
+        return last;
+    }
+
+    private void setAvailable(long sequence) {
+        UNSAFE.putOrderedInt(available, availableOffset(sequence), (int) (sequence >>> indexShift));
+    }
+
+    private boolean isAvailable(long sequence) {
+        return UNSAFE.getIntVolatile(available, availableOffset(sequence)) == (int) (sequence >>> indexShift);
+    }
+
+    private long availableOffset(long sequence) {
+        return INT_ARRAY_BASE + (sequence & mask) * INT_ARRAY_SCALE;
+    }
+
+    private void checkBatch(int n) {
+        if (n < 1 || n > capacity) {
+            throw new IllegalArgumentException("Batch size must be in [1, " + capacity + "]");
+        }
+    }
+}
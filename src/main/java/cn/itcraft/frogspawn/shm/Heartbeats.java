@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.shm;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 共享内存池的心跳线程，由本进程所有池实例共用
+ * Heartbeat thread of shared memory pools, shared by all pool instances of this process
+ * <p>
+ * 首次使用时才启动，守护线程，不阻止 JVM 退出；任务弱引用其池，未关闭的池被回收后任务自动取消，
+ * 其参与者表项随心跳停止在租约到期后失效
+ * Started on first use, a daemon thread which does not keep the JVM alive; tasks reference their pools weakly,
+ * a pool collected without close cancels its task, and its participant entry expires with the lease
+ * once heartbeats stop
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class Heartbeats {
+
+    private Heartbeats() {
+    }
+
+    /**
+     * 按固定频率对池执行心跳，任务不得抛出异常
+     * Beat the pool at fixed rate, the task must not throw
+     *
+     * @param pool         池，弱引用持有 / Pool, held weakly
+     * @param periodMillis 间隔（毫秒） / Period (ms)
+     * @param task         心跳任务 / Heartbeat task
+     * @param <X>          池类型 / Pool type
+     * @return 任务句柄，关闭池时取消 / Task handle, cancelled when the pool closes
+     */
+    static <X> ScheduledFuture<?> schedule(X pool, long periodMillis, Consumer<X> task) {
+        WeakReference<X> ref = new WeakReference<>(pool);
+        long period = Math.max(1L, periodMillis);
+        ScheduledFuture<?>[] future = new ScheduledFuture<?>[1];
+        synchronized (future) {
+            future[0] = Holder.EXECUTOR.scheduleAtFixedRate(() -> {
+                X x = ref.get();
+                if (x != null) {
+                    task.accept(x);
+                    return;
+                }
+                synchronized (future) {
+                    future[0].cancel(false);
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+            return future[0];
+        }
+    }
+
+    private static final class Holder {
+        private static final ScheduledExecutorService EXECUTOR = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "frogspawn-shm-heartbeat");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
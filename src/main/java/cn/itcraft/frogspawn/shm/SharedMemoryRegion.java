@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.shm;
+
+import cn.itcraft.frogspawn.util.UnsafeUtil;
+import sun.misc.Unsafe;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.function.Consumer;
+
+/**
+ * 映射到文件的共享内存区域，按偏移量以绝对地址读写，原子操作在映射内存上直接 CAS
+ * Shared memory region mapped from a file, accessed by offset through absolute addresses,
+ * atomic operations CAS directly on the mapped memory
+ * <p>
+ * 文件在排他文件锁下创建并初始化，其他进程取得锁时初始化已完成；映射在区域被回收前一直有效
+ * <p>
+ * The file is created and initialized under an exclusive file lock, so other processes see it initialized
+ * once they get the lock; the mapping stays valid until the region is collected
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class SharedMemoryRegion {
+
+    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
+
+    /**
+     * Buffer.address 字段偏移量，用于取得映射的起始地址
+     * Offset of Buffer.address, used to get the start address of the mapping
+     */
+    private static final long ADDRESS_OFFSET;
+
+    static {
+        try {
+            ADDRESS_OFFSET = UNSAFE.objectFieldOffset(Buffer.class.getDeclaredField("address"));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException("Unable to locate Buffer.address", e);
+        }
+    }
+
+    /**
+     * 持有映射，防止被回收后解除映射
+     * Holds the mapping, preventing it from being unmapped on collection
+     */
+    private final MappedByteBuffer buffer;
+
+    private final long address;
+
+    private final long size;
+
+    /**
+     * 映射文件，文件为空时扩展到指定大小并在文件锁内执行初始化
+     * Map the file, extend it to the given size and run the initializer under the file lock when it is empty
+     *
+     * @param file        文件 / File
+     * @param size        区域大小 / Region size
+     * @param initializer 新建文件时的初始化 / Initializer of a newly created file
+     * @throws IOException 文件读写失败 / File read or write failed
+     */
+    SharedMemoryRegion(File file, long size, Consumer<SharedMemoryRegion> initializer) throws IOException {
+        if (size <= 0 || size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Region size must be in (0, " + Integer.MAX_VALUE + "]: " + size);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel();
+             FileLock ignored = channel.lock()) {
+            long length = raf.length();
+            if (length != 0 && length != size) {
+                throw new IllegalArgumentException(
+                        "Existing file " + file + " has " + length + " bytes, layout needs " + size);
+            }
+            if (length == 0) {
+                raf.setLength(size);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            this.address = UNSAFE.getLong(buffer, ADDRESS_OFFSET);
+            this.size = size;
+            if (length == 0) {
+                initializer.accept(this);
+            }
+        }
+    }
+
+    long address() {
+        return address;
+    }
+
+    long size() {
+        return size;
+    }
+
+    int getInt(long offset) {
+        return UNSAFE.getInt(address + offset);
+    }
+
+    void putInt(long offset, int value) {
+        UNSAFE.putInt(address + offset, value);
+    }
+
+    long getLong(long offset) {
+        return UNSAFE.getLong(address + offset);
+    }
+
+    void putLong(long offset, long value) {
+        UNSAFE.putLong(address + offset, value);
+    }
+
+    long getLongVolatile(long offset) {
+        return UNSAFE.getLongVolatile(null, address + offset);
+    }
+
+    void putLongOrdered(long offset, long value) {
+        UNSAFE.putOrderedLong(null, address + offset, value);
+    }
+
+    boolean compareAndSwapLong(long offset, long expected, long value) {
+        return UNSAFE.compareAndSwapLong(null, address + offset, expected, value);
+    }
+
+    long getAndAddLong(long offset, long delta) {
+        return UNSAFE.getAndAddLong(null, address + offset, delta);
+    }
+}
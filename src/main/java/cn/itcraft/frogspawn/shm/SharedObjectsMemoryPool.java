@@ -0,0 +1,698 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.shm;
+
+import cn.itcraft.frogspawn.ObjectCreator;
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.constants.Constants;
+import cn.itcraft.frogspawn.misc.PaddedAtomicLong;
+import cn.itcraft.frogspawn.stats.PoolStats;
+import cn.itcraft.frogspawn.util.ArrayUtil;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 跨进程共享内存池：槽位位于内存映射文件中（通常在 /dev/shm 下），同一主机上的任何进程都可取得槽位、
+ * 通过享元原地填充，并只将槽位 ID 交给其他进程，实现零拷贝的进程间通信
+ * Cross-process shared memory pool: slots live in a memory-mapped file (usually under /dev/shm),
+ * any process on the host can fetch a slot, fill it in place through a flyweight, and hand over
+ * only the slot id to another process, giving zero-copy IPC
+ * <p>
+ * 文件布局：头部、参与者表（每个打开该文件的池实例一项，含心跳、代数、进程 ID、PID 命名空间与进程启动时间）、
+ * 占用表（每个槽位一个 long，0 为空闲，否则为所有者标识），以及按缓存行对齐的槽位区。
+ * 占用表在映射内存上以 CAS 修改。已崩溃参与者的槽位在池耗尽时以及调用 {@link #reclaim()} 时回收：
+ * 同一 PID 命名空间内的其他进程只在进程不存在、或进程 ID 已被启动时间不同的新进程复用时视为已崩溃，
+ * 停顿（GC、SIGSTOP）再久也不会被回收；
+ * 本进程内的池实例以及跨命名空间（如不同容器）的进程无法检查进程，心跳超过租约即视为已崩溃。
+ * 心跳发现本池的租约已过期时，撤销仍持有的享元并以新代数重新登记，停顿后恢复的进程不会再写入可能已被他人取得的槽位
+ * <p>
+ * File layout: header, participant table (one entry per pool instance opening the file, with heartbeat,
+ * generation, pid, pid namespace and process start time), occupancy table (one long per slot, 0 when free, otherwise the owner word),
+ * and the cache-line aligned slot area. The occupancy table is updated by CAS on mapped memory.
+ * Slots of crashed participants are reclaimed on exhaustion and on {@link #reclaim()}: another process in the same
+ * pid namespace counts as crashed only once the process is gone or its pid was recycled by a process with a
+ * different start time, however long it stalls (GC, SIGSTOP); pool
+ * instances of this process and processes across namespaces (e.g. different containers) cannot be checked
+ * by process, they count as crashed once the heartbeat is older than the lease. When the heartbeat finds the lease
+ * of this pool expired, it revokes the flyweights still held and registers again under a new generation,
+ * so a process resuming from a stall no longer writes into slots another process may have taken
+ * <pre>
+ * // 进程 A / process A
+ * Quote quote = pool.fetch();
+ * quote.setPrice(100);
+ * channel.send(quote.getMarkedId());
+ * // 进程 B / process B
+ * Quote quote = pool.adopt(channel.receive());
+ * handle(quote.getPrice());
+ * pool.release(quote);
+ * </pre>
+ * 跨命名空间使用时租约须大于最长的 GC 停顿，否则存活进程的享元会被撤销；
+ * 同一命名空间内其他进程未关闭的池在进程退出前不会被回收，池用完须关闭
+ * <p>
+ * Across namespaces the lease must exceed the longest GC pause, otherwise flyweights of a live process get revoked;
+ * within one namespace an unclosed pool of another process is not reclaimed before the process exits,
+ * close pools once done
+ *
+ * @param <T> 享元类型 / Flyweight type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class SharedObjectsMemoryPool<T extends SharedSlot> implements ObjectsMemoryPool<T>, Closeable {
+
+    /**
+     * 文件标识 "FROGSHM1"
+     * File magic "FROGSHM1"
+     */
+    private static final long MAGIC = 0x46524F4753484D31L;
+    private static final int VERSION = 1;
+
+    private static final long MAGIC_OFFSET = 0;
+    private static final long VERSION_OFFSET = 8;
+    private static final long SLOTS_OFFSET = 12;
+    private static final long SLOT_SIZE_OFFSET = 16;
+    private static final long PARTICIPANTS_OFFSET = 20;
+    private static final long HEADER_SIZE = 128;
+
+    /**
+     * 参与者表项独占一个缓存行：心跳、代数、进程 ID、PID 命名空间、进程启动时间
+     * Participant entry owns one cache line: heartbeat, generation, pid, pid namespace, process start time
+     */
+    private static final long ENTRY_SIZE = 64;
+    private static final long HEARTBEAT = 0;
+    private static final long GENERATION = 8;
+    private static final long PID = 16;
+    private static final long PID_NAMESPACE = 24;
+    private static final long START_TIME = 32;
+
+    private static final int CACHE_LINE = 64;
+
+    /**
+     * 归还中标记，置于所有者标识的最高位：重置期间槽位既不空闲也不可被接管，
+     * 归还者在重置中崩溃时仍按原所有者标识回收
+     * Releasing marker, set in the top bit of the owner word: while resetting, the slot is neither free nor
+     * adoptable, and is still reclaimed by the original owner word if the releaser crashes mid-reset
+     */
+    private static final long RELEASING = 1L << 63;
+
+    private static final boolean PROC_AVAILABLE = new File("/proc/self").isDirectory();
+
+    private static final long SELF_PID = selfPid();
+
+    /**
+     * 本进程的 PID 命名空间 inode，未知时为 0
+     * Pid namespace inode of this process, 0 when unknown
+     */
+    private static final long SELF_PID_NAMESPACE = selfPidNamespace();
+
+    /**
+     * 本进程的启动时间（/proc/&lt;pid&gt;/stat 第 22 项，开机后的时钟滴答数），未知时为 0
+     * Start time of this process (field 22 of /proc/&lt;pid&gt;/stat, clock ticks since boot), 0 when unknown
+     */
+    private static final long SELF_START_TIME =
+            PROC_AVAILABLE && SELF_PID > 0L ? Math.max(processStartTime(SELF_PID), 0L) : 0L;
+
+    private static final long RECLAIM_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(Constants.SWEEP_INTERVAL_MILLIS);
+
+    private final File file;
+    private final SharedMemoryRegion region;
+    private final int indexMask;
+    private final int slotSize;
+    private final int participants;
+    private final long leaseMillis;
+    private final long occupancyOffset;
+    private final int probes;
+    private final T[] flyweights;
+
+    /**
+     * 本进程的遍历指针，各参与者从不同位置开始，避免进程间竞争同一缓存行
+     * Walker of this process, participants start at different positions to avoid contending one cache line
+     */
+    private final PaddedAtomicLong walker;
+
+    private final AtomicLong lastReclaim;
+
+    private final SharedPoolStats stats;
+
+    /**
+     * 心跳任务，在本进程共用的守护线程上执行，只弱引用本池
+     * Heartbeat task, run on the daemon thread shared in this process, references this pool weakly only
+     */
+    private final ScheduledFuture<?> heartbeat;
+
+    private volatile int participant;
+    private volatile long generation;
+
+    /**
+     * 本池实例写入占用表的所有者标识：高 32 位为参与者序号 + 1，低 32 位为代数
+     * Owner word written by this pool instance: participant index + 1 in the high 32 bits, generation in the low
+     */
+    private volatile long ownerWord;
+
+    /**
+     * 最近一次撤销的所有者标识，重新登记失败时避免重复撤销；只由心跳线程访问
+     * Owner word revoked last, avoids revoking again while re-registration keeps failing; heartbeat thread only
+     */
+    private long revokedWord;
+
+    private volatile boolean closed;
+
+    public SharedObjectsMemoryPool(File file, int size, int slotSize, ObjectCreator<T> creator) throws IOException {
+        this(file, size, slotSize, Constants.SHM_PARTICIPANTS, Constants.SHM_LEASE_MILLIS, creator);
+    }
+
+    /**
+     * 构造方法，打开或创建共享内存文件；已存在的文件布局必须一致
+     * Constructor, opens or creates the shared memory file; the layout of an existing file must match
+     *
+     * @param file         映射文件，建议位于 /dev/shm / Mapped file, /dev/shm recommended
+     * @param size         槽位数，向上取整为2的幂次方 / Slot count, rounded up to power of two
+     * @param slotSize     每个槽位的字节数，向上取整为缓存行的倍数 / Bytes per slot, rounded up to cache lines
+     * @param participants 最大参与者数 / Maximum participants
+     * @param leaseMillis  参与者租约（毫秒）/ Participant lease (ms)
+     * @param creator      享元创建器 / Flyweight creator
+     * @throws IOException 文件读写失败 / File read or write failed
+     */
+    @SuppressWarnings("unchecked")
+    public SharedObjectsMemoryPool(File file, int size, int slotSize, int participants, long leaseMillis,
+                                   ObjectCreator<T> creator) throws IOException {
+        if (file == null || creator == null) {
+            throw new IllegalArgumentException("File and creator can not be null");
+        }
+        if (size <= 0 || slotSize <= 0 || participants <= 0 || leaseMillis <= 0) {
+            throw new IllegalArgumentException("Size, slot size, participants and lease must be positive");
+        }
+        int capacity = Math.min(ArrayUtil.findNextPositivePowerOfTwo(size), Constants.MAX_CAPACITY);
+        this.file = file;
+        this.indexMask = capacity - 1;
+        this.slotSize = align(slotSize);
+        this.participants = participants;
+        this.leaseMillis = leaseMillis;
+        this.occupancyOffset = HEADER_SIZE + participants * ENTRY_SIZE;
+        long slotsOffset = occupancyOffset + align((long) capacity * 8);
+        this.region = new SharedMemoryRegion(file, slotsOffset + (long) capacity * this.slotSize, this::initHeader);
+        checkHeader(capacity);
+
+        this.flyweights = (T[]) new SharedSlot[capacity];
+        T flyweight;
+        for (int i = 0; i < capacity; i++) {
+            flyweight = creator.create();
+            flyweight.wrap(region, slotsOffset + (long) i * this.slotSize, this.slotSize);
+            // 槽位 ID 即占用表下标 / Slot id is the occupancy table index
+            flyweight.markId(i);
+            flyweights[i] = flyweight;
+        }
+        this.probes = Math.min(capacity, Constants.FETCH_TIMES_MAX);
+        this.stats = new SharedPoolStats(probes);
+        this.lastReclaim = new AtomicLong(System.nanoTime() - RECLAIM_INTERVAL_NANOS);
+        register();
+        this.walker = new PaddedAtomicLong((long) participant * capacity / participants);
+        long period = Math.max(1L, leaseMillis / 4);
+        this.heartbeat = Heartbeats.schedule(this, period, SharedObjectsMemoryPool::beat);
+    }
+
+    /**
+     * 取得一个空闲槽位；耗尽时先回收已崩溃参与者的槽位再重试一次，仍失败时返回 null。
+     * 槽位只能位于映射文件中，无法在池外新建，因此不适用 {@code FetchFailStrategy}：耗尽时总是返回 null，
+     * 调用方需自行处理（等待、丢弃或退回其他通道）
+     * <p>
+     * Fetch a free slot; on exhaustion reclaim slots of crashed participants and retry once,
+     * return null if still failed. Slots can only live in the mapped file and cannot be created outside the pool,
+     * so {@code FetchFailStrategy} does not apply: exhaustion always returns null, callers handle it themselves
+     * (wait, drop, or fall back to another channel)
+     *
+     * @return 享元，耗尽时为 null / Flyweight, null when exhausted
+     */
+    @Override
+    public T fetch() {
+        checkOpen();
+        T t = fetchSlot();
+        if (t == null && reclaimIfDue() > 0) {
+            t = fetchSlot();
+        }
+        if (t == null) {
+            stats.failover();
+        }
+        return t;
+    }
+
+    /**
+     * 接管其他参与者交来的槽位，之后由本进程负责归还；所有者崩溃时不会再被回收
+     * Adopt a slot handed over by another participant, this process is responsible for releasing it afterwards;
+     * it is no longer reclaimed when the previous owner crashes
+     *
+     * @param index 槽位 ID / Slot id
+     * @return 本进程中该槽位的享元 / Flyweight of the slot in this process
+     * @throws IllegalStateException 槽位空闲 / The slot is free
+     */
+    public T adopt(int index) {
+        checkOpen();
+        if (index < 0 || index > indexMask) {
+            throw new IllegalArgumentException("Slot index out of range: " + index);
+        }
+        long offset = occupancy(index);
+        long word = ownerWord;
+        long current;
+        do {
+            current = region.getLongVolatile(offset);
+            if (current == 0L || (current & RELEASING) != 0L) {
+                throw new IllegalStateException("Slot " + index + " is not in use");
+            }
+        } while (current != word && !region.compareAndSwapLong(offset, current, word));
+        T t = flyweights[index];
+        t.bind(word);
+        return t;
+    }
+
+    /**
+     * 重置并归还槽位；槽位已被回收或已归还时忽略。
+     * 先以 CAS 将所有者标识标记为归还中再重置，最后以 CAS 清零：检查与重置之间槽位被回收并被他人取得时，
+     * 不会清除他人刚写入的消息
+     * <p>
+     * Reset and release the slot; ignored when the slot was reclaimed or already released.
+     * The owner word is CASed to releasing before reset and CASed to 0 afterwards, so a slot reclaimed and
+     * fetched by someone else between the check and the reset never has their fresh message wiped
+     *
+     * @param used 享元 / Flyweight
+     */
+    @Override
+    public void release(T used) {
+        int id = used.getMarkedId();
+        if (id < 0 || id > indexMask || flyweights[id] != used) {
+            throw new IllegalArgumentException("Flyweight does not belong to this pool");
+        }
+        long word = used.getOwnerWord();
+        long offset = occupancy(id);
+        if (word != 0L && region.compareAndSwapLong(offset, word, word | RELEASING)) {
+            try {
+                used.reset();
+            } finally {
+                region.compareAndSwapLong(offset, word | RELEASING, 0L);
+            }
+        }
+        used.setOwnerWord(0L);
+    }
+
+    /**
+     * 回收已崩溃或已关闭的参与者持有的槽位
+     * Reclaim slots held by crashed or closed participants
+     *
+     * @return 回收的槽位数 / Reclaimed slot count
+     */
+    public int reclaim() {
+        long now = System.currentTimeMillis();
+        int[] generations = new int[participants];
+        boolean[] dead = new boolean[participants];
+        long entry;
+        for (int p = 0; p < participants; p++) {
+            entry = HEADER_SIZE + p * ENTRY_SIZE;
+            // 先读代数：读到新代数时必然也能读到新的心跳与进程 ID
+            // Generation first: seeing a new generation implies seeing the new heartbeat and pid
+            generations[p] = (int) region.getLongVolatile(entry + GENERATION);
+            dead[p] = !isLive(region.getLongVolatile(entry + HEARTBEAT), region.getLong(entry + PID),
+                              region.getLong(entry + PID_NAMESPACE), region.getLong(entry + START_TIME), now);
+        }
+        int count = 0;
+        long word;
+        int p;
+        int diff;
+        for (int i = 0; i <= indexMask; i++) {
+            word = region.getLongVolatile(occupancy(i));
+            if (word == 0L) {
+                continue;
+            }
+            p = (int) ((word & ~RELEASING) >>> 32) - 1;
+            if (p < 0 || p >= participants) {
+                continue;
+            }
+            // 代数较旧说明表项已被重新登记，原所有者已崩溃；较新则属于扫描开始后登记的参与者
+            // An older generation means the entry was re-registered and the owner crashed;
+            // a newer one belongs to a participant registered after the scan started
+            diff = (int) word - generations[p];
+            if ((diff < 0 || diff == 0 && dead[p]) && region.compareAndSwapLong(occupancy(i), word, 0L)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public PoolStats stats() {
+        return stats;
+    }
+
+    /**
+     * 失败的心跳次数，如本进程被判定为崩溃后参与者表已满、无法重新登记；心跳在下个周期继续重试
+     * Failed heartbeats, e.g. the participant table was full when re-registering after this process was judged
+     * crashed; the heartbeat keeps retrying every period
+     *
+     * @return 次数 / Count
+     */
+    public long heartbeatFailures() {
+        return stats.getHeartbeatFailureCount();
+    }
+
+    /**
+     * 租约过期或表项被接管后撤销享元并重新登记的次数
+     * Times flyweights were revoked and the pool registered again after the lease expired or the entry was taken over
+     *
+     * @return 次数 / Count
+     */
+    public long revocations() {
+        return stats.getRevocationCount();
+    }
+
+    @Override
+    public int capacity() {
+        return indexMask + 1;
+    }
+
+    /**
+     * 扫描占用表得出，开销与容量成正比
+     * Derived by scanning the occupancy table, costing in proportion to capacity
+     */
+    @Override
+    public int available() {
+        int count = 0;
+        for (int i = 0; i <= indexMask; i++) {
+            if (region.getLongVolatile(occupancy(i)) == 0L) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 所有参与者使用中的槽位数
+     * Slots in use by all participants
+     */
+    @Override
+    public int inUse() {
+        return capacity() - available();
+    }
+
+    @Override
+    public int inThreadCaches() {
+        return 0;
+    }
+
+    /**
+     * 停止心跳并注销参与者，本进程仍持有的槽位随即可被其他参与者回收；全部享元随之失效，
+     * 映射在池与享元都被回收后解除
+     * Stop the heartbeat and deregister, slots still held by this process become reclaimable by others;
+     * all flyweights are invalidated, the mapping is released once the pool and its flyweights are collected
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        heartbeat.cancel(false);
+        for (T flyweight : flyweights) {
+            flyweight.invalidate();
+        }
+        long entry = HEADER_SIZE + participant * ENTRY_SIZE;
+        if (region.getLongVolatile(entry + GENERATION) == generation) {
+            region.putLongOrdered(entry + HEARTBEAT, 0L);
+        }
+    }
+
+    private T fetchSlot() {
+        long offset;
+        int index;
+        long word = ownerWord;
+        for (int i = 0; i < probes; i++) {
+            index = (int) (walker.getAndIncrement() & indexMask);
+            offset = occupancy(index);
+            if (region.getLongVolatile(offset) == 0L && region.compareAndSwapLong(offset, 0L, word)) {
+                stats.record(i + 1, true);
+                T t = flyweights[index];
+                t.bind(word);
+                return t;
+            }
+        }
+        stats.record(probes, false);
+        return null;
+    }
+
+    /**
+     * 回收扫描遍历整个占用表，按清扫间隔限流
+     * Reclaim scans the whole occupancy table, throttled by the sweep interval
+     */
+    private int reclaimIfDue() {
+        long now = System.nanoTime();
+        long last = lastReclaim.get();
+        if (now - last < RECLAIM_INTERVAL_NANOS || !lastReclaim.compareAndSet(last, now)) {
+            return 0;
+        }
+        return reclaim();
+    }
+
+    /**
+     * 登记为参与者：以 CAS 心跳占用一个空闲或已失效的表项，先写进程 ID、命名空间与启动时间再发布新代数
+     * Register as participant: take a free or expired entry by CASing its heartbeat,
+     * write the pid, its namespace and start time before publishing the new generation
+     */
+    private void register() {
+        long now = System.currentTimeMillis();
+        long entry;
+        long beat;
+        for (int p = 0; p < participants; p++) {
+            entry = HEADER_SIZE + p * ENTRY_SIZE;
+            beat = region.getLongVolatile(entry + HEARTBEAT);
+            if (!isLive(beat, region.getLong(entry + PID), region.getLong(entry + PID_NAMESPACE),
+                        region.getLong(entry + START_TIME), now)
+                    && region.compareAndSwapLong(entry + HEARTBEAT, beat, now)) {
+                take(p);
+                return;
+            }
+        }
+        throw new IllegalStateException("No free participant entry in " + file);
+    }
+
+    /**
+     * 心跳已由本池 CAS 写入后接管表项：写入进程 ID、命名空间与启动时间，再发布新代数，旧代数的槽位随即可被回收
+     * Take the entry once this pool CASed its heartbeat: write the pid, its namespace and start time, then publish
+     * a new generation, slots of older generations become reclaimable right away
+     */
+    private void take(int p) {
+        long entry = HEADER_SIZE + p * ENTRY_SIZE;
+        long gen = (region.getLongVolatile(entry + GENERATION) + 1) & 0xFFFFFFFFL;
+        region.putLong(entry + PID, SELF_PID);
+        region.putLong(entry + PID_NAMESPACE, SELF_PID_NAMESPACE);
+        region.putLong(entry + START_TIME, SELF_START_TIME);
+        region.putLongOrdered(entry + GENERATION, gen);
+        this.participant = p;
+        this.generation = gen;
+        this.ownerWord = ((long) (p + 1) << 32) | gen;
+    }
+
+    /**
+     * 更新心跳。本池的租约已过期（停顿超过租约）或表项已被他人接管时，其他参与者可能已回收本池的槽位：
+     * 先撤销以旧所有者标识持有的享元，再以新代数登记，表项未被接管时原地续用。
+     * 重新登记失败（如参与者表已满）时计数并在下个周期重试，异常不会终止后续心跳
+     * <p>
+     * Update heartbeat. When the lease of this pool expired (stalled longer than the lease) or the entry was
+     * taken over, other participants may have reclaimed slots of this pool: flyweights held under the old owner
+     * word are revoked first, then the pool registers under a new generation, reusing the entry in place unless
+     * it was taken over. A failed re-registration (e.g. the participant table is full) is counted and retried
+     * next period, exceptions never stop later beats
+     */
+    private void beat() {
+        if (closed) {
+            return;
+        }
+        try {
+            int p = participant;
+            long entry = HEADER_SIZE + p * ENTRY_SIZE;
+            long now = System.currentTimeMillis();
+            long beat = region.getLongVolatile(entry + HEARTBEAT);
+            boolean owned = region.getLongVolatile(entry + GENERATION) == generation;
+            if (owned && now - beat <= leaseMillis && region.compareAndSwapLong(entry + HEARTBEAT, beat, now)) {
+                return;
+            }
+            revoke(ownerWord);
+            if (owned && region.compareAndSwapLong(entry + HEARTBEAT, beat, now)) {
+                take(p);
+            } else {
+                register();
+            }
+        } catch (RuntimeException e) {
+            stats.heartbeatFailed();
+        }
+    }
+
+    /**
+     * 撤销以该所有者标识持有的享元，并将其仍占用的槽位交还，已被他人回收的槽位不受影响
+     * Revoke flyweights held under the owner word and free the slots they still occupy,
+     * slots already reclaimed by others are left alone
+     */
+    private void revoke(long word) {
+        if (word == 0L || word == revokedWord) {
+            return;
+        }
+        revokedWord = word;
+        T flyweight;
+        for (int i = 0; i <= indexMask; i++) {
+            flyweight = flyweights[i];
+            if (flyweight.getOwnerWord() == word) {
+                flyweight.revoke();
+            }
+            if (!region.compareAndSwapLong(occupancy(i), word, 0L)) {
+                region.compareAndSwapLong(occupancy(i), word | RELEASING, 0L);
+            }
+        }
+        stats.revoked();
+    }
+
+    /**
+     * 表项是否存活：已注销的表项失效；同一 PID 命名空间内的其他进程以进程是否存在且启动时间一致为准，
+     * 进程 ID 被复用时失效，停顿的进程不会失效；启动时间未知时只看进程是否存在；
+     * 本进程与跨命名空间的表项以心跳租约为准
+     * Whether the entry is live: a deregistered entry is not; another process in the same pid namespace is live
+     * as long as it exists with the same start time, a recycled pid is not, a stalled process never expires;
+     * with the start time unknown only existence counts; entries of this process and across namespaces
+     * go by the heartbeat lease
+     */
+    private boolean isLive(long beat, long pid, long pidNamespace, long startTime, long now) {
+        if (beat == 0L) {
+            return false;
+        }
+        if (isProcessComparable(pid, pidNamespace) && pid != SELF_PID) {
+            long current = processStartTime(pid);
+            if (current < 0L) {
+                return false;
+            }
+            return current == 0L || startTime == 0L || current == startTime;
+        }
+        return now - beat <= leaseMillis;
+    }
+
+    private long occupancy(int index) {
+        return occupancyOffset + ((long) index << 3);
+    }
+
+    private void initHeader(SharedMemoryRegion fresh) {
+        fresh.putInt(VERSION_OFFSET, VERSION);
+        fresh.putInt(SLOTS_OFFSET, indexMask + 1);
+        fresh.putInt(SLOT_SIZE_OFFSET, slotSize);
+        fresh.putInt(PARTICIPANTS_OFFSET, participants);
+        // 标识最后写入 / Magic is written last
+        fresh.putLongOrdered(MAGIC_OFFSET, MAGIC);
+    }
+
+    private void checkHeader(int capacity) {
+        if (region.getLongVolatile(MAGIC_OFFSET) != MAGIC || region.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IllegalArgumentException("Not a frogspawn shared memory file: " + file);
+        }
+        if (region.getInt(SLOTS_OFFSET) != capacity || region.getInt(SLOT_SIZE_OFFSET) != slotSize
+                || region.getInt(PARTICIPANTS_OFFSET) != participants) {
+            throw new IllegalArgumentException(
+                    "Layout of " + file + " is " + region.getInt(SLOTS_OFFSET) + " slots x "
+                            + region.getInt(SLOT_SIZE_OFFSET) + " bytes, " + region.getInt(PARTICIPANTS_OFFSET)
+                            + " participants, requested " + capacity + " x " + slotSize + ", " + participants);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Pool is closed");
+        }
+    }
+
+    private static int align(int size) {
+        return (int) align((long) size);
+    }
+
+    private static long align(long size) {
+        return (size + CACHE_LINE - 1) & -CACHE_LINE;
+    }
+
+    /**
+     * 在有 /proc 的系统上，同一 PID 命名空间内的进程可检查是否存在；命名空间不同或未知时进程 ID 不可比较
+     * On systems with /proc, processes in the same pid namespace can be checked for existence;
+     * pids are not comparable when the namespace differs or is unknown
+     */
+    private static boolean isProcessComparable(long pid, long pidNamespace) {
+        return PROC_AVAILABLE && pid > 0 && pidNamespace != 0L && pidNamespace == SELF_PID_NAMESPACE;
+    }
+
+    /**
+     * 读取进程启动时间：/proc/&lt;pid&gt;/stat 第 22 项；进程名可含空格与括号，从最后一个右括号之后计数
+     * Read the process start time: field 22 of /proc/&lt;pid&gt;/stat; the command name may contain spaces and
+     * parentheses, so fields are counted after the last closing parenthesis
+     *
+     * @return 启动时间，进程不存在时为 -1，无法读取时为 0 / Start time, -1 when the process is gone, 0 when unreadable
+     */
+    private static long processStartTime(long pid) {
+        try {
+            String stat = new String(Files.readAllBytes(Paths.get("/proc/" + pid + "/stat")),
+                                     StandardCharsets.US_ASCII);
+            int end = stat.lastIndexOf(')');
+            if (end < 0 || end + 2 > stat.length()) {
+                return 0L;
+            }
+            // 右括号之后从第 3 项（状态）开始 / After the closing parenthesis fields start at 3 (state)
+            String[] fields = stat.substring(end + 2).trim().split(" +");
+            return fields.length > 19 ? Long.parseLong(fields[19]) : 0L;
+        } catch (NoSuchFileException e) {
+            return -1L;
+        } catch (IOException | SecurityException | NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static long selfPidNamespace() {
+        if (!PROC_AVAILABLE) {
+            return 0L;
+        }
+        // 链接目标形如 pid:[4026531836] / The link target looks like pid:[4026531836]
+        try {
+            Path link = Files.readSymbolicLink(Paths.get("/proc/self/ns/pid"));
+            String target = link.toString();
+            int start = target.indexOf('[');
+            int end = target.indexOf(']', start + 1);
+            return start >= 0 && end > start ? Long.parseLong(target.substring(start + 1, end)) : 0L;
+        } catch (IOException | UnsupportedOperationException | SecurityException | NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static long selfPid() {
+        // JDK 8 没有 ProcessHandle，名称形如 pid@host
+        // No ProcessHandle on JDK 8, the name looks like pid@host
+        String name = ManagementFactory.getRuntimeMXBean().getName();
+        int at = name.indexOf('@');
+        try {
+            return at > 0 ? Long.parseLong(name.substring(0, at)) : 0L;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
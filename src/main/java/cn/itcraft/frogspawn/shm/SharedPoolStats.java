@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.shm;
+
+import cn.itcraft.frogspawn.stats.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 共享内存池在本进程内的统计，探测次数固定，占用率由探测命中率估算
+ * In-process statistics of a shared memory pool, probe budget is fixed,
+ * occupancy is estimated from the probe hit rate
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class SharedPoolStats implements PoolStats {
+
+    private final int probeBudget;
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+    private final LongAdder heartbeatFailures = new LongAdder();
+    private final LongAdder revocations = new LongAdder();
+
+    SharedPoolStats(int probeBudget) {
+        this.probeBudget = probeBudget;
+    }
+
+    /**
+     * 记录一次主池取对象
+     * Record one fetch from the main pool
+     *
+     * @param probed 探测的槽位数 / Slots probed
+     * @param hit    是否取得 / Whether a slot was taken
+     */
+    void record(int probed, boolean hit) {
+        fetches.increment();
+        probes.add(probed);
+        if (hit) {
+            hits.increment();
+        }
+    }
+
+    /**
+     * 记录一次耗尽
+     * Record one exhaustion
+     */
+    void failover() {
+        failovers.increment();
+    }
+
+    /**
+     * 记录一次失败的心跳
+     * Record one failed heartbeat
+     */
+    void heartbeatFailed() {
+        heartbeatFailures.increment();
+    }
+
+    long getHeartbeatFailureCount() {
+        return heartbeatFailures.sum();
+    }
+
+    /**
+     * 记录一次租约过期后的撤销
+     * Record one revocation after the lease expired
+     */
+    void revoked() {
+        revocations.increment();
+    }
+
+    long getRevocationCount() {
+        return revocations.sum();
+    }
+
+    @Override
+    public long getMainPoolFetchCount() {
+        return fetches.sum();
+    }
+
+    @Override
+    public long getMainPoolHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getFailoverCount() {
+        return failovers.sum();
+    }
+
+    @Override
+    public long getOverflowHitCount() {
+        return 0L;
+    }
+
+    @Override
+    public int getOverflowSize() {
+        return 0;
+    }
+
+    @Override
+    public int getProbeBudget() {
+        return probeBudget;
+    }
+
+    @Override
+    public double getProbeHitRate() {
+        long probed = probes.sum();
+        return probed == 0 ? 0D : (double) hits.sum() / probed;
+    }
+
+    /**
+     * 每次探测命中的概率约等于空闲槽位比例
+     * Each probe hits with probability close to the free slot ratio
+     */
+    @Override
+    public double getOccupancyEstimate() {
+        long probed = probes.sum();
+        return probed == 0 ? 0D : 1D - (double) hits.sum() / probed;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.shm;
+
+import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.util.UnsafeUtil;
+import sun.misc.Unsafe;
+
+/**
+ * 共享内存槽位的享元基类，子类以固定偏移量定义消息布局，读写直接作用于映射内存
+ * Flyweight base class of shared memory slots, subclasses define the message layout by fixed offsets,
+ * reads and writes go directly to the mapped memory
+ * <pre>
+ * public class Quote extends SharedSlot {
+ *     private static final int PRICE = 0;
+ *     private static final int QTY = 8;
+ *
+ *     public void setPrice(long price) { putLong(PRICE, price); }
+ *     public long getPrice() { return getLong(PRICE); }
+ *     ...
+ *     public void reset() { clear(); }
+ * }
+ * </pre>
+ * 每个进程为每个槽位创建一个享元，槽位 ID 即 {@link #getMarkedId()}，进程间只需传递该 ID
+ * <p>
+ * Each process creates one flyweight per slot, the slot id is {@link #getMarkedId()},
+ * only this id needs to be passed between processes
+ * <p>
+ * 享元持有所在的映射区域，映射在享元可达期间不会被解除；池关闭后享元失效，读写时抛出 {@link IllegalStateException}
+ * <p>
+ * The flyweight holds its mapped region, so the mapping is not released while the flyweight is reachable;
+ * flyweights are invalidated when the pool is closed, reads and writes then throw {@link IllegalStateException}
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public abstract class SharedSlot implements Resettable {
+
+    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
+    private static final long BYTE_ARRAY_BASE = Unsafe.ARRAY_BYTE_BASE_OFFSET;
+
+    /**
+     * 所在的映射区域，保证读写 address 期间映射有效
+     * Mapped region the slot lives in, keeps the mapping valid while address is accessed
+     */
+    private SharedMemoryRegion region;
+
+    /**
+     * 槽位在映射中的起始地址，池关闭后为 0
+     * Start address of the slot in the mapping, 0 once the pool is closed
+     */
+    private long base;
+
+    /**
+     * 读写使用的地址，持有槽位时等于 base；池关闭或槽位被撤销后为 0。
+     * 由心跳线程清零、由应用线程读取，volatile 保证清零对之后的每次读写可见，且不会被提升到循环之外
+     * <p>
+     * Address used by reads and writes, equal to base while the slot is held; 0 once the pool is closed
+     * or the slot is revoked. Zeroed by the heartbeat thread and read by application threads, volatile makes
+     * the zeroing visible to every later access and keeps the read from being hoisted out of loops
+     */
+    private volatile long address;
+
+    private int size;
+
+    private int markedId = -1;
+
+    /**
+     * 取得或接管槽位时写入占用表的所有者标识，归还时据此校验所有权；撤销时由心跳线程清零
+     * Owner word written to the occupancy table on fetch or adopt, checked on release; zeroed by the heartbeat
+     * thread on revocation
+     */
+    private volatile long ownerWord;
+
+    /**
+     * 槽位字节数
+     * Slot size in bytes
+     *
+     * @return 字节数 / Size in bytes
+     */
+    public final int slotSize() {
+        return size;
+    }
+
+    protected final byte getByte(int offset) {
+        long at = checkBounds(offset, 1);
+        return UNSAFE.getByte(at + offset);
+    }
+
+    protected final void putByte(int offset, byte value) {
+        long at = checkBounds(offset, 1);
+        UNSAFE.putByte(at + offset, value);
+    }
+
+    protected final int getInt(int offset) {
+        long at = checkBounds(offset, 4);
+        return UNSAFE.getInt(at + offset);
+    }
+
+    protected final void putInt(int offset, int value) {
+        long at = checkBounds(offset, 4);
+        UNSAFE.putInt(at + offset, value);
+    }
+
+    protected final long getLong(int offset) {
+        long at = checkBounds(offset, 8);
+        return UNSAFE.getLong(at + offset);
+    }
+
+    protected final void putLong(int offset, long value) {
+        long at = checkBounds(offset, 8);
+        UNSAFE.putLong(at + offset, value);
+    }
+
+    protected final double getDouble(int offset) {
+        long at = checkBounds(offset, 8);
+        return UNSAFE.getDouble(at + offset);
+    }
+
+    protected final void putDouble(int offset, double value) {
+        long at = checkBounds(offset, 8);
+        UNSAFE.putDouble(at + offset, value);
+    }
+
+    /**
+     * 以 volatile 语义读取，与其他进程的 {@link #putLongOrdered(int, long)} 配对
+     * Read with volatile semantics, pairs with {@link #putLongOrdered(int, long)} of other processes
+     *
+     * @param offset 偏移量，需按 8 字节对齐 / Offset, must be 8-byte aligned
+     * @return 值 / Value
+     */
+    protected final long getLongVolatile(int offset) {
+        long at = checkBounds(offset, 8);
+        return UNSAFE.getLongVolatile(null, at + offset);
+    }
+
+    /**
+     * 有序写入，之前的写入对读到该值的其他进程可见，可用作消息的发布标志
+     * Ordered write, earlier writes are visible to other processes reading this value,
+     * usable as the publication flag of a message
+     *
+     * @param offset 偏移量，需按 8 字节对齐 / Offset, must be 8-byte aligned
+     * @param value  值 / Value
+     */
+    protected final void putLongOrdered(int offset, long value) {
+        long at = checkBounds(offset, 8);
+        UNSAFE.putOrderedLong(null, at + offset, value);
+    }
+
+    protected final void getBytes(int offset, byte[] dst, int dstOffset, int length) {
+        long at = checkBounds(offset, length);
+        if (dstOffset < 0 || dstOffset + length > dst.length) {
+            throw new IndexOutOfBoundsException("Offset: " + dstOffset + ", Length: " + length
+                                                        + ", Array length: " + dst.length);
+        }
+        UNSAFE.copyMemory(null, at + offset, dst, BYTE_ARRAY_BASE + dstOffset, length);
+    }
+
+    protected final void putBytes(int offset, byte[] src, int srcOffset, int length) {
+        long at = checkBounds(offset, length);
+        if (srcOffset < 0 || srcOffset + length > src.length) {
+            throw new IndexOutOfBoundsException("Offset: " + srcOffset + ", Length: " + length
+                                                        + ", Array length: " + src.length);
+        }
+        UNSAFE.copyMemory(src, BYTE_ARRAY_BASE + srcOffset, null, at + offset, length);
+    }
+
+    /**
+     * 将整个槽位清零，可在 reset() 中调用
+     * Zero the whole slot, may be called from reset()
+     */
+    protected final void clear() {
+        long at = checkBounds(0, size);
+        UNSAFE.setMemory(at, size, (byte) 0);
+    }
+
+    @Override
+    public final int getMarkedId() {
+        return markedId;
+    }
+
+    @Override
+    public final void markId(int id) {
+        this.markedId = id;
+    }
+
+    final void wrap(SharedMemoryRegion slotRegion, long slotOffset, int slotSize) {
+        this.region = slotRegion;
+        this.base = slotRegion.address() + slotOffset;
+        this.address = base;
+        this.size = slotSize;
+    }
+
+    /**
+     * 池关闭时使享元失效，之后的读写抛出异常而不是访问映射内存
+     * Invalidate the flyweight when the pool is closed, later reads and writes throw instead of touching the mapping
+     */
+    final void invalidate() {
+        this.base = 0L;
+        this.address = 0L;
+    }
+
+    /**
+     * 以所有者标识持有槽位，恢复被撤销的读写
+     * Hold the slot under the owner word, restoring reads and writes if they were revoked
+     *
+     * @param word 所有者标识 / Owner word
+     */
+    final void bind(long word) {
+        this.ownerWord = word;
+        this.address = base;
+    }
+
+    /**
+     * 本池的租约过期、槽位可能已被其他进程回收时撤销，之后的读写抛出异常，归还被忽略，直到再次取得或接管。
+     * 由心跳线程调用，正在进行中的读写不受影响
+     * <p>
+     * Revoke when the lease of this pool expired and the slot may have been reclaimed by another process,
+     * later reads and writes throw and release is ignored until the slot is fetched or adopted again.
+     * Called by the heartbeat thread, accesses already in progress are not affected
+     * <p>
+     * 地址为 volatile，撤销之后开始的每次读写都会看到清零的地址
+     * The address is volatile, every access starting after the revocation sees the zeroed address
+     */
+    final void revoke() {
+        this.address = 0L;
+        this.ownerWord = 0L;
+    }
+
+    final long getOwnerWord() {
+        return ownerWord;
+    }
+
+    final void setOwnerWord(long ownerWord) {
+        this.ownerWord = ownerWord;
+    }
+
+    /**
+     * 每次读写只读取一次地址，检查与访问使用同一个值
+     * Address is read once per access, the check and the access use the same value
+     *
+     * @return 槽位地址 / Slot address
+     */
+    private long checkBounds(int offset, int length) {
+        long at = address;
+        if (at == 0L) {
+            throw new IllegalStateException("Slot " + markedId + " is not held in an open pool");
+        }
+        if (offset < 0 || length < 0 || offset + length > size) {
+            throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length + ", Size: " + size);
+        }
+        return at;
+    }
+}
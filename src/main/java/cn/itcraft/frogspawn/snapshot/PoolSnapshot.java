@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.snapshot;
+
+import cn.itcraft.frogspawn.ObjectCreator;
+import cn.itcraft.frogspawn.Resettable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.zip.CRC32;
+
+/**
+ * 池快照文件：紧凑的二进制格式，读取时以内存映射方式访问
+ * Pool snapshot file: compact binary format, memory-mapped when read
+ * <p>
+ * 格式：头部（标识、格式版本、编解码器版本、记录数、数据长度、CRC32），之后为各记录（int 长度 + 编码内容）
+ * <p>
+ * Format: header (magic, format version, codec version, record count, payload length, CRC32),
+ * followed by records (int length + encoded content)
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class PoolSnapshot {
+
+    /**
+     * 文件标识 "FROGSNP1"
+     * File magic "FROGSNP1"
+     */
+    static final long MAGIC = 0x46524F47534E5031L;
+    static final int FORMAT_VERSION = 1;
+
+    static final int MAGIC_OFFSET = 0;
+    static final int FORMAT_OFFSET = 8;
+    static final int CODEC_VERSION_OFFSET = 12;
+    static final int COUNT_OFFSET = 16;
+    static final int PAYLOAD_LENGTH_OFFSET = 20;
+    static final int CRC_OFFSET = 28;
+    static final int HEADER_SIZE = 40;
+
+    private static final int INITIAL_RECORD_CAPACITY = 4096;
+    private static final int MAX_RECORD_CAPACITY = 1 << 30;
+
+    private PoolSnapshot() {
+    }
+
+    /**
+     * 保存对象的快照；先写临时文件再替换，避免写到一半的快照被读取
+     * Save a snapshot of the objects; writes a temporary file then replaces,
+     * so a half-written snapshot is never read
+     *
+     * @param file    快照文件 / Snapshot file
+     * @param codec   编解码器 / Codec
+     * @param objects 处于初始状态的对象 / Objects in their initial state
+     * @param <T>     对象类型 / Object type
+     * @return 写入的记录数 / Records written
+     * @throws IOException 写入失败 / Write failed
+     */
+    public static <T extends Resettable> int save(File file, SnapshotCodec<T> codec, Collection<? extends T> objects)
+            throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can not create " + dir);
+        }
+        File temp = new File(dir, file.getName() + ".tmp");
+        ByteBuffer record = ByteBuffer.allocate(INITIAL_RECORD_CAPACITY).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+        long position = HEADER_SIZE;
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (T obj : objects) {
+                record = encode(codec, obj, record);
+                crc.update(record.array(), 0, record.limit());
+                position += writeFully(channel, record, position);
+                count++;
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(MAGIC_OFFSET, MAGIC)
+                  .putInt(FORMAT_OFFSET, FORMAT_VERSION)
+                  .putInt(CODEC_VERSION_OFFSET, codec.version())
+                  .putInt(COUNT_OFFSET, count)
+                  .putLong(PAYLOAD_LENGTH_OFFSET, position - HEADER_SIZE)
+                  .putLong(CRC_OFFSET, crc.getValue());
+            writeFully(channel, header, 0);
+            channel.force(false);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * 创建从快照还原对象的创建器；快照缺失、损坏或版本不一致时直接使用后备创建器
+     * Create a creator restoring objects from the snapshot; the fallback creator is used directly
+     * when the snapshot is absent, corrupted or of another version
+     *
+     * @param file     快照文件 / Snapshot file
+     * @param codec    编解码器 / Codec
+     * @param fallback 后备创建器，快照中的记录用完后同样使用 / Fallback creator, also used once records run out
+     * @param <T>      对象类型 / Object type
+     * @return 还原用的创建器 / Restoring creator
+     */
+    public static <T extends Resettable> SnapshotCreator<T> restoring(File file, SnapshotCodec<T> codec,
+                                                                      ObjectCreator<T> fallback) {
+        if (file == null || codec == null || fallback == null) {
+            throw new IllegalArgumentException("File, codec and fallback creator can not be null");
+        }
+        return new SnapshotCreator<>(open(file, codec.version()), codec, fallback);
+    }
+
+    /**
+     * 映射并校验快照，返回定位到第一条记录的缓冲区
+     * Map and verify the snapshot, returning a buffer positioned at the first record
+     *
+     * @return 缓冲区，快照不可用时为 null / Buffer, null when the snapshot is unusable
+     */
+    static MappedByteBuffer open(File file, int codecVersion) {
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            return null;
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getLong(MAGIC_OFFSET) != MAGIC || buffer.getInt(FORMAT_OFFSET) != FORMAT_VERSION
+                || buffer.getInt(CODEC_VERSION_OFFSET) != codecVersion
+                || buffer.getLong(PAYLOAD_LENGTH_OFFSET) != buffer.capacity() - HEADER_SIZE) {
+            return null;
+        }
+        buffer.position(HEADER_SIZE);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if (crc.getValue() != buffer.getLong(CRC_OFFSET)) {
+            return null;
+        }
+        return buffer;
+    }
+
+    private static <T extends Resettable> ByteBuffer encode(SnapshotCodec<T> codec, T obj, ByteBuffer record) {
+        ByteBuffer buffer = record;
+        while (true) {
+            buffer.clear();
+            buffer.position(4);
+            try {
+                codec.encode(obj, buffer);
+                buffer.putInt(0, buffer.position() - 4);
+                buffer.flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                if (buffer.capacity() >= MAX_RECORD_CAPACITY) {
+                    throw new IllegalArgumentException("Encoded object exceeds " + MAX_RECORD_CAPACITY + " bytes");
+                }
+                buffer = ByteBuffer.allocate(buffer.capacity() << 1).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int length = buffer.remaining();
+        int written = 0;
+        while (written < length) {
+            written += channel.write(buffer, position + written);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.snapshot;
+
+import cn.itcraft.frogspawn.Resettable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 快照编解码器，将对象预处理后的状态写入快照并还原，避免重启时重复昂贵的创建过程
+ * Snapshot codec, writes the prepared state of objects into a snapshot and restores it,
+ * avoiding expensive creation again on restart
+ * <p>
+ * 只需编码创建器准备的内容（查找表、模板缓冲区等），不要编码分配标识；
+ * 编码格式变化时须修改 {@link #version()}，版本不一致的快照会被忽略并改用创建器
+ * <p>
+ * Only the content prepared by the creator (lookup tables, templated buffers, etc.) needs encoding,
+ * not the allocation id; change {@link #version()} when the encoding changes,
+ * snapshots of another version are ignored and the creator is used instead
+ *
+ * @param <T> 对象类型 / Object type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public interface SnapshotCodec<T extends Resettable> {
+
+    /**
+     * 编码格式版本
+     * Encoding version
+     *
+     * @return 版本 / Version
+     */
+    int version();
+
+    /**
+     * 将对象编码写入缓冲区；空间不足时抛出 BufferOverflowException，将以更大的缓冲区重试
+     * Encode object into the buffer; throw BufferOverflowException when out of space,
+     * it is retried with a larger buffer
+     *
+     * @param obj 对象 / Object
+     * @param out 输出缓冲区 / Output buffer
+     */
+    void encode(T obj, ByteBuffer out);
+
+    /**
+     * 从缓冲区解码一个对象，缓冲区的 limit 即该记录的结尾
+     * Decode one object from the buffer, the limit of the buffer is the end of this record
+     *
+     * @param in 输入缓冲区，通常为内存映射 / Input buffer, usually memory-mapped
+     * @return 对象 / Object
+     */
+    T decode(ByteBuffer in);
+}
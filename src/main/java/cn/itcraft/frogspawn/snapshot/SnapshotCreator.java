@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.snapshot;
+
+import cn.itcraft.frogspawn.ObjectCreator;
+import cn.itcraft.frogspawn.Resettable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 从快照还原对象的创建器：依次解码快照中的记录，记录用完或解码失败后改用后备创建器
+ * Creator restoring objects from a snapshot: decodes records in order, switches to the fallback creator
+ * once records run out or decoding fails
+ * <p>
+ * 池构建时单线程调用；之后池耗尽时的失败处理可能并发调用，此时快照通常已用完，直接交给后备创建器
+ * <p>
+ * Called by a single thread while the pool is built; failovers on exhaustion may call it concurrently later,
+ * by then the snapshot is usually used up and calls go straight to the fallback creator
+ *
+ * @param <T> 对象类型 / Object type
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class SnapshotCreator<T extends Resettable> implements ObjectCreator<T> {
+
+    private final SnapshotCodec<T> codec;
+    private final ObjectCreator<T> fallback;
+    private final int records;
+
+    /**
+     * 定位到下一条记录的映射缓冲区，不再可用时为 null
+     * Mapped buffer positioned at the next record, null once unusable
+     */
+    private volatile ByteBuffer buffer;
+
+    private int remaining;
+    private volatile int restored;
+
+    SnapshotCreator(ByteBuffer buffer, SnapshotCodec<T> codec, ObjectCreator<T> fallback) {
+        this.codec = codec;
+        this.fallback = fallback;
+        this.records = buffer == null ? 0 : buffer.getInt(PoolSnapshot.COUNT_OFFSET);
+        this.remaining = records;
+        this.buffer = records > 0 ? buffer : null;
+    }
+
+    @Override
+    public T create() {
+        if (buffer != null) {
+            synchronized (this) {
+                T t = next();
+                if (t != null) {
+                    return t;
+                }
+            }
+        }
+        return fallback.create();
+    }
+
+    /**
+     * 快照中的记录数，快照不可用时为 0
+     * Record count of the snapshot, 0 when the snapshot is unusable
+     *
+     * @return 记录数 / Record count
+     */
+    public int records() {
+        return records;
+    }
+
+    /**
+     * 已从快照还原的对象数
+     * Objects restored from the snapshot so far
+     *
+     * @return 对象数 / Object count
+     */
+    public int restored() {
+        return restored;
+    }
+
+    private T next() {
+        ByteBuffer current = buffer;
+        if (current == null) {
+            return null;
+        }
+        T t;
+        try {
+            int length = current.getInt();
+            ByteBuffer record = current.slice();
+            record.limit(length);
+            t = codec.decode(record.order(ByteOrder.LITTLE_ENDIAN));
+            current.position(current.position() + length);
+        } catch (RuntimeException e) {
+            // 解码失败时余下的记录也不再可信
+            // Remaining records are not trusted either after a decode failure
+            t = null;
+        }
+        if (t == null || --remaining == 0) {
+            // 释放映射，由 GC 解除 / Drop the mapping, unmapped by GC
+            buffer = null;
+        }
+        if (t != null) {
+            restored++;
+        }
+        return t;
+    }
+}
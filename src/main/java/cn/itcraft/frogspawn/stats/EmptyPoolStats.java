@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.stats;
+
+/**
+ * 空统计，所有计数为 0，供未提供统计的内存池实现使用
+ * Empty statistics with all counts at 0, used by memory pool implementations providing no statistics
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+final class EmptyPoolStats implements PoolStats {
+
+    static final EmptyPoolStats INSTANCE = new EmptyPoolStats();
+
+    private EmptyPoolStats() {
+    }
+
+    @Override
+    public long getMainPoolFetchCount() {
+        return 0L;
+    }
+
+    @Override
+    public long getMainPoolHitCount() {
+        return 0L;
+    }
+
+    @Override
+    public long getFailoverCount() {
+        return 0L;
+    }
+
+    @Override
+    public long getOverflowHitCount() {
+        return 0L;
+    }
+
+    @Override
+    public int getOverflowSize() {
+        return 0;
+    }
+
+    @Override
+    public int getProbeBudget() {
+        return 0;
+    }
+
+    @Override
+    public double getProbeHitRate() {
+        return 0D;
+    }
+
+    @Override
+    public double getOccupancyEstimate() {
+        return 0D;
+    }
+}
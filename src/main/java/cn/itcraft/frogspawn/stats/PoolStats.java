@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.stats;
+
+/**
+ * 内存池运行统计，读取开销低，数值为近似值
+ * Memory pool runtime statistics, cheap to read, values are approximate
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public interface PoolStats {
+
+    /**
+     * 所有计数为 0 的空统计
+     * Empty statistics with all counts at 0
+     *
+     * @return 空统计 / Empty statistics
+     */
+    static PoolStats empty() {
+        return EmptyPoolStats.INSTANCE;
+    }
+
+    /**
+     * 缓存未命中后访问主池的次数
+     * Number of fetches reaching the main pool after cache miss
+     *
+     * @return 次数 / Count
+     */
+    long getMainPoolFetchCount();
+
+    /**
+     * 在主池中成功取得对象的次数
+     * Number of fetches that found an object in the main pool
+     * <p>
+     * 实现可对命中采样计数，此时主池访问、命中与探测次数为估计值
+     * Implementations may sample hits, in which case main pool fetch, hit and probe counts are estimates
+     *
+     * @return 次数 / Count
+     */
+    long getMainPoolHitCount();
+
+    /**
+     * 主池与溢出层均取对象失败后执行失败策略的次数
+     * Number of failovers executed after both main pool and overflow tier failed
+     *
+     * @return 次数 / Count
+     */
+    long getFailoverCount();
+
+    /**
+     * 主池取对象失败后由溢出层提供对象的次数
+     * Number of fetches served by the overflow tier after main pool fetch failed
+     *
+     * @return 次数 / Count
+     */
+    long getOverflowHitCount();
+
+    /**
+     * 溢出层当前收留的对象数
+     * Number of objects currently held by the overflow tier
+     *
+     * @return 对象数，未启用时为 0 / Object count, 0 when disabled
+     */
+    int getOverflowSize();
+
+    /**
+     * 当前每次访问主池的探测次数上限
+     * Current probe budget per main pool fetch
+     *
+     * @return 探测次数 / Probe budget
+     */
+    int getProbeBudget();
+
+    /**
+     * 探测命中率：成功探测次数 / 总探测次数
+     * Probe hit rate: successful probes / total probes
+     *
+     * @return 命中率，无探测时为 0 / Hit rate, 0 when no probe yet
+     */
+    double getProbeHitRate();
+
+    /**
+     * 主池探测过的槽位数，即遍历指针的推进次数
+     * Number of main pool slots probed, i.e. advances of the walker
+     *
+     * @return 次数 / Count
+     */
+    default long getProbeCount() {
+        return 0L;
+    }
+
+    /**
+     * 根据最近探测结果估算的主池占用率
+     * Main pool occupancy estimated from recent probes
+     *
+     * @return 占用率 [0, 1] / Occupancy [0, 1]
+     */
+    double getOccupancyEstimate();
+
+    /**
+     * 取对象时发现失效而被淘汰的对象数
+     * Number of objects found invalid on fetch and retired
+     *
+     * @return 次数 / Count
+     */
+    default long getInvalidationCount() {
+        return 0L;
+    }
+
+    /**
+     * 后台为被淘汰对象的槽位重新创建对象的次数
+     * Number of objects recreated in the background for slots of retired objects
+     *
+     * @return 次数 / Count
+     */
+    default long getRegenerationCount() {
+        return 0L;
+    }
+
+    /**
+     * 多次重建失败后放弃、将旧对象放回槽位的次数
+     * Number of regenerations given up after repeated failures, putting the old object back into its slot
+     *
+     * @return 次数 / Count
+     */
+    default long getRegenerationFailureCount() {
+        return 0L;
+    }
+
+    /**
+     * 被退役策略淘汰的对象数，含原地收缩与替换
+     * Number of objects retired by the retirement policy, both shrunk in place and replaced
+     *
+     * @return 次数 / Count
+     */
+    default long getRetirementCount() {
+        return 0L;
+    }
+
+    /**
+     * 退役后在后台原地收缩的对象数
+     * Number of retired objects shrunk in place in the background
+     *
+     * @return 次数 / Count
+     */
+    default long getShrinkCount() {
+        return 0L;
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.stats;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 池大小建议器：周期采样池的占用与失败处理，在滑动窗口中记录峰值，据此给出池大小与线程缓存深度的建议
+ * Pool sizing advisor: samples occupancy and failovers of a pool periodically, records peaks in sliding
+ * windows, and recommends pool size and thread cache depth from them
+ * <p>
+ * 每次采样的需求 = 使用中 + 线程缓存中 + 距上次采样的失败处理与溢出层命中次数（超出容量的部分）；
+ * 每个窗口保留需求、使用中与线程缓存驻留的峰值。采样只读取 available 等近似计数，不影响取用与归还，
+ * 采样周期应明显短于对象的持有时间，否则会漏掉瞬时峰值
+ * <p>
+ * Demand of a sample = in use + in thread caches + failovers and overflow hits since the previous sample
+ * (the part beyond capacity); each window keeps the peaks of demand, in-use and thread-cache residency.
+ * Sampling only reads approximate counters such as available, without disturbing fetch and release;
+ * the sampling period should be clearly shorter than how long objects are held, or transient peaks are missed
+ * <p>
+ * 线程缓存驻留超过容量一半，或出现失败处理时驻留超过容量四分之一，建议缓存深度减半，
+ * 并从池大小中扣除因此释放的驻留；驻留无法说明缓存过浅，因此不会建议加深
+ * <p>
+ * When thread-cache residency exceeds half of capacity, or a quarter of capacity while failovers occur,
+ * cache depth is halved and the residency freed by it is deducted from the size; residency can not show
+ * a too shallow cache, so deepening is never recommended
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class SizingAdvisor {
+
+    /**
+     * 覆盖 99% 窗口峰值的标准正态分位数
+     * Standard normal quantile covering 99% of window peaks
+     */
+    private static final double Z_COVERAGE = 2.326D;
+
+    /**
+     * 95% 置信区间的标准正态分位数
+     * Standard normal quantile of 95% confidence interval
+     */
+    private static final double Z_CONFIDENCE = 1.96D;
+
+    /**
+     * 需在 JVM 退出时写入提示的建议器，弱引用，建议器不再被引用时其池随之可回收；由单个共享的关闭钩子处理
+     * Advisors whose hints are written on JVM exit, weakly referenced so an advisor no longer in use and its pool
+     * can be collected; handled by a single shared shutdown hook
+     */
+    private static final Map<SizingAdvisor, HintTarget> PERSISTED = new WeakHashMap<>();
+
+    private static boolean hookInstalled;
+
+    private final ObjectsMemoryPool<?> pool;
+    private final PoolStats stats;
+    private final int cacheCapacity;
+    private final long windowNanos;
+
+    /**
+     * 已结束窗口的峰值，环形存放
+     * Peaks of closed windows, stored in a ring
+     */
+    private final long[] demandPeaks;
+    private final long[] residencyPeaks;
+    private final long[] excesses;
+    private long closed;
+
+    private long windowStart;
+    private boolean sampled;
+    private long demandPeak;
+    private long residencyPeak;
+    private long excess;
+    private long lastExcessCount;
+
+    /**
+     * 构造方法，窗口 1 分钟，保留 60 个窗口
+     * Constructor, 1 minute windows, keeps 60 windows
+     *
+     * @param pool          被观察的池 / Observed pool
+     * @param cacheCapacity 池当前的线程缓存深度 / Current thread cache depth of the pool
+     */
+    public SizingAdvisor(ObjectsMemoryPool<?> pool, int cacheCapacity) {
+        this(pool, cacheCapacity, TimeUnit.MINUTES.toMillis(1), 60);
+    }
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param pool          被观察的池，需支持占用查询 / Observed pool, must support occupancy queries
+     * @param cacheCapacity 池当前的线程缓存深度 / Current thread cache depth of the pool
+     * @param windowMillis  窗口长度（毫秒） / Window length in milliseconds
+     * @param windows       保留的窗口数 / Windows kept
+     */
+    public SizingAdvisor(ObjectsMemoryPool<?> pool, int cacheCapacity, long windowMillis, int windows) {
+        if (pool == null || pool.capacity() <= 0) {
+            throw new IllegalArgumentException("Pool must support occupancy queries");
+        }
+        if (cacheCapacity < 0 || windowMillis <= 0 || windows <= 0) {
+            throw new IllegalArgumentException("Should satisfy cacheCapacity >= 0, windowMillis > 0, windows > 0");
+        }
+        this.pool = pool;
+        this.stats = pool.stats();
+        this.cacheCapacity = cacheCapacity;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.demandPeaks = new long[windows];
+        this.residencyPeaks = new long[windows];
+        this.excesses = new long[windows];
+        this.windowStart = System.nanoTime();
+        this.lastExcessCount = excessCount();
+    }
+
+    /**
+     * 采样一次，通常由定时任务调用
+     * Take one sample, usually called by a scheduled task
+     */
+    public void sample() {
+        sample(System.nanoTime());
+    }
+
+    synchronized void sample(long now) {
+        if (now - windowStart >= windowNanos) {
+            if (sampled) {
+                closeWindow();
+            }
+            windowStart = now;
+        }
+        long excessCount = excessCount();
+        long burst = excessCount - lastExcessCount;
+        lastExcessCount = excessCount;
+        long residency = pool.inThreadCaches();
+        demandPeak = Math.max(demandPeak, pool.inUse() + residency + burst);
+        residencyPeak = Math.max(residencyPeak, residency);
+        excess += burst;
+        sampled = true;
+    }
+
+    /**
+     * 以固定周期采样
+     * Sample at fixed period
+     *
+     * @param executor 定时执行器 / Scheduled executor
+     * @param period   采样周期 / Sampling period
+     * @param unit     时间单位 / Time unit
+     * @return 定时任务，取消即停止采样 / Scheduled task, cancel it to stop sampling
+     */
+    public ScheduledFuture<?> schedule(ScheduledExecutorService executor, long period, TimeUnit unit) {
+        return executor.scheduleAtFixedRate(this::sample, period, period, unit);
+    }
+
+    /**
+     * 根据已保留的窗口及当前窗口给出建议；尚无采样时建议保持现状
+     * Recommend from kept windows and the current one; keeps current settings when nothing was sampled
+     *
+     * @return 建议 / Recommendation
+     */
+    public synchronized SizingRecommendation recommend() {
+        int kept = (int) Math.min(closed, demandPeaks.length);
+        int n = kept + (sampled ? 1 : 0);
+        int capacity = pool.capacity();
+        if (n == 0) {
+            return new SizingRecommendation(capacity, capacity, capacity, cacheCapacity, 0, 0L, 0L);
+        }
+        double sum = 0D;
+        long maxDemand = 0L;
+        long maxResidency = 0L;
+        long failovers = 0L;
+        for (int i = 0; i < n; i++) {
+            long demand = i < kept ? demandPeaks[i] : demandPeak;
+            sum += demand;
+            maxDemand = Math.max(maxDemand, demand);
+            maxResidency = Math.max(maxResidency, i < kept ? residencyPeaks[i] : residencyPeak);
+            failovers += i < kept ? excesses[i] : excess;
+        }
+        double mean = sum / n;
+        double squares = 0D;
+        for (int i = 0; i < n; i++) {
+            double diff = (i < kept ? demandPeaks[i] : demandPeak) - mean;
+            squares += diff * diff;
+        }
+        double deviation = n > 1 ? Math.sqrt(squares / (n - 1)) : 0D;
+
+        int depth = cacheCapacity;
+        if (depth > 0 && (maxResidency * 2 > capacity || (failovers > 0 && maxResidency * 4 > capacity))) {
+            depth >>= 1;
+        }
+        // 缓存变浅后释放的驻留 / Residency freed by the shallower cache
+        double freed = cacheCapacity > 0 ? maxResidency * (1D - (double) depth / cacheCapacity) : 0D;
+        double target = mean + Z_COVERAGE * deviation - freed;
+        double margin = n > 1 ? Z_CONFIDENCE * deviation / Math.sqrt(n) : 0D;
+        int size = (int) Math.max(1L, Math.max((long) Math.ceil(target), (long) Math.ceil(maxDemand - freed)));
+        int lower = (int) Math.max(1L, Math.min(size, (long) Math.ceil(target - margin)));
+        int upper = (int) Math.max(size, (long) Math.ceil(target + margin));
+        return new SizingRecommendation(size, lower, upper, depth, n, maxDemand, failovers);
+    }
+
+    /**
+     * JVM 退出时将建议写入提示文件，下次启动时由构建器的 sizingHint 读取。每个建议器只能登记一次；
+     * 登记只弱引用建议器，JVM 退出前已被回收的建议器不再写入
+     * <p>
+     * Write the recommendation to a hint file on JVM exit, read by sizingHint of the builder on next start.
+     * Each advisor can be registered once; the registration references the advisor weakly, advisors collected
+     * before JVM exit write nothing
+     *
+     * @param file 提示文件 / Hint file
+     * @param name 池名称 / Pool name
+     * @throws IllegalStateException 已登记过 / Already registered
+     */
+    public void persistOnShutdown(File file, String name) {
+        if (file == null || name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("File and name can not be empty");
+        }
+        synchronized (PERSISTED) {
+            if (PERSISTED.containsKey(this)) {
+                throw new IllegalStateException("Advisor is already persisted on shutdown");
+            }
+            if (!hookInstalled) {
+                Runtime.getRuntime().addShutdownHook(new Thread(SizingAdvisor::persistAll, "frogspawn-sizing-hint"));
+                hookInstalled = true;
+            }
+            PERSISTED.put(this, new HintTarget(file, name));
+        }
+    }
+
+    /**
+     * 取消退出时的写入
+     * Cancel writing on JVM exit
+     *
+     * @return 是否曾登记 / Whether it was registered
+     */
+    public boolean cancelPersist() {
+        synchronized (PERSISTED) {
+            return PERSISTED.remove(this) != null;
+        }
+    }
+
+    private static void persistAll() {
+        List<SizingAdvisor> advisors = new ArrayList<>();
+        List<HintTarget> targets = new ArrayList<>();
+        synchronized (PERSISTED) {
+            for (Map.Entry<SizingAdvisor, HintTarget> entry : PERSISTED.entrySet()) {
+                if (entry.getKey() != null) {
+                    advisors.add(entry.getKey());
+                    targets.add(entry.getValue());
+                }
+            }
+        }
+        for (int i = 0; i < advisors.size(); i++) {
+            HintTarget target = targets.get(i);
+            try {
+                SizingHints.save(target.file, target.name, advisors.get(i).recommend());
+            } catch (IOException e) {
+                // JVM 正在退出，保留上一次的提示 / JVM is exiting, the previous hint is kept
+            }
+        }
+    }
+
+    private void closeWindow() {
+        int slot = (int) (closed % demandPeaks.length);
+        demandPeaks[slot] = demandPeak;
+        residencyPeaks[slot] = residencyPeak;
+        excesses[slot] = excess;
+        closed++;
+        demandPeak = 0L;
+        residencyPeak = 0L;
+        excess = 0L;
+        sampled = false;
+    }
+
+    private long excessCount() {
+        return stats.getFailoverCount() + stats.getOverflowHitCount();
+    }
+
+    /**
+     * 提示文件与池名称，不引用建议器
+     * Hint file and pool name, does not reference the advisor
+     */
+    private static final class HintTarget {
+        private final File file;
+        private final String name;
+
+        HintTarget(File file, String name) {
+            this.file = file;
+            this.name = name;
+        }
+    }
+}
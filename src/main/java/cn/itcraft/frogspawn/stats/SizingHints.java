@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.stats;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * 池大小提示文件：以 properties 格式按池名称保存建议，多个池可共用一个文件
+ * Pool sizing hint file: saves recommendations by pool name in properties format, pools may share one file
+ * <pre>
+ * order.size=1536
+ * order.sizeLower=1420
+ * order.sizeUpper=1650
+ * order.cacheCapacity=8
+ * </pre>
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class SizingHints {
+
+    private static final String SIZE = ".size";
+    private static final String SIZE_LOWER = ".sizeLower";
+    private static final String SIZE_UPPER = ".sizeUpper";
+    private static final String CACHE_CAPACITY = ".cacheCapacity";
+    private static final String WINDOWS = ".windows";
+    private static final String PEAK_DEMAND = ".peakDemand";
+    private static final String FAILOVERS = ".failovers";
+
+    private SizingHints() {
+    }
+
+    /**
+     * 保存建议，保留文件中其他池的提示；先写临时文件再替换，避免退出时写坏
+     * Save recommendation, keeping hints of other pools in the file; writes a temporary file then replaces,
+     * so an exit in the middle can not corrupt it
+     *
+     * @param file           提示文件 / Hint file
+     * @param name           池名称 / Pool name
+     * @param recommendation 建议 / Recommendation
+     * @throws IOException 读写失败 / Read or write failed
+     */
+    public static synchronized void save(File file, String name, SizingRecommendation recommendation)
+            throws IOException {
+        Properties properties = read(file);
+        properties.setProperty(name + SIZE, String.valueOf(recommendation.getSize()));
+        properties.setProperty(name + SIZE_LOWER, String.valueOf(recommendation.getSizeLower()));
+        properties.setProperty(name + SIZE_UPPER, String.valueOf(recommendation.getSizeUpper()));
+        properties.setProperty(name + CACHE_CAPACITY, String.valueOf(recommendation.getCacheCapacity()));
+        properties.setProperty(name + WINDOWS, String.valueOf(recommendation.getWindows()));
+        properties.setProperty(name + PEAK_DEMAND, String.valueOf(recommendation.getPeakDemand()));
+        properties.setProperty(name + FAILOVERS, String.valueOf(recommendation.getFailovers()));
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Can not create " + dir);
+        }
+        File temp = new File(dir, file.getName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp.toPath())) {
+            properties.store(out, "frogspawn sizing hints");
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 读取建议
+     * Load recommendation
+     *
+     * @param file 提示文件 / Hint file
+     * @param name 池名称 / Pool name
+     * @return 建议，文件或条目不存在时为 null / Recommendation, null when file or entry is absent
+     * @throws IOException 读取失败 / Read failed
+     */
+    public static synchronized SizingRecommendation load(File file, String name) throws IOException {
+        Properties properties = read(file);
+        String size = properties.getProperty(name + SIZE);
+        if (size == null) {
+            return null;
+        }
+        try {
+            return new SizingRecommendation(Integer.parseInt(size),
+                                            Integer.parseInt(properties.getProperty(name + SIZE_LOWER, size)),
+                                            Integer.parseInt(properties.getProperty(name + SIZE_UPPER, size)),
+                                            Integer.parseInt(properties.getProperty(name + CACHE_CAPACITY, "0")),
+                                            Integer.parseInt(properties.getProperty(name + WINDOWS, "0")),
+                                            Long.parseLong(properties.getProperty(name + PEAK_DEMAND, "0")),
+                                            Long.parseLong(properties.getProperty(name + FAILOVERS, "0")));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed sizing hint of [" + name + "] in " + file, e);
+        }
+    }
+
+    private static Properties read(File file) throws IOException {
+        Properties properties = new Properties();
+        if (file.isFile()) {
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+}
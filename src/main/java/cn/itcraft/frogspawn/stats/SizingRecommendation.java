@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.stats;
+
+/**
+ * 池大小与线程缓存深度的建议值，不可变
+ * Recommended pool size and thread cache depth, immutable
+ * <p>
+ * size 覆盖约 99% 窗口的峰值需求（正态近似），[sizeLower, sizeUpper] 为其 95% 置信区间；
+ * 窗口数越少区间越宽，窗口数小于 2 时区间退化为单点
+ * <p>
+ * size covers the peak demand of about 99% of windows (normal approximation), [sizeLower, sizeUpper] is
+ * its 95% confidence interval; the fewer windows, the wider the interval, it degenerates to a point
+ * with fewer than 2 windows
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class SizingRecommendation {
+
+    private final int size;
+    private final int sizeLower;
+    private final int sizeUpper;
+    private final int cacheCapacity;
+    private final int windows;
+    private final long peakDemand;
+    private final long failovers;
+
+    /**
+     * 构造方法
+     * Constructor
+     *
+     * @param size          建议的池大小 / Recommended pool size
+     * @param sizeLower     置信区间下限 / Lower bound of confidence interval
+     * @param sizeUpper     置信区间上限 / Upper bound of confidence interval
+     * @param cacheCapacity 建议的线程缓存深度 / Recommended thread cache depth
+     * @param windows       参与计算的窗口数 / Windows taken into account
+     * @param peakDemand    观察到的最大峰值需求 / Largest observed peak demand
+     * @param failovers     窗口内的失败处理与溢出层命中次数 / Failovers and overflow hits in windows
+     */
+    public SizingRecommendation(int size, int sizeLower, int sizeUpper, int cacheCapacity, int windows,
+                                long peakDemand, long failovers) {
+        if (size <= 0 || sizeLower > size || sizeUpper < size || cacheCapacity < 0) {
+            throw new IllegalArgumentException("Should satisfy 0 < size, sizeLower <= size <= sizeUpper,"
+                                                       + " 0 <= cacheCapacity");
+        }
+        this.size = size;
+        this.sizeLower = sizeLower;
+        this.sizeUpper = sizeUpper;
+        this.cacheCapacity = cacheCapacity;
+        this.windows = windows;
+        this.peakDemand = peakDemand;
+        this.failovers = failovers;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getSizeLower() {
+        return sizeLower;
+    }
+
+    public int getSizeUpper() {
+        return sizeUpper;
+    }
+
+    public int getCacheCapacity() {
+        return cacheCapacity;
+    }
+
+    public int getWindows() {
+        return windows;
+    }
+
+    public long getPeakDemand() {
+        return peakDemand;
+    }
+
+    public long getFailovers() {
+        return failovers;
+    }
+
+    @Override
+    public String toString() {
+        return "SizingRecommendation{size=" + size + " [" + sizeLower + ", " + sizeUpper + "]"
+                + ", cacheCapacity=" + cacheCapacity + ", windows=" + windows
+                + ", peakDemand=" + peakDemand + ", failovers=" + failovers + '}';
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.strategy;
+
+/**
+ * 一级缓存策略，定义对象在进入主池前的缓存方式
+ * First level cache strategy, defines how objects are cached before reaching the main pool
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public enum CacheStrategy {
+    /**
+     * 每个线程独享一个栈式缓存，适合数量固定的平台线程
+     * Each thread owns a stack cache, suitable for a fixed number of platform threads
+     */
+    THREAD_LOCAL,
+
+    /**
+     * 按 CPU 条带划分的共享缓存，缓存大小与线程数无关，适合虚拟线程
+     * Shared cache striped by CPU, size independent of thread count, suitable for virtual threads
+     */
+    STRIPED,
+
+    /**
+     * 自动探测：虚拟线程使用条带缓存，平台线程使用线程本地缓存
+     * Auto detect: virtual threads use striped cache, platform threads use thread-local cache
+     */
+    AUTO
+}
@@ -16,6 +16,8 @@
  */
 package cn.itcraft.frogspawn.strategy;
 
+import cn.itcraft.frogspawn.failrestore.FailRestorer;
+
 /**
  * 对象池策略，定义从池中获取对象的不同策略
  * Object pool strategy enum, defines different strategies for fetching objects from the pool
@@ -26,21 +28,57 @@ package cn.itcraft.frogspawn.strategy;
  */
 public class PoolStrategy {
     private final FetchStrategy fetchStrategy;
-    private final FetchFailStrategy fetchFailStrategy;
+    private final FailRestorer failRestorer;
+    private final CacheStrategy cacheStrategy;
 
     public PoolStrategy(FetchStrategy fetchStrategy, FetchFailStrategy fetchFailStrategy) {
-        if (fetchStrategy == null || fetchFailStrategy == null) {
+        this(fetchStrategy, fetchFailStrategy, CacheStrategy.AUTO);
+    }
+
+    public PoolStrategy(FetchStrategy fetchStrategy, FetchFailStrategy fetchFailStrategy,
+                        CacheStrategy cacheStrategy) {
+        this(fetchStrategy, (FailRestorer) fetchFailStrategy, cacheStrategy);
+    }
+
+    /**
+     * 使用自定义失败恢复处理器，例如限流的 ThrottledFailRestorer
+     * Use custom failure restorer, e.g. the rate limiting ThrottledFailRestorer
+     *
+     * @param fetchStrategy 获取策略 / Fetch strategy
+     * @param failRestorer  失败恢复处理器 / Failure restorer
+     * @param cacheStrategy 缓存策略 / Cache strategy
+     */
+    public PoolStrategy(FetchStrategy fetchStrategy, FailRestorer failRestorer, CacheStrategy cacheStrategy) {
+        if (fetchStrategy == null || failRestorer == null) {
             throw new IllegalArgumentException("FetchStrategy or FetchFailStrategy should not be null");
         }
+        if (cacheStrategy == null) {
+            throw new IllegalArgumentException("CacheStrategy should not be null");
+        }
         this.fetchStrategy = fetchStrategy;
-        this.fetchFailStrategy = fetchFailStrategy;
+        this.failRestorer = failRestorer;
+        this.cacheStrategy = cacheStrategy;
     }
 
     public FetchStrategy getFetchStrategy() {
         return fetchStrategy;
     }
 
+    /**
+     * 获取内置失败策略
+     * Get built-in failure strategy
+     *
+     * @return 内置失败策略，使用自定义失败恢复处理器时为 null / Built-in strategy, null for custom restorer
+     */
     public FetchFailStrategy getFetchFailStrategy() {
-        return fetchFailStrategy;
+        return failRestorer instanceof FetchFailStrategy ? (FetchFailStrategy) failRestorer : null;
+    }
+
+    public FailRestorer getFailRestorer() {
+        return failRestorer;
+    }
+
+    public CacheStrategy getCacheStrategy() {
+        return cacheStrategy;
     }
 }
\ No newline at end of file
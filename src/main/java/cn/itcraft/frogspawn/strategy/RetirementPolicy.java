@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.strategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对象退役策略：按使用次数、存活时间或保留内存大小淘汰池中对象，控制长期运行后的内存膨胀
+ * Retirement policy: retires pooled objects by use count, age or retained size,
+ * to cap memory bloat of long running pools
+ * <p>
+ * 检查在归还时进行，退役对象的槽位保持占用，由后台线程原地收缩或调用创建器替换后再放回
+ * Checked on release, the slot of a retired object stays claimed until the background thread
+ * shrinks the object in place or replaces it through the creator
+ * <p>
+ * 各项为 0 表示不限制
+ * Each limit of 0 means unlimited
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class RetirementPolicy {
+
+    /**
+     * 不退役
+     * Never retire
+     */
+    public static final RetirementPolicy NONE = new RetirementPolicy(0, 0L, 0L);
+
+    private final int maxUses;
+    private final long maxAgeNanos;
+    private final long maxRetainedSize;
+
+    private RetirementPolicy(int maxUses, long maxAgeNanos, long maxRetainedSize) {
+        if (maxUses < 0 || maxAgeNanos < 0 || maxRetainedSize < 0) {
+            throw new IllegalArgumentException("Retirement limits must not be negative");
+        }
+        this.maxUses = maxUses;
+        this.maxAgeNanos = maxAgeNanos;
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    /**
+     * 返回限制使用次数的新策略，对象被归还该次数后退役
+     * Return a new policy limiting use count, objects retire after being released that many times
+     *
+     * @param maxUses 最大使用次数，0 表示不限制 / Max uses, 0 means unlimited
+     * @return 新策略 / New policy
+     */
+    public RetirementPolicy maxUses(int maxUses) {
+        return new RetirementPolicy(maxUses, maxAgeNanos, maxRetainedSize);
+    }
+
+    /**
+     * 返回限制存活时间的新策略，自对象创建起计时
+     * Return a new policy limiting age, counted from object creation
+     *
+     * @param maxAge 最大存活时间，0 表示不限制 / Max age, 0 means unlimited
+     * @param unit   时间单位 / Time unit
+     * @return 新策略 / New policy
+     */
+    public RetirementPolicy maxAge(long maxAge, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Time unit can not be null");
+        }
+        return new RetirementPolicy(maxUses, unit.toNanos(maxAge), maxRetainedSize);
+    }
+
+    /**
+     * 返回限制保留内存的新策略，大小由 Resettable.retainedSize() 报告，超过时先尝试 Resettable.shrink()
+     * Return a new policy limiting retained size reported by Resettable.retainedSize(),
+     * Resettable.shrink() is tried first when exceeded
+     *
+     * @param maxRetainedSize 最大保留大小，单位由对象自行约定，0 表示不限制
+     *                        Max retained size, unit defined by the object, 0 means unlimited
+     * @return 新策略 / New policy
+     */
+    public RetirementPolicy maxRetainedSize(long maxRetainedSize) {
+        return new RetirementPolicy(maxUses, maxAgeNanos, maxRetainedSize);
+    }
+
+    public int getMaxUses() {
+        return maxUses;
+    }
+
+    public long getMaxAgeNanos() {
+        return maxAgeNanos;
+    }
+
+    public long getMaxRetainedSize() {
+        return maxRetainedSize;
+    }
+
+    /**
+     * 是否设置了任一限制
+     * Whether any limit is set
+     *
+     * @return 是否启用 / Whether enabled
+     */
+    public boolean isEnabled() {
+        return maxUses > 0 || maxAgeNanos > 0 || maxRetainedSize > 0;
+    }
+}
@@ -139,6 +139,37 @@ public final class ArrayUtil {
         UNSAFE.putObject(array, locateInArray(sequence, mask), t);
     }
 
+    /**
+     * 以 volatile 语义读取数组中指定位置的元素
+     * Get an element at specified position in the array with volatile semantics
+     *
+     * @param array    目标数组 Target array
+     * @param mask     掩码（用于快速取模）Mask for fast modulo
+     * @param sequence 元素序号 Element sequence
+     * @param <T>      元素类型 Element type
+     * @return 数组元素 Array element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T elementAtVolatile(T[] array, int mask, long sequence) {
+        return (T) UNSAFE.getObjectVolatile(array, locateInArray(sequence, mask));
+    }
+
+    /**
+     * 以 CAS 方式替换数组指定位置的元素
+     * Compare-and-swap the element at specified position in array
+     *
+     * @param array    目标数组 Target array
+     * @param mask     掩码（用于快速取模）Mask for fast modulo
+     * @param sequence 元素序号 Element sequence
+     * @param expected 期望值 Expected value
+     * @param t        要写入的值 Value to set
+     * @param <T>      元素类型 Element type
+     * @return 是否替换成功 Whether the swap succeeded
+     */
+    public static <T> boolean compareAndSwapElementAt(T[] array, int mask, long sequence, T expected, T t) {
+        return UNSAFE.compareAndSwapObject(array, locateInArray(sequence, mask), expected, t);
+    }
+
     /**
      * 查找不小于输入值的最小2的幂次方。当输入为0时返回1。若输入为负数则抛出异常。
      * Finds the smallest power of two that is greater than or equal to the input value. Returns 1 if the input is 0. Throws an exception for negative inputs.
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.util;
+
+import sun.misc.Unsafe;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 线程工具类
+ * Thread utility class
+ * <p>
+ * 通过 MethodHandle 探测 JDK 21+ 的 Thread.isVirtual()，在低版本 JDK 上始终视为平台线程；
+ * 虚拟线程的实现类只解析一次，之后的判断只比较线程的类
+ * <p>
+ * Probes Thread.isVirtual() of JDK 21+ via MethodHandle, always treats threads as platform threads on older JDKs;
+ * implementation classes of virtual threads are resolved once, later checks only compare the thread's class
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public final class ThreadUtil {
+
+    /**
+     * Thread.isVirtual() 方法句柄，不支持时为 null
+     * Method handle of Thread.isVirtual(), null when unsupported
+     */
+    private static final MethodHandle IS_VIRTUAL;
+
+    /**
+     * 虚拟线程的实现类，未能解析时为 null，此时退回方法句柄
+     * Implementation classes of virtual threads, null when unresolved, falling back to the method handle
+     */
+    private static final Class<?> VIRTUAL_THREAD_CLASS;
+    private static final Class<?> BOUND_VIRTUAL_THREAD_CLASS;
+
+    private static final Unsafe UNSAFE = UnsafeUtil.getUnsafe();
+
+    /**
+     * Thread.threadLocalRandomProbe 字段偏移量，与 ThreadLocalRandom、LongAdder 共用同一探针，不可用时为 -1
+     * Offset of Thread.threadLocalRandomProbe, the probe shared with ThreadLocalRandom and LongAdder, -1 if unavailable
+     */
+    private static final long PROBE;
+
+    static {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup()
+                                  .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // JDK 21 以下没有虚拟线程
+            // No virtual thread below JDK 21
+            handle = null;
+        }
+        IS_VIRTUAL = handle;
+        VIRTUAL_THREAD_CLASS = handle == null ? null : findClass("java.lang.VirtualThread");
+        BOUND_VIRTUAL_THREAD_CLASS = handle == null ? null : findClass("java.lang.ThreadBuilders$BoundVirtualThread");
+        long probe;
+        try {
+            probe = UNSAFE.objectFieldOffset(Thread.class.getDeclaredField("threadLocalRandomProbe"));
+        } catch (NoSuchFieldException | RuntimeException e) {
+            probe = -1L;
+        }
+        PROBE = probe;
+    }
+
+    private static Class<?> findClass(String name) {
+        try {
+            return Class.forName(name, false, Thread.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * 私有构造函数防止实例化
+     * Private constructor to prevent instantiation
+     */
+    private ThreadUtil() {
+    }
+
+    /**
+     * 当前 JVM 是否支持虚拟线程
+     * Whether current JVM supports virtual threads
+     *
+     * @return 是否支持 / Whether supported
+     */
+    public static boolean isVirtualThreadSupported() {
+        return IS_VIRTUAL != null;
+    }
+
+    /**
+     * 当前线程 ID 的散列值，混合高低位，使相邻的线程 ID 分散到不同条带
+     * Hash of current thread id, mixes high and low bits so adjacent thread ids spread across stripes
+     *
+     * @return 散列值 / Hash value
+     */
+    public static int threadHash() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 当前线程的探针，首次使用时初始化为随机值；同一载体上的虚拟线程各自持有探针，不按线程 ID 顺序聚集。
+     * 探针不可用时退回线程 ID 散列
+     * <p>
+     * Probe of current thread, initialized to a random value on first use; virtual threads on the same carrier
+     * each hold their own probe instead of clustering by sequential thread id. Falls back to the thread id hash
+     * when the probe is unavailable
+     *
+     * @return 非零探针 / Non-zero probe
+     */
+    public static int probe() {
+        if (PROBE < 0) {
+            return threadHash() | 1;
+        }
+        Thread thread = Thread.currentThread();
+        int probe = UNSAFE.getInt(thread, PROBE);
+        if (probe == 0) {
+            // 强制初始化探针 / Force probe initialization
+            ThreadLocalRandom.current();
+            probe = UNSAFE.getInt(thread, PROBE);
+        }
+        return probe;
+    }
+
+    /**
+     * CAS 失败后重新散列当前线程的探针，使竞争的线程分散到其他条带
+     * Rehash the probe of current thread after a CAS failure, moving contending threads to other stripes
+     *
+     * @param probe 当前探针 / Current probe
+     * @return 新探针 / New probe
+     */
+    public static int advanceProbe(int probe) {
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        probe ^= probe << 5;
+        if (PROBE >= 0) {
+            UNSAFE.putInt(Thread.currentThread(), PROBE, probe);
+        }
+        return probe;
+    }
+
+    /**
+     * 判断线程是否为虚拟线程
+     * Check whether the thread is a virtual thread
+     *
+     * @param thread 线程 / Thread
+     * @return 是否为虚拟线程 / Whether it is a virtual thread
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        if (VIRTUAL_THREAD_CLASS != null) {
+            Class<?> type = thread.getClass();
+            return type == VIRTUAL_THREAD_CLASS || type == BOUND_VIRTUAL_THREAD_CLASS;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+}
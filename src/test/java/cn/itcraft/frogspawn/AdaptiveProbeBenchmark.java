@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 高占用率下固定探测次数与自适应探测次数的对比
+ * Fixed probe budget vs adaptive probe budget under high occupancy
+ * <p>
+ * held: 预先占用且不归还的对象百分比
+ * failovers: 每轮中主池取对象失败、交由失败策略新建对象的次数
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Threads(value = 4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class AdaptiveProbeBenchmark {
+
+    private static final int POOL_SIZE = 1024;
+    private static final int BATCH = 32;
+
+    @Param({"50", "95", "100"})
+    private int held;
+
+    private final List<DemoPojo> heldObjects = new ArrayList<>();
+    private ObjectsMemoryPool<DemoPojo> pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = ObjectsMemoryPoolFactory.newPool(new DemoPojoCreator(), POOL_SIZE,
+                                                new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NEW,
+                                                                 FetchFailStrategy.CALL_CREATOR,
+                                                                 CacheStrategy.THREAD_LOCAL));
+        int count = POOL_SIZE * held / 100;
+        for (int i = 0; i < count; i++) {
+            heldObjects.add(pool.fetch());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void testAdaptive(Batch batch, Counters counters) {
+        fetchAndRelease(batch, counters);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    @Fork(jvmArgsAppend = {"-Dfrogspawn.fetch.times.min=10", "-Dfrogspawn.fetch.times.max=10"})
+    public void testFixed(Batch batch, Counters counters) {
+        fetchAndRelease(batch, counters);
+    }
+
+    private void fetchAndRelease(Batch batch, Counters counters) {
+        long before = pool.stats().getFailoverCount();
+        DemoPojo[] objects = batch.objects;
+        for (int i = 0; i < BATCH; i++) {
+            objects[i] = pool.fetch();
+            objects[i].setVal1(i);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            pool.release(objects[i]);
+            objects[i] = null;
+        }
+        // 多线程共享统计，各线程计数之和略大于真实值，仅用于比较
+        // Stats are shared among threads, the sum over threads overcounts slightly, for comparison only
+        counters.failovers += pool.stats().getFailoverCount() - before;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (DemoPojo pojo : heldObjects) {
+            pool.release(pojo);
+        }
+        heldObjects.clear();
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        private final DemoPojo[] objects = new DemoPojo[BATCH];
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long failovers;
+    }
+}
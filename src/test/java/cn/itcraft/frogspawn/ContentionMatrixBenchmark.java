@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 竞争矩阵：池大小 × 线程缓存深度 × 占用率 × 获取策略 × 失败策略，线程数由 ContentionMatrixRunner 逐一指定
+ * Contention matrix: pool size × thread cache depth × occupancy × fetch strategy × fail strategy,
+ * thread counts are applied one by one by ContentionMatrixRunner
+ * <p>
+ * 占用率表示预先取出并一直持有的对象比例；failovers 辅助计数为未能从池中取得对象的次数
+ * （新建、返回 null 或抛出异常），与主结果相除即为失败率
+ * <p>
+ * Occupancy is the share of objects fetched up front and held throughout; the failovers aux counter counts
+ * fetches not served by the pool (created, null or thrown), divided by the primary score it gives failover rate
+ * <p>
+ * MUST_FETCH_IN_POOL 下至少为每个线程留出一个空闲对象，否则会无限等待；该策略不使用失败策略，
+ * ContentionMatrixRunner 只为它运行一个失败策略，直接运行本基准时其余两个组合结果相同
+ * <p>
+ * Under MUST_FETCH_IN_POOL at least one free object is left per thread, otherwise it would wait forever;
+ * it ignores the fail strategy, so ContentionMatrixRunner runs it with one fail strategy only, when running
+ * this benchmark directly the other two combinations give identical results
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ContentionMatrixBenchmark {
+
+    @Param({"64", "1024", "16384"})
+    private int poolSize;
+
+    @Param({"0", "8", "64"})
+    private int cacheCapacity;
+
+    /**
+     * 预先持有的对象百分比
+     * Percentage of objects held up front
+     */
+    @Param({"0", "50", "90"})
+    private int occupancy;
+
+    @Param({"MUST_FETCH_IN_POOL", "FETCH_FAIL_AS_NULL", "FETCH_FAIL_AS_NEW"})
+    private FetchStrategy fetchStrategy;
+
+    @Param({"NOT_AVAILABLE", "NULLABLE", "CALL_CREATOR"})
+    private FetchFailStrategy failStrategy;
+
+    private ObjectsMemoryPool<DemoPojo> pool;
+    private DemoPojo[] held;
+
+    @Setup(Level.Trial)
+    public void setup(BenchmarkParams params) {
+        pool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                       .size(poolSize)
+                                       .cacheCapacity(cacheCapacity)
+                                       .poolStrategy(new PoolStrategy(fetchStrategy, failStrategy,
+                                                                      CacheStrategy.THREAD_LOCAL))
+                                       .build();
+        int hold = poolSize * occupancy / 100;
+        if (fetchStrategy == FetchStrategy.MUST_FETCH_IN_POOL) {
+            hold = Math.min(hold, Math.max(0, poolSize - params.getThreads()));
+        }
+        held = new DemoPojo[hold];
+        for (int i = 0; i < held.length; i++) {
+            held[i] = pool.fetch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (DemoPojo pojo : held) {
+            if (pojo != null) {
+                pool.release(pojo);
+            }
+        }
+    }
+
+    @Benchmark
+    public void testFetchAndRelease(Counters counters, Blackhole blackhole) {
+        DemoPojo pojo;
+        try {
+            pojo = pool.fetch();
+        } catch (RuntimeException e) {
+            counters.failovers++;
+            return;
+        }
+        if (pojo == null) {
+            counters.failovers++;
+            return;
+        }
+        if (pojo.getMarkedId() < 0) {
+            counters.failovers++;
+        }
+        blackhole.consume(pojo);
+        pool.release(pojo);
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long failovers;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            failovers = 0;
+        }
+    }
+}
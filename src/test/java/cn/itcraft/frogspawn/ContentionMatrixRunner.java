@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ContentionMatrixBenchmark 的统一入口：逐个线程数运行矩阵，开启 GC 分析，
+ * 每个线程数输出一份 JMH JSON，并汇总为一份 CSV，便于比较不同版本
+ * Single entry of ContentionMatrixBenchmark: runs the matrix for each thread count with the GC profiler,
+ * writes one JMH JSON per thread count and a combined CSV, for comparing releases
+ * <p>
+ * MUST_FETCH_IN_POOL 不会失败，与失败策略无关，因此单独运行一次，只取第一个失败策略，CSV 中失败策略记为 -；
+ * 其余获取策略与失败策略交叉运行
+ * <p>
+ * MUST_FETCH_IN_POOL never fails and ignores the fail strategy, so it runs in a separate pass with the first
+ * fail strategy only, recorded as - in the CSV; the other fetch strategies are crossed with the fail strategies
+ * <p>
+ * 参数形如 key=value：threads、forks、warmup、iterations、time（秒）、out，
+ * 以及 ContentionMatrixBenchmark 的任意 @Param 名称，多个值以逗号分隔
+ * <p>
+ * Arguments are key=value: threads, forks, warmup, iterations, time (seconds), out,
+ * and any @Param name of ContentionMatrixBenchmark, multiple values separated by comma
+ * <pre>
+ * ./run_bench.sh threads=1,16 poolSize=1024 fetchStrategy=FETCH_FAIL_AS_NEW
+ * </pre>
+ */
+public final class ContentionMatrixRunner {
+
+    private static final String[] PARAMS = {"poolSize", "cacheCapacity", "occupancy"};
+
+    private static final String FETCH_STRATEGY = "fetchStrategy";
+    private static final String FAIL_STRATEGY = "failStrategy";
+
+    private ContentionMatrixRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("threads", "1,2,4,8,16");
+        options.put("forks", "1");
+        options.put("warmup", "3");
+        options.put("iterations", "5");
+        options.put("time", "1");
+        options.put("out", "target/bench/" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Argument must be key=value: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        File out = new File(options.get("out"));
+        if (!out.isDirectory() && !out.mkdirs()) {
+            throw new IOException("Can not create " + out);
+        }
+        String[] failStrategies = values(options, FAIL_STRATEGY);
+        List<String> crossed = new ArrayList<>();
+        boolean mustFetch = false;
+        for (String fetchStrategy : values(options, FETCH_STRATEGY)) {
+            if (FetchStrategy.MUST_FETCH_IN_POOL.name().equals(fetchStrategy)) {
+                mustFetch = true;
+            } else {
+                crossed.add(fetchStrategy);
+            }
+        }
+        File csv = new File(out, "contention-matrix.csv");
+        try (PrintWriter writer = new PrintWriter(csv, StandardCharsets.UTF_8.name())) {
+            writer.println("threads,poolSize,cacheCapacity,occupancy,fetchStrategy,failStrategy,"
+                                   + "opsPerUs,opsError,allocBytesPerOp,failoverRate");
+            for (String threads : options.get("threads").split(",")) {
+                int t = Integer.parseInt(threads.trim());
+                if (!crossed.isEmpty()) {
+                    run(options, t, crossed.toArray(new String[0]), failStrategies,
+                        new File(out, "contention-" + t + "t.json"), writer);
+                }
+                if (mustFetch) {
+                    run(options, t, new String[]{FetchStrategy.MUST_FETCH_IN_POOL.name()},
+                        new String[]{failStrategies[0]}, new File(out, "contention-" + t + "t-must.json"), writer);
+                }
+            }
+        }
+        System.out.println("Results written to " + out.getAbsolutePath());
+    }
+
+    private static void run(Map<String, String> options, int threads, String[] fetchStrategies,
+                            String[] failStrategies, File json, PrintWriter writer) throws RunnerException {
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(ContentionMatrixBenchmark.class.getName())
+                .threads(threads)
+                .forks(Integer.parseInt(options.get("forks")))
+                .warmupIterations(Integer.parseInt(options.get("warmup")))
+                .measurementIterations(Integer.parseInt(options.get("iterations")))
+                .warmupTime(TimeValue.seconds(Long.parseLong(options.get("time"))))
+                .measurementTime(TimeValue.seconds(Long.parseLong(options.get("time"))))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(json.getPath())
+                .param(FETCH_STRATEGY, fetchStrategies)
+                .param(FAIL_STRATEGY, failStrategies);
+        for (String param : PARAMS) {
+            if (options.containsKey(param)) {
+                builder.param(param, options.get(param).split(","));
+            }
+        }
+        Collection<RunResult> results = new Runner(builder.build()).run();
+        for (RunResult result : results) {
+            writer.println(toCsv(result));
+        }
+        writer.flush();
+    }
+
+    /**
+     * 参数的取值：命令行指定的值，否则为 ContentionMatrixBenchmark 中 @Param 的默认值
+     * Values of a parameter: given on command line, otherwise the @Param defaults of ContentionMatrixBenchmark
+     */
+    private static String[] values(Map<String, String> options, String param) {
+        String value = options.get(param);
+        if (value != null) {
+            return value.split(",");
+        }
+        try {
+            return ContentionMatrixBenchmark.class.getDeclaredField(param).getAnnotation(Param.class).value();
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toCsv(RunResult result) {
+        BenchmarkParams params = result.getParams();
+        Result<?> primary = result.getPrimaryResult();
+        double ops = primary.getScore();
+        double alloc = Double.NaN;
+        double failovers = 0D;
+        for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+            if (entry.getKey().endsWith("gc.alloc.rate.norm")) {
+                alloc = entry.getValue().getScore();
+            } else if ("failovers".equals(entry.getKey())) {
+                failovers = entry.getValue().getScore();
+            }
+        }
+        StringBuilder line = new StringBuilder().append(params.getThreads());
+        for (String param : PARAMS) {
+            line.append(',').append(params.getParam(param));
+        }
+        String fetchStrategy = params.getParam(FETCH_STRATEGY);
+        line.append(',').append(fetchStrategy)
+            .append(',').append(FetchStrategy.MUST_FETCH_IN_POOL.name().equals(fetchStrategy)
+                                        ? "-" : params.getParam(FAIL_STRATEGY));
+        return line.append(',').append(format(ops))
+                   .append(',').append(format(primary.getScoreError()))
+                   .append(',').append(format(alloc))
+                   .append(',').append(format(ops > 0 ? failovers / ops : 0D))
+                   .toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+}
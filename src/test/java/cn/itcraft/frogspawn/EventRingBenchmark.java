@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.ring.EventHandler;
+import cn.itcraft.frogspawn.ring.EventRing;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件环与对象池加 ArrayBlockingQueue 的线程间传递对比，两个生产者一个消费者
+ * Inter-thread messaging by event ring vs object pool plus ArrayBlockingQueue, two producers and one consumer
+ * <p>
+ * 吞吐量看 published/consumed 辅助计数（每微秒事件数）；SampleTime 给出生产与消费单次调用的延迟分布。
+ * 生产者在环满或队列满时让出 CPU 并返回，保证迭代结束时不会阻塞
+ * <p>
+ * Throughput is read from the published/consumed aux counters (events per microsecond); SampleTime gives
+ * latency distribution of single produce and consume calls. Producers yield and return when the ring or queue
+ * is full, so nothing blocks when an iteration ends
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+public class EventRingBenchmark {
+
+    private static final int CAPACITY = 1024;
+
+    private EventRing<Event> ring;
+    private ObjectsMemoryPool<Event> pool;
+    private ArrayBlockingQueue<Event> queue;
+    private final EventHandler<Event> handler = (event, sequence, endOfBatch) -> event.checksum += event.value;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        ring = new EventRing<>(Event::new, CAPACITY, EventRing.ProducerType.MULTI);
+        pool = ObjectsMemoryPoolFactory.newPool(Event::new, CAPACITY);
+        queue = new ArrayBlockingQueue<>(CAPACITY);
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(2)
+    public void ringProduce(Counters counters) {
+        long seq = ring.tryNext(1);
+        if (seq < 0) {
+            Thread.yield();
+            return;
+        }
+        ring.get(seq).value = seq;
+        ring.publish(seq);
+        counters.published++;
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(1)
+    public void ringConsume(Counters counters) {
+        int handled = ring.poll(handler);
+        if (handled == 0) {
+            Thread.yield();
+        }
+        counters.consumed += handled;
+    }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(2)
+    public void queueProduce(Counters counters) {
+        Event event = pool.fetch();
+        event.value = counters.published;
+        if (queue.offer(event)) {
+            counters.published++;
+        } else {
+            pool.release(event);
+            Thread.yield();
+        }
+    }
+
+    @Benchmark
+    @Group("queue")
+    @GroupThreads(1)
+    public void queueConsume(Counters counters) {
+        Event event = queue.poll();
+        if (event == null) {
+            Thread.yield();
+            return;
+        }
+        event.checksum += event.value;
+        pool.release(event);
+        counters.consumed++;
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long published;
+        public long consumed;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            published = 0;
+            consumed = 0;
+        }
+    }
+
+    public static class Event implements Resettable {
+
+        long value;
+        long checksum;
+        private int markedId = -1;
+
+        @Override
+        public void reset() {
+            value = 0;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.failrestore.FailRestorer;
+import cn.itcraft.frogspawn.failrestore.ThrottledFailRestorer;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 持续耗尽下的新建风暴：池内对象全部被占用，每次获取都进入失败恢复
+ * Creation storm under sustained exhaustion: all pooled objects are held, every fetch goes to failover
+ * <p>
+ * UNLIMITED: CALL_CREATOR，不限制新建
+ * THROTTLED_NULL: 限流，超出后返回 null
+ * THROTTLED_WAIT: 限流，超出后最多等待 1ms，仍无令牌时返回 null
+ * <p>
+ * created: 每轮新建的对象数；建议加 -prof gc 观察分配速率与 GC 次数
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Threads(value = 4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ExhaustionStormBenchmark {
+
+    private static final int POOL_SIZE = 1024;
+    private static final long PERMITS_PER_SECOND = 100_000L;
+    private static final int BURST = 1024;
+
+    @Param({"UNLIMITED", "THROTTLED_NULL", "THROTTLED_WAIT"})
+    private String restorer;
+
+    private final AtomicLong created = new AtomicLong(0);
+    private final List<DemoPojo> held = new ArrayList<>();
+    private ObjectsMemoryPool<DemoPojo> pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FailRestorer failRestorer;
+        switch (restorer) {
+            case "THROTTLED_NULL":
+                failRestorer = new ThrottledFailRestorer(PERMITS_PER_SECOND, BURST, FetchFailStrategy.NULLABLE);
+                break;
+            case "THROTTLED_WAIT":
+                failRestorer = new ThrottledFailRestorer(FetchFailStrategy.CALL_CREATOR, PERMITS_PER_SECOND, BURST,
+                                                         1, TimeUnit.MILLISECONDS, FetchFailStrategy.NULLABLE);
+                break;
+            default:
+                failRestorer = FetchFailStrategy.CALL_CREATOR;
+                break;
+        }
+        pool = ObjectsMemoryPoolFactory.builder(() -> {
+                                           created.incrementAndGet();
+                                           return new DemoPojo();
+                                       })
+                                       .size(POOL_SIZE)
+                                       .cacheCapacity(0)
+                                       .failRestorer(failRestorer)
+                                       .build();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            held.add(pool.fetch());
+        }
+    }
+
+    @Benchmark
+    public DemoPojo testExhausted(Counters counters) {
+        long before = created.get();
+        DemoPojo pojo = pool.fetch();
+        if (pojo == null) {
+            counters.rejected++;
+        } else {
+            pojo.setVal1(1);
+            pool.release(pojo);
+        }
+        // 多线程共享计数，各线程之和略大于真实值，仅用于比较
+        // Counter is shared among threads, the sum over threads overcounts slightly, for comparison only
+        counters.created += created.get() - before;
+        return pojo;
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long created;
+        public long rejected;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.refcount.RefCountedPool;
+import cn.itcraft.frogspawn.refcount.RefCountedResettable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一条消息交给多个消费者：每个消费者一份池化副本与引用计数共享同一对象的对比
+ * One message handed to several consumers: a pooled copy per consumer vs sharing one object by reference count
+ * <p>
+ * 消费者在同一线程内依次处理，测得的是每条消息的复制或计数开销；多个基准线程同时运行以引入池竞争
+ * Consumers run one after another in the same thread, measuring copy or counting overhead per message;
+ * several benchmark threads run at once to add pool contention
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Threads(value = 4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FanOutBenchmark {
+
+    private static final int PAYLOAD = 512;
+
+    @Param({"4"})
+    private int consumers;
+
+    private ObjectsMemoryPool<Message> copyPool;
+    private RefCountedPool<Message> refCountedPool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        copyPool = ObjectsMemoryPoolFactory.newPool(Message::new, 1024);
+        refCountedPool = new RefCountedPool<>(ObjectsMemoryPoolFactory.newPool(Message::new, 1024), false);
+    }
+
+    @Benchmark
+    public void testCopyPerConsumer(Blackhole blackhole) {
+        Message origin = copyPool.fetch();
+        origin.fill();
+        for (int c = 0; c < consumers; c++) {
+            Message copy = copyPool.fetch();
+            copy.copyFrom(origin);
+            blackhole.consume(copy.checksum());
+            copyPool.release(copy);
+        }
+        copyPool.release(origin);
+    }
+
+    @Benchmark
+    public void testRefCounted(Blackhole blackhole) {
+        Message message = refCountedPool.fetch();
+        message.fill();
+        for (int c = 1; c < consumers; c++) {
+            message.retain();
+        }
+        for (int c = 0; c < consumers; c++) {
+            blackhole.consume(message.checksum());
+            message.release();
+        }
+    }
+
+    public static class Message extends RefCountedResettable {
+
+        private long id;
+        private long timestamp;
+        private final byte[] payload = new byte[PAYLOAD];
+
+        void fill() {
+            id++;
+            timestamp = id * 31;
+            payload[(int) (id & (PAYLOAD - 1))] = (byte) id;
+        }
+
+        void copyFrom(Message other) {
+            id = other.id;
+            timestamp = other.timestamp;
+            System.arraycopy(other.payload, 0, payload, 0, PAYLOAD);
+        }
+
+        long checksum() {
+            return id ^ timestamp ^ payload[(int) (id & (PAYLOAD - 1))];
+        }
+
+        @Override
+        public void reset() {
+            timestamp = 0;
+        }
+    }
+}
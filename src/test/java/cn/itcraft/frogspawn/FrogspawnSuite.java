@@ -1,6 +1,19 @@
 package cn.itcraft.frogspawn;
 
+import cn.itcraft.frogspawn.failrestore.ThrottledFailRestorerTest;
+import cn.itcraft.frogspawn.impl.ProbeBudgetTest;
 import cn.itcraft.frogspawn.misc.SimpleStackCacheTest;
+import cn.itcraft.frogspawn.arena.PoolArenaTest;
+import cn.itcraft.frogspawn.collection.ResettableCollectionsTest;
+import cn.itcraft.frogspawn.graph.GraphReleaserTest;
+import cn.itcraft.frogspawn.protostuff.PooledSchemaTest;
+import cn.itcraft.frogspawn.refcount.RefCountedPoolTest;
+import cn.itcraft.frogspawn.ring.EventRingTest;
+import cn.itcraft.frogspawn.shm.SharedObjectsMemoryPoolTest;
+import cn.itcraft.frogspawn.snapshot.PoolSnapshotTest;
+import cn.itcraft.frogspawn.stats.SizingAdvisorTest;
+import cn.itcraft.frogspawn.misc.StripedCacheTest;
+import cn.itcraft.frogspawn.misc.StripedCounterTest;
 import cn.itcraft.frogspawn.util.ArrayUtilTest;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
@@ -14,7 +27,31 @@ import org.junit.platform.suite.api.Suite;
 @SelectClasses({
         HeapObjectsMemoryPoolTest.class,
         HeapObjectsMemoryPool2Test.class,
+        ThreadCacheReclaimTest.class,
+        RemoteFreeTest.class,
+        ObjectsMemoryPoolBuilderTest.class,
+        OverflowTierTest.class,
+        PoolOccupancyTest.class,
+        PooledObjectTest.class,
+        InvalidRegenerationTest.class,
+        RetirementTest.class,
+        SizingAdvisorTest.class,
+        PooledProcessorTest.class,
+        SpscObjectsMemoryPoolTest.class,
+        ThrottledFailRestorerTest.class,
+        LatencyHistogramTest.class,
+        PooledSchemaTest.class,
+        GraphReleaserTest.class,
+        ResettableCollectionsTest.class,
+        PoolArenaTest.class,
+        RefCountedPoolTest.class,
+        SharedObjectsMemoryPoolTest.class,
+        PoolSnapshotTest.class,
+        EventRingTest.class,
         SimpleStackCacheTest.class,
+        StripedCacheTest.class,
+        StripedCounterTest.class,
+        ProbeBudgetTest.class,
         ArrayUtilTest.class
 })
 public class FrogspawnSuite {
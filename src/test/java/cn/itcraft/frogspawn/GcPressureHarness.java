@@ -0,0 +1,391 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.protostuff.PooledSchema;
+import cn.itcraft.frogspawn.protostuff.PooledSchemas;
+import cn.itcraft.frogspawn.sample.serial.DemoCustomer;
+import cn.itcraft.frogspawn.sample.serial.DemoItem;
+import cn.itcraft.frogspawn.sample.serial.DemoOrder;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtobufIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.DefaultIdStrategy;
+import io.protostuff.runtime.RuntimeSchema;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * GC 压力对比的单次运行：在当前 JVM 的收集器与堆大小下，以池化或直接分配的方式执行请求循环
+ * Single run of the GC-pressure comparison: executes the request loop pooled or allocating,
+ * under the collector and heap size of the current JVM
+ * <p>
+ * 每个请求解码一个含嵌套客户与 1~16 个条目的订单对象图，计算金额校验和后归还（或丢弃）；
+ * 另外常驻约 1/4 堆的对象图作为存活集，使标记与晋升成本接近真实服务
+ * <p>
+ * Each request decodes an order graph with a nested customer and 1~16 items, computes a checksum of
+ * the amounts, then releases (or drops) it; a live set of about 1/4 heap of graphs stays resident,
+ * so marking and promotion cost resembles a real service
+ * <p>
+ * 记录工作线程的分配速率（ThreadMXBean）、GC 通知中的停顿次数与时长、请求延迟百分位，
+ * 最后一行以 RESULT, 开头输出 CSV，列见 {@link #HEADER}；通常由 {@link GcPressureRunner} 在多个 JVM 中调用
+ * <p>
+ * Records allocation rate of workers (ThreadMXBean), pause count and duration from GC notifications,
+ * and request latency percentiles; the last line starts with RESULT, followed by CSV columns of
+ * {@link #HEADER}; usually launched in several JVMs by {@link GcPressureRunner}
+ * <pre>
+ * java -XX:+UseG1GC -Xmx1g -cp ... cn.itcraft.frogspawn.GcPressureHarness mode=pooled threads=4 seconds=20
+ * </pre>
+ */
+public final class GcPressureHarness {
+
+    static final String RESULT_PREFIX = "RESULT,";
+    static final String HEADER = "mode,collector,heapMb,threads,requests,requestsPerSec,allocMbPerSec,"
+            + "allocBytesPerRequest,pauseCount,pauseTotalMs,pauseMaxMs,concurrentCount,concurrentMs,"
+            + "p50Us,p90Us,p99Us,p999Us,maxUs";
+
+    private static final int PAYLOADS = 64;
+    private static final int MAX_ITEMS = 16;
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * 存活集，仅用于保持引用 / Live set, only kept reachable
+     */
+    private static Object[] liveSet;
+    private static volatile long sink;
+
+    private GcPressureHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("mode", "pooled");
+        options.put("threads", "4");
+        options.put("warmup", "5");
+        options.put("seconds", "20");
+        options.put("live", String.valueOf(Runtime.getRuntime().maxMemory() / 4 / (1024 * 1024)));
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Argument must be key=value: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        String mode = options.get("mode");
+        int threads = Integer.parseInt(options.get("threads"));
+        long warmupNanos = Long.parseLong(options.get("warmup")) * 1_000_000_000L;
+        long measureNanos = Long.parseLong(options.get("seconds")) * 1_000_000_000L;
+
+        // 普通 Schema 使用独立的 IdStrategy，不受池化 Schema 注册的影响
+        // Plain schema uses its own IdStrategy, unaffected by pooled schema registration
+        Schema<DemoOrder> plain = RuntimeSchema.createFrom(DemoOrder.class, new DefaultIdStrategy());
+        byte[][] payloads = payloads(plain);
+        Handler handler;
+        if ("pooled".equals(mode)) {
+            PooledSchemas schemas = new PooledSchemas();
+            schemas.register(DemoItem.class, ObjectsMemoryPoolFactory.newPool(DemoItem::new, threads * 4 * MAX_ITEMS));
+            schemas.register(DemoCustomer.class, ObjectsMemoryPoolFactory.newPool(DemoCustomer::new, threads * 4));
+            handler = new PooledHandler(schemas.register(DemoOrder.class, ObjectsMemoryPoolFactory.newPool(
+                    DemoOrder::new, threads * 4)));
+        } else if ("alloc".equals(mode)) {
+            handler = new AllocHandler(plain);
+        } else {
+            throw new IllegalArgumentException("Mode must be pooled or alloc: " + mode);
+        }
+        liveSet = buildLiveSet(plain, payloads, Long.parseLong(options.get("live")) * 1024 * 1024);
+
+        GcRecorder recorder = new GcRecorder();
+        recorder.install();
+        long start = System.nanoTime();
+        long measureStart = start + warmupNanos;
+        long end = measureStart + measureNanos;
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Worker> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(handler, payloads, i, measureStart, end, done);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "gc-pressure-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        sleepUntil(measureStart);
+        recorder.reset();
+        done.await();
+        recorder.uninstall();
+
+        LatencyHistogram latency = new LatencyHistogram();
+        long allocated = 0L;
+        for (Worker worker : workers) {
+            latency.add(worker.histogram);
+            allocated += worker.allocated;
+        }
+        long requests = latency.count();
+        double seconds = measureNanos / 1e9D;
+        String result = RESULT_PREFIX + mode
+                + ',' + collectorName()
+                + ',' + Runtime.getRuntime().maxMemory() / (1024 * 1024)
+                + ',' + threads
+                + ',' + requests
+                + ',' + format(requests / seconds)
+                + ',' + format(allocated / seconds / (1024 * 1024))
+                + ',' + format(requests == 0L ? 0D : (double) allocated / requests)
+                + ',' + recorder.summary()
+                + ',' + micros(latency.valueAtPercentile(50D))
+                + ',' + micros(latency.valueAtPercentile(90D))
+                + ',' + micros(latency.valueAtPercentile(99D))
+                + ',' + micros(latency.valueAtPercentile(99.9D))
+                + ',' + micros(latency.max());
+        System.out.println(HEADER);
+        System.out.println(result);
+    }
+
+    private static byte[][] payloads(Schema<DemoOrder> schema) {
+        byte[][] payloads = new byte[PAYLOADS][];
+        LinkedBuffer buffer = LinkedBuffer.allocate(1024);
+        for (int i = 0; i < PAYLOADS; i++) {
+            DemoOrder order = new DemoOrder();
+            order.setId(i);
+            order.setNote("order-" + i);
+            DemoCustomer customer = new DemoCustomer();
+            customer.setId(i % 7);
+            customer.setName("customer-" + i % 7);
+            order.setCustomer(customer);
+            for (int j = 0, n = 1 + i % MAX_ITEMS; j < n; j++) {
+                DemoItem item = new DemoItem();
+                item.setSku(j);
+                item.setQuantity(j + 1L);
+                item.setPrice(j * 1.5D);
+                order.getItems().add(item);
+            }
+            payloads[i] = ProtobufIOUtil.toByteArray(order, schema, buffer);
+            buffer.clear();
+        }
+        return payloads;
+    }
+
+    /**
+     * 以解码得到的对象图填充存活集，直到当前线程的分配量达到目标字节数
+     * Fill the live set with decoded graphs until allocation of current thread reaches target bytes
+     */
+    private static Object[] buildLiveSet(Schema<DemoOrder> schema, byte[][] payloads, long bytes) {
+        long tid = Thread.currentThread().getId();
+        long base = THREADS.getThreadAllocatedBytes(tid);
+        List<DemoOrder> orders = new ArrayList<>();
+        for (int i = 0; THREADS.getThreadAllocatedBytes(tid) - base < bytes; i++) {
+            DemoOrder order = schema.newMessage();
+            ProtobufIOUtil.mergeFrom(payloads[i % PAYLOADS], order, schema);
+            orders.add(order);
+        }
+        return orders.toArray();
+    }
+
+    private static long checksum(DemoOrder order) {
+        double total = 0D;
+        List<DemoItem> items = order.getItems();
+        for (int i = 0, n = items.size(); i < n; i++) {
+            DemoItem item = items.get(i);
+            total += item.getQuantity() * item.getPrice();
+        }
+        return order.getId() ^ Double.doubleToLongBits(total)
+                ^ order.getNote().hashCode() ^ order.getCustomer().getName().hashCode();
+    }
+
+    private static String collectorName() {
+        StringBuilder names = new StringBuilder();
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            names.append(names.length() == 0 ? "" : "/").append(bean.getName());
+        }
+        String all = names.toString();
+        if (all.contains("G1")) {
+            return "G1";
+        } else if (all.contains("PS ")) {
+            return "Parallel";
+        } else if (all.contains("ZGC")) {
+            return "ZGC";
+        } else if (all.contains("Shenandoah")) {
+            return "Shenandoah";
+        }
+        return all.replace(' ', '_');
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0L) {
+            Thread.sleep(Math.max(1L, remaining / 1_000_000L));
+        }
+    }
+
+    private static String micros(long nanos) {
+        return format(nanos / 1000D);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private interface Handler {
+        long handle(byte[] payload);
+    }
+
+    private static final class PooledHandler implements Handler {
+        private final PooledSchema<DemoOrder> schema;
+
+        private PooledHandler(PooledSchema<DemoOrder> schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        public long handle(byte[] payload) {
+            DemoOrder order = schema.newMessage();
+            try {
+                ProtobufIOUtil.mergeFrom(payload, order, schema);
+                return checksum(order);
+            } finally {
+                schema.release(order);
+            }
+        }
+    }
+
+    private static final class AllocHandler implements Handler {
+        private final Schema<DemoOrder> schema;
+
+        private AllocHandler(Schema<DemoOrder> schema) {
+            this.schema = schema;
+        }
+
+        @Override
+        public long handle(byte[] payload) {
+            DemoOrder order = schema.newMessage();
+            ProtobufIOUtil.mergeFrom(payload, order, schema);
+            return checksum(order);
+        }
+    }
+
+    private static final class Worker implements Runnable {
+        private final Handler handler;
+        private final byte[][] payloads;
+        private final int offset;
+        private final long measureStart;
+        private final long end;
+        private final CountDownLatch done;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private long allocated;
+
+        private Worker(Handler handler, byte[][] payloads, int offset, long measureStart, long end,
+                       CountDownLatch done) {
+            this.handler = handler;
+            this.payloads = payloads;
+            this.offset = offset;
+            this.measureStart = measureStart;
+            this.end = end;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            long tid = Thread.currentThread().getId();
+            long acc = 0L;
+            int i = offset;
+            long now = System.nanoTime();
+            // 预热阶段：结果不计入 / Warmup phase: results discarded
+            while (now < measureStart) {
+                acc += handler.handle(payloads[i++ & (PAYLOADS - 1)]);
+                now = System.nanoTime();
+            }
+            long base = THREADS.getThreadAllocatedBytes(tid);
+            while (now < end) {
+                long begin = now;
+                acc += handler.handle(payloads[i++ & (PAYLOADS - 1)]);
+                now = System.nanoTime();
+                histogram.record(now - begin);
+            }
+            allocated = THREADS.getThreadAllocatedBytes(tid) - base;
+            sink = acc;
+            done.countDown();
+        }
+    }
+
+    /**
+     * 通过 GC 通知统计停顿；并发周期（ZGC/Shenandoah Cycles、G1 Concurrent）单独统计，不计入停顿
+     * Counts pauses through GC notifications; concurrent cycles (ZGC/Shenandoah Cycles, G1 Concurrent)
+     * are counted separately, not as pauses
+     */
+    private static final class GcRecorder implements NotificationListener {
+        private long pauseCount;
+        private long pauseTotal;
+        private long pauseMax;
+        private long concurrentCount;
+        private long concurrentTotal;
+
+        void install() {
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) bean).addNotificationListener(this, null, null);
+            }
+        }
+
+        void uninstall() throws Exception {
+            for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) bean).removeNotificationListener(this);
+            }
+        }
+
+        @Override
+        public synchronized void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info
+                    = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            String name = info.getGcName();
+            long duration = info.getGcInfo().getDuration();
+            // JDK 17 以前 ZGC 只有一个名为 ZGC 的周期 Bean / ZGC has a single cycle bean named ZGC before JDK 17
+            if (name.contains("Cycles") || name.contains("Concurrent") || "ZGC".equals(name)) {
+                concurrentCount++;
+                concurrentTotal += duration;
+            } else {
+                pauseCount++;
+                pauseTotal += duration;
+                pauseMax = Math.max(pauseMax, duration);
+            }
+        }
+
+        synchronized void reset() {
+            pauseCount = 0L;
+            pauseTotal = 0L;
+            pauseMax = 0L;
+            concurrentCount = 0L;
+            concurrentTotal = 0L;
+        }
+
+        synchronized String summary() {
+            return pauseCount + "," + pauseTotal + "," + pauseMax + "," + concurrentCount + "," + concurrentTotal;
+        }
+    }
+}
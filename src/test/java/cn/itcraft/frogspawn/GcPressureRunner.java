@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GcPressureHarness 的统一入口：收集器在 JVM 启动时确定，因此按收集器、堆大小、模式逐个启动子 JVM，
+ * 汇总各自的 RESULT 行为一份 CSV
+ * Single entry of GcPressureHarness: the collector is fixed at JVM start, so a child JVM is launched
+ * per collector, heap size and mode, and their RESULT lines are combined into one CSV
+ * <p>
+ * 参数形如 key=value：java（子 JVM 的 java 可执行文件，默认当前 JVM）、collectors（G1、Parallel、ZGC）、
+ * heaps、modes、threads、warmup、seconds、live（存活集 MB）、out；当前 JVM 不支持的收集器会被跳过，
+ * 例如 JDK 8 上的 ZGC
+ * <p>
+ * Arguments are key=value: java (java executable of child JVMs, defaults to current JVM),
+ * collectors (G1, Parallel, ZGC), heaps, modes, threads, warmup, seconds, live (live set in MB), out;
+ * collectors unsupported by the JVM are skipped, e.g. ZGC on JDK 8
+ * <pre>
+ * ./run_gc_bench.sh java=$JAVA17_HOME/bin/java heaps=1g,4g threads=8
+ * </pre>
+ */
+public final class GcPressureRunner {
+
+    private static final Map<String, String[]> COLLECTORS = new LinkedHashMap<>();
+
+    static {
+        COLLECTORS.put("G1", new String[]{"-XX:+UseG1GC"});
+        COLLECTORS.put("Parallel", new String[]{"-XX:+UseParallelGC"});
+        // JDK 15 以前 ZGC 为实验特性 / ZGC is experimental before JDK 15
+        COLLECTORS.put("ZGC", new String[]{"-XX:+UnlockExperimentalVMOptions", "-XX:+UseZGC"});
+    }
+
+    private static final String[] FORWARDED = {"threads", "warmup", "seconds", "live"};
+
+    private GcPressureRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("java", System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        options.put("collectors", "G1,Parallel,ZGC");
+        options.put("heaps", "512m,2g");
+        options.put("modes", "pooled,alloc");
+        options.put("out", "target/bench/gc-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Argument must be key=value: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        File out = new File(options.get("out"));
+        if (!out.isDirectory() && !out.mkdirs()) {
+            throw new IOException("Can not create " + out);
+        }
+        String java = options.get("java");
+        File csv = new File(out, "gc-pressure.csv");
+        try (PrintWriter writer = new PrintWriter(csv, StandardCharsets.UTF_8.name())) {
+            writer.println(GcPressureHarness.HEADER);
+            for (String collector : options.get("collectors").split(",")) {
+                String[] flags = COLLECTORS.get(collector.trim());
+                if (flags == null) {
+                    throw new IllegalArgumentException("Unknown collector: " + collector);
+                }
+                List<String> probe = new ArrayList<>();
+                probe.add(java);
+                probe.addAll(Arrays.asList(flags));
+                probe.add("-version");
+                if (run(probe, null) != 0) {
+                    System.out.println("Skip " + collector + ", not supported by " + java);
+                    continue;
+                }
+                for (String heap : options.get("heaps").split(",")) {
+                    for (String mode : options.get("modes").split(",")) {
+                        List<String> command = new ArrayList<>();
+                        command.add(java);
+                        command.addAll(Arrays.asList(flags));
+                        command.add("-Xms" + heap.trim());
+                        command.add("-Xmx" + heap.trim());
+                        command.add("-cp");
+                        command.add(System.getProperty("java.class.path"));
+                        command.add(GcPressureHarness.class.getName());
+                        command.add("mode=" + mode.trim());
+                        for (String key : FORWARDED) {
+                            if (options.containsKey(key)) {
+                                command.add(key + '=' + options.get(key));
+                            }
+                        }
+                        System.out.println("Run " + collector + " heap=" + heap + " mode=" + mode);
+                        StringBuilder result = new StringBuilder();
+                        if (run(command, result) != 0 || result.length() == 0) {
+                            System.out.println("Failed " + collector + " heap=" + heap + " mode=" + mode);
+                            continue;
+                        }
+                        writer.println(result);
+                        writer.flush();
+                    }
+                }
+            }
+        }
+        System.out.println("Results written to " + csv.getAbsolutePath());
+    }
+
+    /**
+     * 运行子进程并转发其输出，捕获 RESULT 行
+     * Run child process and forward its output, capturing the RESULT line
+     */
+    private static int run(List<String> command, StringBuilder result) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (result == null) {
+                    continue;
+                }
+                if (line.startsWith(GcPressureHarness.RESULT_PREFIX)) {
+                    result.append(line.substring(GcPressureHarness.RESULT_PREFIX.length()));
+                } else if (!GcPressureHarness.HEADER.equals(line)) {
+                    System.out.println(line);
+                }
+            }
+        }
+        return process.waitFor();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.annotation.Clear;
+import cn.itcraft.frogspawn.annotation.Pooled;
+import cn.itcraft.frogspawn.collection.ResettableLongList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 与 DemoPojo 字段相同，由 PooledProcessor 生成 GeneratedPojoPooled
+ * Same fields as DemoPojo, GeneratedPojoPooled is generated by PooledProcessor
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+@Pooled
+public class GeneratedPojo {
+
+    @Clear
+    int val1;
+    @Clear
+    long val2;
+    @Clear
+    double val3;
+    @Clear
+    String val4;
+    @Clear
+    final List<String> tags = new ArrayList<>();
+    @Clear
+    final Map<String, Long> attrs = new HashMap<>();
+    @Clear
+    final byte[] buffer = new byte[16];
+    @Clear
+    final ResettableLongList ids = new ResettableLongList();
+
+    /**
+     * 未标注，reset() 不会清理
+     * Not annotated, reset() keeps it
+     */
+    String owner;
+
+    public int getVal1() {
+        return val1;
+    }
+
+    public void setVal1(int val1) {
+        this.val1 = val1;
+    }
+
+    public long getVal2() {
+        return val2;
+    }
+
+    public void setVal2(long val2) {
+        this.val2 = val2;
+    }
+
+    public double getVal3() {
+        return val3;
+    }
+
+    public void setVal3(double val3) {
+        this.val3 = val3;
+    }
+
+    public String getVal4() {
+        return val4;
+    }
+
+    public void setVal4(String val4) {
+        this.val4 = val4;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public Map<String, Long> getAttrs() {
+        return attrs;
+    }
+
+    public byte[] getBuffer() {
+        return buffer;
+    }
+}
@@ -16,6 +16,10 @@
  */
 package cn.itcraft.frogspawn;
 
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -43,6 +47,16 @@ public class HeapObjectsMemoryPool2Test {
         test(pojoPool);
     }
 
+    @Test
+    public void testStriped() {
+        ObjectsMemoryPool<DemoPojo> pojoPool
+                = ObjectsMemoryPoolFactory.newPool(new DemoPojoCreator(), SINGLE_CAPACITY,
+                                                   new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NEW,
+                                                                    FetchFailStrategy.CALL_CREATOR,
+                                                                    CacheStrategy.STRIPED));
+        test(pojoPool);
+    }
+
     private void test(ObjectsMemoryPool<DemoPojo> pojoPool) {
         Map<Integer, AtomicLong> countMap = new HashMap<>();
         for (int i = 0; i < SINGLE_TEST_TIMES; i++) {
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class InvalidRegenerationTest {
+
+    private static final int CAPACITY = 8;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    public void testInvalidInThreadCache() throws InterruptedException {
+        ObjectsMemoryPool<Fragile> pool = newPool(4);
+        Fragile fragile = pool.fetch();
+        fragile.invalid = true;
+        pool.release(fragile);
+
+        // 线程缓存中的失效对象被淘汰 / Invalid object in the thread cache is retired
+        Fragile next = pool.fetch();
+        Assertions.assertNotSame(fragile, next);
+        Assertions.assertEquals(1L, pool.stats().getInvalidationCount());
+        pool.release(next);
+
+        awaitRegenerations(pool, 1L);
+        Assertions.assertEquals(CAPACITY + 1, created.get());
+        pool.flushThreadCache();
+        Assertions.assertEquals(CAPACITY, pool.available());
+        assertAllFetchable(pool, fragile.getMarkedId());
+    }
+
+    @Test
+    public void testInvalidInMainPool() throws InterruptedException {
+        ObjectsMemoryPool<Fragile> pool = newPool(0);
+        List<Fragile> list = fetch(pool, CAPACITY);
+        for (int i = 0; i < 3; i++) {
+            list.get(i).invalid = true;
+        }
+        list.forEach(pool::release);
+
+        // 每个槽位都被取到一次，失效的三个被淘汰 / Every slot is probed once, the three invalid ones are retired
+        List<Fragile> valid = fetch(pool, CAPACITY - 3);
+        for (Fragile fragile : valid) {
+            Assertions.assertFalse(fragile.invalid);
+        }
+        valid.forEach(pool::release);
+        Assertions.assertEquals(3L, pool.stats().getInvalidationCount());
+
+        awaitRegenerations(pool, 3L);
+        Assertions.assertEquals(CAPACITY, pool.available());
+        assertAllFetchable(pool, -1);
+    }
+
+    @Test
+    public void testCreatorFailureGivesUp() throws InterruptedException {
+        ObjectsMemoryPool<Fragile> pool = retireOnce();
+
+        // 创建器持续返回 null，有限次重试后放弃并释放槽位 / Creator keeps returning null, give up after bounded retries
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (pool.stats().getRegenerationFailureCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        Assertions.assertEquals(1L, pool.stats().getRegenerationFailureCount());
+        Assertions.assertEquals(0L, pool.stats().getRegenerationCount());
+        Assertions.assertEquals(CAPACITY, pool.available());
+    }
+
+    @Test
+    public void testPoolCollectedWithPendingQueue() throws InterruptedException {
+        WeakReference<ObjectsMemoryPool<Fragile>> ref = new WeakReference<>(retireOnce());
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (ref.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        // 重建仍在重试时，后台线程只弱引用池
+        // While regeneration is retrying, the background thread references the pool weakly
+        Assertions.assertNull(ref.get());
+    }
+
+    /**
+     * 创建器只成功创建初始对象，淘汰一个失效对象后重建持续失败
+     * The creator only succeeds for initial objects, regeneration keeps failing after one invalid object is retired
+     */
+    private static ObjectsMemoryPool<Fragile> retireOnce() {
+        AtomicInteger remaining = new AtomicInteger(CAPACITY);
+        ObjectCreator<Fragile> creator = () -> remaining.getAndDecrement() > 0 ? new Fragile() : null;
+        ObjectsMemoryPool<Fragile> pool = ObjectsMemoryPoolFactory.builder(creator)
+                                                                  .size(CAPACITY)
+                                                                  .cacheCapacity(0)
+                                                                  .fetchTimes(CAPACITY, CAPACITY, CAPACITY)
+                                                                  .build();
+        List<Fragile> list = fetch(pool, CAPACITY);
+        list.get(0).invalid = true;
+        list.forEach(pool::release);
+        fetch(pool, CAPACITY - 1).forEach(pool::release);
+        Assertions.assertEquals(1L, pool.stats().getInvalidationCount());
+        return pool;
+    }
+
+    private ObjectsMemoryPool<Fragile> newPool(int cacheCapacity) {
+        return ObjectsMemoryPoolFactory.builder(() -> {
+                                           created.incrementAndGet();
+                                           return new Fragile();
+                                       })
+                                       .size(CAPACITY)
+                                       .cacheCapacity(cacheCapacity)
+                                       .fetchTimes(CAPACITY, CAPACITY, CAPACITY)
+                                       .build();
+    }
+
+    private static void awaitRegenerations(ObjectsMemoryPool<Fragile> pool, long expected)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (pool.stats().getRegenerationCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        Assertions.assertEquals(expected, pool.stats().getRegenerationCount());
+    }
+
+    /**
+     * 全部槽位可再次取得，被淘汰对象的槽位 ID 由新对象继承
+     * All slots are fetchable again, the slot id of the retired object is inherited by the new one
+     */
+    private static void assertAllFetchable(ObjectsMemoryPool<Fragile> pool, int retiredId) {
+        List<Fragile> list = fetch(pool, CAPACITY);
+        Map<Integer, Fragile> ids = new HashMap<>();
+        Map<Fragile, Boolean> seen = new IdentityHashMap<>();
+        for (Fragile fragile : list) {
+            Assertions.assertTrue(fragile.getMarkedId() >= 0);
+            Assertions.assertFalse(fragile.invalid);
+            Assertions.assertNull(seen.put(fragile, Boolean.TRUE));
+            ids.put(fragile.getMarkedId(), fragile);
+        }
+        Assertions.assertEquals(CAPACITY, ids.size());
+        if (retiredId >= 0) {
+            Assertions.assertTrue(ids.containsKey(retiredId));
+        }
+        list.forEach(pool::release);
+    }
+
+    private static List<Fragile> fetch(ObjectsMemoryPool<Fragile> pool, int count) {
+        List<Fragile> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(pool.fetch());
+        }
+        return list;
+    }
+
+    private static final class Fragile implements Resettable {
+
+        private boolean invalid;
+        private int markedId = -1;
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public boolean isInvalid() {
+            return invalid;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+}
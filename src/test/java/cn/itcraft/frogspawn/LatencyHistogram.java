@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import java.util.Arrays;
+
+/**
+ * 对数-线性分桶的延迟直方图，相对误差约 3%，固定占用约 15KB，记录时不分配内存
+ * Log-linear bucketed latency histogram, about 3% relative error, fixed footprint of about 15KB,
+ * recording allocates nothing
+ * <p>
+ * 小于 64 的值精确记录，其余每个 2 的幂区间划分为 32 个桶；非线程安全，各线程分别记录后合并
+ * Values below 64 are exact, every other power-of-two range is split into 32 buckets;
+ * not thread-safe, record per thread and merge afterwards
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int LINEAR = 1 << SUB_BITS;
+    private static final int HALF = LINEAR >> 1;
+    private static final int BUCKETS = LINEAR + (Long.SIZE - SUB_BITS) * HALF;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long max;
+    private double sum;
+
+    /**
+     * 记录一个非负值
+     * Record a non-negative value
+     *
+     * @param value 值 / Value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value can not be negative: " + value);
+        }
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * 合并另一个直方图
+     * Merge another histogram
+     *
+     * @param other 另一个直方图 / Other histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        count = 0L;
+        max = 0L;
+        sum = 0D;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return count == 0L ? 0D : sum / count;
+    }
+
+    /**
+     * 百分位值，返回所在桶的上界，不超过记录到的最大值
+     * Value at percentile, returns upper bound of the bucket, never above the recorded maximum
+     *
+     * @param percentile 百分位 0~100 / Percentile 0~100
+     * @return 百分位值，无记录时为 0 / Value at percentile, 0 when empty
+     */
+    public long valueAtPercentile(double percentile) {
+        if (count == 0L) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(Math.min(100D, percentile) / 100D * count));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int mantissa = (int) (value >>> shift);
+        return LINEAR + (shift - 1) * HALF + (mantissa - HALF);
+    }
+
+    static long highestOf(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int shift = (index - LINEAR) / HALF + 1;
+        long mantissa = (index - LINEAR) % HALF + HALF;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
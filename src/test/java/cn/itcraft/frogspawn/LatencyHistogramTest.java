@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBounds() {
+        for (long value : new long[]{0L, 1L, 63L, 64L, 65L, 1000L, 123_456_789L, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestOf(index);
+            Assertions.assertTrue(highest >= value);
+            // 相对误差不超过 1/32 / Relative error within 1/32
+            Assertions.assertTrue(highest - value <= value / 32, "value " + value);
+            if (index > 0) {
+                Assertions.assertTrue(LatencyHistogram.highestOf(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000L);
+        }
+        Assertions.assertEquals(10_000L, histogram.count());
+        Assertions.assertEquals(10_000_000L, histogram.max());
+        Assertions.assertEquals(5_000_500D, histogram.mean(), 0.1D);
+        assertNear(5_000_000L, histogram.valueAtPercentile(50D));
+        assertNear(9_900_000L, histogram.valueAtPercentile(99D));
+        Assertions.assertEquals(10_000_000L, histogram.valueAtPercentile(100D));
+    }
+
+    @Test
+    public void testMerge() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10L);
+        b.record(20L);
+        b.record(30L);
+        a.add(b);
+        Assertions.assertEquals(3L, a.count());
+        Assertions.assertEquals(30L, a.max());
+        Assertions.assertEquals(20L, a.valueAtPercentile(50D));
+        a.reset();
+        Assertions.assertEquals(0L, a.count());
+        Assertions.assertEquals(0L, a.valueAtPercentile(99D));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> a.record(-1L));
+    }
+
+    private static void assertNear(long expected, long actual) {
+        Assertions.assertTrue(Math.abs(actual - expected) <= expected / 32, expected + " vs " + actual);
+    }
+}
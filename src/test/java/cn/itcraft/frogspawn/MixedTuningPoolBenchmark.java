@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同一进程中两个调优需求不同的池：小而热的池需要深线程缓存，大批量池不需要线程缓存
+ * Two pools with different tuning needs in one process: a small hot pool wants a deep thread cache,
+ * a large batch pool wants no thread cache
+ * <p>
+ * DEFAULT: 两个池共用系统属性默认值
+ * TUNED: 通过 ObjectsMemoryPoolFactory.builder 为每个池单独调优
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Threads(value = 4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class MixedTuningPoolBenchmark {
+
+    private static final int HOT_POOL_SIZE = 256;
+    private static final int HOT_BURST = 32;
+    private static final int BATCH_POOL_SIZE = 1 << 20;
+    private static final int BATCH = 1024;
+
+    @Param({"DEFAULT", "TUNED"})
+    private String tuning;
+
+    private ObjectsMemoryPool<DemoPojo> hotPool;
+    private ObjectsMemoryPool<DemoPojo> batchPool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if ("TUNED".equals(tuning)) {
+            hotPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                              .size(HOT_POOL_SIZE)
+                                              .cacheCapacity(64)
+                                              .cacheStrategy(CacheStrategy.THREAD_LOCAL)
+                                              .build();
+            batchPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                .size(BATCH_POOL_SIZE)
+                                                .cacheCapacity(0)
+                                                .fetchTimes(1, 1, 4)
+                                                .build();
+        } else {
+            hotPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                              .size(HOT_POOL_SIZE)
+                                              .cacheStrategy(CacheStrategy.THREAD_LOCAL)
+                                              .build();
+            batchPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                .size(BATCH_POOL_SIZE)
+                                                .build();
+        }
+    }
+
+    @Benchmark
+    public void testHotPool(Buffer buffer) {
+        DemoPojo[] objects = buffer.objects;
+        for (int i = 0; i < HOT_BURST; i++) {
+            objects[i] = hotPool.fetch();
+            objects[i].setVal1(i);
+        }
+        for (int i = 0; i < HOT_BURST; i++) {
+            hotPool.release(objects[i]);
+            objects[i] = null;
+        }
+    }
+
+    @Benchmark
+    public void testBatchPool(Buffer buffer) {
+        DemoPojo[] objects = buffer.objects;
+        for (int i = 0; i < BATCH; i++) {
+            objects[i] = batchPool.fetch();
+            objects[i].setVal1(i);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            batchPool.release(objects[i]);
+            objects[i] = null;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        private final DemoPojo[] objects = new DemoPojo[BATCH];
+    }
+}
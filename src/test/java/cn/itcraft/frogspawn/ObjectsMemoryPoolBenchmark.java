@@ -36,8 +36,8 @@ import java.util.concurrent.TimeUnit;
 @BenchmarkMode({Mode.Throughput})
 @Fork(value = 3, jvmArgs = {"-Xmx4G", "-Xms4G", "-Xmn2G", "-Dfrogspawn.cache.capacity=64", "-XX:-RestrictContended"})
 @Threads(value = 1)
-@Warmup(iterations = 5, time = 100, timeUnit = TimeUnit.MILLISECONDS)
-@Measurement(iterations = 10, time = 10, timeUnit = TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
 @OutputTimeUnit(TimeUnit.MICROSECONDS)
 @State(Scope.Benchmark)
 public class ObjectsMemoryPoolBenchmark {
@@ -54,6 +54,15 @@ public class ObjectsMemoryPoolBenchmark {
         POOL.release(pojo);
     }
 
+    /**
+     * 负载控制器轮询占用率的开销
+     * Cost of a load shedder polling occupancy
+     */
+    @Benchmark
+    public int testAvailable() {
+        return POOL.available();
+    }
+
     @Benchmark
     public void testNew(Blackhole blackhole) {
         blackhole.consume(new DemoPojo());
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ObjectsMemoryPoolBuilderTest {
+
+    @Test
+    public void testNoThreadCache() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(16)
+                                                                        .cacheCapacity(0)
+                                                                        .build();
+        for (int i = 0; i < 16; i++) {
+            pojoPool.release(pojoPool.fetch());
+        }
+        // 没有线程缓存，每次获取都访问主池；每次首个探测即命中，16 次恰好含一个采样点
+        Assertions.assertEquals(16, pojoPool.stats().getMainPoolFetchCount());
+        Assertions.assertEquals(0, pojoPool.stats().getFailoverCount());
+    }
+
+    @Test
+    public void testDeepThreadCache() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(256)
+                                                                        .cacheCapacity(64)
+                                                                        .cacheStrategy(CacheStrategy.THREAD_LOCAL)
+                                                                        .build();
+        List<DemoPojo> list = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            list.add(pojoPool.fetch());
+        }
+        for (DemoPojo pojo : list) {
+            pojoPool.release(pojo);
+        }
+        long before = pojoPool.stats().getMainPoolFetchCount();
+        for (int i = 0; i < 64; i++) {
+            Assertions.assertNotNull(pojoPool.fetch());
+        }
+        // 64 个对象全部由线程缓存提供
+        Assertions.assertEquals(before, pojoPool.stats().getMainPoolFetchCount());
+    }
+
+    @Test
+    public void testFixedFetchTimes() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(16)
+                                                                        .fetchTimes(3)
+                                                                        .build();
+        Assertions.assertEquals(3, pojoPool.stats().getProbeBudget());
+    }
+
+    @Test
+    public void testMaxCapacityRoundedDown() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(16)
+                                                                        .maxCapacity(12)
+                                                                        .cacheCapacity(0)
+                                                                        .fetchTimes(8, 8, 8)
+                                                                        .build();
+        // 容量上限 12 向下取整为 8，下标掩码覆盖全部槽位
+        // Max capacity 12 is rounded down to 8, the index mask covers every slot
+        Assertions.assertEquals(8, pojoPool.capacity());
+        List<DemoPojo> list = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            DemoPojo pojo = pojoPool.fetch();
+            Assertions.assertTrue(pojo.getMarkedId() >= 0);
+            list.add(pojo);
+        }
+        Assertions.assertEquals(0, pojoPool.stats().getFailoverCount());
+        Assertions.assertEquals(0, pojoPool.available());
+        list.forEach(pojoPool::release);
+        Assertions.assertEquals(8, pojoPool.available());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        ObjectsMemoryPoolBuilder<DemoPojo> builder = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator());
+        Assertions.assertThrows(IllegalStateException.class, builder::build);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.cacheCapacity(65));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.fetchTimes(1, 4, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.size(0));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.misc.OverflowStore;
+import cn.itcraft.frogspawn.stats.PoolStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class OverflowTierTest {
+
+    @Test
+    public void testRepeatedSpikes() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(16)
+                                                                        .cacheCapacity(0)
+                                                                        .overflowCapacity(32)
+                                                                        .build();
+        PoolStats stats = pojoPool.stats();
+        spike(pojoPool, 48);
+        Assertions.assertEquals(32, stats.getFailoverCount());
+        Assertions.assertEquals(32, stats.getOverflowSize());
+        // 第二次尖峰由溢出层提供，不再调用创建器
+        spike(pojoPool, 48);
+        Assertions.assertEquals(32, stats.getFailoverCount());
+        Assertions.assertEquals(32, stats.getOverflowHitCount());
+        Assertions.assertEquals(32, stats.getOverflowSize());
+    }
+
+    @Test
+    public void testBounded() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(16)
+                                                                        .cacheCapacity(0)
+                                                                        .overflowCapacity(8)
+                                                                        .build();
+        spike(pojoPool, 64);
+        Assertions.assertEquals(8, pojoPool.stats().getOverflowSize());
+    }
+
+    @Test
+    public void testTrimIfIdle() throws InterruptedException {
+        OverflowStore<DemoPojo> store = new OverflowStore<>(16, 10);
+        for (int i = 0; i < 16; i++) {
+            Assertions.assertTrue(store.offer(new DemoPojo()));
+        }
+        Assertions.assertFalse(store.offer(new DemoPojo()));
+        Assertions.assertNotNull(store.poll());
+        Thread.sleep(20);
+        // 上个周期内有取用需求，不收缩
+        Assertions.assertEquals(0, store.trimIfIdle());
+        Thread.sleep(20);
+        Assertions.assertEquals(8, store.trimIfIdle());
+        Assertions.assertEquals(7, store.size());
+    }
+
+    @Test
+    public void testTrimWhenPoolIdle() throws InterruptedException {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(16)
+                                                                        .cacheCapacity(0)
+                                                                        .overflowCapacity(32)
+                                                                        .build();
+        spike(pojoPool, 48);
+        Assertions.assertEquals(32, pojoPool.stats().getOverflowSize());
+        // 池完全空闲，不再取用或归还，溢出层仍由后台收缩
+        // The pool is fully idle without fetch or release, the overflow tier still shrinks in the background
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (pojoPool.stats().getOverflowSize() == 32 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50L);
+        }
+        Assertions.assertEquals(16, pojoPool.stats().getOverflowSize());
+    }
+
+    private static void spike(ObjectsMemoryPool<DemoPojo> pojoPool, int count) {
+        List<DemoPojo> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(pojoPool.fetch());
+        }
+        for (DemoPojo pojo : list) {
+            pojoPool.release(pojo);
+        }
+    }
+}
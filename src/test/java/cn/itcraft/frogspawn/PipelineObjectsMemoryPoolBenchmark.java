@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.stats.PoolStats;
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 两阶段流水线：一个线程取对象并交给另一个线程，由后者归还
+ * Two-stage pipeline: one thread fetches objects and hands them over to another thread, which releases them
+ * <p>
+ * created: 池耗尽后由创建器新建的对象数
+ * mainPoolFetches: 缓存未命中后访问主池的次数
+ * walkerAdvances: 主池遍历指针的推进次数；取用线程缓存接住跨线程归还时两者稳定状态下均为 0
+ * <p>
+ * created: objects created by the creator after exhaustion
+ * mainPoolFetches: fetches reaching the main pool after cache miss
+ * walkerAdvances: advances of the main pool walker; both stay at 0 in steady state
+ * when the fetching thread's cache takes cross-thread releases
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 3, jvmArgs = {"-Xmx4G", "-Xms4G", "-Xmn2G", "-XX:-RestrictContended"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+public class PipelineObjectsMemoryPoolBenchmark {
+
+    @Param({"THREAD_LOCAL", "STRIPED"})
+    private CacheStrategy cacheStrategy;
+
+    private final AtomicLong created = new AtomicLong(0);
+    private final ArrayBlockingQueue<DemoPojo> queue = new ArrayBlockingQueue<>(1024);
+    private ObjectsMemoryPool<DemoPojo> pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = ObjectsMemoryPoolFactory.newPool(() -> {
+            created.incrementAndGet();
+            return new DemoPojo();
+        }, 3000, new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NEW, FetchFailStrategy.CALL_CREATOR, cacheStrategy));
+    }
+
+    @Benchmark
+    @Group("pipeline")
+    @GroupThreads(1)
+    public void produce(Counters counters) {
+        PoolStats stats = pool.stats();
+        long before = created.get();
+        long fetchesBefore = stats.getMainPoolFetchCount();
+        long probesBefore = stats.getProbeCount();
+        DemoPojo pojo = pool.fetch();
+        counters.mainPoolFetches += stats.getMainPoolFetchCount() - fetchesBefore;
+        counters.walkerAdvances += stats.getProbeCount() - probesBefore;
+        if (!queue.offer(pojo)) {
+            // 消费者落后时直接归还，避免迭代结束时阻塞
+            // Release directly when consumer falls behind, avoids blocking at iteration end
+            pool.release(pojo);
+        }
+        counters.created += created.get() - before;
+    }
+
+    @Benchmark
+    @Group("pipeline")
+    @GroupThreads(1)
+    public void consume() {
+        DemoPojo pojo = queue.poll();
+        if (pojo != null) {
+            pool.release(pojo);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long created;
+        public long mainPoolFetches;
+        public long walkerAdvances;
+    }
+}
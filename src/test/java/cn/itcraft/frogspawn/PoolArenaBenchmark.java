@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.arena.PoolArena;
+import cn.itcraft.frogspawn.sample.serial.DemoCustomer;
+import cn.itcraft.frogspawn.sample.serial.DemoItem;
+import cn.itcraft.frogspawn.sample.serial.DemoOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次请求从三个池取 32 个对象：手工逐个归还与 PoolArena 作用域统一归还的对比
+ * One request fetches 32 objects from three pools: manual release one by one vs releasing at PoolArena scope end
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Threads(value = 4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PoolArenaBenchmark {
+
+    private static final int ORDERS = 2;
+    private static final int ITEMS = 14;
+
+    private ObjectsMemoryPool<DemoItem> itemPool;
+    private ObjectsMemoryPool<DemoCustomer> customerPool;
+    private ObjectsMemoryPool<DemoOrder> orderPool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        itemPool = ObjectsMemoryPoolFactory.newPool(DemoItem::new, 1024);
+        customerPool = ObjectsMemoryPoolFactory.newPool(DemoCustomer::new, 128);
+        orderPool = ObjectsMemoryPoolFactory.newPool(DemoOrder::new, 128);
+    }
+
+    @Benchmark
+    public void testManualRelease(Blackhole blackhole) {
+        DemoOrder[] orders = new DemoOrder[ORDERS];
+        DemoCustomer[] customers = new DemoCustomer[ORDERS];
+        DemoItem[] items = new DemoItem[ORDERS * ITEMS];
+        for (int o = 0; o < ORDERS; o++) {
+            orders[o] = orderPool.fetch();
+            customers[o] = customerPool.fetch();
+            for (int i = 0; i < ITEMS; i++) {
+                items[o * ITEMS + i] = itemPool.fetch();
+            }
+        }
+        blackhole.consume(items);
+        for (int i = 0; i < items.length; i++) {
+            itemPool.release(items[i]);
+        }
+        for (int o = 0; o < ORDERS; o++) {
+            customerPool.release(customers[o]);
+            orderPool.release(orders[o]);
+        }
+    }
+
+    @Benchmark
+    public void testArenaScope(Blackhole blackhole) {
+        PoolArena arena = PoolArena.current();
+        try (PoolArena.Scope scope = arena.open()) {
+            for (int o = 0; o < ORDERS; o++) {
+                blackhole.consume(arena.fetch(orderPool));
+                blackhole.consume(arena.fetch(customerPool));
+                for (int i = 0; i < ITEMS; i++) {
+                    blackhole.consume(arena.fetch(itemPool));
+                }
+            }
+        }
+    }
+}
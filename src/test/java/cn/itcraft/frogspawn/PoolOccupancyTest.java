@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class PoolOccupancyTest {
+
+    private static final int CAPACITY = 64;
+
+    @Test
+    public void testWithoutThreadCache() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(CAPACITY)
+                                                                        .cacheCapacity(0)
+                                                                        .build();
+        Assertions.assertEquals(CAPACITY, pojoPool.capacity());
+        Assertions.assertEquals(CAPACITY, pojoPool.available());
+        List<DemoPojo> list = fetch(pojoPool, 10);
+        Assertions.assertEquals(10, pojoPool.inUse());
+        Assertions.assertEquals(CAPACITY - 10, pojoPool.available());
+        Assertions.assertEquals(0, pojoPool.inThreadCaches());
+        list.forEach(pojoPool::release);
+        Assertions.assertEquals(0, pojoPool.inUse());
+        Assertions.assertEquals(CAPACITY, pojoPool.available());
+    }
+
+    @Test
+    public void testThreadCache() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(CAPACITY)
+                                                                        .cacheCapacity(8)
+                                                                        .build();
+        fetch(pojoPool, 10).forEach(pojoPool::release);
+        Assertions.assertEquals(0, pojoPool.inUse());
+        Assertions.assertTrue(pojoPool.inThreadCaches() > 0);
+        Assertions.assertEquals(CAPACITY, pojoPool.available() + pojoPool.inThreadCaches());
+        // 从线程缓存取用，对象转为使用中 / Fetched from thread cache, objects become in use
+        List<DemoPojo> list = fetch(pojoPool, 2);
+        Assertions.assertEquals(2, pojoPool.inUse());
+        Assertions.assertEquals(CAPACITY, pojoPool.available() + pojoPool.inUse() + pojoPool.inThreadCaches());
+        list.forEach(pojoPool::release);
+        pojoPool.flushThreadCache();
+        Assertions.assertEquals(0, pojoPool.inThreadCaches());
+        Assertions.assertEquals(CAPACITY, pojoPool.available());
+    }
+
+    @Test
+    public void testBatchRelease() {
+        ObjectsMemoryPool<DemoPojo> batchPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                         .size(CAPACITY)
+                                                                         .cacheCapacity(8)
+                                                                         .build();
+        ObjectsMemoryPool<DemoPojo> singlePool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                          .size(CAPACITY)
+                                                                          .cacheCapacity(8)
+                                                                          .build();
+        DemoPojo[] batch = fetch(batchPool, 20).toArray(new DemoPojo[0]);
+        batchPool.releaseAll(batch, 0, batch.length);
+        fetch(singlePool, 20).forEach(singlePool::release);
+        // 缓存填满后其余对象回到主池，与逐个归还结果一致
+        // Objects beyond a full cache go back to the main pool, same as releasing one by one
+        Assertions.assertEquals(0, batchPool.inUse());
+        Assertions.assertEquals(singlePool.inThreadCaches(), batchPool.inThreadCaches());
+        Assertions.assertEquals(CAPACITY, batchPool.available() + batchPool.inThreadCaches());
+    }
+
+    @Test
+    public void testFailoverNotCounted() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(4)
+                                                                        .cacheCapacity(0)
+                                                                        .build();
+        List<DemoPojo> list = fetch(pojoPool, 6);
+        Assertions.assertEquals(4, pojoPool.inUse());
+        Assertions.assertEquals(0, pojoPool.available());
+        list.forEach(pojoPool::release);
+        Assertions.assertEquals(0, pojoPool.inUse());
+        Assertions.assertEquals(4, pojoPool.available());
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(CAPACITY)
+                                                                        .cacheCapacity(4)
+                                                                        .build();
+        List<DemoPojo> handed = new ArrayList<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                List<DemoPojo> list = new ArrayList<>();
+                for (int i = 0; i < 10_000; i++) {
+                    if (list.size() < 8 && ThreadLocalRandom.current().nextBoolean()) {
+                        list.add(pojoPool.fetch());
+                    } else if (!list.isEmpty()) {
+                        pojoPool.release(list.remove(list.size() - 1));
+                    }
+                }
+                synchronized (handed) {
+                    handed.addAll(list);
+                }
+                pojoPool.flushThreadCache();
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // 探测次数用尽时可能新建对象，这些对象不计入使用中，且每个都对应一次失败处理
+        // Objects may be created when the probe budget runs out, they are not in use and each one is a failover
+        long pooled = handed.stream().filter(pojo -> pojo.getMarkedId() >= 0).count();
+        Assertions.assertEquals(pooled, pojoPool.inUse());
+        Assertions.assertTrue(handed.size() - pooled <= pojoPool.stats().getFailoverCount());
+        Assertions.assertEquals(0, pojoPool.inThreadCaches());
+        Assertions.assertEquals(CAPACITY, pojoPool.available() + pojoPool.inUse());
+        // 跨线程归还剩余对象，送回已结束线程的对象在清扫前仍计为使用中
+        // Release the rest from another thread, objects sent back to dead threads count as in use until swept
+        handed.forEach(pojoPool::release);
+        Assertions.assertEquals(CAPACITY, pojoPool.available() + pojoPool.inUse() + pojoPool.inThreadCaches());
+    }
+
+    @Test
+    public void testSpscPool() {
+        SpscObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.newSpscPool(
+                new DemoPojoCreator(), 8,
+                new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NEW, FetchFailStrategy.CALL_CREATOR));
+        pojoPool.bindProducer();
+        pojoPool.bindConsumer();
+        DemoPojo pojo = pojoPool.fetch();
+        Assertions.assertEquals(8, pojoPool.capacity());
+        Assertions.assertEquals(7, pojoPool.available());
+        Assertions.assertEquals(1, pojoPool.inUse());
+        pojoPool.release(pojo);
+        Assertions.assertEquals(8, pojoPool.available());
+        Assertions.assertEquals(0, pojoPool.inThreadCaches());
+    }
+
+    private static List<DemoPojo> fetch(ObjectsMemoryPool<DemoPojo> pojoPool, int count) {
+        List<DemoPojo> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(pojoPool.fetch());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 包装对象与池化对象基类的主池探测对比，关闭线程缓存，每次取对象都访问主池
+ * Main pool probing with wrapped objects vs the pooled object base class, thread cache disabled
+ * so every fetch goes to the main pool
+ * <p>
+ * 预先隔一个占用一个槽位，每次取对象平均探测两个槽位；池远大于缓存时每次探测的缓存未命中数可用
+ * -prof perfnorm 观察（需要 Linux perf）
+ * <p>
+ * Every other slot is held in advance, so each fetch probes two slots on average; with the pool much larger
+ * than the caches, cache misses per probe are visible with -prof perfnorm (Linux perf required)
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PooledObjectBenchmark {
+
+    private static final int BATCH = 32;
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    private ObjectsMemoryPool<Plain> plainPool;
+    private ObjectsMemoryPool<Pooled> pooledPool;
+    private final List<Plain> heldPlain = new ArrayList<>();
+    private final List<Pooled> heldPooled = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        plainPool = ObjectsMemoryPoolFactory.builder(Plain::new).size(size).cacheCapacity(0).build();
+        pooledPool = ObjectsMemoryPoolFactory.builder(Pooled::new).size(size).cacheCapacity(0).build();
+        holdEveryOther(plainPool, heldPlain);
+        holdEveryOther(pooledPool, heldPooled);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void testWrapped(Batch batch) {
+        Plain[] objects = batch.plain;
+        for (int i = 0; i < BATCH; i++) {
+            objects[i] = plainPool.fetch();
+            objects[i].val = i;
+        }
+        for (int i = 0; i < BATCH; i++) {
+            plainPool.release(objects[i]);
+            objects[i] = null;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void testPooled(Batch batch) {
+        Pooled[] objects = batch.pooled;
+        for (int i = 0; i < BATCH; i++) {
+            objects[i] = pooledPool.fetch();
+            objects[i].val = i;
+        }
+        for (int i = 0; i < BATCH; i++) {
+            pooledPool.release(objects[i]);
+            objects[i] = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        heldPlain.forEach(plainPool::release);
+        heldPooled.forEach(pooledPool::release);
+        heldPlain.clear();
+        heldPooled.clear();
+    }
+
+    private static <T extends Resettable> void holdEveryOther(ObjectsMemoryPool<T> pool, List<T> held) {
+        List<T> all = new ArrayList<>(pool.capacity());
+        for (int i = 0; i < pool.capacity(); i++) {
+            all.add(pool.fetch());
+        }
+        for (int i = 0; i < all.size(); i++) {
+            if ((all.get(i).getMarkedId() & 1) == 0) {
+                held.add(all.get(i));
+            } else {
+                pool.release(all.get(i));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Batch {
+        private final Plain[] plain = new Plain[BATCH];
+        private final Pooled[] pooled = new Pooled[BATCH];
+    }
+
+    public static class Plain implements Resettable {
+        private int markedId = -1;
+        private long val;
+
+        @Override
+        public void reset() {
+            val = 0;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+
+    public static class Pooled extends PooledObject {
+        private long val;
+
+        @Override
+        public void reset() {
+            val = 0;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class PooledObjectTest {
+
+    private static final int CAPACITY = 16;
+
+    @Test
+    public void testFetchRelease() {
+        ObjectsMemoryPool<DemoPooled> pool = ObjectsMemoryPoolFactory.builder(DemoPooled::new)
+                                                                      .size(CAPACITY)
+                                                                      .cacheCapacity(0)
+                                                                      .build();
+        Map<DemoPooled, Boolean> seen = new IdentityHashMap<>();
+        List<DemoPooled> list = new ArrayList<>();
+        for (int i = 0; i < CAPACITY; i++) {
+            DemoPooled obj = pool.fetch();
+            Assertions.assertTrue(obj.getMarkedId() >= 0);
+            Assertions.assertNull(seen.put(obj, Boolean.TRUE));
+            obj.value = i;
+            list.add(obj);
+        }
+        Assertions.assertEquals(0, pool.available());
+        // 池耗尽后新建对象，不占槽位 / Objects created after exhaustion take no slot
+        DemoPooled extra = pool.fetch();
+        Assertions.assertTrue(extra.getMarkedId() < 0);
+        pool.release(extra);
+
+        list.forEach(pool::release);
+        Assertions.assertEquals(CAPACITY, pool.available());
+        for (DemoPooled obj : list) {
+            Assertions.assertEquals(0, obj.value);
+        }
+        for (int i = 0; i < CAPACITY; i++) {
+            Assertions.assertTrue(seen.containsKey(pool.fetch()));
+        }
+    }
+
+    @Test
+    public void testDuplicateRelease() {
+        ObjectsMemoryPool<DemoPooled> pool = ObjectsMemoryPoolFactory.builder(DemoPooled::new)
+                                                                      .size(CAPACITY)
+                                                                      .cacheCapacity(0)
+                                                                      .build();
+        DemoPooled obj = pool.fetch();
+        pool.release(obj);
+        pool.release(obj);
+        Assertions.assertEquals(CAPACITY, pool.available());
+        Assertions.assertEquals(0, pool.inUse());
+    }
+
+    @Test
+    public void testCrossThreadRelease() throws InterruptedException {
+        ObjectsMemoryPool<DemoPooled> pool = ObjectsMemoryPoolFactory.builder(DemoPooled::new)
+                                                                      .size(CAPACITY)
+                                                                      .cacheCapacity(8)
+                                                                      .build();
+        List<DemoPooled> list = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            list.add(pool.fetch());
+        }
+        Thread thread = new Thread(() -> list.forEach(pool::release));
+        thread.start();
+        thread.join();
+        // 跨线程归还的对象回到取用线程的缓存 / Objects released cross-thread go back to the fetching thread's cache
+        Map<DemoPooled, Boolean> fetched = new IdentityHashMap<>();
+        for (int i = 0; i < 4; i++) {
+            fetched.put(pool.fetch(), Boolean.TRUE);
+        }
+        for (DemoPooled obj : list) {
+            Assertions.assertTrue(fetched.containsKey(obj));
+        }
+    }
+
+    private static final class DemoPooled extends PooledObject {
+
+        private int value;
+
+        @Override
+        public void reset() {
+            value = 0;
+        }
+    }
+}
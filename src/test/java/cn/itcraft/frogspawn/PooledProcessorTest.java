@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class PooledProcessorTest {
+
+    @Test
+    public void testGeneratedReset() {
+        GeneratedPojoPooled pojo = GeneratedPojoPooled.creator().create();
+        Assertions.assertEquals(-1, pojo.getMarkedId());
+        pojo.setVal1(1);
+        pojo.setVal2(2L);
+        pojo.setVal3(3D);
+        pojo.setVal4("4");
+        pojo.getTags().add("tag");
+        pojo.getAttrs().put("key", 1L);
+        pojo.getBuffer()[0] = 1;
+        pojo.ids.add(1L);
+        pojo.owner = "owner";
+        pojo.reset();
+        Assertions.assertEquals(0, pojo.getVal1());
+        Assertions.assertEquals(0L, pojo.getVal2());
+        Assertions.assertEquals(0D, pojo.getVal3());
+        Assertions.assertNull(pojo.getVal4());
+        Assertions.assertTrue(pojo.getTags().isEmpty());
+        Assertions.assertTrue(pojo.getAttrs().isEmpty());
+        Assertions.assertEquals(0, pojo.getBuffer()[0]);
+        Assertions.assertTrue(pojo.ids.isEmpty());
+        Assertions.assertEquals("owner", pojo.owner);
+    }
+
+    @Test
+    public void testPoolWithGeneratedCreator() {
+        ObjectsMemoryPool<GeneratedPojoPooled> pool = ObjectsMemoryPoolFactory.builder(GeneratedPojoPooled.creator())
+                                                                              .size(16)
+                                                                              .cacheCapacity(0)
+                                                                              .build();
+        GeneratedPojoPooled pojo = pool.fetch();
+        Assertions.assertTrue(pojo.getMarkedId() >= 0);
+        pojo.getTags().add("tag");
+        pool.release(pojo);
+        Assertions.assertTrue(pojo.getTags().isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.annotation.Clear;
+import cn.itcraft.frogspawn.annotation.Pooled;
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 手写 reset() 的 DemoPojo 与 @Pooled 生成的 reset() 对比
+ * Hand-written reset() of DemoPojo vs reset() generated by @Pooled
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Threads(value = 1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PooledResetBenchmark {
+
+    private DemoPojo handWritten;
+    private PooledResetBenchmark_PlainPojoPooled generated;
+    private ObjectsMemoryPool<DemoPojo> handWrittenPool;
+    private ObjectsMemoryPool<PooledResetBenchmark_PlainPojoPooled> generatedPool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        handWritten = new DemoPojo();
+        generated = PooledResetBenchmark_PlainPojoPooled.creator().create();
+        // 不使用线程缓存，保证每次归还都执行 reset()
+        // No thread cache, every release runs reset()
+        handWrittenPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                  .size(64)
+                                                  .cacheCapacity(0)
+                                                  .cacheStrategy(CacheStrategy.THREAD_LOCAL)
+                                                  .build();
+        generatedPool = ObjectsMemoryPoolFactory.builder(PooledResetBenchmark_PlainPojoPooled.creator())
+                                                .size(64)
+                                                .cacheCapacity(0)
+                                                .cacheStrategy(CacheStrategy.THREAD_LOCAL)
+                                                .build();
+    }
+
+    @Benchmark
+    public DemoPojo testHandWrittenReset() {
+        DemoPojo pojo = handWritten;
+        pojo.setVal1(1);
+        pojo.setVal2(2L);
+        pojo.setVal3(3D);
+        pojo.setVal4("4");
+        pojo.reset();
+        return pojo;
+    }
+
+    @Benchmark
+    public PlainPojo testGeneratedReset() {
+        PooledResetBenchmark_PlainPojoPooled pojo = generated;
+        pojo.val1 = 1;
+        pojo.val2 = 2L;
+        pojo.val3 = 3D;
+        pojo.val4 = "4";
+        pojo.reset();
+        return pojo;
+    }
+
+    @Benchmark
+    public void testHandWrittenPool() {
+        DemoPojo pojo = handWrittenPool.fetch();
+        pojo.setVal1(1);
+        pojo.setVal4("4");
+        handWrittenPool.release(pojo);
+    }
+
+    @Benchmark
+    public void testGeneratedPool() {
+        PooledResetBenchmark_PlainPojoPooled pojo = generatedPool.fetch();
+        pojo.val1 = 1;
+        pojo.val4 = "4";
+        generatedPool.release(pojo);
+    }
+
+    /**
+     * 字段与 DemoPojo 相同
+     * Same fields as DemoPojo
+     */
+    @Pooled
+    public static class PlainPojo {
+        @Clear
+        int val1;
+        @Clear
+        long val2;
+        @Clear
+        double val3;
+        @Clear
+        String val4;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import cn.itcraft.frogspawn.util.ThreadUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class RemoteFreeTest {
+
+    private static final int PIPELINE_TIMES = 100_000;
+
+    @Test
+    public void testReturnToOwner() throws InterruptedException {
+        ObjectsMemoryPool<DemoPojo> pojoPool
+                = ObjectsMemoryPoolFactory.newPool(new DemoPojoCreator(), 16,
+                                                   new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NULL,
+                                                                    FetchFailStrategy.NULLABLE,
+                                                                    CacheStrategy.THREAD_LOCAL));
+        for (int i = 0; i < 100; i++) {
+            DemoPojo pojo = pojoPool.fetch();
+            Thread worker = new Thread(() -> pojoPool.release(pojo));
+            worker.start();
+            worker.join();
+            // 由其他线程归还的对象回到取用线程的缓存，而非主池中的下一个对象
+            Assertions.assertSame(pojo, pojoPool.fetch());
+            pojoPool.release(pojo);
+        }
+    }
+
+    @Test
+    public void testReclaimFromLiveOwner() throws InterruptedException {
+        ObjectsMemoryPool<DemoPojo> pojoPool
+                = ObjectsMemoryPoolFactory.newPool(new DemoPojoCreator(), 16,
+                                                   new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NULL,
+                                                                    FetchFailStrategy.NULLABLE,
+                                                                    CacheStrategy.THREAD_LOCAL));
+        DemoPojo[] pojos = new DemoPojo[16];
+        for (int i = 0; i < pojos.length; i++) {
+            pojos[i] = pojoPool.fetch();
+        }
+        Thread releaser = new Thread(() -> {
+            for (DemoPojo pojo : pojos) {
+                pojoPool.release(pojo);
+            }
+        });
+        releaser.start();
+        releaser.join();
+        // 取用线程存活但不再取对象，送回其缓存的对象经清扫后可被其他线程取得
+        int[] fetched = new int[1];
+        Thread other = new Thread(() -> {
+            for (int i = 0; i < pojos.length; i++) {
+                if (pojoPool.fetch() != null) {
+                    fetched[0]++;
+                }
+            }
+        });
+        other.start();
+        other.join();
+        Assertions.assertEquals(pojos.length, fetched[0]);
+    }
+
+    @Test
+    public void testPipeline() throws InterruptedException {
+        ObjectsMemoryPool<DemoPojo> pojoPool
+                = ObjectsMemoryPoolFactory.newPool(new DemoPojoCreator(), 64,
+                                                   new PoolStrategy(FetchStrategy.MUST_FETCH_IN_POOL,
+                                                                    FetchFailStrategy.NULLABLE,
+                                                                    CacheStrategy.THREAD_LOCAL));
+        BlockingQueue<DemoPojo> queue = new ArrayBlockingQueue<>(16);
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < PIPELINE_TIMES; i++) {
+                    queue.put(pojoPool.fetch());
+                }
+            } catch (InterruptedException e) {
+                //
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < PIPELINE_TIMES; i++) {
+                    pojoPool.release(queue.take());
+                }
+            } catch (InterruptedException e) {
+                //
+            }
+        });
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+        // 生产者已结束，滞留在其缓存中的对象经清扫后可再次取得
+        for (int i = 0; i < 64; i++) {
+            Assertions.assertNotNull(pojoPool.fetch());
+        }
+    }
+
+    @Test
+    public void testNoStaleOwnerAfterVirtualFetch() throws Exception {
+        Assumptions.assumeTrue(ThreadUtil.isVirtualThreadSupported());
+        ObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                        .size(1)
+                                                                        .cacheCapacity(4)
+                                                                        .poolStrategy(new PoolStrategy(
+                                                                                FetchStrategy.FETCH_FAIL_AS_NULL,
+                                                                                FetchFailStrategy.NULLABLE,
+                                                                                CacheStrategy.AUTO))
+                                                                        .build();
+        // 平台线程取用后经 flush 归还主池，线程保持存活
+        // A platform thread fetches and flushes the object back to the main pool, then stays alive
+        CountDownLatch returned = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        Thread platform = new Thread(() -> {
+            pojoPool.release(pojoPool.fetch());
+            pojoPool.flushThreadCache();
+            returned.countDown();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                //
+            }
+        });
+        platform.start();
+        returned.await();
+        ExecutorService executor =
+                (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        try {
+            Future<DemoPojo> future = executor.submit(pojoPool::fetch);
+            DemoPojo pojo = future.get();
+            Assertions.assertNotNull(pojo);
+            // 虚拟线程取得的对象不再指向原平台线程的缓存，归还后留在当前线程缓存中
+            // The object fetched by a virtual thread no longer points to the old platform thread's cache,
+            // releasing it parks it in the current thread's cache
+            pojoPool.release(pojo);
+            Assertions.assertEquals(0, pojoPool.inUse());
+            Assertions.assertEquals(1, pojoPool.inThreadCaches());
+        } finally {
+            executor.shutdown();
+            done.countDown();
+            platform.join();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.collection.ResettableArrayList;
+import cn.itcraft.frogspawn.collection.ResettableLongList;
+import cn.itcraft.frogspawn.collection.ResettableLongMap;
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 池化 DTO 中 JDK 集合与可重置集合的对比：取出、填充、归还（归还时重置）
+ * JDK collections vs resettable collections inside pooled DTOs: fetch, fill, release (reset on release)
+ * <p>
+ * 建议配合 -prof gc 观察每次操作的分配量
+ * Run with -prof gc to observe allocation per operation
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Threads(value = 1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResettableCollectionBenchmark {
+
+    @Param({"8", "64"})
+    private int entries;
+
+    private String[] names;
+    private ObjectsMemoryPool<JdkDto> jdkPool;
+    private ObjectsMemoryPool<ResettableDto> resettablePool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        names = new String[entries];
+        for (int i = 0; i < entries; i++) {
+            names[i] = "name" + i;
+        }
+        // 不使用线程缓存，保证每次归还都执行 reset()
+        // No thread cache, every release runs reset()
+        jdkPool = ObjectsMemoryPoolFactory.builder(JdkDto::new)
+                                          .size(64)
+                                          .cacheCapacity(0)
+                                          .cacheStrategy(CacheStrategy.THREAD_LOCAL)
+                                          .build();
+        resettablePool = ObjectsMemoryPoolFactory.builder(ResettableDto::new)
+                                                 .size(64)
+                                                 .cacheCapacity(0)
+                                                 .cacheStrategy(CacheStrategy.THREAD_LOCAL)
+                                                 .build();
+    }
+
+    @Benchmark
+    public void testJdkCollections() {
+        JdkDto dto = jdkPool.fetch();
+        for (int i = 0; i < entries; i++) {
+            dto.names.add(names[i]);
+            dto.byId.put((long) i, names[i]);
+            dto.ids.add((long) i);
+        }
+        jdkPool.release(dto);
+    }
+
+    @Benchmark
+    public void testResettableCollections() {
+        ResettableDto dto = resettablePool.fetch();
+        for (int i = 0; i < entries; i++) {
+            dto.names.add(names[i]);
+            dto.byId.put(i, names[i]);
+            dto.ids.add(i);
+        }
+        resettablePool.release(dto);
+    }
+
+    public static class JdkDto implements Resettable {
+
+        final List<String> names = new ArrayList<>();
+        final Map<Long, String> byId = new HashMap<>();
+        final List<Long> ids = new ArrayList<>();
+        private int markedId = -1;
+
+        @Override
+        public void reset() {
+            names.clear();
+            byId.clear();
+            ids.clear();
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+
+    public static class ResettableDto implements Resettable {
+
+        final ResettableArrayList<String> names = new ResettableArrayList<>();
+        final ResettableLongMap<String> byId = new ResettableLongMap<>();
+        final ResettableLongList ids = new ResettableLongList();
+        private int markedId = -1;
+
+        @Override
+        public void reset() {
+            names.reset();
+            byId.reset();
+            ids.reset();
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+}
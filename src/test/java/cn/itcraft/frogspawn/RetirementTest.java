@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.RetirementPolicy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class RetirementTest {
+
+    private static final int CAPACITY = 4;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    @Test
+    public void testMaxUses() throws InterruptedException {
+        ObjectsMemoryPool<Buffer> pool = newPool(RetirementPolicy.NONE.maxUses(3), false);
+        List<Buffer> first = fetchAll(pool);
+        fetchAll(pool);
+        Assertions.assertEquals(0L, pool.stats().getRetirementCount());
+        // 第三次归还后全部退役 / All retired after the third release
+        fetchAll(pool);
+        Assertions.assertEquals(CAPACITY, pool.stats().getRetirementCount());
+
+        awaitAvailable(pool);
+        Assertions.assertEquals(CAPACITY, pool.stats().getRegenerationCount());
+        Assertions.assertEquals(CAPACITY * 2, created.get());
+        List<Buffer> fresh = fetchAll(pool);
+        for (Buffer buffer : fresh) {
+            Assertions.assertTrue(buffer.getMarkedId() >= 0);
+            Assertions.assertFalse(first.contains(buffer));
+        }
+    }
+
+    @Test
+    public void testMaxAge() throws InterruptedException {
+        ObjectsMemoryPool<Buffer> pool = newPool(RetirementPolicy.NONE.maxAge(50L, TimeUnit.MILLISECONDS), false);
+        Buffer young = pool.fetch();
+        pool.release(young);
+        Assertions.assertEquals(0L, pool.stats().getRetirementCount());
+
+        Thread.sleep(100L);
+        Buffer old = pool.fetch();
+        pool.release(old);
+        Assertions.assertEquals(1L, pool.stats().getRetirementCount());
+        awaitAvailable(pool);
+        assertNotPooled(pool, old);
+    }
+
+    @Test
+    public void testOversizedShrunkInPlace() throws InterruptedException {
+        ObjectsMemoryPool<Buffer> pool = newPool(RetirementPolicy.NONE.maxRetainedSize(1024L), true);
+        Buffer buffer = pool.fetch();
+        buffer.size = 4096;
+        pool.release(buffer);
+        Assertions.assertEquals(1L, pool.stats().getRetirementCount());
+
+        awaitAvailable(pool);
+        Assertions.assertEquals(1L, pool.stats().getShrinkCount());
+        Assertions.assertEquals(0L, pool.stats().getRegenerationCount());
+        Assertions.assertEquals(64, buffer.size);
+        Assertions.assertEquals(CAPACITY, created.get());
+        Assertions.assertTrue(fetchAll(pool).contains(buffer));
+    }
+
+    @Test
+    public void testOversizedReplaced() throws InterruptedException {
+        ObjectsMemoryPool<Buffer> pool = newPool(RetirementPolicy.NONE.maxRetainedSize(1024L), false);
+        Buffer buffer = pool.fetch();
+        buffer.size = 4096;
+        pool.release(buffer);
+
+        awaitAvailable(pool);
+        Assertions.assertEquals(0L, pool.stats().getShrinkCount());
+        Assertions.assertEquals(1L, pool.stats().getRegenerationCount());
+        assertNotPooled(pool, buffer);
+    }
+
+    @Test
+    public void testSizeProbedAfterUseCheck() throws InterruptedException {
+        ObjectsMemoryPool<Buffer> pool = newPool(RetirementPolicy.NONE.maxUses(1).maxRetainedSize(1024L), true);
+        Buffer buffer = pool.fetch();
+        buffer.size = 4096;
+        pool.release(buffer);
+        // 使用次数已达上限，直接重建，不再估算大小 / Use limit reached, regenerated without probing size
+        Assertions.assertEquals(0, buffer.sizeProbes);
+
+        awaitAvailable(pool);
+        Assertions.assertEquals(0L, pool.stats().getShrinkCount());
+        Assertions.assertEquals(1L, pool.stats().getRegenerationCount());
+    }
+
+    @Test
+    public void testBuilderRejectsNull() {
+        ObjectsMemoryPoolBuilder<Buffer> builder = ObjectsMemoryPoolFactory.builder(() -> new Buffer(false));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.retirement(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RetirementPolicy.NONE.maxUses(-1));
+        Assertions.assertFalse(RetirementPolicy.NONE.isEnabled());
+    }
+
+    private ObjectsMemoryPool<Buffer> newPool(RetirementPolicy policy, boolean shrinkable) {
+        return ObjectsMemoryPoolFactory.builder(() -> {
+                                           created.incrementAndGet();
+                                           return new Buffer(shrinkable);
+                                       })
+                                       .size(CAPACITY)
+                                       .cacheCapacity(0)
+                                       .fetchTimes(CAPACITY, CAPACITY, CAPACITY)
+                                       .retirement(policy)
+                                       .build();
+    }
+
+    private static void awaitAvailable(ObjectsMemoryPool<Buffer> pool) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (pool.available() < CAPACITY && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        Assertions.assertEquals(CAPACITY, pool.available());
+    }
+
+    private static void assertNotPooled(ObjectsMemoryPool<Buffer> pool, Buffer retired) {
+        List<Buffer> list = fetchAll(pool);
+        Assertions.assertFalse(list.contains(retired));
+        for (Buffer buffer : list) {
+            Assertions.assertTrue(buffer.getMarkedId() >= 0);
+        }
+    }
+
+    private static List<Buffer> fetchAll(ObjectsMemoryPool<Buffer> pool) {
+        List<Buffer> list = new ArrayList<>();
+        for (int i = 0; i < CAPACITY; i++) {
+            list.add(pool.fetch());
+        }
+        list.forEach(pool::release);
+        return list;
+    }
+
+    private static final class Buffer implements Resettable {
+
+        private final boolean shrinkable;
+        private int size = 64;
+        private int sizeProbes;
+        private int markedId = -1;
+
+        private Buffer(boolean shrinkable) {
+            this.shrinkable = shrinkable;
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public long retainedSize() {
+            sizeProbes++;
+            return size;
+        }
+
+        @Override
+        public boolean shrink() {
+            if (shrinkable) {
+                size = 64;
+            }
+            return shrinkable;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+}
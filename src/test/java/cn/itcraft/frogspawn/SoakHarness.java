@@ -0,0 +1,415 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.stats.PoolStats;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 长时间浸泡测试：以固定速率向池发起请求，按窗口输出取用延迟百分位、占用率、失败处理次数与堆使用，
+ * 用于发现微基准看不到的缓慢退化（槽位泄漏、滞留在线程缓存中的对象、失败率上升）
+ * Long-running soak test: issues requests against the pool at a fixed rate and logs per window the fetch
+ * latency percentiles, occupancy, failover count and heap use, to find slow degradation invisible to
+ * microbenchmarks (leaked slots, objects stranded in thread caches, rising failover rate)
+ * <p>
+ * 占用由 inUse/inThreadCaches/available 给出，滞留在已结束线程缓存中的对象表现为 inThreadCaches 持续上升
+ * Occupancy comes from inUse/inThreadCaches/available, objects stranded in dead threads' caches show as
+ * inThreadCaches rising steadily
+ * <p>
+ * 延迟从计划开始时间起算，请求被前一次停顿推迟时，等待时间同样计入，避免协同遗漏；
+ * 另记录从实际开始起算的服务时间作对比
+ * <p>
+ * Latency is measured from the intended start time, so when a stall delays later requests, their waiting
+ * time is counted too, avoiding coordinated omission; service time from the actual start is recorded
+ * for comparison
+ * <p>
+ * 每个请求取 1~hold 个对象，按 cross 比例交由另一线程归还（跨线程归还）；churn 大于 0 时工作线程
+ * 每隔 churn 秒由新线程接替，模拟线程池回收线程。参数形如 key=value：threads、rate（每秒总请求数）、
+ * duration、report（窗口秒数）、poolSize、cacheCapacity、hold、cross、churn、out
+ * <p>
+ * Each request fetches 1~hold objects, and a cross fraction is released by another thread (remote free);
+ * when churn is above 0, each worker thread is replaced by a new thread every churn seconds, like a
+ * thread pool retiring threads. Arguments are key=value: threads, rate (total requests per second),
+ * duration, report (window seconds), poolSize, cacheCapacity, hold, cross, churn, out
+ * <pre>
+ * ./run_soak.sh duration=14400 rate=50000 threads=8 churn=60
+ * </pre>
+ */
+public final class SoakHarness {
+
+    static final String HEADER = "window,elapsedSec,requests,requestsPerSec,p50Us,p99Us,p999Us,maxUs,"
+            + "serviceP99Us,occupancy,inUse,inThreadCaches,available,failovers,gcCount,heapUsedMb,heapAfterGcMb";
+
+    private SoakHarness() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("threads", "4");
+        options.put("rate", "20000");
+        options.put("duration", "60");
+        options.put("report", "10");
+        options.put("poolSize", "1024");
+        options.put("cacheCapacity", "8");
+        options.put("hold", "4");
+        options.put("cross", "0.1");
+        options.put("churn", "0");
+        options.put("out", "target/bench/soak-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()));
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Argument must be key=value: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int threads = Integer.parseInt(options.get("threads"));
+        long interval = (long) (threads * 1e9D / Double.parseDouble(options.get("rate")));
+        long reportNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("report")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("duration")));
+        int hold = Integer.parseInt(options.get("hold"));
+        double cross = Double.parseDouble(options.get("cross"));
+        long churnNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("churn")));
+        if (interval <= 0L || reportNanos <= 0L || hold <= 0) {
+            throw new IllegalArgumentException("Rate, report and hold must be positive");
+        }
+        File out = new File(options.get("out"));
+        if (!out.isDirectory() && !out.mkdirs()) {
+            throw new IOException("Can not create " + out);
+        }
+
+        ObjectsMemoryPool<DemoPojo> pool = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                   .size(Integer.parseInt(options.get("poolSize")))
+                                                                   .cacheCapacity(Integer.parseInt(
+                                                                           options.get("cacheCapacity")))
+                                                                   .build();
+        PoolStats stats = pool.stats();
+        Releaser releaser = new Releaser(pool, threads * hold * 64);
+        Thread releaserThread = new Thread(releaser, "soak-releaser");
+        releaserThread.setDaemon(true);
+        releaserThread.start();
+
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        Worker[] workers = new Worker[threads];
+        for (int i = 0; i < threads; i++) {
+            // 各线程计划时间错开，使总速率均匀 / Stagger schedules so that the total rate is even
+            workers[i] = new Worker(pool, releaser, start + interval * i / threads, interval, end,
+                                    start, reportNanos, hold, cross, churnNanos);
+            workers[i].startThread();
+        }
+
+        File csv = new File(out, "soak.csv");
+        List<double[]> rows = new ArrayList<>();
+        try (PrintWriter writer = new PrintWriter(csv, StandardCharsets.UTF_8.name())) {
+            writer.println(HEADER);
+            System.out.println(HEADER);
+            LatencyHistogram response = new LatencyHistogram();
+            LatencyHistogram service = new LatencyHistogram();
+            long lastFailovers = stats.getFailoverCount();
+            long lastGc = gcCount();
+            long windows = (durationNanos + reportNanos - 1) / reportNanos;
+            for (int w = 0; w < windows; w++) {
+                awaitWindow(workers, w);
+                for (Worker worker : workers) {
+                    worker.drain(w, response, service);
+                }
+                long failovers = stats.getFailoverCount();
+                long gc = gcCount();
+                double seconds = Math.min(reportNanos, durationNanos - w * reportNanos) / 1e9D;
+                MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+                double[] row = {
+                        w, (w + 1) * reportNanos / 1e9D, response.count(), response.count() / seconds,
+                        micros(response.valueAtPercentile(50D)), micros(response.valueAtPercentile(99D)),
+                        micros(response.valueAtPercentile(99.9D)), micros(response.max()),
+                        micros(service.valueAtPercentile(99D)), stats.getOccupancyEstimate(),
+                        pool.inUse(), pool.inThreadCaches(), pool.available(), failovers - lastFailovers, gc - lastGc,
+                        heap.getUsed() / 1048576D, heapAfterGc() / 1048576D
+                };
+                rows.add(row);
+                String line = format(row);
+                writer.println(line);
+                writer.flush();
+                System.out.println(line);
+                lastFailovers = failovers;
+                lastGc = gc;
+                response.reset();
+                service.reset();
+            }
+        }
+        releaser.stop();
+        printDrift(rows);
+        System.out.println("Results written to " + csv.getAbsolutePath());
+    }
+
+    /**
+     * 等待所有工作线程的计划时间越过窗口 w，此后该窗口的样本不再变化
+     * Wait until schedules of all workers pass window w, samples of the window no longer change afterwards
+     */
+    private static void awaitWindow(Worker[] workers, int w) throws InterruptedException {
+        for (Worker worker : workers) {
+            while (!worker.passed(w)) {
+                Thread.sleep(10L);
+            }
+        }
+    }
+
+    /**
+     * 以第二个窗口为基线（第一个窗口含 JIT 预热），输出末窗口相对基线的变化
+     * Print change of the last window against baseline, the second window (the first includes JIT warmup)
+     */
+    private static void printDrift(List<double[]> rows) {
+        if (rows.size() < 3) {
+            return;
+        }
+        double[] base = rows.get(1);
+        double[] last = rows.get(rows.size() - 1);
+        System.out.println(String.format(Locale.ROOT,
+                                         "Drift: p99 %.3f -> %.3f us, p99.9 %.3f -> %.3f us, in thread caches %.0f -> %.0f,"
+                                                 + " failovers %.0f -> %.0f, heap after GC %.1f -> %.1f MB",
+                                         base[5], last[5], base[6], last[6], base[11], last[11], base[13], last[13],
+                                         base[16], last[16]));
+    }
+
+    private static long gcCount() {
+        long count = 0L;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0L, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * 各堆内存区最近一次 GC 后的使用量之和，持续上升说明存在泄漏
+     * Sum of heap pool usage after the latest GC, a steady rise indicates a leak
+     */
+    private static long heapAfterGc() {
+        long used = 0L;
+        for (MemoryPoolMXBean bean : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = bean.getType() == MemoryType.HEAP ? bean.getCollectionUsage() : null;
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000D;
+    }
+
+    private static String format(double[] row) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (row[i] == Math.rint(row[i])) {
+                line.append((long) row[i]);
+            } else {
+                line.append(String.format(Locale.ROOT, "%.3f", row[i]));
+            }
+        }
+        return line.toString();
+    }
+
+    private static final class Worker implements Runnable {
+        private final ObjectsMemoryPool<DemoPojo> pool;
+        private final Releaser releaser;
+        private final long interval;
+        private final long end;
+        private final long start;
+        private final long reportNanos;
+        private final int hold;
+        private final int crossEvery;
+        private final long churnNanos;
+        private final DemoPojo[] held;
+
+        /**
+         * 当前窗口的直方图，窗口切换时移交至 completed，仅在持有锁时访问
+         * Histograms of current window, handed to completed on window switch, only accessed under lock
+         */
+        private final Map<Integer, LatencyHistogram[]> completed = new LinkedHashMap<>();
+        private LatencyHistogram response = new LatencyHistogram();
+        private LatencyHistogram service = new LatencyHistogram();
+        private long intended;
+        private long seq;
+        private int window;
+        private volatile int passed = -1;
+
+        private Worker(ObjectsMemoryPool<DemoPojo> pool, Releaser releaser, long firstStart, long interval,
+                       long end, long start, long reportNanos, int hold, double cross, long churnNanos) {
+            this.pool = pool;
+            this.releaser = releaser;
+            this.intended = firstStart;
+            this.interval = interval;
+            this.end = end;
+            this.start = start;
+            this.reportNanos = reportNanos;
+            this.hold = hold;
+            this.crossEvery = cross > 0D ? Math.max(1, (int) Math.round(1D / cross)) : 0;
+            this.churnNanos = churnNanos;
+            this.held = new DemoPojo[hold];
+        }
+
+        void startThread() {
+            Thread thread = new Thread(this, "soak-worker");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        boolean passed(int w) {
+            return passed >= w;
+        }
+
+        @Override
+        public void run() {
+            long retireAt = churnNanos > 0L ? System.nanoTime() + churnNanos : Long.MAX_VALUE;
+            while (intended < end) {
+                int w = (int) ((intended - start) / reportNanos);
+                if (w != window) {
+                    handOver();
+                    window = w;
+                }
+                long now = waitUntil(intended);
+                if (now >= retireAt) {
+                    // 由新线程接替，本线程缓存中的对象随之滞留 / Replaced by a new thread, leaving its cache behind
+                    startThread();
+                    return;
+                }
+                int n = 1 + (int) (seq % hold);
+                for (int i = 0; i < n; i++) {
+                    DemoPojo pojo = pool.fetch();
+                    pojo.setVal2(seq);
+                    held[i] = pojo;
+                }
+                long done = System.nanoTime();
+                response.record(done - intended);
+                service.record(done - now);
+                boolean remote = crossEvery > 0 && seq % crossEvery == 0;
+                for (int i = 0; i < n; i++) {
+                    if (remote) {
+                        releaser.hand(held[i]);
+                    } else {
+                        pool.release(held[i]);
+                    }
+                    held[i] = null;
+                }
+                seq++;
+                intended += interval;
+            }
+            handOver();
+            passed = Integer.MAX_VALUE;
+        }
+
+        private void handOver() {
+            synchronized (completed) {
+                completed.put(window, new LatencyHistogram[]{response, service});
+            }
+            response = new LatencyHistogram();
+            service = new LatencyHistogram();
+            passed = window;
+        }
+
+        void drain(int w, LatencyHistogram responseSum, LatencyHistogram serviceSum) {
+            LatencyHistogram[] histograms;
+            synchronized (completed) {
+                histograms = completed.remove(w);
+            }
+            if (histograms != null) {
+                responseSum.add(histograms[0]);
+                serviceSum.add(histograms[1]);
+            }
+        }
+
+        /**
+         * 等到计划时间；已落后时立即返回，落后的时间计入响应延迟
+         * Wait until intended time; returns at once when already behind, the lag counts in response latency
+         */
+        private static long waitUntil(long deadline) {
+            long now;
+            while ((now = System.nanoTime()) < deadline) {
+                long remaining = deadline - now;
+                if (remaining > 100_000L) {
+                    LockSupport.parkNanos(remaining - 50_000L);
+                } else {
+                    Thread.yield();
+                }
+            }
+            return now;
+        }
+    }
+
+    /**
+     * 跨线程归还：从队列取出其他线程交来的对象并归还
+     * Remote free: takes objects handed over by other threads from the queue and releases them
+     */
+    private static final class Releaser implements Runnable {
+        private final ObjectsMemoryPool<DemoPojo> pool;
+        private final BlockingQueue<DemoPojo> queue;
+        private volatile boolean running = true;
+
+        private Releaser(ObjectsMemoryPool<DemoPojo> pool, int capacity) {
+            this.pool = pool;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void hand(DemoPojo pojo) {
+            if (!queue.offer(pojo)) {
+                // 队列已满时就地归还 / Release locally when the queue is full
+                pool.release(pojo);
+            }
+        }
+
+        void stop() {
+            running = false;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    DemoPojo pojo = queue.poll(10L, TimeUnit.MILLISECONDS);
+                    if (pojo != null) {
+                        pool.release(pojo);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
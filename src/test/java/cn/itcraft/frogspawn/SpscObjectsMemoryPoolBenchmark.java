@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.misc.SpscRing;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一对线程乒乓交接：SPSC 交接池 vs 默认池加同样的 SPSC 交接队列
+ * Ping-pong handoff between a thread pair: SPSC handoff pool vs default pool plus the same SPSC handoff ring
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 3, jvmArgs = {"-Xmx4G", "-Xms4G", "-Xmn2G", "-XX:-RestrictContended"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpscObjectsMemoryPoolBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @State(Scope.Group)
+    public static class SpscPair {
+        private final SpscObjectsMemoryPool<DemoPojo> pool = ObjectsMemoryPoolFactory.newSpscPool(
+                new DemoPojoCreator(), SIZE,
+                new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NEW, FetchFailStrategy.CALL_CREATOR));
+    }
+
+    @State(Scope.Group)
+    public static class DefaultPair {
+        private final ObjectsMemoryPool<DemoPojo> pool = ObjectsMemoryPoolFactory.newPool(new DemoPojoCreator(), SIZE);
+        private final SpscRing<DemoPojo> handoff = new SpscRing<>(SIZE);
+    }
+
+    /**
+     * JMH 不保证每轮使用同一线程，每轮重新绑定
+     * JMH does not guarantee the same thread per iteration, rebind every iteration
+     */
+    @State(Scope.Thread)
+    public static class ProducerBinding {
+        /**
+         * 交接队列已满时暂存，下次调用重试；只有消费线程能归还，不能丢弃池内对象
+         * Held when handoff ring is full and retried next call; only the consumer may release
+         */
+        private DemoPojo pending;
+
+        @Setup(Level.Iteration)
+        public void bind(SpscPair pair) {
+            pair.pool.bindProducer();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ConsumerBinding {
+        @Setup(Level.Iteration)
+        public void bind(SpscPair pair) {
+            pair.pool.bindConsumer();
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public void spscProduce(SpscPair pair, ProducerBinding binding) {
+        if (binding.pending == null) {
+            binding.pending = pair.pool.fetch();
+            binding.pending.setVal1(1);
+        }
+        if (pair.pool.publish(binding.pending)) {
+            binding.pending = null;
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public DemoPojo spscConsume(SpscPair pair, ConsumerBinding binding) {
+        DemoPojo pojo = pair.pool.poll();
+        if (pojo != null) {
+            pair.pool.release(pojo);
+        }
+        return pojo;
+    }
+
+    @Benchmark
+    @Group("default")
+    @GroupThreads(1)
+    public void defaultProduce(DefaultPair pair) {
+        DemoPojo pojo = pair.pool.fetch();
+        pojo.setVal1(1);
+        if (!pair.handoff.offer(pojo)) {
+            pair.pool.release(pojo);
+        }
+    }
+
+    @Benchmark
+    @Group("default")
+    @GroupThreads(1)
+    public DemoPojo defaultConsume(DefaultPair pair) {
+        DemoPojo pojo = pair.handoff.poll();
+        if (pojo != null) {
+            pair.pool.release(pojo);
+        }
+        return pojo;
+    }
+}
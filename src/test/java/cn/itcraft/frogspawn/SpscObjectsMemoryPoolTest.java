@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class SpscObjectsMemoryPoolTest {
+
+    private static final int TEST_TIMES = 300000;
+    private static final int CAPACITY = 64;
+
+    @Test
+    public void testHandoff() throws InterruptedException {
+        AtomicLong created = new AtomicLong(0);
+        SpscObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.newSpscPool(() -> {
+            created.incrementAndGet();
+            return new DemoPojo();
+        }, CAPACITY, new PoolStrategy(FetchStrategy.MUST_FETCH_IN_POOL, FetchFailStrategy.NULLABLE));
+        CountDownLatch bound = new CountDownLatch(2);
+        long[] sum = new long[1];
+        Thread producer = new Thread(() -> {
+            pojoPool.bindProducer();
+            bound.countDown();
+            await(bound);
+            for (int i = 0; i < TEST_TIMES; i++) {
+                DemoPojo pojo = pojoPool.fetch();
+                pojo.setVal1(i);
+                while (!pojoPool.publish(pojo)) {
+                    Thread.yield();
+                }
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            pojoPool.bindConsumer();
+            bound.countDown();
+            await(bound);
+            DemoPojo pojo;
+            for (int i = 0; i < TEST_TIMES; i++) {
+                while ((pojo = pojoPool.poll()) == null) {
+                    Thread.yield();
+                }
+                // 交接保持顺序
+                Assertions.assertEquals(i, pojo.getVal1());
+                sum[0] += pojo.getVal1();
+                pojoPool.release(pojo);
+            }
+        });
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+        Assertions.assertEquals((long) TEST_TIMES * (TEST_TIMES - 1) / 2, sum[0]);
+        Assertions.assertEquals(CAPACITY, created.get());
+    }
+
+    @Test
+    public void testUnboundThread() {
+        SpscObjectsMemoryPool<DemoPojo> pojoPool = ObjectsMemoryPoolFactory.newSpscPool(
+                new DemoPojoCreator(), CAPACITY,
+                new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NEW, FetchFailStrategy.CALL_CREATOR));
+        Assertions.assertThrows(IllegalStateException.class, pojoPool::fetch);
+        pojoPool.bindProducer();
+        DemoPojo pojo = pojoPool.fetch();
+        Assertions.assertNotNull(pojo);
+        Assertions.assertThrows(IllegalStateException.class, () -> pojoPool.release(pojo));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            //
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ThreadCacheReclaimTest {
+
+    private static final int CAPACITY = 8;
+
+    @Test
+    public void testReclaimDeadThread() throws InterruptedException {
+        ObjectsMemoryPool<DemoPojo> pojoPool = newPool();
+        Thread thread = new Thread(() -> strandAll(pojoPool));
+        thread.start();
+        thread.join();
+        // 线程已结束，其缓存中的对象应被回收
+        for (int i = 0; i < CAPACITY; i++) {
+            Assertions.assertNotNull(pojoPool.fetch());
+        }
+    }
+
+    @Test
+    public void testPeriodicSweepWithoutExhaustion() throws InterruptedException {
+        ObjectsMemoryPool<DemoPojo> pojoPool = newPool();
+        Thread thread = new Thread(() -> strandSome(pojoPool, CAPACITY / 2));
+        thread.start();
+        thread.join();
+        // 池未耗尽，已结束线程的对象由缓存未命中时的定期清扫回收
+        // Pool never exhausts, objects of the dead thread are reclaimed by periodic sweeps on cache misses
+        long deadline = System.currentTimeMillis() + 5000L;
+        int cached;
+        do {
+            DemoPojo pojo = pojoPool.fetch();
+            cached = pojoPool.inThreadCaches();
+            pojoPool.release(pojo);
+            pojoPool.flushThreadCache();
+            if (cached > 0) {
+                Thread.sleep(50L);
+            }
+        } while (cached > 0 && System.currentTimeMillis() < deadline);
+        Assertions.assertEquals(0, cached);
+        Assertions.assertEquals(CAPACITY, pojoPool.available());
+    }
+
+    @Test
+    public void testFlushThreadCache() throws InterruptedException {
+        ObjectsMemoryPool<DemoPojo> pojoPool = newPool();
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch checked = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            strandAll(pojoPool);
+            pojoPool.flushThreadCache();
+            flushed.countDown();
+            try {
+                checked.await();
+            } catch (InterruptedException e) {
+                //
+            }
+        });
+        thread.start();
+        flushed.await();
+        // 线程仍存活，但缓存已主动归还
+        for (int i = 0; i < CAPACITY; i++) {
+            Assertions.assertNotNull(pojoPool.fetch());
+        }
+        checked.countDown();
+        thread.join();
+    }
+
+    @Test
+    public void testUsedPoolCollectable() throws InterruptedException {
+        WeakReference<ObjectsMemoryPool<DemoPojo>> ref = new WeakReference<>(useOnce());
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (ref.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        // 当前线程仍存活，其线程缓存不应使用过的池无法回收
+        // Current thread is still alive, its thread cache must not keep the used pool from being collected
+        Assertions.assertNull(ref.get());
+    }
+
+    private ObjectsMemoryPool<DemoPojo> useOnce() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = newPool();
+        strandSome(pojoPool, CAPACITY / 2);
+        return pojoPool;
+    }
+
+    private ObjectsMemoryPool<DemoPojo> newPool() {
+        return ObjectsMemoryPoolFactory.newPool(new DemoPojoCreator(), CAPACITY,
+                                                new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NULL,
+                                                                 FetchFailStrategy.NULLABLE,
+                                                                 CacheStrategy.THREAD_LOCAL));
+    }
+
+    private static void strandAll(ObjectsMemoryPool<DemoPojo> pojoPool) {
+        strandSome(pojoPool, CAPACITY);
+    }
+
+    private static void strandSome(ObjectsMemoryPool<DemoPojo> pojoPool, int count) {
+        DemoPojo[] pojos = new DemoPojo[count];
+        for (int i = 0; i < count; i++) {
+            pojos[i] = pojoPool.fetch();
+        }
+        for (int i = 0; i < count; i++) {
+            pojoPool.release(pojos[i]);
+        }
+    }
+}
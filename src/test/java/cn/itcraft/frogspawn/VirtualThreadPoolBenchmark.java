@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn;
+
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import cn.itcraft.frogspawn.util.ThreadUtil;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 虚拟线程下线程本地缓存与条带缓存的对比，需要 JDK 21+ 运行
+ * Thread-local cache vs striped cache under virtual threads, requires JDK 21+ to run
+ * <p>
+ * created: 对象池耗尽后由创建器新建的对象数（被滞留在已结束虚拟线程缓存中的对象越多，该值越大）
+ * heapUsedMb: 每轮结束并 GC 后的堆占用
+ */
+@BenchmarkMode({Mode.Throughput})
+@Fork(value = 1, jvmArgs = {"-Xmx4G", "-Xms4G", "-XX:-RestrictContended"})
+@Threads(value = 1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class VirtualThreadPoolBenchmark {
+
+    private static final int VIRTUAL_THREADS = 100_000;
+    private static final int LOOP_PER_THREAD = 4;
+
+    @Param({"THREAD_LOCAL", "STRIPED"})
+    private CacheStrategy cacheStrategy;
+
+    private final AtomicLong created = new AtomicLong(0);
+    private ObjectsMemoryPool<DemoPojo> pool;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (!ThreadUtil.isVirtualThreadSupported()) {
+            throw new IllegalStateException("virtual thread requires JDK 21+");
+        }
+        pool = ObjectsMemoryPoolFactory.newPool(() -> {
+            created.incrementAndGet();
+            return new DemoPojo();
+        }, 3000, new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NEW, FetchFailStrategy.CALL_CREATOR, cacheStrategy));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VIRTUAL_THREADS)
+    public void testVirtualThreads(Counters counters) throws Exception {
+        long before = created.get();
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        for (int i = 0; i < VIRTUAL_THREADS; i++) {
+            executor.execute(this::usingPool);
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        counters.created += created.get() - before;
+    }
+
+    private void usingPool() {
+        for (int i = 0; i < LOOP_PER_THREAD; i++) {
+            DemoPojo pojo = pool.fetch();
+            pojo.setVal1(i);
+            pool.release(pojo);
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+        // 测试代码以 Java 8 编译，通过反射调用 JDK 21 API
+        // Test code is compiled for Java 8, call JDK 21 API via reflection
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Counters {
+        private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+        public long created;
+        public long heapUsedMb;
+
+        @TearDown(Level.Iteration)
+        public void sampleHeap() {
+            System.gc();
+            heapUsedMb = MEMORY.getHeapMemoryUsage().getUsed() >> 20;
+        }
+    }
+}
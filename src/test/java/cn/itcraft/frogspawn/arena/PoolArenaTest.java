@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.arena;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.Resettable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class PoolArenaTest {
+
+    @Test
+    public void testNestedScopes() {
+        RecordingPool a = new RecordingPool();
+        RecordingPool b = new RecordingPool();
+        PoolArena arena = new PoolArena(2);
+        try (PoolArena.Scope outer = arena.open()) {
+            arena.fetch(a);
+            arena.fetch(b);
+            try (PoolArena.Scope inner = arena.open()) {
+                arena.fetch(a);
+                arena.fetch(a);
+                arena.track(b, new Item());
+                Assertions.assertEquals(2, arena.depth());
+                Assertions.assertEquals(5, arena.size());
+            }
+            // 内层只归还内层取得的对象 / Inner scope releases only its own objects
+            Assertions.assertEquals(2, a.released.size());
+            Assertions.assertEquals(1, b.released.size());
+            Assertions.assertEquals(2, arena.size());
+        }
+        Assertions.assertEquals(3, a.released.size());
+        Assertions.assertEquals(2, b.released.size());
+        Assertions.assertEquals(0, arena.depth());
+        Assertions.assertEquals(0, arena.size());
+    }
+
+    @Test
+    public void testGroupedByPool() {
+        RecordingPool a = new RecordingPool();
+        RecordingPool b = new RecordingPool();
+        List<RecordingPool> order = new ArrayList<>();
+        a.order = order;
+        b.order = order;
+        PoolArena arena = new PoolArena();
+        try (PoolArena.Scope scope = arena.open()) {
+            arena.fetch(a);
+            arena.fetch(b);
+            arena.fetch(a);
+            arena.fetch(b);
+        }
+        // 同一个池的对象连续归还 / Objects of the same pool are released consecutively
+        Assertions.assertSame(order.get(0), order.get(1));
+        Assertions.assertSame(order.get(2), order.get(3));
+        Assertions.assertNotSame(order.get(1), order.get(2));
+    }
+
+    @Test
+    public void testOneBatchPerPool() {
+        BatchPool<Item> a = new BatchPool<>(new Item());
+        BatchPool<Item> b = new BatchPool<>(new Item());
+        PoolArena arena = new PoolArena(2);
+        try (PoolArena.Scope scope = arena.open()) {
+            for (int i = 0; i < 5; i++) {
+                arena.fetch(a);
+                arena.fetch(b);
+                arena.fetch(a);
+            }
+        }
+        // 交错取得的对象按池聚集，每个池只批量归还一次 / Interleaved objects are gathered, one batch per pool
+        Assertions.assertEquals(Collections.singletonList(10), a.batches);
+        Assertions.assertEquals(Collections.singletonList(5), b.batches);
+        Assertions.assertEquals(0, arena.size());
+    }
+
+    @Test
+    public void testFailingPool() {
+        RecordingPool a = new RecordingPool();
+        RecordingPool failing = new RecordingPool();
+        RecordingPool b = new RecordingPool();
+        failing.fail = true;
+        PoolArena arena = new PoolArena(2);
+        try (PoolArena.Scope outer = arena.open()) {
+            arena.fetch(a);
+            PoolArena.Scope inner = arena.open();
+            arena.fetch(a);
+            arena.fetch(failing);
+            arena.fetch(b);
+            Assertions.assertThrows(IllegalStateException.class, inner::close);
+            // 其余分组照常归还，日志回退到外层 / Other groups are still released, the log rolls back to the outer scope
+            Assertions.assertEquals(1, a.released.size());
+            Assertions.assertEquals(1, b.released.size());
+            Assertions.assertEquals(1, arena.depth());
+            Assertions.assertEquals(1, arena.size());
+        }
+        Assertions.assertEquals(2, a.released.size());
+        Assertions.assertEquals(0, arena.size());
+    }
+
+    @Test
+    public void testUnwindOnOuterClose() {
+        RecordingPool pool = new RecordingPool();
+        PoolArena arena = new PoolArena();
+        PoolArena.Scope outer = arena.open();
+        arena.fetch(pool);
+        PoolArena.Scope inner = arena.open();
+        arena.fetch(pool);
+        arena.fetch(pool);
+        // 内层未关闭，关闭外层时一并归还两层的对象再报告误用
+        // Inner scope left open, closing the outer one releases both levels before reporting the misuse
+        Assertions.assertThrows(IllegalStateException.class, outer::close);
+        Assertions.assertEquals(3, pool.released.size());
+        Assertions.assertEquals(0, arena.depth());
+        Assertions.assertEquals(0, arena.size());
+        Assertions.assertThrows(IllegalStateException.class, inner::close);
+        Assertions.assertEquals(3, pool.released.size());
+        // 作用域仍可正常使用 / The arena is usable again
+        try (PoolArena.Scope scope = arena.open()) {
+            arena.fetch(pool);
+            Assertions.assertEquals(1, arena.depth());
+        }
+        Assertions.assertEquals(4, pool.released.size());
+    }
+
+    @Test
+    public void testMisuse() throws InterruptedException {
+        PoolArena arena = new PoolArena();
+        RecordingPool pool = new RecordingPool();
+        Assertions.assertThrows(IllegalStateException.class, () -> arena.fetch(pool));
+        PoolArena.Scope outer = arena.open();
+        arena.open();
+        Assertions.assertThrows(IllegalStateException.class, outer::close);
+        Throwable[] error = new Throwable[1];
+        Thread other = new Thread(() -> {
+            try {
+                arena.open();
+            } catch (IllegalStateException e) {
+                error[0] = e;
+            }
+        });
+        other.start();
+        other.join();
+        Assertions.assertNotNull(error[0]);
+        // 其他线程也不能向作用域记录对象 / Other threads cannot record objects in the scope either
+        Throwable[] fetchError = new Throwable[2];
+        Thread recorder = new Thread(() -> {
+            try {
+                arena.fetch(pool);
+            } catch (IllegalStateException e) {
+                fetchError[0] = e;
+            }
+            try {
+                arena.track(pool, new Item());
+            } catch (IllegalStateException e) {
+                fetchError[1] = e;
+            }
+        });
+        recorder.start();
+        recorder.join();
+        Assertions.assertNotNull(fetchError[0]);
+        Assertions.assertNotNull(fetchError[1]);
+        Assertions.assertEquals(0, arena.size());
+        Assertions.assertSame(PoolArena.current(), PoolArena.current());
+    }
+
+    @Test
+    public void testNoAllocationInSteadyState() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        RecordingPool pool = new RecordingPool();
+        pool.keep = false;
+        PoolArena arena = new PoolArena(4);
+        for (int round = 0; round < 20_000; round++) {
+            cycle(arena, pool);
+        }
+        long id = Thread.currentThread().getId();
+        long before = bean.getThreadAllocatedBytes(id);
+        for (int round = 0; round < 100_000; round++) {
+            cycle(arena, pool);
+        }
+        long allocated = bean.getThreadAllocatedBytes(id) - before;
+        Assertions.assertTrue(allocated < 4096, "allocated " + allocated + " bytes");
+    }
+
+    private static void cycle(PoolArena arena, RecordingPool pool) {
+        try (PoolArena.Scope outer = arena.open()) {
+            for (int i = 0; i < 6; i++) {
+                arena.fetch(pool);
+            }
+            try (PoolArena.Scope inner = arena.open()) {
+                arena.fetch(pool);
+            }
+        }
+    }
+
+    private static class Item implements Resettable {
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public int getMarkedId() {
+            return -1;
+        }
+
+        @Override
+        public void markId(int id) {
+        }
+    }
+
+    private static class BatchPool<T extends Resettable> implements ObjectsMemoryPool<T> {
+
+        private final T item;
+        final List<Integer> batches = new ArrayList<>();
+
+        BatchPool(T item) {
+            this.item = item;
+        }
+
+        @Override
+        public T fetch() {
+            return item;
+        }
+
+        @Override
+        public void release(T used) {
+        }
+
+        @Override
+        public void releaseAll(Resettable[] used, int from, int to) {
+            batches.add(to - from);
+            ObjectsMemoryPool.super.releaseAll(used, from, to);
+        }
+    }
+
+    private static class RecordingPool implements ObjectsMemoryPool<Item> {
+
+        private final Item item = new Item();
+        final List<Item> released = new ArrayList<>();
+        List<RecordingPool> order;
+        boolean keep = true;
+        boolean fail;
+
+        @Override
+        public Item fetch() {
+            return item;
+        }
+
+        @Override
+        public void release(Item used) {
+            if (fail) {
+                throw new IllegalStateException("release failed");
+            }
+            if (keep) {
+                released.add(used);
+            }
+            if (order != null) {
+                order.add(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.collection;
+
+import cn.itcraft.frogspawn.constants.Constants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ResettableCollectionsTest {
+
+    @Test
+    public void testArrayList() {
+        ResettableArrayList<String> list = new ResettableArrayList<>(4, 64);
+        for (int i = 0; i < 10; i++) {
+            list.add("v" + i);
+        }
+        list.add(0, "head");
+        Assertions.assertEquals("v9", list.remove(10));
+        Assertions.assertEquals("head", list.get(0));
+        Assertions.assertEquals(10, list.size());
+        int capacity = list.capacity();
+        list.reset();
+        Assertions.assertTrue(list.isEmpty());
+        Assertions.assertEquals(capacity, list.capacity());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test
+    public void testCapacityRetention() {
+        ResettableArrayList<Integer> list = new ResettableArrayList<>(4, 64);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        Assertions.assertEquals(128, list.capacity());
+        // 超过高水位的容量在重置时立即释放 / Capacity beyond the high-water mark is dropped on reset
+        list.reset();
+        Assertions.assertEquals(64, list.capacity());
+        // 使用不足 1/4 时需连续多次才减半 / Halving takes repeated under-use
+        for (int round = 1; round < Constants.COLLECTION_SHRINK_RESETS; round++) {
+            list.add(round);
+            list.reset();
+        }
+        Assertions.assertEquals(64, list.capacity());
+        list.add(0);
+        list.reset();
+        Assertions.assertEquals(32, list.capacity());
+        // 充分使用一次会重新计数 / A well used round restarts the count
+        for (int round = 1; round < Constants.COLLECTION_SHRINK_RESETS; round++) {
+            list.add(round);
+            list.reset();
+        }
+        for (int i = 0; i < 16; i++) {
+            list.add(i);
+        }
+        list.reset();
+        list.add(0);
+        list.reset();
+        Assertions.assertEquals(32, list.capacity());
+    }
+
+    @Test
+    public void testRepeatedResets() {
+        ResettableArrayList<Integer> list = new ResettableArrayList<>(4, 64);
+        ResettableLongMap<String> map = new ResettableLongMap<>(4, 64);
+        for (int i = 0; i < 64; i++) {
+            list.add(i);
+            map.put(i, "v");
+        }
+        list.reset();
+        map.reset();
+        int listCapacity = list.capacity();
+        int mapCapacity = map.capacity();
+        // 每轮重置两次（如对象图归还后池再次重置），仍按轮次计数
+        // Two resets per round (e.g. the pool resets again after the graph release) still count as one round
+        for (int round = 1; round < Constants.COLLECTION_SHRINK_RESETS; round++) {
+            list.add(round);
+            map.put(round, "v");
+            list.reset();
+            list.reset();
+            map.reset();
+            map.reset();
+        }
+        Assertions.assertEquals(listCapacity, list.capacity());
+        Assertions.assertEquals(mapCapacity, map.capacity());
+        list.add(0);
+        map.put(0L, "v");
+        list.reset();
+        map.reset();
+        Assertions.assertEquals(listCapacity >>> 1, list.capacity());
+        Assertions.assertEquals(mapCapacity >>> 1, map.capacity());
+    }
+
+    @Test
+    public void testPrimitiveLists() {
+        ResettableLongList longs = new ResettableLongList(2, 16);
+        ResettableIntList ints = new ResettableIntList(2, 16);
+        for (int i = 0; i < 5; i++) {
+            longs.add(i * 10L);
+            ints.add(i);
+        }
+        Assertions.assertEquals(40L, longs.removeLast());
+        Assertions.assertEquals(30L, longs.get(3));
+        Assertions.assertEquals(3, ints.set(3, 33));
+        Assertions.assertArrayEquals(new int[]{0, 1, 2, 33, 4}, ints.toArray());
+        longs.reset();
+        ints.reset();
+        Assertions.assertTrue(longs.isEmpty());
+        Assertions.assertEquals(0, ints.size());
+        Assertions.assertEquals(8, ints.capacity());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, longs::removeLast);
+    }
+
+    @Test
+    public void testLongMapAgainstHashMap() {
+        ResettableLongMap<Long> map = new ResettableLongMap<>(8, 256);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(17);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 500; i++) {
+                // 键空间小且含负数，制造冲突与删除后移 / Small key space with negatives, forcing collisions and shifts
+                long key = random.nextInt(200) - 100;
+                if (random.nextInt(3) == 0) {
+                    Assertions.assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    Long value = random.nextLong();
+                    Assertions.assertEquals(expected.put(key, value), map.put(key, value));
+                }
+                Assertions.assertEquals(expected.size(), map.size());
+            }
+            for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+                Assertions.assertEquals(entry.getValue(), map.get(entry.getKey()));
+            }
+            int[] visited = new int[1];
+            map.forEach((key, value) -> {
+                Assertions.assertEquals(expected.get(key), value);
+                visited[0]++;
+            });
+            Assertions.assertEquals(expected.size(), visited[0]);
+            map.reset();
+            expected.clear();
+            Assertions.assertTrue(map.isEmpty());
+            Assertions.assertNull(map.get(1L));
+        }
+    }
+
+    @Test
+    public void testLongMapReset() {
+        ResettableLongMap<String> map = new ResettableLongMap<>(16, 64);
+        for (long key = 0; key < 100; key++) {
+            map.put(key, "v");
+        }
+        Assertions.assertEquals(256, map.capacity());
+        map.reset();
+        Assertions.assertEquals(64, map.capacity());
+        Assertions.assertFalse(map.containsKey(5L));
+        map.put(5L, "five");
+        map.clear();
+        Assertions.assertNull(map.get(5L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put(1L, null));
+    }
+}
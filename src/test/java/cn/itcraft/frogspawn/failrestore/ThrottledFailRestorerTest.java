@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.failrestore;
+
+import cn.itcraft.frogspawn.DemoPojo;
+import cn.itcraft.frogspawn.DemoPojoCreator;
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.ObjectsMemoryPoolFactory;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ThrottledFailRestorerTest {
+
+    @Test
+    public void testBurstThenSecondary() {
+        ThrottledFailRestorer restorer = new ThrottledFailRestorer(1, 4, FetchFailStrategy.NULLABLE);
+        DemoPojoCreator creator = new DemoPojoCreator();
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertNotNull(restorer.failover(creator));
+        }
+        Assertions.assertNull(restorer.failover(creator));
+        Assertions.assertEquals(4, restorer.getAdmittedCount());
+        Assertions.assertEquals(1, restorer.getRejectedCount());
+    }
+
+    @Test
+    public void testBoundedWait() {
+        ThrottledFailRestorer restorer = new ThrottledFailRestorer(FetchFailStrategy.CALL_CREATOR, 100, 1,
+                                                                   50, TimeUnit.MILLISECONDS,
+                                                                   FetchFailStrategy.NULLABLE);
+        DemoPojoCreator creator = new DemoPojoCreator();
+        long start = System.nanoTime();
+        Assertions.assertNotNull(restorer.failover(creator));
+        // 第二个令牌在第一个之后 10ms 可用，在最长等待时间内
+        Assertions.assertNotNull(restorer.failover(creator));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10));
+        Assertions.assertEquals(0, restorer.getRejectedCount());
+    }
+
+    @Test
+    public void testPoolExhaustion() {
+        ObjectsMemoryPool<DemoPojo> pojoPool
+                = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                          .size(2)
+                                          .cacheCapacity(0)
+                                          .failRestorer(new ThrottledFailRestorer(1, 2, FetchFailStrategy.NULLABLE))
+                                          .build();
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertNotNull(pojoPool.fetch());
+        }
+        Assertions.assertNull(pojoPool.fetch());
+        Assertions.assertEquals(3, pojoPool.stats().getFailoverCount());
+    }
+}
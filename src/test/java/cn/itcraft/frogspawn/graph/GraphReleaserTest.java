@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.graph;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.Resettable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class GraphReleaserTest {
+
+    @Test
+    public void testReleaseTree() {
+        RecordingPool<Leaf> leafPool = new RecordingPool<>();
+        RecordingPool<Node> nodePool = new RecordingPool<>();
+        GraphReleaser releaser = new GraphReleaser();
+        releaser.register(Leaf.class, leafPool);
+        releaser.register(Node.class, nodePool);
+
+        Node root = new Node();
+        root.single = new Leaf(1);
+        root.leaves.add(new Leaf(2));
+        root.leaves.add(null);
+        root.leaves.add(new Leaf(3));
+        root.slots[1] = new Leaf(4);
+        Node next = new Node();
+        next.single = new Leaf(5);
+        root.next = next;
+        releaser.release(root);
+
+        Assertions.assertEquals(5, leafPool.released.size());
+        Assertions.assertEquals(2, nodePool.released.size());
+        // 子对象先于父对象归还 / Children are released before parents
+        Assertions.assertSame(root, nodePool.released.get(1));
+        Assertions.assertNull(root.single);
+        Assertions.assertNull(root.next);
+        Assertions.assertNull(root.slots[1]);
+        Assertions.assertTrue(root.leaves.isEmpty());
+        for (Leaf leaf : leafPool.released) {
+            Assertions.assertEquals(0, leaf.value);
+        }
+    }
+
+    @Test
+    public void testSiblingsOfMixedTypes() {
+        RecordingPool<Leaf> leafPool = new RecordingPool<>();
+        RecordingPool<SpecialLeaf> specialPool = new RecordingPool<>();
+        RecordingPool<Node> nodePool = new RecordingPool<>();
+        GraphReleaser releaser = new GraphReleaser();
+        releaser.register(Leaf.class, leafPool);
+        releaser.register(SpecialLeaf.class, specialPool);
+        releaser.register(Node.class, nodePool);
+
+        Node root = new Node();
+        root.leaves.add(new Leaf(1));
+        root.leaves.add(new Leaf(2));
+        root.leaves.add(new SpecialLeaf(3));
+        root.leaves.add(new Leaf(4));
+        root.single = new SpecialLeaf(5);
+        releaser.release(root);
+
+        Assertions.assertEquals(3, leafPool.released.size());
+        Assertions.assertEquals(2, specialPool.released.size());
+    }
+
+    @Test
+    public void testSiblingsReleasedInBatches() {
+        RecordingPool<Leaf> leafPool = new RecordingPool<>();
+        RecordingPool<SpecialLeaf> specialPool = new RecordingPool<>();
+        RecordingPool<Node> nodePool = new RecordingPool<>();
+        GraphReleaser releaser = new GraphReleaser();
+        releaser.register(Leaf.class, leafPool);
+        releaser.register(SpecialLeaf.class, specialPool);
+        releaser.register(Node.class, nodePool);
+
+        Node root = new Node();
+        for (int i = 0; i < 3; i++) {
+            root.leaves.add(new Leaf(i));
+        }
+        root.leaves.add(new SpecialLeaf(3));
+        root.leaves.add(new Leaf(4));
+        root.leaves.add(new Leaf(5));
+        root.slots[0] = new Leaf(6);
+        root.slots[2] = new Leaf(7);
+        releaser.release(root);
+
+        // 连续的同类型兄弟节点一次归还 / Consecutive siblings of the same type are returned at once
+        Assertions.assertEquals(Arrays.asList(3, 2, 2), leafPool.batches);
+        Assertions.assertEquals(1, specialPool.released.size());
+        Assertions.assertEquals(7, leafPool.released.size());
+        Assertions.assertArrayEquals(new Leaf[4], root.slots);
+    }
+
+    @Test
+    public void testExplicitAccessor() {
+        RecordingPool<Leaf> leafPool = new RecordingPool<>();
+        RecordingPool<Node> nodePool = new RecordingPool<>();
+        GraphReleaser releaser = new GraphReleaser();
+        releaser.register(Leaf.class, leafPool);
+        // 只声明 leaves，其余字段由 reset 处理 / Declare leaves only, other fields are handled by reset
+        releaser.register(Node.class, nodePool, (node, r) -> r.releaseAll(node.leaves));
+
+        Node root = new Node();
+        root.single = new Leaf(1);
+        root.leaves.add(new Leaf(2));
+        releaser.release(root);
+
+        Assertions.assertEquals(1, leafPool.released.size());
+        Assertions.assertEquals(1, nodePool.released.size());
+        Assertions.assertNull(root.single);
+    }
+
+    @Test
+    public void testBroadFieldNotScanned() {
+        RecordingPool<Leaf> leafPool = new RecordingPool<>();
+        RecordingPool<Holder> holderPool = new RecordingPool<>();
+        GraphReleaser releaser = new GraphReleaser();
+        releaser.register(Leaf.class, leafPool);
+        releaser.register(Holder.class, holderPool);
+
+        Holder holder = new Holder();
+        holder.leaf = new Leaf(1);
+        // 声明为 Resettable 的字段持有未注册类型，不应中断其余对象的归还
+        // A field declared as Resettable holds an unregistered type, must not abandon the rest of the graph
+        holder.any = new Node();
+        releaser.release(holder);
+
+        Assertions.assertEquals(1, leafPool.released.size());
+        Assertions.assertEquals(1, holderPool.released.size());
+        Assertions.assertNull(holder.leaf);
+    }
+
+    @Test
+    public void testInvalidUsage() {
+        GraphReleaser releaser = new GraphReleaser();
+        releaser.register(Leaf.class, new RecordingPool<>());
+        Assertions.assertThrows(IllegalStateException.class,
+                                () -> releaser.register(Leaf.class, new RecordingPool<>()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> releaser.release(new Node()));
+        Assertions.assertTrue(releaser.isRegistered(Leaf.class));
+        releaser.release(null);
+    }
+
+    public static class Leaf implements Resettable {
+
+        int value;
+        private int markedId = -1;
+
+        public Leaf() {
+        }
+
+        Leaf(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public void reset() {
+            value = 0;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+
+    public static class SpecialLeaf extends Leaf {
+
+        SpecialLeaf(int value) {
+            super(value);
+        }
+    }
+
+    public static class Node implements Resettable {
+
+        Leaf single;
+        final List<Leaf> leaves = new ArrayList<>();
+        final Leaf[] slots = new Leaf[4];
+        Node next;
+        String name = "node";
+        private int markedId = -1;
+
+        @Override
+        public void reset() {
+            single = null;
+            next = null;
+            name = null;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+
+    public static class Holder implements Resettable {
+
+        Leaf leaf;
+        Resettable any;
+        private int markedId = -1;
+
+        @Override
+        public void reset() {
+            leaf = null;
+            any = null;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+
+    /**
+     * 记录归还顺序的池 / Pool recording release order
+     */
+    private static class RecordingPool<T extends Resettable> implements ObjectsMemoryPool<T> {
+
+        final List<T> released = new ArrayList<>();
+        final List<Integer> batches = new ArrayList<>();
+
+        @Override
+        public T fetch() {
+            return null;
+        }
+
+        @Override
+        public void release(T used) {
+            released.add(used);
+        }
+
+        @Override
+        public void releaseAll(Resettable[] used, int from, int to) {
+            batches.add(to - from);
+            ObjectsMemoryPool.super.releaseAll(used, from, to);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.impl;
+
+import cn.itcraft.frogspawn.DemoPojo;
+import cn.itcraft.frogspawn.DemoPojoCreator;
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.ObjectsMemoryPoolFactory;
+import cn.itcraft.frogspawn.stats.PoolStats;
+import cn.itcraft.frogspawn.strategy.CacheStrategy;
+import cn.itcraft.frogspawn.strategy.FetchFailStrategy;
+import cn.itcraft.frogspawn.strategy.FetchStrategy;
+import cn.itcraft.frogspawn.strategy.PoolStrategy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class ProbeBudgetTest {
+
+    private static final int WINDOW = ProbeBudget.WINDOW;
+
+    @Test
+    public void testIdleShrinksToMin() {
+        ProbeBudget budget = new ProbeBudget(10, 1, 64);
+        for (int i = 0; i < WINDOW; i++) {
+            budget.record(1, true);
+        }
+        Assertions.assertEquals(1, budget.current());
+        Assertions.assertEquals(0D, budget.getOccupancy());
+    }
+
+    @Test
+    public void testExhaustedBacksOff() {
+        ProbeBudget budget = new ProbeBudget(10, 2, 64);
+        // 每个耗尽的窗口减半，不直接降到下限 / Halved per exhausted window, not dropped to the lower bound at once
+        int[] expected = {5, 2, 2};
+        for (int window : expected) {
+            for (int i = 0; i < WINDOW; i++) {
+                budget.record(budget.current(), false);
+            }
+            Assertions.assertEquals(window, budget.current());
+        }
+        Assertions.assertEquals(1D, budget.getOccupancy());
+    }
+
+    @Test
+    public void testStripedWindows() throws InterruptedException {
+        ProbeBudget budget = new ProbeBudget(10, 1, 64, 4);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < WINDOW * 4; i++) {
+                    budget.record(10, true);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // 条带计数不丢失更新 / Striped counters lose no update
+        Assertions.assertEquals(WINDOW * 16L, budget.getFetchCount());
+        Assertions.assertEquals(WINDOW * 160L, budget.getProbeCount());
+        Assertions.assertEquals(44, budget.current());
+    }
+
+    @Test
+    public void testHighOccupancyGrows() {
+        ProbeBudget budget = new ProbeBudget(10, 1, 64);
+        // 每 10 次探测命中 1 次，占用率约 0.9，需约 44 次探测才能将失败概率压到 1%
+        for (int i = 0; i < WINDOW; i++) {
+            budget.record(10, true);
+        }
+        Assertions.assertEquals(44, budget.current());
+        Assertions.assertEquals(0.1D, budget.getProbeHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testMissesRaiseBudget() {
+        ProbeBudget budget = new ProbeBudget(10, 1, 64);
+        // 占用率估算只需 3 次探测，但窗口内出现失败，探测次数至少加倍
+        // Occupancy alone asks for 3 probes, but the window has misses, so the budget at least doubles
+        for (int i = 0; i < WINDOW - 24; i++) {
+            budget.record(1, true);
+        }
+        for (int i = 0; i < 24; i++) {
+            budget.miss(10);
+        }
+        Assertions.assertEquals(20, budget.current());
+    }
+
+    @Test
+    public void testHitsSampled() {
+        ProbeBudget budget = new ProbeBudget(10, 1, 64);
+        budget.hit(1L, 1);
+        Assertions.assertEquals(0L, budget.getFetchCount());
+        budget.hit(ProbeBudget.SAMPLE, 2);
+        Assertions.assertEquals(ProbeBudget.SAMPLE, budget.getFetchCount());
+        Assertions.assertEquals(ProbeBudget.SAMPLE, budget.getHitCount());
+        Assertions.assertEquals(ProbeBudget.SAMPLE * 2L, budget.getProbeCount());
+        budget.miss(3);
+        Assertions.assertEquals(ProbeBudget.SAMPLE + 1L, budget.getFetchCount());
+    }
+
+    @Test
+    public void testFixedBounds() {
+        ProbeBudget budget = new ProbeBudget(10, 10, 10);
+        for (int i = 0; i < WINDOW; i++) {
+            budget.record(1, true);
+        }
+        Assertions.assertEquals(10, budget.current());
+    }
+
+    @Test
+    public void testPoolStats() {
+        ObjectsMemoryPool<DemoPojo> pojoPool
+                = ObjectsMemoryPoolFactory.newPool(new DemoPojoCreator(), 16,
+                                                   new PoolStrategy(FetchStrategy.FETCH_FAIL_AS_NEW,
+                                                                    FetchFailStrategy.CALL_CREATOR,
+                                                                    CacheStrategy.THREAD_LOCAL));
+        List<DemoPojo> held = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            held.add(pojoPool.fetch());
+        }
+        PoolStats stats = pojoPool.stats();
+        // 命中按采样计入，16 次连续命中恰好含一个采样点 / Hits are sampled, 16 consecutive hits hold exactly one sample
+        Assertions.assertEquals(16, stats.getMainPoolHitCount());
+        Assertions.assertEquals(32, stats.getMainPoolFetchCount());
+        Assertions.assertEquals(16, stats.getFailoverCount());
+        for (DemoPojo pojo : held) {
+            pojoPool.release(pojo);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.misc;
+
+import cn.itcraft.frogspawn.DemoPojo;
+import cn.itcraft.frogspawn.util.ThreadUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class StripedCacheTest {
+
+    @Test
+    public void test() {
+        StripedCache<DemoPojo> cache = new StripedCache<>(4, 8);
+        for (int i = 0; i < 8; i++) {
+            Assertions.assertFalse(cache.release(new DemoPojo()));
+        }
+        // 当前线程对应的条带已满
+        Assertions.assertTrue(cache.release(new DemoPojo()));
+        Assertions.assertEquals(8, cache.size());
+        for (int i = 0; i < 8; i++) {
+            Assertions.assertNotNull(cache.fetch());
+        }
+        Assertions.assertNull(cache.fetch());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testStripeFollowsProbe() {
+        StripedCache<DemoPojo> cache = new StripedCache<>(4, 1);
+        Assertions.assertFalse(cache.release(new DemoPojo()));
+        int probe = ThreadUtil.probe();
+        Assertions.assertNotEquals(0, probe);
+        int next = probe;
+        do {
+            next = ThreadUtil.advanceProbe(next);
+        } while ((next & 3) == (probe & 3));
+        // 探针重新散列后换到其他条带 / A rehashed probe moves to another stripe
+        Assertions.assertNull(cache.fetch());
+        Assertions.assertFalse(cache.release(new DemoPojo()));
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testSharedAcrossThreads() throws InterruptedException {
+        StripedCache<DemoPojo> cache = new StripedCache<>(1, 8);
+        DemoPojo pojo = new DemoPojo();
+        Thread thread = new Thread(() -> cache.release(pojo));
+        thread.start();
+        thread.join();
+        // 释放线程结束后，对象仍可被其他线程取得
+        Assertions.assertSame(pojo, cache.fetch());
+    }
+}
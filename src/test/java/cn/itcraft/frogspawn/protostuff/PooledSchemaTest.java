@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.protostuff;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.ObjectsMemoryPoolFactory;
+import cn.itcraft.frogspawn.sample.serial.DemoCustomer;
+import cn.itcraft.frogspawn.sample.serial.DemoItem;
+import cn.itcraft.frogspawn.sample.serial.DemoOrder;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtobufIOUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class PooledSchemaTest {
+
+    private PooledSchemas schemas;
+    private ObjectsMemoryPool<DemoItem> itemPool;
+    private ObjectsMemoryPool<DemoCustomer> customerPool;
+    private PooledSchema<DemoOrder> orderSchema;
+
+    @BeforeEach
+    public void setup() {
+        schemas = new PooledSchemas();
+        itemPool = ObjectsMemoryPoolFactory.builder(DemoItem::new).size(64).cacheCapacity(0).build();
+        customerPool = ObjectsMemoryPoolFactory.builder(DemoCustomer::new).size(16).cacheCapacity(0).build();
+        schemas.register(DemoItem.class, itemPool);
+        schemas.register(DemoCustomer.class, customerPool);
+        orderSchema = schemas.register(DemoOrder.class,
+                                       ObjectsMemoryPoolFactory.builder(DemoOrder::new)
+                                                               .size(16)
+                                                               .cacheCapacity(0)
+                                                               .build());
+    }
+
+    @Test
+    public void testGraphFromPools() {
+        byte[] bytes = encode(3);
+        for (int round = 0; round < 10; round++) {
+            DemoOrder order = orderSchema.newMessage();
+            ProtobufIOUtil.mergeFrom(bytes, order, orderSchema);
+            Assertions.assertEquals(42L, order.getId());
+            Assertions.assertEquals("alice", order.getCustomer().getName());
+            Assertions.assertEquals(3, order.getItems().size());
+            Assertions.assertEquals(2, order.getItems().get(2).getSku());
+            Assertions.assertTrue(order.getItems().get(0).getMarkedId() >= 0);
+            Assertions.assertTrue(order.getCustomer().getMarkedId() >= 0);
+            schemas.release(order);
+            Assertions.assertNull(order.getCustomer());
+            Assertions.assertTrue(order.getItems().isEmpty());
+        }
+        // 嵌套对象全部来自各自的池，且每轮都已归还
+        Assertions.assertEquals(0, itemPool.inUse());
+        Assertions.assertEquals(0, customerPool.inUse());
+        Assertions.assertEquals(0, itemPool.stats().getFailoverCount());
+    }
+
+    @Test
+    public void testNoStaleFields() {
+        DemoOrder order = orderSchema.newMessage();
+        ProtobufIOUtil.mergeFrom(encode(2), order, orderSchema);
+        orderSchema.release(order);
+        DemoOrder empty = orderSchema.newMessage();
+        ProtobufIOUtil.mergeFrom(new byte[0], empty, orderSchema);
+        Assertions.assertEquals(0L, empty.getId());
+        Assertions.assertNull(empty.getCustomer());
+        Assertions.assertTrue(empty.getItems().isEmpty());
+        orderSchema.release(empty);
+    }
+
+    @Test
+    public void testIndependentRegistries() {
+        // 同一类型在另一个注册表中绑定另一组池，互不影响
+        // The same types bound to other pools in another registry, independent of each other
+        PooledSchemas other = new PooledSchemas();
+        ObjectsMemoryPool<DemoItem> otherItems =
+                ObjectsMemoryPoolFactory.builder(DemoItem::new).size(64).cacheCapacity(0).build();
+        other.register(DemoItem.class, otherItems);
+        other.register(DemoCustomer.class,
+                       ObjectsMemoryPoolFactory.builder(DemoCustomer::new).size(16).cacheCapacity(0).build());
+        PooledSchema<DemoOrder> otherSchema =
+                other.register(DemoOrder.class,
+                               ObjectsMemoryPoolFactory.builder(DemoOrder::new).size(16).cacheCapacity(0).build());
+        Assertions.assertThrows(IllegalStateException.class, () -> other.register(DemoItem.class, otherItems));
+
+        DemoOrder order = otherSchema.newMessage();
+        ProtobufIOUtil.mergeFrom(encode(3), order, otherSchema);
+        Assertions.assertEquals(3, otherItems.inUse());
+        Assertions.assertEquals(0, itemPool.inUse());
+        other.release(order);
+        Assertions.assertEquals(0, otherItems.inUse());
+        Assertions.assertSame(orderSchema, schemas.getSchema(DemoOrder.class));
+    }
+
+    private byte[] encode(int items) {
+        DemoOrder order = new DemoOrder();
+        order.setId(42L);
+        order.setNote("note");
+        DemoCustomer customer = new DemoCustomer();
+        customer.setId(7L);
+        customer.setName("alice");
+        order.setCustomer(customer);
+        for (int i = 0; i < items; i++) {
+            DemoItem item = new DemoItem();
+            item.setSku(i);
+            item.setQuantity(i + 1L);
+            item.setPrice(i * 1.5D);
+            order.getItems().add(item);
+        }
+        return ProtobufIOUtil.toByteArray(order, orderSchema, LinkedBuffer.allocate(512));
+    }
+}
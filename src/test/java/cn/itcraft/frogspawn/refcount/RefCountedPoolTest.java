@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.refcount;
+
+import cn.itcraft.frogspawn.ObjectsMemoryPoolFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class RefCountedPoolTest {
+
+    @Test
+    public void testFanOut() throws InterruptedException {
+        RefCountedPool<Message> pool = newPool(false);
+        int consumers = 4;
+        int rounds = 2000;
+        AtomicInteger returned = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(consumers);
+        Message[][] inbox = new Message[consumers][rounds];
+        for (int r = 0; r < rounds; r++) {
+            Message message = pool.fetch();
+            message.payload = r;
+            for (int c = 1; c < consumers; c++) {
+                message.retain();
+            }
+            for (int c = 0; c < consumers; c++) {
+                inbox[c][r] = message;
+            }
+        }
+        for (int c = 0; c < consumers; c++) {
+            Message[] own = inbox[c];
+            new Thread(() -> {
+                for (Message message : own) {
+                    if (message.release()) {
+                        returned.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        // 每条消息只由最后一个持有者归还一次 / Each message is returned once, by its last holder
+        Assertions.assertEquals(rounds, returned.get());
+    }
+
+    @Test
+    public void testOverRelease() {
+        RefCountedPool<Message> pool = newPool(false);
+        Message message = pool.fetch();
+        Assertions.assertEquals(1, message.refCnt());
+        message.retain();
+        Assertions.assertFalse(message.release());
+        Assertions.assertTrue(message.release());
+        Assertions.assertThrows(IllegalStateException.class, message::release);
+        Assertions.assertThrows(IllegalStateException.class, message::retain);
+        // 非调试模式不检查访问 / No access check without debug mode
+        Assertions.assertDoesNotThrow(message::getPayload);
+    }
+
+    @Test
+    public void testDebugMode() {
+        RefCountedPool<Message> pool = newPool(true);
+        Message message = pool.fetch();
+        message.payload = 7;
+        Assertions.assertEquals(7, message.getPayload());
+        pool.release(message);
+        IllegalStateException e = Assertions.assertThrows(IllegalStateException.class, message::getPayload);
+        // 调试模式带出最后一次归还的调用栈 / Debug mode carries the stack of the final release
+        Assertions.assertNotNull(e.getCause());
+        Message again = pool.fetch();
+        Assertions.assertEquals(1, again.refCnt());
+        Assertions.assertDoesNotThrow(again::getPayload);
+    }
+
+    private static RefCountedPool<Message> newPool(boolean debug) {
+        return new RefCountedPool<>(ObjectsMemoryPoolFactory.builder(Message::new)
+                                                            .size(64)
+                                                            .cacheCapacity(0)
+                                                            .build(), debug);
+    }
+
+    public static class Message extends RefCountedResettable {
+
+        int payload;
+
+        int getPayload() {
+            ensureAccessible();
+            return payload;
+        }
+
+        @Override
+        public void reset() {
+            payload = 0;
+        }
+    }
+}
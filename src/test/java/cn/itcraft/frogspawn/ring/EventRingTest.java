@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.ring;
+
+import cn.itcraft.frogspawn.Resettable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class EventRingTest {
+
+    @Test
+    public void testSingleProducerInOrder() {
+        EventRing<Event> ring = new EventRing<>(Event::new, 6, EventRing.ProducerType.SINGLE);
+        Assertions.assertEquals(8, ring.capacity());
+        long[] expected = {0};
+        for (int round = 0; round < 10; round++) {
+            long first = ring.next(5);
+            for (long seq = first; seq < first + 5; seq++) {
+                ring.get(seq).value = seq;
+            }
+            ring.publish(first, first + 4);
+            Assertions.assertEquals(5, ring.size());
+            int handled = ring.poll((event, seq, endOfBatch) -> {
+                Assertions.assertEquals(expected[0]++, event.value);
+                Assertions.assertEquals(event.value, seq);
+                Assertions.assertEquals(seq % 5 == 4, endOfBatch);
+            });
+            Assertions.assertEquals(5, handled);
+        }
+        // 事件处理后被重置且不会被替换 / Events are reset after handling and never replaced
+        Event event = ring.get(3);
+        Assertions.assertEquals(0L, event.value);
+        Assertions.assertSame(event, ring.get(3 + ring.capacity()));
+    }
+
+    @Test
+    public void testTryNextWhenFull() {
+        EventRing<Event> ring = new EventRing<>(Event::new, 4, EventRing.ProducerType.MULTI);
+        long first = ring.tryNext(4);
+        Assertions.assertEquals(0L, first);
+        Assertions.assertEquals(-1L, ring.tryNext(1));
+        ring.publish(0, 1);
+        // 只处理连续发布的部分 / Only the contiguously published part is handled
+        Assertions.assertEquals(2, ring.poll((event, seq, end) -> {
+        }));
+        Assertions.assertEquals(4L, ring.tryNext(2));
+        ring.publish(3);
+        Assertions.assertEquals(0, ring.poll((event, seq, end) -> {
+        }));
+        ring.publish(2);
+        ring.publish(4, 5);
+        Assertions.assertEquals(4, ring.poll((event, seq, end) -> {
+        }));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ring.tryNext(5));
+    }
+
+    @Test
+    public void testHandlerFailureRedelivers() {
+        EventRing<Event> ring = new EventRing<>(Event::new, 8, EventRing.ProducerType.SINGLE);
+        long first = ring.next(3);
+        ring.publish(first, first + 2);
+        Assertions.assertThrows(IllegalStateException.class, () -> ring.poll((event, seq, end) -> {
+            if (seq == 1) {
+                throw new IllegalStateException("boom");
+            }
+        }));
+        long[] seen = new long[2];
+        int[] count = {0};
+        Assertions.assertEquals(2, ring.poll((event, seq, end) -> seen[count[0]++] = seq));
+        Assertions.assertArrayEquals(new long[]{1, 2}, seen);
+    }
+
+    @Test
+    public void testMultiProducer() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 20_000;
+        EventRing<Event> ring = new EventRing<>(Event::new, 64, EventRing.ProducerType.MULTI);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i += 2) {
+                    long first = ring.next(2);
+                    ring.get(first).value = base + i + 1;
+                    ring.get(first + 1).value = base + i + 2;
+                    ring.publish(first, first + 1);
+                }
+            });
+            threads[p].start();
+        }
+        long total = (long) producers * perProducer;
+        long[] sum = {0};
+        long[] handled = {0};
+        AtomicReference<String> error = new AtomicReference<>();
+        while (handled[0] < total) {
+            ring.poll((event, seq, end) -> {
+                if (event.value == 0) {
+                    error.set("unfilled event at " + seq);
+                }
+                sum[0] += event.value;
+                handled[0]++;
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertNull(error.get());
+        // 每个值恰好被处理一次 / Each value is handled exactly once
+        Assertions.assertEquals(total * (total + 1) / 2, sum[0]);
+        Assertions.assertEquals(0, ring.size());
+    }
+
+    private static class Event implements Resettable {
+
+        long value;
+
+        @Override
+        public void reset() {
+            value = 0;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return -1;
+        }
+
+        @Override
+        public void markId(int id) {
+        }
+    }
+}
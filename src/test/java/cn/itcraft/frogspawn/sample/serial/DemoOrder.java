@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.sample.serial;
+
+import cn.itcraft.frogspawn.Resettable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 含嵌套对象与对象列表的消息
+ * Message containing a nested object and a list of objects
+ *
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class DemoOrder implements Resettable {
+
+    private long id;
+    private String note;
+    private DemoCustomer customer;
+    private final List<DemoItem> items = new ArrayList<>();
+
+    private transient int allocId = -1;
+
+    @Override
+    public void reset() {
+        this.id = 0L;
+        this.note = null;
+        this.customer = null;
+        // 原地清空，保留容量 / Clear in place, keep capacity
+        this.items.clear();
+    }
+
+    @Override
+    public int getMarkedId() {
+        return allocId;
+    }
+
+    @Override
+    public void markId(int id) {
+        this.allocId = id;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public void setNote(String note) {
+        this.note = note;
+    }
+
+    public DemoCustomer getCustomer() {
+        return customer;
+    }
+
+    public void setCustomer(DemoCustomer customer) {
+        this.customer = customer;
+    }
+
+    public List<DemoItem> getItems() {
+        return items;
+    }
+}
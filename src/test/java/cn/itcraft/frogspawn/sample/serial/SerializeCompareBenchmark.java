@@ -18,7 +18,15 @@ package cn.itcraft.frogspawn.sample.serial;
 
 import cn.itcraft.frogspawn.DemoPojo;
 import cn.itcraft.frogspawn.DemoPojoCreator;
+import cn.itcraft.frogspawn.ObjectsMemoryPoolFactory;
 import cn.itcraft.frogspawn.Resettable;
+import cn.itcraft.frogspawn.protostuff.PooledSchema;
+import cn.itcraft.frogspawn.protostuff.PooledSchemas;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtobufIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.DefaultIdStrategy;
+import io.protostuff.runtime.RuntimeSchema;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
@@ -48,6 +56,15 @@ public class SerializeCompareBenchmark {
     private static final byte[] BYTES1;
     private static final byte[] BYTES2;
 
+    /**
+     * 含嵌套对象与 8 个元素列表的消息：普通 Schema 与池化 Schema
+     * Message with a nested object and a list of 8 elements: plain schema vs pooled schema
+     */
+    private static final int ITEMS = 8;
+    private static final Schema<DemoOrder> ORDER_SCHEMA;
+    private static final PooledSchema<DemoOrder> POOLED_ORDER_SCHEMA;
+    private static final byte[] ORDER_BYTES;
+
     static {
         Serializer.registerClass(DemoPojo.class);
         SerializerWithObjectPool.registerClass(DemoPojo.class, new DemoPojoCreator());
@@ -58,6 +75,29 @@ public class SerializeCompareBenchmark {
         demo.setVal4("hello");
         BYTES1 = Serializer.serialize(demo, HASH_CODE);
         BYTES2 = SerializerWithObjectPool.serialize(demo, HASH_CODE);
+
+        // 普通 Schema 使用独立的 IdStrategy，不受池化 Schema 注册的影响
+        // Plain schema uses its own IdStrategy, unaffected by pooled schema registration
+        ORDER_SCHEMA = RuntimeSchema.createFrom(DemoOrder.class, new DefaultIdStrategy());
+        PooledSchemas schemas = new PooledSchemas();
+        schemas.register(DemoItem.class, ObjectsMemoryPoolFactory.newPool(DemoItem::new, 3000 * ITEMS));
+        schemas.register(DemoCustomer.class, ObjectsMemoryPoolFactory.newPool(DemoCustomer::new, 3000));
+        POOLED_ORDER_SCHEMA = schemas.register(DemoOrder.class, ObjectsMemoryPoolFactory.newPool(DemoOrder::new, 3000));
+        DemoOrder order = new DemoOrder();
+        order.setId(42L);
+        order.setNote("order");
+        DemoCustomer customer = new DemoCustomer();
+        customer.setId(7L);
+        customer.setName("alice");
+        order.setCustomer(customer);
+        for (int i = 0; i < ITEMS; i++) {
+            DemoItem item = new DemoItem();
+            item.setSku(i);
+            item.setQuantity(i + 1L);
+            item.setPrice(i * 1.5D);
+            order.getItems().add(item);
+        }
+        ORDER_BYTES = ProtobufIOUtil.toByteArray(order, ORDER_SCHEMA, LinkedBuffer.allocate(1024));
     }
 
     public static void main(String[] args) throws RunnerException {
@@ -88,4 +128,23 @@ public class SerializeCompareBenchmark {
             SerializerWithObjectPool.release(obj, HASH_CODE);
         }
     }
+
+    @Benchmark
+    public void testGraphDeserialization1(Blackhole blackhole) {
+        DemoOrder order = ORDER_SCHEMA.newMessage();
+        ProtobufIOUtil.mergeFrom(ORDER_BYTES, order, ORDER_SCHEMA);
+        blackhole.consume(order);
+    }
+
+    @Benchmark
+    public void testGraphDeserialization2(Blackhole blackhole) {
+        DemoOrder order = POOLED_ORDER_SCHEMA.newMessage();
+        try {
+            ProtobufIOUtil.mergeFrom(ORDER_BYTES, order, POOLED_ORDER_SCHEMA);
+            blackhole.consume(order);
+        } finally {
+            // 一次归还整个对象图 / Release the whole graph in one call
+            POOLED_ORDER_SCHEMA.release(order);
+        }
+    }
 }
@@ -0,0 +1,426 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.shm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class SharedObjectsMemoryPoolTest {
+
+    private static final int SLOTS = 16;
+    private static final int PARTICIPANTS = 4;
+    private static final long LEASE = 60_000L;
+
+    private File file;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        File dir = new File("/dev/shm");
+        file = File.createTempFile("frogspawn-", ".shm", dir.isDirectory() ? dir : null);
+        Assertions.assertTrue(file.delete());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Assertions.assertTrue(!file.exists() || file.delete());
+    }
+
+    @Test
+    public void testHandover() throws IOException {
+        try (SharedObjectsMemoryPool<Quote> sender = open(24);
+             SharedObjectsMemoryPool<Quote> receiver = open(24)) {
+            Assertions.assertEquals(SLOTS, sender.capacity());
+            Quote quote = sender.fetch();
+            Assertions.assertEquals(64, quote.slotSize());
+            quote.setPrice(12345L);
+            quote.setQty(7);
+            Assertions.assertEquals(SLOTS - 1, receiver.available());
+
+            Quote received = receiver.adopt(quote.getMarkedId());
+            Assertions.assertNotSame(quote, received);
+            Assertions.assertEquals(12345L, received.getPrice());
+            Assertions.assertEquals(7, received.getQty());
+
+            // 交出后发送方的归还被忽略 / Release by the sender is ignored after handover
+            sender.release(quote);
+            Assertions.assertEquals(SLOTS - 1, sender.available());
+            Assertions.assertEquals(12345L, received.getPrice());
+
+            receiver.release(received);
+            receiver.release(received);
+            Assertions.assertEquals(SLOTS, sender.available());
+            Assertions.assertEquals(0L, received.getPrice());
+            Assertions.assertThrows(IllegalStateException.class, () -> receiver.adopt(quote.getMarkedId()));
+        }
+    }
+
+    @Test
+    public void testExhaustion() throws IOException {
+        try (SharedObjectsMemoryPool<Quote> pool = open(8)) {
+            List<Quote> list = new ArrayList<>();
+            Quote quote;
+            while ((quote = pool.fetch()) != null) {
+                list.add(quote);
+            }
+            Assertions.assertEquals(SLOTS, list.size());
+            Assertions.assertEquals(0, pool.available());
+            Assertions.assertEquals(SLOTS, pool.inUse());
+            Assertions.assertTrue(pool.stats().getFailoverCount() > 0);
+            list.forEach(pool::release);
+            Assertions.assertEquals(SLOTS, pool.available());
+        }
+    }
+
+    @Test
+    public void testLayoutMismatch() throws IOException {
+        try (SharedObjectsMemoryPool<Quote> ignored = open(64)) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> open(128));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                                    () -> new SharedObjectsMemoryPool<>(file, SLOTS, 64, PARTICIPANTS + 1, LEASE,
+                                                                        Quote::new));
+        }
+    }
+
+    @Test
+    public void testCloseReclaims() throws IOException {
+        try (SharedObjectsMemoryPool<Quote> survivor = open(64)) {
+            SharedObjectsMemoryPool<Quote> leaver = open(64);
+            for (int i = 0; i < 3; i++) {
+                leaver.fetch();
+            }
+            Quote own = survivor.fetch();
+            Assertions.assertEquals(0, survivor.reclaim());
+            leaver.close();
+            Assertions.assertEquals(3, survivor.reclaim());
+            Assertions.assertEquals(SLOTS - 1, survivor.available());
+            survivor.release(own);
+        }
+    }
+
+    @Test
+    public void testReleaseInterrupted() throws IOException {
+        try (SharedObjectsMemoryPool<Quote> survivor = open(64);
+             RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = raf.getChannel();
+            SharedObjectsMemoryPool<Quote> leaver = open(64);
+            Quote quote = leaver.fetch();
+            quote.setPrice(1L);
+            // 标记为归还中，模拟归还者在重置中途停止
+            // Mark the slot as releasing, as if the releaser stopped in the middle of the reset
+            long offset = 128 + PARTICIPANTS * 64 + quote.getMarkedId() * 8;
+            long word = readLong(channel, offset);
+            writeLong(channel, offset, word | Long.MIN_VALUE);
+            // 归还中的槽位既不可接管也不空闲 / A releasing slot is neither adoptable nor free
+            Assertions.assertThrows(IllegalStateException.class, () -> survivor.adopt(quote.getMarkedId()));
+            Assertions.assertEquals(SLOTS - 1, survivor.available());
+            Assertions.assertEquals(0, survivor.reclaim());
+            // 归还者退出后按原所有者回收 / Reclaimed under the original owner once the releaser is gone
+            leaver.close();
+            Assertions.assertEquals(1, survivor.reclaim());
+            Assertions.assertEquals(SLOTS, survivor.available());
+        }
+    }
+
+    @Test
+    public void testFlyweightInvalidatedOnClose() throws IOException {
+        SharedObjectsMemoryPool<Quote> pool = open(64);
+        Quote quote = pool.fetch();
+        quote.setPrice(1L);
+        pool.close();
+        Assertions.assertThrows(IllegalStateException.class, quote::getPrice);
+        Assertions.assertThrows(IllegalStateException.class, () -> quote.setPrice(2L));
+        Assertions.assertThrows(IllegalStateException.class, quote::reset);
+    }
+
+    @Test
+    public void testCrashedProcess() throws Exception {
+        assumeProcessCheck();
+        try (SharedObjectsMemoryPool<Quote> survivor = open(64)) {
+            List<Integer> ids = crash();
+            Assertions.assertEquals(SLOTS - 5, survivor.available());
+            // 崩溃进程写入的内容可直接读取 / Content written by the crashed process is readable in place
+            Quote quote = survivor.adopt(ids.get(0));
+            Assertions.assertEquals(1000L + ids.get(0), quote.getPrice());
+
+            Assertions.assertEquals(4, survivor.reclaim());
+            Assertions.assertEquals(SLOTS - 1, survivor.available());
+            survivor.release(quote);
+            Assertions.assertEquals(SLOTS, survivor.available());
+        }
+    }
+
+    @Test
+    public void testForeignPidNamespace() throws Exception {
+        assumeProcessCheck();
+        try (SharedObjectsMemoryPool<Quote> survivor = open(64)) {
+            crash();
+            // 子进程登记为第 2 个参与者，改写其 PID 命名空间，模拟另一容器中的进程
+            // The child registered as the second participant, rewrite its pid namespace as if in another container
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                ByteBuffer namespace = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()).putLong(0, 1L);
+                FileChannel channel = raf.getChannel();
+                channel.write(namespace, 128 + 64 + 24);
+            }
+            // 进程 ID 不可比较，租约未过期前不回收 / Pid is not comparable, nothing is reclaimed within the lease
+            Assertions.assertEquals(0, survivor.reclaim());
+            Assertions.assertEquals(SLOTS - 5, survivor.available());
+        }
+    }
+
+    @Test
+    public void testHeartbeatSurvivesFailedRegister() throws Exception {
+        try (SharedObjectsMemoryPool<Quote> pool = new SharedObjectsMemoryPool<>(file, SLOTS, 64, 1, 400L,
+                                                                                  Quote::new);
+             RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = raf.getChannel();
+            long generation = readLong(channel, 128 + 8);
+            // 改写代数，模拟本进程被判定崩溃后表项被接管；唯一表项仍存活，重新登记失败
+            // Rewrite the generation as if the entry was taken over; the only entry is still live, re-register fails
+            writeLong(channel, 128 + 8, generation + 1);
+            long deadline = System.currentTimeMillis() + 10_000L;
+            while (pool.heartbeatFailures() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20L);
+            }
+            Assertions.assertTrue(pool.heartbeatFailures() > 0);
+            // 租约到期后心跳仍在运行并重新登记 / The heartbeat keeps running and registers again once the lease expires
+            while (readLong(channel, 128 + 8) != generation + 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20L);
+            }
+            Assertions.assertEquals(generation + 2, readLong(channel, 128 + 8));
+            Assertions.assertNotNull(pool.fetch());
+        }
+    }
+
+    @Test
+    public void testStalledProcessKeepsSlots() throws Exception {
+        assumeProcessCheck();
+        try (SharedObjectsMemoryPool<Quote> survivor = open(64);
+             RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = raf.getChannel();
+            // 伪造最后一个参与者：心跳早已过期，进程 ID 为始终存在的 1 及其启动时间，与本进程同一命名空间，占用 3 个槽位
+            // Forge the last participant: heartbeat long expired, pid 1 which always exists with its start time,
+            // same namespace as this process, holding 3 slots
+            long entry = 128 + (PARTICIPANTS - 1) * 64;
+            writeLong(channel, entry + 8, 1L);
+            writeLong(channel, entry + 16, 1L);
+            writeLong(channel, entry + 24, readLong(channel, 128 + 24));
+            writeLong(channel, entry + 32, initStartTime());
+            writeLong(channel, entry, 1L);
+            long occupancy = 128 + PARTICIPANTS * 64;
+            for (int i = 0; i < 3; i++) {
+                writeLong(channel, occupancy + i * 8, ((long) PARTICIPANTS << 32) | 1L);
+            }
+            // 进程仍存在，停顿再久也不回收 / The process still exists, however long it stalls nothing is reclaimed
+            Assertions.assertEquals(0, survivor.reclaim());
+            Assertions.assertEquals(SLOTS - 3, survivor.available());
+            // 进程不存在后回收 / Reclaimed once the process is gone
+            writeLong(channel, entry + 16, Integer.MAX_VALUE);
+            Assertions.assertEquals(3, survivor.reclaim());
+            Assertions.assertEquals(SLOTS, survivor.available());
+        }
+    }
+
+    @Test
+    public void testRecycledPid() throws Exception {
+        assumeProcessCheck();
+        try (SharedObjectsMemoryPool<Quote> survivor = open(64);
+             RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = raf.getChannel();
+            // 伪造最后一个参与者：进程 ID 1 存在但启动时间不同，即崩溃进程的 ID 已被复用
+            // Forge the last participant: pid 1 exists but with another start time, i.e. the crashed pid was recycled
+            long entry = 128 + (PARTICIPANTS - 1) * 64;
+            writeLong(channel, entry + 8, 1L);
+            writeLong(channel, entry + 16, 1L);
+            writeLong(channel, entry + 24, readLong(channel, 128 + 24));
+            writeLong(channel, entry + 32, initStartTime() + 1L);
+            writeLong(channel, entry, 1L);
+            long occupancy = 128 + PARTICIPANTS * 64;
+            for (int i = 0; i < 3; i++) {
+                writeLong(channel, occupancy + i * 8, ((long) PARTICIPANTS << 32) | 1L);
+            }
+            Assertions.assertEquals(3, survivor.reclaim());
+            Assertions.assertEquals(SLOTS, survivor.available());
+        }
+    }
+
+    @Test
+    public void testRevokeAfterLeaseExpired() throws Exception {
+        try (SharedObjectsMemoryPool<Quote> pool = new SharedObjectsMemoryPool<>(file, SLOTS, 64, 1, 400L,
+                                                                                  Quote::new);
+             RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            FileChannel channel = raf.getChannel();
+            long generation = readLong(channel, 128 + 8);
+            Quote quote = pool.fetch();
+            quote.setPrice(1L);
+            // 改写心跳为早已过期，模拟本进程停顿超过租约
+            // Rewrite the heartbeat as long expired, as if this process stalled longer than the lease
+            writeLong(channel, 128, 1L);
+            long deadline = System.currentTimeMillis() + 10_000L;
+            while (pool.revocations() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20L);
+            }
+            Assertions.assertEquals(1, pool.revocations());
+            // 旧享元被撤销，槽位已释放，表项以新代数续用
+            // The old flyweight is revoked, its slot freed, the entry reused under a new generation
+            Assertions.assertThrows(IllegalStateException.class, quote::getPrice);
+            Assertions.assertThrows(IllegalStateException.class, () -> quote.setPrice(2L));
+            Assertions.assertEquals(SLOTS, pool.available());
+            Assertions.assertEquals(generation + 1, readLong(channel, 128 + 8));
+            pool.release(quote);
+            Assertions.assertEquals(SLOTS, pool.available());
+            Quote fresh = pool.fetch();
+            fresh.setPrice(3L);
+            Assertions.assertEquals(3L, fresh.getPrice());
+            pool.release(fresh);
+        }
+    }
+
+    @Test
+    public void testUnclosedPoolCollectable() throws Exception {
+        WeakReference<SharedObjectsMemoryPool<Quote>> ref = new WeakReference<>(open(64));
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (ref.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(20L);
+        }
+        Assertions.assertNull(ref.get());
+    }
+
+    private static long readLong(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder());
+        channel.read(buffer, position);
+        return buffer.getLong(0);
+    }
+
+    private static void writeLong(FileChannel channel, long position, long value) throws IOException {
+        channel.write(ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()).putLong(0, value), position);
+    }
+
+    /**
+     * 进程 1 的启动时间，/proc/1/stat 第 22 项
+     * Start time of pid 1, field 22 of /proc/1/stat
+     */
+    private static long initStartTime() throws IOException {
+        String stat = new String(Files.readAllBytes(Paths.get("/proc/1/stat")), StandardCharsets.US_ASCII);
+        return Long.parseLong(stat.substring(stat.lastIndexOf(')') + 2).trim().split(" +")[19]);
+    }
+
+    private static void assumeProcessCheck() {
+        Assumptions.assumeTrue(new File("/proc/self").isDirectory()
+                                       && Files.isSymbolicLink(Paths.get("/proc/self/ns/pid")),
+                               "Process check needs /proc with pid namespace");
+    }
+
+    /**
+     * 运行 {@link Crasher} 子进程并等待其退出
+     * Run the {@link Crasher} child process and wait for it to exit
+     *
+     * @return 子进程持有的槽位 ID / Slot ids held by the child
+     */
+    private List<Integer> crash() throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process child = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                                           Crasher.class.getName(), file.getPath())
+                .redirectErrorStream(true)
+                .start();
+        List<Integer> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(child.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                ids.add(Integer.parseInt(line.trim()));
+            }
+        }
+        Assertions.assertTrue(child.waitFor(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(5, ids.size());
+        return ids;
+    }
+
+    private SharedObjectsMemoryPool<Quote> open(int slotSize) throws IOException {
+        return new SharedObjectsMemoryPool<>(file, SLOTS, slotSize, PARTICIPANTS, LEASE, Quote::new);
+    }
+
+    /**
+     * 子进程：取 5 个槽位写入后不经关闭直接退出
+     * Child process: fetch 5 slots, fill them and exit without closing
+     */
+    public static class Crasher {
+
+        public static void main(String[] args) throws IOException {
+            SharedObjectsMemoryPool<Quote> pool = new SharedObjectsMemoryPool<>(new File(args[0]), SLOTS, 64,
+                                                                                PARTICIPANTS, LEASE, Quote::new);
+            for (int i = 0; i < 5; i++) {
+                Quote quote = pool.fetch();
+                quote.setPrice(1000L + quote.getMarkedId());
+                System.out.println(quote.getMarkedId());
+            }
+            System.out.flush();
+            Runtime.getRuntime().halt(0);
+        }
+    }
+
+    public static class Quote extends SharedSlot {
+
+        private static final int PRICE = 0;
+        private static final int QTY = 8;
+
+        public long getPrice() {
+            return getLong(PRICE);
+        }
+
+        public void setPrice(long price) {
+            putLong(PRICE, price);
+        }
+
+        public int getQty() {
+            return getInt(QTY);
+        }
+
+        public void setQty(int qty) {
+            putInt(QTY, qty);
+        }
+
+        @Override
+        public void reset() {
+            clear();
+        }
+    }
+}
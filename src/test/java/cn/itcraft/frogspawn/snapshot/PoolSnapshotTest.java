@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.snapshot;
+
+import cn.itcraft.frogspawn.ObjectCreator;
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.ObjectsMemoryPoolFactory;
+import cn.itcraft.frogspawn.Resettable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class PoolSnapshotTest {
+
+    private static final int SIZE = 16;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final ObjectCreator<Table> creator = () -> {
+        created.incrementAndGet();
+        return new Table(prepare(64));
+    };
+    private File file;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        file = File.createTempFile("frogspawn-", ".snapshot");
+        Assertions.assertTrue(file.delete());
+    }
+
+    @AfterEach
+    public void cleanup() {
+        Assertions.assertTrue(!file.exists() || file.delete());
+    }
+
+    @Test
+    public void testRestore() {
+        build(SIZE, new TableCodec(1));
+        Assertions.assertEquals(SIZE, created.get());
+        Assertions.assertTrue(file.isFile());
+
+        created.set(0);
+        ObjectsMemoryPool<Table> pool = build(SIZE, new TableCodec(1));
+        Assertions.assertEquals(0, created.get());
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            Table table = pool.fetch();
+            Assertions.assertTrue(table.getMarkedId() >= 0);
+            Assertions.assertArrayEquals(prepare(64), table.lookup);
+            tables.add(table);
+        }
+        // 快照用完后的失败处理使用创建器 / Failovers after the snapshot is used up go to the creator
+        pool.fetch();
+        Assertions.assertEquals(1, created.get());
+        tables.forEach(pool::release);
+    }
+
+    @Test
+    public void testVersionMismatch() {
+        build(SIZE, new TableCodec(1));
+        created.set(0);
+        build(SIZE, new TableCodec(2));
+        Assertions.assertEquals(SIZE, created.get());
+
+        // 以新版本重写 / Rewritten with the new version
+        created.set(0);
+        build(SIZE, new TableCodec(2));
+        Assertions.assertEquals(0, created.get());
+    }
+
+    @Test
+    public void testCorrupted() throws IOException {
+        build(SIZE, new TableCodec(1));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xFF);
+        }
+        created.set(0);
+        SnapshotCreator<Table> restoring = PoolSnapshot.restoring(file, new TableCodec(1), creator);
+        Assertions.assertEquals(0, restoring.records());
+        restoring.create();
+        Assertions.assertEquals(1, created.get());
+    }
+
+    @Test
+    public void testGrownPool() {
+        build(SIZE / 2, new TableCodec(1));
+        created.set(0);
+        build(SIZE, new TableCodec(1));
+        Assertions.assertEquals(SIZE / 2, created.get());
+        Assertions.assertEquals(SIZE, PoolSnapshot.restoring(file, new TableCodec(1), creator).records());
+    }
+
+    @Test
+    public void testShrunkPool() {
+        build(SIZE, new TableCodec(1));
+        created.set(0);
+        ObjectsMemoryPool<Table> pool = build(SIZE / 2, new TableCodec(1));
+        Assertions.assertEquals(0, created.get());
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < SIZE / 2; i++) {
+            tables.add(pool.fetch());
+        }
+        // 构建后池只使用原创建器，余下的快照记录不再解码
+        // After build the pool uses the original creator only, remaining snapshot records are not decoded
+        pool.fetch();
+        Assertions.assertEquals(1, created.get());
+        tables.forEach(pool::release);
+    }
+
+    @Test
+    public void testLargeRecord() throws IOException {
+        List<Table> tables = new ArrayList<>();
+        tables.add(new Table(prepare(4096)));
+        tables.add(new Table(prepare(3)));
+        Assertions.assertEquals(2, PoolSnapshot.save(file, new TableCodec(1), tables));
+        SnapshotCreator<Table> restoring = PoolSnapshot.restoring(file, new TableCodec(1), creator);
+        Assertions.assertArrayEquals(prepare(4096), restoring.create().lookup);
+        Assertions.assertArrayEquals(prepare(3), restoring.create().lookup);
+        Assertions.assertEquals(2, restoring.restored());
+        Assertions.assertEquals(0, created.get());
+    }
+
+    private ObjectsMemoryPool<Table> build(int size, TableCodec codec) {
+        return ObjectsMemoryPoolFactory.builder(creator)
+                                       .size(size)
+                                       .cacheCapacity(0)
+                                       .snapshot(file, codec)
+                                       .build();
+    }
+
+    private static long[] prepare(int length) {
+        long[] lookup = new long[length];
+        for (int i = 0; i < length; i++) {
+            lookup[i] = (long) i * i + 7;
+        }
+        return lookup;
+    }
+
+    private static final class Table implements Resettable {
+
+        private final long[] lookup;
+        private int markedId = -1;
+        private long cursor;
+
+        private Table(long[] lookup) {
+            this.lookup = lookup;
+        }
+
+        @Override
+        public void reset() {
+            cursor = 0;
+        }
+
+        @Override
+        public int getMarkedId() {
+            return markedId;
+        }
+
+        @Override
+        public void markId(int id) {
+            this.markedId = id;
+        }
+    }
+
+    private static final class TableCodec implements SnapshotCodec<Table> {
+
+        private final int version;
+
+        private TableCodec(int version) {
+            this.version = version;
+        }
+
+        @Override
+        public int version() {
+            return version;
+        }
+
+        @Override
+        public void encode(Table obj, ByteBuffer out) {
+            out.putInt(obj.lookup.length);
+            for (long value : obj.lookup) {
+                out.putLong(value);
+            }
+        }
+
+        @Override
+        public Table decode(ByteBuffer in) {
+            long[] lookup = new long[in.getInt()];
+            for (int i = 0; i < lookup.length; i++) {
+                lookup[i] = in.getLong();
+            }
+            return new Table(lookup);
+        }
+    }
+}
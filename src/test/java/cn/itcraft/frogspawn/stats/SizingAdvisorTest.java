@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the License); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an AS IS BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package cn.itcraft.frogspawn.stats;
+
+import cn.itcraft.frogspawn.DemoPojo;
+import cn.itcraft.frogspawn.DemoPojoCreator;
+import cn.itcraft.frogspawn.ObjectsMemoryPool;
+import cn.itcraft.frogspawn.ObjectsMemoryPoolFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Helly Guo
+ * <p>
+ * Created on 2026-10-19
+ */
+public class SizingAdvisorTest {
+
+    private static final long WINDOW_NANOS = 1_000_000L;
+
+    @Test
+    public void testSteadyDemand() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = newPool(64, 0);
+        SizingAdvisor advisor = new SizingAdvisor(pojoPool, 0, 1L, 16);
+        long base = System.nanoTime();
+        for (int w = 0; w < 10; w++) {
+            List<DemoPojo> held = fetch(pojoPool, 10 + w % 3);
+            advisor.sample(base + w * WINDOW_NANOS);
+            held.forEach(pojoPool::release);
+        }
+        SizingRecommendation recommendation = advisor.recommend();
+        Assertions.assertEquals(10, recommendation.getWindows());
+        Assertions.assertEquals(12L, recommendation.getPeakDemand());
+        Assertions.assertTrue(recommendation.getSize() >= 12 && recommendation.getSize() < 16, recommendation.toString());
+        Assertions.assertTrue(recommendation.getSizeLower() <= recommendation.getSize());
+        Assertions.assertTrue(recommendation.getSizeUpper() > recommendation.getSize());
+        Assertions.assertEquals(0, recommendation.getCacheCapacity());
+    }
+
+    @Test
+    public void testFailoverBurst() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = newPool(4, 0);
+        SizingAdvisor advisor = new SizingAdvisor(pojoPool, 0, 1L, 16);
+        List<DemoPojo> held = fetch(pojoPool, 6);
+        advisor.sample();
+        held.forEach(pojoPool::release);
+        SizingRecommendation recommendation = advisor.recommend();
+        Assertions.assertEquals(6L, recommendation.getPeakDemand());
+        Assertions.assertEquals(2L, recommendation.getFailovers());
+        Assertions.assertEquals(6, recommendation.getSize());
+        // 单个窗口，区间退化为单点 / Single window, the interval degenerates to a point
+        Assertions.assertEquals(6, recommendation.getSizeLower());
+        Assertions.assertEquals(6, recommendation.getSizeUpper());
+    }
+
+    @Test
+    public void testHoardingCache() {
+        ObjectsMemoryPool<DemoPojo> pojoPool = newPool(16, 16);
+        SizingAdvisor advisor = new SizingAdvisor(pojoPool, 16, 1L, 16);
+        fetch(pojoPool, 12).forEach(pojoPool::release);
+        advisor.sample();
+        SizingRecommendation recommendation = advisor.recommend();
+        Assertions.assertEquals(8, recommendation.getCacheCapacity());
+        // 缓存减半释放一半驻留 / Halving the cache frees half of the residency
+        Assertions.assertEquals(6, recommendation.getSize());
+    }
+
+    @Test
+    public void testNoSample() {
+        SizingRecommendation recommendation = new SizingAdvisor(newPool(16, 8), 8).recommend();
+        Assertions.assertEquals(16, recommendation.getSize());
+        Assertions.assertEquals(8, recommendation.getCacheCapacity());
+        Assertions.assertEquals(0, recommendation.getWindows());
+    }
+
+    @Test
+    public void testHintFile() throws IOException {
+        File file = Files.createTempFile("frogspawn", ".hints").toFile();
+        try {
+            SizingHints.save(file, "demo", new SizingRecommendation(100, 90, 110, 4, 12, 97L, 3L));
+            SizingHints.save(file, "other", new SizingRecommendation(8, 8, 8, 0, 1, 8L, 0L));
+            SizingRecommendation loaded = SizingHints.load(file, "demo");
+            Assertions.assertEquals(100, loaded.getSize());
+            Assertions.assertEquals(90, loaded.getSizeLower());
+            Assertions.assertEquals(110, loaded.getSizeUpper());
+            Assertions.assertEquals(4, loaded.getCacheCapacity());
+            Assertions.assertEquals(12, loaded.getWindows());
+            Assertions.assertNull(SizingHints.load(file, "missing"));
+
+            ObjectsMemoryPool<DemoPojo> hinted = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                         .size(16)
+                                                                         .sizingHint(file, "demo")
+                                                                         .build();
+            Assertions.assertEquals(128, hinted.capacity());
+            ObjectsMemoryPool<DemoPojo> fallback = ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                           .size(16)
+                                                                           .sizingHint(file, "missing")
+                                                                           .build();
+            Assertions.assertEquals(16, fallback.capacity());
+
+            Files.write(file.toPath(), Collections.singletonList("demo.size=abc"), StandardCharsets.ISO_8859_1);
+            Assertions.assertThrows(IllegalStateException.class,
+                                    () -> ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                                                  .size(16)
+                                                                  .sizingHint(file, "demo")
+                                                                  .build());
+        } finally {
+            Assertions.assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void testPersistOnShutdown() throws InterruptedException {
+        File file = new File(System.getProperty("java.io.tmpdir"), "frogspawn-persist.hints");
+        SizingAdvisor advisor = new SizingAdvisor(newPool(16, 0), 0);
+        advisor.persistOnShutdown(file, "demo");
+        // 每个建议器只登记一次 / Each advisor registers once
+        Assertions.assertThrows(IllegalStateException.class, () -> advisor.persistOnShutdown(file, "demo"));
+        Assertions.assertTrue(advisor.cancelPersist());
+        Assertions.assertFalse(advisor.cancelPersist());
+
+        // 登记后不再被引用的建议器与池可被回收 / A registered advisor no longer referenced and its pool can be collected
+        WeakReference<SizingAdvisor> ref = new WeakReference<>(persisted(file));
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (ref.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assertions.assertNull(ref.get());
+    }
+
+    private static SizingAdvisor persisted(File file) {
+        SizingAdvisor advisor = new SizingAdvisor(newPool(16, 0), 0);
+        advisor.persistOnShutdown(file, "collected");
+        return advisor;
+    }
+
+    private static ObjectsMemoryPool<DemoPojo> newPool(int size, int cacheCapacity) {
+        return ObjectsMemoryPoolFactory.builder(new DemoPojoCreator())
+                                       .size(size)
+                                       .cacheCapacity(cacheCapacity)
+                                       .build();
+    }
+
+    private static List<DemoPojo> fetch(ObjectsMemoryPool<DemoPojo> pojoPool, int count) {
+        List<DemoPojo> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(pojoPool.fetch());
+        }
+        return list;
+    }
+}